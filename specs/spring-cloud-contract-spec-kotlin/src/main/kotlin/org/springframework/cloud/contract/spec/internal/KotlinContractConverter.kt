@@ -19,11 +19,10 @@ package org.springframework.cloud.contract.spec.internal
 import org.springframework.cloud.contract.spec.Contract
 import org.springframework.cloud.contract.spec.ContractConverter
 import java.io.File
-import java.net.URLClassLoader.newInstance
-import javax.script.ScriptEngineManager
 
 /**
- * Converter that will convert the Kotlin DSL to Java DSL.
+ * Converter that will convert the Kotlin DSL to Java DSL. Scripts are compiled and
+ * evaluated by the [KotlinContractScriptHost] shared by the whole JVM.
  *
  * @author Tim Ysewyn
  * @since 2.2.0
@@ -42,32 +41,7 @@ class KotlinContractConverter : ContractConverter<List<Contract>> {
         return ext == file.extension
     }
 
-    override fun convertFrom(file: File): Collection<Contract> {
-        val eval = withUpdatedClassloader(file) {
-            file.reader().use {
-                // Get a new engine every time we need to process a file.
-                // Reusing the script engine could leak context and will fail subsequent evals
-                ScriptEngineManager().getEngineByExtension(ext).eval(it)
-            }
-        }
-        return when (eval) {
-            is Contract -> listOf(eval)
-            is Iterable<*> -> eval.filterIsInstance(Contract::class.java)
-            is Array<*> -> eval.filterIsInstance(Contract::class.java)
-            else -> emptyList()
-        }
-    }
+    override fun convertFrom(file: File): Collection<Contract> = KotlinContractScriptHost.shared.evaluate(file)
 
     override fun convertTo(contract: Collection<Contract>) = contract.toList()
-
-    private fun withUpdatedClassloader(file: File, block: ClassLoader.() -> Any): Any {
-        val currentClassLoader = Thread.currentThread().contextClassLoader
-        try {
-            val tempClassLoader = newInstance(arrayOf(file.parentFile.toURI().toURL()), currentClassLoader)
-            Thread.currentThread().contextClassLoader = tempClassLoader
-            return tempClassLoader.block()
-        } finally {
-            Thread.currentThread().contextClassLoader = currentClassLoader
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.spec.internal
+
+import org.apache.commons.logging.LogFactory
+import org.springframework.cloud.contract.spec.Contract
+import java.io.File
+import java.io.IOException
+import java.net.URLClassLoader.newInstance
+import java.nio.file.Files
+import java.nio.file.LinkOption
+import java.nio.file.attribute.PosixFilePermissions
+import java.security.MessageDigest
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import kotlin.coroutines.Continuation
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlin.coroutines.startCoroutine
+import kotlin.script.experimental.api.CompiledScript
+import kotlin.script.experimental.api.EvaluationResult
+import kotlin.script.experimental.api.ResultValue
+import kotlin.script.experimental.api.ResultWithDiagnostics
+import kotlin.script.experimental.api.ScriptCompilationConfiguration
+import kotlin.script.experimental.api.ScriptDiagnostic
+import kotlin.script.experimental.api.ScriptEvaluationConfiguration
+import kotlin.script.experimental.api.dependencies
+import kotlin.script.experimental.api.onSuccess
+import kotlin.script.experimental.host.ScriptingHostConfiguration
+import kotlin.script.experimental.host.toScriptSource
+import kotlin.script.experimental.jvm.JvmDependency
+import kotlin.script.experimental.jvm.baseClassLoader
+import kotlin.script.experimental.jvm.compilationCache
+import kotlin.script.experimental.jvm.dependenciesFromClassContext
+import kotlin.script.experimental.jvm.dependenciesFromClassloader
+import kotlin.script.experimental.jvm.jvm
+import kotlin.script.experimental.jvmhost.BasicJvmScriptingHost
+import kotlin.script.experimental.jvmhost.CompiledScriptJarsCache
+
+/**
+ * Compiles and evaluates Kotlin DSL contracts. A single scripting host is shared by all
+ * the contracts converted in a JVM, so the compiler gets warmed up once per build instead
+ * of once per file. The compilation classpath is taken from the thread context class
+ * loader, so contracts can use the classes that the build tool made visible to it.
+ * Compilation is serialised, evaluation is not, and each script is evaluated in its own
+ * class loader. Compiled scripts are cached on disk as jars, keyed by the script
+ * content, the compilation classpath, the DSL version and the Kotlin version, so
+ * unchanged contracts are not compiled again by subsequent builds. Jars that were not
+ * used for [CACHE_MAX_AGE_DAYS] days get removed when the host is created.
+ *
+ * The cache lives in a folder of the user's home directory that only its owner can
+ * access. It can be changed with the `spring.cloud.contract.kotlin.script-cache` system
+ * property. Setting it to an empty value disables the cache. A folder that belongs to
+ * another user, or that others can write to and whose permissions can't be restricted,
+ * is not used.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class KotlinContractScriptHost(cacheDirectory: File?) {
+
+    private val cacheDirectory: File? = cacheDirectory?.let { secureCacheDirectory(it) }?.also {
+        evictUnusedScripts(it, TimeUnit.DAYS.toMillis(CACHE_MAX_AGE_DAYS))
+    }
+
+    private val classpathFingerprints = ConcurrentHashMap<List<File>, String>()
+
+    private val compilerLock = Any()
+
+    // guarded by the compiler lock, weak so that the class loaders of finished builds can be collected
+    private val compilationConfigurations = WeakHashMap<ClassLoader, ScriptCompilationConfiguration>()
+
+    private val host = BasicJvmScriptingHost(ScriptingHostConfiguration {
+        jvm {
+            val directory = this@KotlinContractScriptHost.cacheDirectory
+            if (directory != null) {
+                compilationCache(CompiledScriptJarsCache { source, configuration ->
+                    val jar = File(directory,
+                            cacheKey(source.name, source.text, classpathFingerprint(configuration)) + ".jar")
+                    // used entries are kept, see evictUnusedScripts
+                    if (jar.isFile) {
+                        jar.setLastModified(System.currentTimeMillis())
+                    }
+                    jar
+                })
+            }
+        }
+    })
+
+    /**
+     * Compiles (or loads from the cache) and evaluates all the contracts of the given
+     * file.
+     * @param file - Kotlin script with contracts
+     * @return converted contracts
+     */
+    fun evaluate(file: File): Collection<Contract> {
+        val currentClassLoader = Thread.currentThread().contextClassLoader
+        newInstance(arrayOf(file.parentFile.toURI().toURL()), currentClassLoader).use { scriptClassLoader ->
+            try {
+                // Relative file references of the DSL get resolved through the TCCL
+                Thread.currentThread().contextClassLoader = scriptClassLoader
+                val evaluationConfiguration = ScriptEvaluationConfiguration {
+                    jvm {
+                        baseClassLoader(scriptClassLoader)
+                    }
+                }
+                val result = compile(file, currentClassLoader).onSuccess { compiled ->
+                    runSuspend { host.evaluator(compiled, evaluationConfiguration) }
+                }
+                return contracts(file, result)
+            } finally {
+                Thread.currentThread().contextClassLoader = currentClassLoader
+            }
+        }
+    }
+
+    // The compiler is not meant to be used by many threads at once
+    private fun compile(file: File, classLoader: ClassLoader?): ResultWithDiagnostics<CompiledScript> =
+            synchronized(compilerLock) {
+                val key = classLoader ?: Contract::class.java.classLoader
+                val configuration = compilationConfigurations.getOrPut(key) { compilationConfiguration(classLoader) }
+                runSuspend { host.compiler(file.toScriptSource(), configuration) }
+            }
+
+    private fun compilationConfiguration(classLoader: ClassLoader?) = ScriptCompilationConfiguration {
+        jvm {
+            dependenciesFromClassContext(Contract::class, wholeClasspath = true)
+            if (classLoader != null) {
+                dependenciesFromClassloader(classLoader = classLoader, wholeClasspath = true)
+            }
+        }
+    }
+
+    private fun classpathFingerprint(configuration: ScriptCompilationConfiguration): String {
+        val classpath = configuration[ScriptCompilationConfiguration.dependencies].orEmpty()
+                .filterIsInstance<JvmDependency>()
+                .flatMap { it.classpath }
+        return classpathFingerprints.computeIfAbsent(classpath) { classpathFingerprint(it) }
+    }
+
+    private fun contracts(file: File, result: ResultWithDiagnostics<*>): Collection<Contract> {
+        if (result is ResultWithDiagnostics.Failure) {
+            throw failure(file, result.reports)
+        }
+        val value = (result as ResultWithDiagnostics.Success<*>).value
+        val returnValue = (value as? EvaluationResult)?.returnValue
+        if (returnValue is ResultValue.Error) {
+            throw IllegalStateException("Exception occurred while evaluating the contract [$file]", returnValue.error)
+        }
+        return when (val eval = (returnValue as? ResultValue.Value)?.value) {
+            is Contract -> listOf(eval)
+            is Iterable<*> -> eval.filterIsInstance(Contract::class.java)
+            is Array<*> -> eval.filterIsInstance(Contract::class.java)
+            else -> emptyList()
+        }
+    }
+
+    private fun failure(file: File, reports: List<ScriptDiagnostic>) =
+            IllegalStateException("Failed to compile the contract [$file]: " + reports
+                    .filter { it.severity >= ScriptDiagnostic.Severity.ERROR }
+                    .joinToString("; ") { it.message + (it.exception?.let { ex -> " ($ex)" } ?: "") })
+
+    // The compiler and the evaluator do not really suspend, same as in BasicJvmScriptingHost#eval
+    private fun <T> runSuspend(block: suspend () -> T): T {
+        var result: Result<T>? = null
+        block.startCoroutine(Continuation(EmptyCoroutineContext) { result = it })
+        return result!!.getOrThrow()
+    }
+
+    companion object {
+
+        const val CACHE_DIRECTORY_PROPERTY = "spring.cloud.contract.kotlin.script-cache"
+
+        /**
+         * Compiled scripts that were not used for that many days get removed from the
+         * cache.
+         */
+        const val CACHE_MAX_AGE_DAYS = 30L
+
+        private val log = LogFactory.getLog(KotlinContractScriptHost::class.java)
+
+        private val OWNER_ONLY = PosixFilePermissions.fromString("rwx------")
+
+        /**
+         * Host shared by all the converters of the JVM.
+         */
+        val shared: KotlinContractScriptHost by lazy {
+            val property = System.getProperty(CACHE_DIRECTORY_PROPERTY)
+            KotlinContractScriptHost(when {
+                property == null -> File(System.getProperty("user.home"), ".spring-cloud-contract/kotlin-script-cache")
+                property.isBlank() -> null
+                else -> File(property)
+            })
+        }
+
+        internal fun cacheKey(name: String?, text: String, classpath: String): String {
+            val digest = MessageDigest.getInstance("SHA-256")
+            digest.update((name ?: "").toByteArray())
+            digest.update(0)
+            digest.update(text.toByteArray())
+            digest.update(0)
+            digest.update(classpath.toByteArray())
+            digest.update(0)
+            digest.update((Contract::class.java.`package`?.implementationVersion ?: "dev").toByteArray())
+            digest.update(0)
+            digest.update(KotlinVersion.CURRENT.toString().toByteArray())
+            return digest.digest().joinToString("") { "%02x".format(it) }
+        }
+
+        /**
+         * Fingerprint of the compilation classpath, built from the path, size and last
+         * modification time of each of its entries, so that a changed dependency
+         * invalidates the compiled scripts.
+         */
+        internal fun classpathFingerprint(classpath: List<File>): String {
+            val digest = MessageDigest.getInstance("SHA-256")
+            classpath.forEach {
+                digest.update("${it.absolutePath}|${it.length()}|${it.lastModified()}".toByteArray())
+                digest.update(0)
+            }
+            return digest.digest().joinToString("") { "%02x".format(it) }
+        }
+
+        /**
+         * Removes the compiled scripts that were not used for the given time. The cache
+         * is keyed by the classpath and the script content, so every change of either
+         * leaves an unused jar behind.
+         */
+        internal fun evictUnusedScripts(directory: File, maxAgeMillis: Long) {
+            val oldest = System.currentTimeMillis() - maxAgeMillis
+            directory.listFiles { file -> file.isFile && file.extension == "jar" && file.lastModified() < oldest }
+                    ?.forEach {
+                        if (!it.delete() && log.isDebugEnabled) {
+                            log.debug("Failed to remove the unused compiled contract [$it]")
+                        }
+                    }
+        }
+
+        /**
+         * Creates the cache directory, readable and writable by its owner only, and checks
+         * that the current user owns it, since the cached jars get loaded and executed.
+         * @return the directory or `null` if it can't be used safely
+         */
+        internal fun secureCacheDirectory(directory: File): File? {
+            val path = directory.toPath()
+            try {
+                val posix = path.fileSystem.supportedFileAttributeViews().contains("posix")
+                if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+                    Files.createDirectories(path)
+                    if (posix) {
+                        Files.setPosixFilePermissions(path, OWNER_ONLY)
+                    }
+                }
+                if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    return disabled(directory, "it is not a directory")
+                }
+                val owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).name
+                val user = System.getProperty("user.name")
+                if (owner != user && !owner.endsWith("\\$user")) {
+                    return disabled(directory, "it belongs to [$owner]")
+                }
+                if (posix) {
+                    val permissions = Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS)
+                    if (permissions.any { it !in OWNER_ONLY }) {
+                        Files.setPosixFilePermissions(path, OWNER_ONLY)
+                    }
+                }
+                return directory
+            } catch (ex: IOException) {
+                return disabled(directory, ex.toString())
+            } catch (ex: UnsupportedOperationException) {
+                return disabled(directory, ex.toString())
+            }
+        }
+
+        private fun disabled(directory: File, reason: String): File? {
+            log.warn("Will not cache the compiled Kotlin contracts in [$directory] since $reason")
+            return null
+        }
+    }
+}
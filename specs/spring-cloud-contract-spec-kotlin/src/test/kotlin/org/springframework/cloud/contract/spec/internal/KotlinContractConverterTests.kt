@@ -17,9 +17,17 @@
 package org.springframework.cloud.contract.spec.internal
 
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.springframework.cloud.contract.spec.Contract
 import java.io.File
+import java.net.URLClassLoader
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermissions
+import java.util.concurrent.TimeUnit
+import javax.tools.ToolProvider
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotEquals
 import kotlin.test.assertTrue
 
 class KotlinContractConverterTests {
@@ -53,5 +61,88 @@ class KotlinContractConverterTests {
         contracts.forEach(Contract::assertContract)
     }
 
+    @Test
+    fun `should reuse compiled scripts from the cache`(@TempDir cache: File) {
+        val host = KotlinContractScriptHost(cache)
+        val first = host.evaluate(file("contracts/multipleDefinitions.kts"))
+        val second = host.evaluate(file("contracts/multipleDefinitions.kts"))
+        assertEquals(first, second)
+        assertEquals(1, cache.listFiles { f -> f.extension == "jar" }!!.size)
+        assertEquals(1, KotlinContractScriptHost(cache).evaluate(file("contracts/singleDefinition.kts")).size)
+        assertEquals(2, cache.listFiles { f -> f.extension == "jar" }!!.size)
+    }
+
+    @Test
+    fun `should keep the cache directory private to its owner`(@TempDir parent: File) {
+        val cache = File(parent, "cache")
+        assertEquals(cache, KotlinContractScriptHost.secureCacheDirectory(cache))
+        if (cache.toPath().fileSystem.supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(cache.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"))
+            assertEquals(cache, KotlinContractScriptHost.secureCacheDirectory(cache))
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cache.toPath())))
+        }
+    }
+
+    @Test
+    fun `should change the cache key when a classpath entry changes`(@TempDir classpath: File) {
+        val jar = File(classpath, "dependency.jar")
+        jar.writeText("first")
+        val before = KotlinContractScriptHost.classpathFingerprint(listOf(jar))
+        jar.writeText("second version")
+        val after = KotlinContractScriptHost.classpathFingerprint(listOf(jar))
+        assertNotEquals(KotlinContractScriptHost.cacheKey("a.kts", "text", before),
+                KotlinContractScriptHost.cacheKey("a.kts", "text", after))
+    }
+
+    @Test
+    fun `should remove compiled scripts that were not used for a long time`(@TempDir cache: File) {
+        val maxAge = TimeUnit.DAYS.toMillis(KotlinContractScriptHost.CACHE_MAX_AGE_DAYS)
+        val unused = File(cache, "unused.jar").apply { writeText("") }
+        unused.setLastModified(System.currentTimeMillis() - maxAge - TimeUnit.DAYS.toMillis(1))
+        val recent = File(cache, "recent.jar").apply { writeText("") }
+        KotlinContractScriptHost.evictUnusedScripts(cache, maxAge)
+        assertFalse(unused.exists())
+        assertTrue(recent.exists())
+    }
+
+    @Test
+    fun `should compile contracts that use classes of the thread context class loader`(@TempDir dir: File) {
+        val classes = File(dir, "classes").apply { mkdirs() }
+        val helper = File(dir, "com/example/tccl/ContractUrls.java").apply {
+            parentFile.mkdirs()
+            writeText("package com.example.tccl;" +
+                    " public class ContractUrls { public static final String PING = \"/ping\"; }")
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler()
+                .run(null, null, null, "-d", classes.absolutePath, helper.absolutePath))
+        val contract = File(dir, "contracts/ping.kts").apply {
+            parentFile.mkdirs()
+            writeText("""
+                import org.springframework.cloud.contract.spec.ContractDsl.Companion.contract
+                import com.example.tccl.ContractUrls
+
+                contract {
+                    request {
+                        method = GET
+                        url = url(ContractUrls.PING)
+                    }
+                    response {
+                        status = OK
+                    }
+                }
+            """.trimIndent())
+        }
+        val previous = Thread.currentThread().contextClassLoader
+        URLClassLoader(arrayOf(classes.toURI().toURL()), previous).use {
+            Thread.currentThread().contextClassLoader = it
+            try {
+                val contracts = KotlinContractScriptHost(null).evaluate(contract)
+                assertEquals("/ping", contracts.single().request.url.clientValue)
+            } finally {
+                Thread.currentThread().contextClassLoader = previous
+            }
+        }
+    }
+
     private fun file(filename: String) = File(javaClass.classLoader.getResource(filename)!!.toURI())
 }
\ No newline at end of file
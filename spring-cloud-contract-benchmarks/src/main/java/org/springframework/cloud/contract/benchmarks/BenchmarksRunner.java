@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and stores the results as JMH JSON in
+ * {@code <benchmarks.results-dir>/<benchmarks.label>.json}, so that the results of
+ * different commits can be compared side by side. The label defaults to the abbreviated
+ * hash of the current Git commit. All the JMH command line options are supported, e.g.
+ * {@code -p corpusSize=1000} changes the size of the contract corpus.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class BenchmarksRunner {
+
+	private BenchmarksRunner() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	public static void main(String[] args) throws Exception {
+		String label = System.getProperty("benchmarks.label", gitCommit());
+		File results = new File(System.getProperty("benchmarks.results-dir", "target/benchmarks"), label + ".json");
+		results.getParentFile().mkdirs();
+		Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).resultFormat(ResultFormatType.JSON)
+				.result(results.getAbsolutePath()).build();
+		new Runner(options).run();
+		System.out.println("Benchmark results stored in [" + results.getAbsolutePath() + "]");
+	}
+
+	private static String gitCommit() {
+		try {
+			Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true)
+					.start();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				String commit = reader.readLine();
+				if (process.waitFor() == 0 && commit != null && !commit.trim().isEmpty()) {
+					return commit.trim();
+				}
+			}
+		}
+		catch (Exception ex) {
+			// not a Git checkout
+		}
+		return "local";
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Synthetic corpus of contracts used by the benchmarks. For each entry a YAML contract,
+ * the equivalent Groovy DSL contract and the WireMock stub mapping are written to a
+ * temporary directory. All the entries describe a {@code POST} to the same URL that
+ * differ only by the request body, so that a request for the last entry has to be
+ * matched against every stub mapping.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class ContractCorpus {
+
+	/**
+	 * URL of all the requests of the corpus.
+	 */
+	public static final String URL = "/api/resources";
+
+	private final File root;
+
+	private final List<File> yamlContracts = new ArrayList<>();
+
+	private final List<File> groovyContracts = new ArrayList<>();
+
+	private final List<File> mappings = new ArrayList<>();
+
+	private ContractCorpus(File root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param size - number of contracts in the corpus
+	 * @return corpus written to a temporary directory
+	 */
+	public static ContractCorpus create(int size) {
+		try {
+			ContractCorpus corpus = new ContractCorpus(Files.createTempDirectory("scc-benchmarks").toFile());
+			File yml = corpus.directory("contracts/yml");
+			File groovy = corpus.directory("contracts/groovy");
+			File mappings = corpus.directory("stubs/mappings");
+			for (int i = 0; i < size; i++) {
+				corpus.yamlContracts.add(write(new File(yml, "contract_" + i + ".yml"), yamlContract(i)));
+				corpus.groovyContracts.add(write(new File(groovy, "contract_" + i + ".groovy"), groovyContract(i)));
+				corpus.mappings.add(write(new File(mappings, "mapping_" + i + ".json"), mapping(i)));
+			}
+			return corpus;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @param index - index of the entry
+	 * @return JSON request body that matches the entry
+	 */
+	public static String requestBody(int index) {
+		return "{\"id\":" + index + ",\"name\":\"name-" + index + "\",\"tags\":[\"a\",\"b\"],"
+				+ "\"address\":{\"street\":\"street-" + index + "\",\"number\":" + index + "}}";
+	}
+
+	/**
+	 * @param index - index of the entry
+	 * @return JSON paths that the request body of the entry has to match
+	 */
+	public static List<String> jsonPaths(int index) {
+		return Arrays.asList("$[?(@.['id'] == " + index + ")]", "$[?(@.['name'] == 'name-" + index + "')]",
+				"$.['tags'][?(@ == 'a')]", "$.['address'][?(@.['street'] == 'street-" + index + "')]",
+				"$.['address'][?(@.['number'] == " + index + ")]");
+	}
+
+	public File getRoot() {
+		return this.root;
+	}
+
+	/**
+	 * @return directory with the {@code mappings} folder of the stubs
+	 */
+	public File getStubsRoot() {
+		return new File(this.root, "stubs");
+	}
+
+	public List<File> getYamlContracts() {
+		return Collections.unmodifiableList(this.yamlContracts);
+	}
+
+	public List<File> getGroovyContracts() {
+		return Collections.unmodifiableList(this.groovyContracts);
+	}
+
+	public List<File> getMappings() {
+		return Collections.unmodifiableList(this.mappings);
+	}
+
+	public int size() {
+		return this.mappings.size();
+	}
+
+	public void delete() {
+		FileSystemUtils.deleteRecursively(this.root);
+	}
+
+	private File directory(String path) {
+		File directory = new File(this.root, path);
+		directory.mkdirs();
+		return directory;
+	}
+
+	private static File write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String yamlContract(int index) {
+		return "request:\n" + "  method: POST\n" + "  url: " + URL + "\n" + "  headers:\n"
+				+ "    Content-Type: application/json\n" + "  body:\n" + "    id: " + index + "\n" + "    name: name-"
+				+ index + "\n" + "    tags: [a, b]\n" + "    address:\n" + "      street: street-" + index + "\n"
+				+ "      number: " + index + "\n" + "response:\n" + "  status: 200\n" + "  headers:\n"
+				+ "    Content-Type: application/json\n" + "  body:\n" + "    status: OK\n" + "    id: " + index
+				+ "\n";
+	}
+
+	private static String groovyContract(int index) {
+		return "org.springframework.cloud.contract.spec.Contract.make {\n" + "\trequest {\n" + "\t\tmethod 'POST'\n"
+				+ "\t\turl '" + URL + "'\n" + "\t\theaders {\n" + "\t\t\tcontentType(applicationJson())\n" + "\t\t}\n"
+				+ "\t\tbody([id: " + index + ", name: 'name-" + index + "', tags: ['a', 'b'], address: [street: 'street-"
+				+ index + "', number: " + index + "]])\n" + "\t}\n" + "\tresponse {\n" + "\t\tstatus OK()\n"
+				+ "\t\theaders {\n" + "\t\t\tcontentType(applicationJson())\n" + "\t\t}\n" + "\t\tbody([status: 'OK', id: "
+				+ index + "])\n" + "\t}\n" + "}\n";
+	}
+
+	private static String mapping(int index) {
+		StringBuilder bodyPatterns = new StringBuilder();
+		for (String jsonPath : jsonPaths(index)) {
+			if (bodyPatterns.length() > 0) {
+				bodyPatterns.append(",");
+			}
+			bodyPatterns.append("{\"matchesJsonPath\":\"").append(jsonPath).append("\"}");
+		}
+		return "{\"request\":{\"method\":\"POST\",\"url\":\"" + URL + "\","
+				+ "\"headers\":{\"Content-Type\":{\"matches\":\"application/json.*\"}},\"bodyPatterns\":[" + bodyPatterns
+				+ "]},\"response\":{\"status\":200,\"body\":\"{\\\"status\\\":\\\"OK\\\",\\\"id\\\":" + index
+				+ "}\",\"headers\":{\"Content-Type\":\"application/json\"}}}";
+	}
+
+}
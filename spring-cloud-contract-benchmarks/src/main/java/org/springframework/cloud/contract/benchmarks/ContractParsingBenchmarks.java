@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
+import org.springframework.cloud.contract.verifier.util.ContractVerifierDslConverter;
+
+/**
+ * Parsing of the whole corpus with {@link ContractVerifierDslConverter} and
+ * {@link YamlContractConverter}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractParsingBenchmarks {
+
+	@Param({ "10", "100" })
+	int corpusSize;
+
+	ContractCorpus corpus;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.corpus = ContractCorpus.create(this.corpusSize);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.corpus.delete();
+	}
+
+	@Benchmark
+	public void groovyDsl(Blackhole blackhole) {
+		File root = this.corpus.getRoot();
+		for (File contract : this.corpus.getGroovyContracts()) {
+			blackhole.consume(ContractVerifierDslConverter.convertAsCollection(root, contract));
+		}
+	}
+
+	@Benchmark
+	public void yaml(Blackhole blackhole) {
+		for (File contract : this.corpus.getYamlContracts()) {
+			blackhole.consume(YamlContractConverter.INSTANCE.convertFrom(contract));
+		}
+	}
+
+}
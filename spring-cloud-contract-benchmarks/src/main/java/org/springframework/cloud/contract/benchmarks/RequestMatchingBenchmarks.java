@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.contract.stubrunner.HttpServerStub;
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfiguration;
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer;
+import org.springframework.cloud.contract.stubrunner.StubConfiguration;
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptionsBuilder;
+import org.springframework.cloud.contract.stubrunner.provider.wiremock.WireMockHttpServerStub;
+import org.springframework.cloud.contract.verifier.dsl.wiremock.SpringCloudContractRequestMatcher;
+
+/**
+ * Matching of a request against the stubs of the corpus.
+ * {@link #springCloudContractRequestMatcher(MatcherState)} calls
+ * {@link SpringCloudContractRequestMatcher#match(Request, Parameters)} directly with the
+ * JSON paths of the last corpus entry, {@link #stubServer(StubServerState)} sends a
+ * request matching the last stub mapping to a running {@link WireMockHttpServerStub},
+ * so it goes through every registered mapping.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchingBenchmarks {
+
+	@Benchmark
+	public MatchResult springCloudContractRequestMatcher(MatcherState state) {
+		return state.matcher.match(request(state.body), state.parameters);
+	}
+
+	@Benchmark
+	public int stubServer(StubServerState state) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) state.url.openConnection();
+		connection.setRequestMethod("POST");
+		connection.setRequestProperty("Content-Type", "application/json");
+		connection.setDoOutput(true);
+		try (OutputStream outputStream = connection.getOutputStream()) {
+			outputStream.write(state.body);
+		}
+		int status = connection.getResponseCode();
+		try (InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+			if (inputStream != null) {
+				while (inputStream.read() != -1) {
+					// drain the response so that the connection gets reused
+				}
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * A fresh request for each invocation, so that no state cached for a previous
+	 * request gets reused.
+	 */
+	private static Request request(byte[] body) {
+		return (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[] { Request.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getBody":
+						return body;
+					case "getBodyAsString":
+						return new String(body, StandardCharsets.UTF_8);
+					case "getUrl":
+						return ContractCorpus.URL;
+					case "getMethod":
+						return RequestMethod.POST;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					case "toString":
+						return "BenchmarkRequest";
+					default:
+						return null;
+					}
+				});
+	}
+
+	@State(Scope.Benchmark)
+	public static class MatcherState {
+
+		@Param({ "10", "100" })
+		int corpusSize;
+
+		final SpringCloudContractRequestMatcher matcher = new SpringCloudContractRequestMatcher();
+
+		Parameters parameters;
+
+		byte[] body;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			int last = this.corpusSize - 1;
+			List<String> jsonPaths = ContractCorpus.jsonPaths(last);
+			this.parameters = Parameters.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER, jsonPaths);
+			this.body = ContractCorpus.requestBody(last).getBytes(StandardCharsets.UTF_8);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class StubServerState {
+
+		@Param({ "10", "100" })
+		int corpusSize;
+
+		ContractCorpus corpus;
+
+		HttpServerStub server;
+
+		URL url;
+
+		byte[] body;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.corpus = ContractCorpus.create(this.corpusSize);
+			this.server = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(
+					new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), new StubRunnerOptionsBuilder().build(),
+					new StubConfiguration("org.springframework.cloud.contract:benchmarks:1.0.0:stubs"), 0));
+			this.server.registerMappings(this.corpus.getMappings());
+			try {
+				this.url = new URL("http://localhost:" + this.server.port() + ContractCorpus.URL);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			this.body = ContractCorpus.requestBody(this.corpusSize - 1).getBytes(StandardCharsets.UTF_8);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.server.stop();
+			this.corpus.delete();
+		}
+
+	}
+
+}
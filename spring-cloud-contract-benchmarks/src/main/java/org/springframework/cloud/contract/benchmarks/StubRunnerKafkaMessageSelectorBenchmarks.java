@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Selection of the contract matching an incoming message with Stub Runner's Kafka
+ * message selector. All the contracts have the same headers and differ only by the body,
+ * and the message matches the last contract, so the body of every contract gets
+ * compared. A new message is built for each invocation so that the selector cache does
+ * not get hit.
+ *
+ * The selector is package private, so it is created and called through a method handle
+ * that gets resolved once per trial.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StubRunnerKafkaMessageSelectorBenchmarks {
+
+	@Param({ "10", "100" })
+	int corpusSize;
+
+	private static final String SELECTOR_CLASS = "org.springframework.cloud.contract.stubrunner.messaging.kafka"
+			+ ".StubRunnerKafkaMessageSelector";
+
+	MethodHandle matchingContract;
+
+	Map<String, Object> payload;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		List<Contract> contracts = new ArrayList<>();
+		for (int i = 0; i < this.corpusSize; i++) {
+			Map<String, Object> body = body(i);
+			contracts.add(Contract.make(c -> {
+				c.label("contract_" + body.get("id"));
+				c.input(input -> {
+					input.messageFrom("input");
+					input.messageBody(body);
+					input.messageHeaders(headers -> headers.header("contentType", "application/json"));
+				});
+				c.outputMessage(output -> {
+					output.sentTo("output");
+					output.body(body);
+				});
+			}));
+		}
+		this.matchingContract = matchingContract(contracts);
+		this.payload = body(this.corpusSize - 1);
+	}
+
+	@Benchmark
+	public Contract matchingContract() throws Throwable {
+		Message<?> message = MessageBuilder.withPayload(this.payload).setHeader("contentType", "application/json")
+				.build();
+		return (Contract) this.matchingContract.invoke(message);
+	}
+
+	private static MethodHandle matchingContract(List<Contract> contracts) {
+		try {
+			Class<?> selectorClass = ClassUtils.forName(SELECTOR_CLASS, null);
+			Constructor<?> constructor = selectorClass.getDeclaredConstructor(List.class);
+			ReflectionUtils.makeAccessible(constructor);
+			Method method = selectorClass.getDeclaredMethod("matchingContract", Message.class);
+			ReflectionUtils.makeAccessible(method);
+			return MethodHandles.lookup().unreflect(method).bindTo(constructor.newInstance(contracts));
+		}
+		catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("Failed to create the Kafka message selector", ex);
+		}
+	}
+
+	private static Map<String, Object> body(int index) {
+		Map<String, Object> address = new LinkedHashMap<>();
+		address.put("street", "street-" + index);
+		address.put("number", index);
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("id", index);
+		body.put("name", "name-" + index);
+		body.put("address", address);
+		return body;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
+import org.springframework.cloud.contract.stubrunner.BatchStubRunnerFactory;
+import org.springframework.cloud.contract.stubrunner.RunningStubs;
+import org.springframework.cloud.contract.stubrunner.StubDownloader;
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptions;
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptionsBuilder;
+
+/**
+ * End to end startup and shutdown of stub servers, from the stub runner options to
+ * running servers with the mappings of the corpus registered. Each of the
+ * {@code stubCount} stubs is read from the same local directory, so no download is
+ * involved.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StubRunnerStartupBenchmarks {
+
+	@Param({ "10", "100" })
+	int corpusSize;
+
+	@Param({ "1", "5" })
+	int stubCount;
+
+	ContractCorpus corpus;
+
+	StubRunnerOptions options;
+
+	StubDownloader stubDownloader;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.corpus = ContractCorpus.create(this.corpusSize);
+		List<String> stubs = new ArrayList<>();
+		for (int i = 0; i < this.stubCount; i++) {
+			stubs.add("org.springframework.cloud.contract:benchmarks-" + i + ":1.0.0:stubs");
+		}
+		this.options = new StubRunnerOptionsBuilder().withStubs(stubs).withMinMaxPort(20000, 30000).build();
+		this.stubDownloader = stubConfiguration -> new AbstractMap.SimpleEntry<>(stubConfiguration,
+				this.corpus.getStubsRoot());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.corpus.delete();
+	}
+
+	@Benchmark
+	public RunningStubs startAndStop() throws IOException {
+		try (BatchStubRunner stubRunner = new BatchStubRunnerFactory(this.options, this.stubDownloader)
+				.buildBatchStubRunner()) {
+			return stubRunner.runStubs();
+		}
+	}
+
+}
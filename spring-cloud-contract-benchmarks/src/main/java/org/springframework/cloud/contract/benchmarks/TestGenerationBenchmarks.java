@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.verifier.builder.JavaTestGenerator;
+import org.springframework.cloud.contract.verifier.builder.SingleTestGenerator;
+import org.springframework.cloud.contract.verifier.config.ContractVerifierConfigProperties;
+import org.springframework.cloud.contract.verifier.file.ContractMetadata;
+import org.springframework.cloud.contract.verifier.util.ContractVerifierDslConverter;
+import org.springframework.cloud.contract.verifier.util.JsonPaths;
+import org.springframework.cloud.contract.verifier.util.JsonToJsonPathsConverter;
+
+/**
+ * Generation of a single test class for the whole corpus with {@link JavaTestGenerator},
+ * and conversion of a JSON body to JSON paths with {@link JsonToJsonPathsConverter}.
+ * The contracts are parsed once per trial, so only the generation gets measured.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestGenerationBenchmarks {
+
+	@Param({ "10", "100" })
+	int corpusSize;
+
+	ContractCorpus corpus;
+
+	Collection<ContractMetadata> contracts;
+
+	ContractVerifierConfigProperties properties;
+
+	SingleTestGenerator.GeneratedClassData generatedClassData;
+
+	Map<String, Object> body;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.corpus = ContractCorpus.create(this.corpusSize);
+		this.contracts = new ArrayList<>();
+		File root = this.corpus.getRoot();
+		for (File file : this.corpus.getGroovyContracts()) {
+			Collection<Contract> converted = ContractVerifierDslConverter.convertAsCollection(root, file);
+			this.contracts.add(new ContractMetadata(file.toPath(), false, this.corpusSize, null, converted));
+		}
+		this.properties = new ContractVerifierConfigProperties();
+		this.generatedClassData = new SingleTestGenerator.GeneratedClassData("ContractsTest",
+				"org.springframework.cloud.contract.benchmarks", root.toPath());
+		this.body = new ObjectMapper().readValue(ContractCorpus.requestBody(this.corpusSize),
+				new TypeReference<Map<String, Object>>() {
+				});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.corpus.delete();
+	}
+
+	@Benchmark
+	public String javaTestClass() {
+		return new JavaTestGenerator().buildClass(this.properties, this.contracts, "contracts",
+				this.generatedClassData);
+	}
+
+	@Benchmark
+	public JsonPaths jsonToJsonPaths() {
+		return new JsonToJsonPathsConverter().transformToJsonPathWithTestsSideValues(this.body);
+	}
+
+}
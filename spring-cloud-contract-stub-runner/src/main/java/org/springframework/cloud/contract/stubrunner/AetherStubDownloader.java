@@ -45,6 +45,7 @@ import shaded.org.apache.maven.settings.crypto.SettingsDecryptionRequest;
 
 import org.springframework.cloud.contract.stubrunner.StubRunnerOptions.StubRunnerProxyOptions;
 import org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
 import org.springframework.util.StringUtils;
 
 import static org.springframework.cloud.contract.stubrunner.AetherFactories.newRepositorySystem;
@@ -135,7 +136,10 @@ public class AetherStubDownloader implements StubDownloader {
 	private static File unpackStubJarToATemporaryFolder(URI stubJarUri) {
 		File tmpDirWhereStubsWillBeUnzipped = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
 		log.info("Unpacking stub from JAR [URI: " + stubJarUri + "]");
-		unzipTo(new File(stubJarUri), tmpDirWhereStubsWillBeUnzipped);
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation.start(ContractInstrumentation.STUBS_UNPACK,
+				stubJarUri.toString())) {
+			unzipTo(new File(stubJarUri), tmpDirWhereStubsWillBeUnzipped);
+		}
 		TemporaryFileStorage.add(tmpDirWhereStubsWillBeUnzipped);
 		return tmpDirWhereStubsWillBeUnzipped;
 	}
@@ -201,7 +205,13 @@ public class AetherStubDownloader implements StubDownloader {
 			if (log.isDebugEnabled()) {
 				log.debug("Resolving artifact [" + artifact + "] using remote repositories " + this.remoteRepos);
 			}
-			ArtifactResult result = this.repositorySystem.resolveArtifact(this.session, request);
+			ArtifactResult result;
+			try (ContractInstrumentation.Sample sample = ContractInstrumentation
+					.start(ContractInstrumentation.STUBS_DOWNLOAD, artifact.toString())) {
+				result = this.repositorySystem.resolveArtifact(this.session, request);
+			}
+			ContractInstrumentation.count(result.getRepository() instanceof RemoteRepository
+					? ContractInstrumentation.DOWNLOADS : ContractInstrumentation.CACHE_HITS);
 			log.info("Resolved artifact [" + artifact + "] to " + result.getArtifact().getFile());
 			File temporaryFile = unpackStubJarToATemporaryFolder(result.getArtifact().getFile().toURI());
 			log.info("Unpacked file to [" + temporaryFile + "]");
@@ -272,8 +282,7 @@ public class AetherStubDownloader implements StubDownloader {
 	}
 
 	private void registerShutdownHook() {
-		Runtime.getRuntime().addShutdownHook(
-				new Thread(() -> TemporaryFileStorage.cleanup(AetherStubDownloader.this.deleteStubsAfterTest)));
+		TemporaryFileStorage.registerShutdownHook(this.deleteStubsAfterTest);
 	}
 
 }
@@ -17,14 +17,16 @@
 package org.springframework.cloud.contract.stubrunner;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.util.Random;
+import java.net.BindException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
- * Tries to execute a closure with an available port from the given range.
+ * Tries to execute a closure with an available port from the given range. A port is
+ * reserved through {@link PortReservations} right before the closure starts the server
+ * and released once the closure is done, so that parallel builds on the same machine do
+ * not get the same port.
  */
 class AvailablePortScanner {
 
@@ -32,6 +34,8 @@ class AvailablePortScanner {
 
 	private static final int MAX_RETRY_COUNT = 1000;
 
+	private static final PortReservations RESERVATIONS = new PortReservations();
+
 	private final int minPortNumber;
 
 	private final int maxPortNumber;
@@ -57,21 +61,44 @@ class AvailablePortScanner {
 
 	public <T> T tryToExecuteWithFreePort(PortCallback<T> closure) {
 		for (int i = 0; i < this.maxRetryCount; i++) {
+			Integer port = RESERVATIONS.reserve(this.minPortNumber, this.maxPortNumber);
+			if (port == null) {
+				break;
+			}
 			try {
-				int numberOfPortsToBind = this.maxPortNumber - this.minPortNumber + 1;
-				int portToScan = new Random().nextInt(numberOfPortsToBind) + this.minPortNumber;
-				checkIfPortIsAvailable(portToScan);
-				return executeLogicForAvailablePort(portToScan, closure);
+				return executeLogicForAvailablePort(port, closure);
 			}
 			catch (IOException exception) {
 				if (log.isDebugEnabled()) {
 					log.debug("Failed to execute callback (try: " + i + "/" + this.maxRetryCount + ")", exception);
 				}
 			}
+			catch (RuntimeException exception) {
+				if (!isBindFailure(exception)) {
+					throw exception;
+				}
+				if (log.isDebugEnabled()) {
+					log.debug("Port [" + port + "] got taken before the server bound to it (try: " + i + "/"
+							+ this.maxRetryCount + ")", exception);
+				}
+			}
+			finally {
+				RESERVATIONS.release(port);
+			}
 		}
 		throw new NoPortAvailableException(this.minPortNumber, this.maxPortNumber);
 	}
 
+	private boolean isBindFailure(Throwable throwable) {
+		while (throwable != null) {
+			if (throwable instanceof BindException) {
+				return true;
+			}
+			throwable = throwable.getCause();
+		}
+		return false;
+	}
+
 	private <T> T executeLogicForAvailablePort(int portToScan, PortCallback<T> closure) throws IOException {
 		if (log.isDebugEnabled()) {
 			log.debug("Trying to execute closure with port [" + portToScan + "]");
@@ -79,18 +106,6 @@ class AvailablePortScanner {
 		return closure.call(portToScan);
 	}
 
-	private void checkIfPortIsAvailable(int portToScan) throws IOException {
-		ServerSocket socket = null;
-		try {
-			socket = new ServerSocket(portToScan);
-		}
-		finally {
-			if (socket != null) {
-				socket.close();
-			}
-		}
-	}
-
 	public interface PortCallback<T> {
 
 		T call(int port) throws IOException;
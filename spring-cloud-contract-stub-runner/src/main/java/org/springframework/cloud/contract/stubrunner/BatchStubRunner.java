@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.contract.stubrunner;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
@@ -36,8 +37,55 @@ public class BatchStubRunner implements StubRunning {
 
 	private final Iterable<StubRunner> stubRunners;
 
+	private final StubRunnerFactory stubRunnerFactory;
+
 	public BatchStubRunner(Iterable<StubRunner> stubRunners) {
+		this(stubRunners, null);
+	}
+
+	BatchStubRunner(Iterable<StubRunner> stubRunners, StubRunnerFactory stubRunnerFactory) {
 		this.stubRunners = stubRunners;
+		this.stubRunnerFactory = stubRunnerFactory;
+	}
+
+	/**
+	 * @return {@code true} if the stubs can be fetched again and reloaded while running
+	 */
+	public boolean isReloadable() {
+		return this.stubRunnerFactory != null;
+	}
+
+	/**
+	 * Takes the fingerprints of the running stubs. Should be called before the stubs can
+	 * get modified, so that in place modifications get picked by {@link #reload()}.
+	 */
+	public void prepareForReload() {
+		for (StubRunner stubRunner : this.stubRunners) {
+			stubRunner.prepareForReload();
+		}
+	}
+
+	/**
+	 * Fetches the stubs again and applies the added, modified and removed mappings and
+	 * contracts to the running stubs, without restarting the servers or changing their
+	 * ports.
+	 * @return number of changed stub files per stub, in Ivy notation
+	 */
+	public Map<String, Integer> reload() {
+		if (!isReloadable()) {
+			throw new IllegalStateException("These stubs were not fetched by Stub Runner and cannot be reloaded");
+		}
+		Map<String, Integer> changes = new LinkedHashMap<>();
+		for (StubRunner stubRunner : this.stubRunners) {
+			StubConfiguration stubsConfiguration = stubRunner.getStubsConfiguration();
+			Map.Entry<StubConfiguration, File> entry = this.stubRunnerFactory
+					.downloadAndUnpackStubs(stubsConfiguration);
+			if (entry != null) {
+				changes.put(stubsConfiguration.toColonSeparatedDependencyNotation(),
+						stubRunner.reload(entry.getValue()));
+			}
+		}
+		return changes;
 	}
 
 	@Override
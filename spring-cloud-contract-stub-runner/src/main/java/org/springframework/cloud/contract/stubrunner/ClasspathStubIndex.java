@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * One-time index of all the entries under the {@code META-INF}, {@code contracts} and
+ * {@code mappings} roots of every classpath element. Instead of walking the whole
+ * classpath for each requested stub, {@code classpath*:} patterns under those roots are
+ * matched against the index.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class ClasspathStubIndex {
+
+	private static final Log log = LogFactory.getLog(ClasspathStubIndex.class);
+
+	private static final List<String> INDEXED_ROOTS = Arrays.asList("META-INF", "contracts", "mappings");
+
+	private static final Map<ClassLoader, ClasspathStubIndex> INDICES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private final AntPathMatcher matcher = new AntPathMatcher();
+
+	private final Map<String, List<IndexedResource>> roots = new HashMap<>();
+
+	private ClasspathStubIndex(ClassLoader classLoader) {
+		PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+		long start = System.currentTimeMillis();
+		INDEXED_ROOTS.forEach(root -> this.roots.put(root, index(resolver, root)));
+		if (log.isDebugEnabled()) {
+			log.debug("Indexed classpath stub roots " + INDEXED_ROOTS + " in ["
+					+ (System.currentTimeMillis() - start) + "] ms");
+		}
+	}
+
+	static ClasspathStubIndex forClassLoader(ClassLoader classLoader) {
+		return INDICES.computeIfAbsent(classLoader, ClasspathStubIndex::new);
+	}
+
+	/**
+	 * @param pattern resource pattern
+	 * @return resources matching the pattern or {@code null} if the pattern does not
+	 * point to an indexed root
+	 */
+	List<Resource> find(String pattern) {
+		if (!pattern.startsWith(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX)) {
+			return null;
+		}
+		String path = pattern.substring(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX.length());
+		path = path.startsWith("/") ? path.substring(1) : path;
+		int slash = path.indexOf('/');
+		List<IndexedResource> indexed = slash > 0 ? this.roots.get(path.substring(0, slash)) : null;
+		if (indexed == null) {
+			return null;
+		}
+		String pathPattern = path;
+		return indexed.stream().filter(resource -> this.matcher.match(pathPattern, resource.path))
+				.map(resource -> resource.resource).collect(Collectors.toList());
+	}
+
+	private static List<IndexedResource> index(PathMatchingResourcePatternResolver resolver, String root) {
+		List<IndexedResource> indexed = new ArrayList<>();
+		try {
+			for (Resource rootDir : resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + "/" + root
+					+ "/")) {
+				String rootUrl = rootDir.getURL().toString();
+				rootUrl = rootUrl.endsWith("/") ? rootUrl : rootUrl + "/";
+				for (Resource resource : resolver.getResources(rootUrl + "**")) {
+					String url = resource.getURL().toString();
+					if (url.startsWith(rootUrl)) {
+						indexed.add(new IndexedResource(root + "/" + url.substring(rootUrl.length()), resource));
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			log.error("Exception occurred while trying to index resources under [" + root + "]");
+			throw new IllegalStateException(ex);
+		}
+		return indexed;
+	}
+
+	private static final class IndexedResource {
+
+		private final String path;
+
+		private final Resource resource;
+
+		private IndexedResource(String path, Resource resource) {
+			this.path = path;
+			this.resource = resource;
+		}
+
+	}
+
+}
@@ -90,6 +90,7 @@ public class ContractProjectUpdater {
 				GIT_WAIT_BETWEEN_ATTEMPTS);
 		long longWait = StringUtils.hasText(wait) ? Long.parseLong(wait) : DEFAULT_WAIT_BETWEEN_ATTEMPTS;
 		tryToPushCurrentBranch(clonedRepo, gitRepo, intAttempts, longWait);
+		this.gitContractsRepo.evictExports(this.stubRunnerOptions.stubRepositoryRoot);
 	}
 
 	private void tryToPushCurrentBranch(File clonedRepo, GitRepo gitRepo, int intAttempts, long longWait) {
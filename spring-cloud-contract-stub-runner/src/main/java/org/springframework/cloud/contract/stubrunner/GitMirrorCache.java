@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Persistent cache of bare mirrors of Git repositories with contracts and stubs. There
+ * is one mirror per repository URL, shared by all the builds that run on the machine.
+ * The first access clones the mirror, the subsequent ones only fetch the missing
+ * objects. Access to a mirror is guarded by a lock file so that parallel builds can
+ * share it.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class GitMirrorCache {
+
+	private static final Log log = LogFactory.getLog(GitMirrorCache.class);
+
+	private static final String TEMP_DIR_PREFIX = "git-contracts";
+
+	private static final Map<String, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+	private static final Set<String> FETCHED_MIRRORS = ConcurrentHashMap.newKeySet();
+
+	private final GitStubDownloaderProperties properties;
+
+	private final File mirror;
+
+	private final File lockFile;
+
+	GitMirrorCache(GitStubDownloaderProperties properties) {
+		this.properties = properties;
+		String name = DigestUtils.md5DigestAsHex(properties.url.toString().getBytes(StandardCharsets.UTF_8));
+		this.mirror = new File(properties.mirrorCacheDir, name + ".git");
+		this.lockFile = new File(properties.mirrorCacheDir, name + ".lock");
+	}
+
+	/**
+	 * Clones the mirror or fetches the latest changes into it.
+	 * @param alwaysFetch - if {@code false}, the changes are fetched once per JVM
+	 * @return the mirror
+	 */
+	File mirror(boolean alwaysFetch) {
+		String key = this.mirror.getAbsolutePath();
+		if (!alwaysFetch && FETCHED_MIRRORS.contains(key)) {
+			ContractInstrumentation.count(ContractInstrumentation.CACHE_HITS);
+			return this.mirror;
+		}
+		return withLock(() -> {
+			File mirror;
+			try (ContractInstrumentation.Sample sample = ContractInstrumentation
+					.start(ContractInstrumentation.STUBS_DOWNLOAD, String.valueOf(this.properties.url))) {
+				mirror = new GitRepo(this.mirror, this.properties).mirrorProject(this.properties.url);
+			}
+			ContractInstrumentation.count(ContractInstrumentation.DOWNLOADS);
+			FETCHED_MIRRORS.add(key);
+			return mirror;
+		});
+	}
+
+	/**
+	 * Writes only the files that belong to the given group and artifact id from the
+	 * mirror to a temporary folder.
+	 * @param stubConfiguration - stub to export
+	 * @return folder with the exported files
+	 */
+	File export(StubConfiguration stubConfiguration) {
+		mirror(false);
+		String dotSeparated = stubConfiguration.getGroupId() + "." + stubConfiguration.getArtifactId() + "/";
+		String slashSeparated = stubConfiguration.getGroupId() + "/" + stubConfiguration.getArtifactId() + "/";
+		File target = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
+		// exports are cached for the lifetime of the JVM, runners must not remove them
+		TemporaryFileStorage.add(target, GitMirrorCache.class);
+		File exported = withLock(() -> new GitRepo(this.mirror, this.properties).exportFromMirror(
+				this.properties.branch,
+				path -> startsWithSegments(path, dotSeparated) || startsWithSegments(path, slashSeparated), target));
+		if (log.isDebugEnabled()) {
+			log.debug("Exported files of [" + stubConfiguration.toColonSeparatedDependencyNotation() + "] from mirror ["
+					+ this.mirror + "] to [" + exported + "]");
+		}
+		return exported;
+	}
+
+	/**
+	 * Makes the next access to the mirror fetch the latest changes, for example after
+	 * changes were pushed to the repository.
+	 */
+	void evict() {
+		FETCHED_MIRRORS.remove(this.mirror.getAbsolutePath());
+	}
+
+	/**
+	 * Checks whether the path contains the given segments at a segment boundary, so that
+	 * {@code com.example/foo/} matches {@code META-INF/com.example/foo/bar.json} but not
+	 * {@code xcom.example/foo/bar.json}.
+	 */
+	static boolean startsWithSegments(String path, String segments) {
+		return path.startsWith(segments) || path.contains("/" + segments);
+	}
+
+	private <T> T withLock(Supplier<T> supplier) {
+		synchronized (JVM_LOCKS.computeIfAbsent(this.mirror.getAbsolutePath(), key -> new Object())) {
+			try {
+				Files.createDirectories(this.lockFile.getParentFile().toPath());
+				try (FileChannel channel = FileChannel.open(this.lockFile.toPath(), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+					return supplier.get();
+				}
+			}
+			catch (IOException e) {
+				throw new IllegalStateException("Failed to lock the mirror [" + this.mirror + "]", e);
+			}
+		}
+	}
+
+}
@@ -18,11 +18,14 @@ package org.springframework.cloud.contract.stubrunner;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.function.Predicate;
 
 import com.jcraft.jsch.IdentityRepository;
 import com.jcraft.jsch.JSch;
@@ -39,6 +42,7 @@ import org.apache.commons.logging.LogFactory;
 import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.CreateBranchCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ListBranchCommand;
 import org.eclipse.jgit.api.PullCommand;
@@ -47,14 +51,19 @@ import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.EmptyCommitException;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.SshSessionFactory;
 import org.eclipse.jgit.transport.SshTransport;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.util.FS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -128,6 +137,100 @@ class GitRepo {
 		}
 	}
 
+	/**
+	 * Creates a bare mirror of the project in the base directory. If the mirror already
+	 * exists, only the missing objects get fetched.
+	 * @param projectUri - URI of the project
+	 * @return the mirror
+	 */
+	File mirrorProject(URI projectUri) {
+		String projectGitUrl = sanitizeGitUrl(projectUri);
+		if (new File(this.basedir, Constants.HEAD).isFile()) {
+			try (Git git = this.gitFactory.open(this.basedir)) {
+				log.info("Fetching changes from [" + projectGitUrl + "] to mirror [" + this.basedir + "]");
+				this.gitFactory.fetch(git).setRemote(projectGitUrl)
+						.setRefSpecs(new RefSpec("+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*"))
+						.setRemoveDeletedRefs(true).call();
+				return this.basedir;
+			}
+			catch (Exception e) {
+				log.warn("Exception occurred while fetching changes to mirror [" + this.basedir
+						+ "]. Will mirror the repo again", e);
+				deleteBaseDirIfExists("Failed to delete the broken mirror");
+			}
+		}
+		try {
+			log.info("Mirroring repo from [" + projectGitUrl + "] to [" + this.basedir + "]");
+			this.gitFactory.getCloneCommandByCloneRepository().setURI(projectGitUrl).setDirectory(this.basedir)
+					.setBare(true).setCloneAllBranches(true).call().close();
+			return this.basedir;
+		}
+		catch (Exception e) {
+			deleteBaseDirIfExists("Failed to initialize base directory");
+			throw new IllegalStateException("Exception occurred while mirroring repo", e);
+		}
+	}
+
+	/**
+	 * Clones the project from its local mirror and points the origin back to the project.
+	 * @param mirror - local mirror of the project
+	 * @param projectUri - URI of the project
+	 * @return file where the project was cloned
+	 */
+	File cloneProjectFromMirror(File mirror, URI projectUri) {
+		try {
+			log.info("Cloning repo from mirror [" + mirror + "] to [" + this.basedir + "]");
+			try (Git git = Git.cloneRepository().setURI(mirror.toURI().toString()).setDirectory(this.basedir)
+					.call()) {
+				git.remoteSetUrl().setName("origin").setUri(new URIish(sanitizeGitUrl(projectUri))).call();
+				return git.getRepository().getWorkTree();
+			}
+		}
+		catch (Exception e) {
+			deleteBaseDirIfExists("Failed to initialize base directory");
+			throw new IllegalStateException("Exception occurred while cloning repo from mirror", e);
+		}
+	}
+
+	/**
+	 * Writes the files of a branch of the mirror in the base directory whose paths match
+	 * the filter to the target folder. Nothing else gets checked out.
+	 * @param branch - branch to export
+	 * @param pathFilter - filter of paths relative to the root of the repo
+	 * @param target - folder to write the files to
+	 * @return the target folder
+	 */
+	File exportFromMirror(String branch, Predicate<String> pathFilter, File target) {
+		try (Git git = this.gitFactory.open(this.basedir)) {
+			Repository repository = git.getRepository();
+			ObjectId tree = repository.resolve(Constants.R_HEADS + branch + "^{tree}");
+			if (tree == null) {
+				throw new IllegalStateException("Ref " + branch + " cannot be resolved in mirror [" + this.basedir + "]");
+			}
+			try (TreeWalk walk = new TreeWalk(repository)) {
+				walk.addTree(tree);
+				walk.setRecursive(true);
+				while (walk.next()) {
+					String path = walk.getPathString();
+					if (!pathFilter.test(path)) {
+						continue;
+					}
+					File file = new File(target, path);
+					if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+						throw new IOException("Failed to create folder [" + file.getParentFile() + "]");
+					}
+					try (OutputStream out = new FileOutputStream(file)) {
+						repository.open(walk.getObjectId(0)).copyTo(out);
+					}
+				}
+			}
+			return target;
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/**
 	 * Checks out a branch for a project.
 	 * @param project - a Git project
@@ -396,6 +499,10 @@ class GitRepo {
 			return git.push().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
 		}
 
+		FetchCommand fetch(Git git) {
+			return git.fetch().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
+		}
+
 		PullCommand pull(Git git) {
 			return git.pull().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
 		}
@@ -74,6 +74,21 @@ public interface HttpServerStub {
 	 */
 	HttpServerStub registerMappings(Collection<File> stubFiles);
 
+	/**
+	 * Applies changed stub files to the running server without restarting it. The
+	 * default implementation drops all the mappings and registers the given stub files
+	 * again. Should return itself to allow chaining.
+	 * @param stubFiles all the stub files, after the change
+	 * @param addedStubFiles added or modified stub files
+	 * @param removedStubFiles removed or modified stub files, as they were registered
+	 * @return this
+	 */
+	default HttpServerStub updateMappings(Collection<File> stubFiles, Collection<File> addedStubFiles,
+			Collection<File> removedStubFiles) {
+		reset();
+		return registerMappings(stubFiles);
+	}
+
 	/**
 	 * @return a collection of registered mappings.
 	 */
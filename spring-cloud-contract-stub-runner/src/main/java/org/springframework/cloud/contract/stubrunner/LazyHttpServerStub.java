@@ -0,0 +1,349 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link HttpServerStub} that only holds its port open when started. The actual HTTP
+ * server stub gets started, on a random port, and gets its mappings registered when
+ * the first connection arrives or when the stub is looked up. Connections to the held
+ * port are forwarded to the actual server, and the request journal of the actual server
+ * is registered under the held port. If an idle timeout is set, the actual server is
+ * stopped once all forwarded connections got closed in both directions and no bytes
+ * were exchanged with it for that long. It gets started again on the next connection.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class LazyHttpServerStub implements HttpServerStub {
+
+	private static final Log log = LogFactory.getLog(LazyHttpServerStub.class);
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final HttpServerStub delegate;
+
+	private final long idleTimeoutMillis;
+
+	private final Object lock = new Object();
+
+	private volatile ExecutorService connections;
+
+	private volatile ServerSocket placeholder;
+
+	private volatile HttpServerStubConfiguration configuration;
+
+	private volatile Collection<File> mappings = Collections.emptyList();
+
+	private volatile long lastActivity = System.currentTimeMillis();
+
+	private final AtomicInteger openConnections = new AtomicInteger();
+
+	private ScheduledFuture<?> idleCheck;
+
+	LazyHttpServerStub(HttpServerStub delegate, long idleTimeoutMillis) {
+		this.delegate = delegate;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	@Override
+	public int port() {
+		ServerSocket socket = this.placeholder;
+		return socket != null ? socket.getLocalPort() : -1;
+	}
+
+	@Override
+	public int httpsPort() {
+		return this.delegate.isRunning() && this.delegate.httpsPort() != -1 ? port() : -1;
+	}
+
+	@Override
+	public boolean isRunning() {
+		ServerSocket socket = this.placeholder;
+		return socket != null && !socket.isClosed();
+	}
+
+	@Override
+	public HttpServerStub start(HttpServerStubConfiguration configuration) {
+		synchronized (this.lock) {
+			if (isRunning()) {
+				return this;
+			}
+			ServerSocket socket = bind(configuration.port);
+			this.configuration = configuration;
+			this.placeholder = socket;
+			this.connections = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "stub-runner-lazy-" + THREAD_COUNTER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.connections.execute(() -> accept(socket));
+			if (this.idleTimeoutMillis > 0) {
+				long period = Math.max(this.idleTimeoutMillis / 2, 1);
+				this.idleCheck = IdleChecker.INSTANCE.scheduleWithFixedDelay(this::stopIfIdle, period, period,
+						TimeUnit.MILLISECONDS);
+			}
+		}
+		log.info("Holding port [" + port() + "] for project [" + configuration.toColonSeparatedDependencyNotation()
+				+ "], the stub server will be started on first use");
+		return this;
+	}
+
+	private ServerSocket bind(Integer port) {
+		try {
+			ServerSocket socket = new ServerSocket();
+			socket.setReuseAddress(true);
+			socket.bind(new InetSocketAddress(port != null ? port : 0));
+			return socket;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to hold port [" + port + "]", ex);
+		}
+	}
+
+	@Override
+	public HttpServerStub stop() {
+		synchronized (this.lock) {
+			if (this.idleCheck != null) {
+				this.idleCheck.cancel(false);
+				this.idleCheck = null;
+			}
+			ServerSocket socket = this.placeholder;
+			if (socket != null) {
+				StubRequestJournal.unregister(socket.getLocalPort());
+				try {
+					socket.close();
+				}
+				catch (IOException ex) {
+					if (log.isDebugEnabled()) {
+						log.debug("Failed to release port [" + socket.getLocalPort() + "]", ex);
+					}
+				}
+			}
+			if (this.delegate.isRunning()) {
+				this.delegate.stop();
+			}
+			if (this.connections != null) {
+				this.connections.shutdownNow();
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public HttpServerStub reset() {
+		synchronized (this.lock) {
+			if (this.delegate.isRunning()) {
+				this.delegate.reset();
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public HttpServerStub registerMappings(Collection<File> stubFiles) {
+		synchronized (this.lock) {
+			this.mappings = new ArrayList<>(stubFiles);
+			if (this.delegate.isRunning()) {
+				this.delegate.registerMappings(stubFiles);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public HttpServerStub updateMappings(Collection<File> stubFiles, Collection<File> addedStubFiles,
+			Collection<File> removedStubFiles) {
+		synchronized (this.lock) {
+			this.mappings = new ArrayList<>(stubFiles);
+			if (this.delegate.isRunning()) {
+				this.delegate.updateMappings(stubFiles, addedStubFiles, removedStubFiles);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public String registeredMappings() {
+		ensureStarted();
+		return this.delegate.registeredMappings();
+	}
+
+	@Override
+	public boolean isAccepted(File file) {
+		return this.delegate.isAccepted(file);
+	}
+
+	/**
+	 * Starts the actual HTTP server stub unless it's already running.
+	 * @return port to which the connections get forwarded
+	 */
+	int ensureStarted() {
+		synchronized (this.lock) {
+			if (!this.delegate.isRunning()) {
+				HttpServerStubConfiguration held = this.configuration;
+				this.delegate.start(new HttpServerStubConfiguration(held.configurer, held.stubRunnerOptions,
+						held.stubConfiguration, 0, true));
+				this.delegate.registerMappings(this.mappings);
+				registerJournal(internalPort());
+				log.info("Started stub server for project [" + held.toColonSeparatedDependencyNotation()
+						+ "] held on port [" + port() + "] with [" + this.mappings.size() + "] mappings");
+			}
+			this.lastActivity = System.currentTimeMillis();
+			return internalPort();
+		}
+	}
+
+	private int internalPort() {
+		return this.delegate.httpsPort() != -1 ? this.delegate.httpsPort() : this.delegate.port();
+	}
+
+	/**
+	 * The actual server registers its journal under its internal port, which is unknown
+	 * to the users of the stub.
+	 */
+	private void registerJournal(int internalPort) {
+		StubRequestJournal journal = StubRequestJournal.forPort(internalPort);
+		if (journal != null) {
+			StubRequestJournal.register(port(), journal);
+		}
+	}
+
+	private void stopIfIdle() {
+		synchronized (this.lock) {
+			if (this.delegate.isRunning() && this.openConnections.get() == 0
+					&& System.currentTimeMillis() - this.lastActivity >= this.idleTimeoutMillis) {
+				this.delegate.stop();
+				log.info("Stopped the idle stub server held on port [" + port() + "]");
+			}
+		}
+	}
+
+	private void accept(ServerSocket socket) {
+		while (!socket.isClosed()) {
+			try {
+				Socket client = socket.accept();
+				this.connections.execute(() -> forward(client));
+			}
+			catch (IOException ex) {
+				if (!socket.isClosed() && log.isDebugEnabled()) {
+					log.debug("Failed to accept a connection on port [" + socket.getLocalPort() + "]", ex);
+				}
+			}
+			catch (RuntimeException ex) {
+				// the executor got shut down
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Forwards the connection in both directions. When one side stops sending, only
+	 * that direction is shut down, so that the response to a half-closed request still
+	 * gets through. The sockets are closed once both directions have finished.
+	 * @param client - accepted connection
+	 */
+	private void forward(Socket client) {
+		this.openConnections.incrementAndGet();
+		try (Socket source = client;
+				Socket target = new Socket(InetAddress.getLoopbackAddress(), ensureStarted())) {
+			Future<?> upstream = this.connections.submit(() -> copy(source, target));
+			copy(target, source);
+			upstream.get();
+		}
+		catch (IOException | ExecutionException | RuntimeException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to forward a connection held on port [" + port() + "]", ex);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			this.lastActivity = System.currentTimeMillis();
+			this.openConnections.decrementAndGet();
+		}
+	}
+
+	private void copy(Socket from, Socket to) {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try {
+			InputStream in = from.getInputStream();
+			OutputStream out = to.getOutputStream();
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+				out.flush();
+				this.lastActivity = System.currentTimeMillis();
+			}
+			to.shutdownOutput();
+		}
+		catch (IOException ex) {
+			// the connection got reset, so the other direction can't complete either
+			closeQuietly(from);
+			closeQuietly(to);
+		}
+	}
+
+	private void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		}
+		catch (IOException ex) {
+			// already closed
+		}
+	}
+
+	/**
+	 * Single daemon thread that checks all lazy stubs for idleness.
+	 */
+	private static final class IdleChecker {
+
+		private static final ScheduledExecutorService INSTANCE = Executors
+				.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "stub-runner-lazy-idle-checker");
+					thread.setDaemon(true);
+					return thread;
+				});
+
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
+
+/**
+ * Reserves ports for stub servers across all the JVMs running on the machine. The
+ * reservations are kept in a shared allocation file guarded by a file lock, so parallel
+ * Maven or Gradle forks never get the same port handed over between the moment it was
+ * checked and the moment the stub server binds to it. A reservation is released once
+ * the stub server has started, or expires after {@link #RESERVATION_TTL_MILLIS} if the
+ * process that made it dies.
+ *
+ * A port is reserved right before a stub server gets started, one at a time, because the
+ * stub servers are started one by one and a port reserved upfront would stay blocked for
+ * the other forks until the stub server that gets it has started. The range is scanned
+ * sequentially, starting from a random offset, so that forks rarely compete for the same
+ * port.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class PortReservations {
+
+	private static final Log log = LogFactory.getLog(PortReservations.class);
+
+	static final long RESERVATION_TTL_MILLIS = 60_000;
+
+	private static final String SEPARATOR = "\t";
+
+	private static final Object JVM_LOCK = new Object();
+
+	private static final Set<Integer> JVM_RESERVATIONS = new HashSet<>();
+
+	private static final String PID = ManagementFactory.getRuntimeMXBean().getName();
+
+	private static final File DEFAULT_DIRECTORY = new File(System.getProperty("java.io.tmpdir"),
+			"spring-cloud-contract-ports");
+
+	private final File reservations;
+
+	private final File lockFile;
+
+	PortReservations() {
+		this(DEFAULT_DIRECTORY);
+	}
+
+	PortReservations(File directory) {
+		this.reservations = new File(directory, "reservations");
+		this.lockFile = new File(directory, "reservations.lock");
+	}
+
+	/**
+	 * Reserves a port that is free in the given range. The time it takes is recorded as
+	 * the {@link ContractInstrumentation#PORT_RESERVATION} phase.
+	 * @param minPort - lower bound of the range
+	 * @param maxPort - upper bound of the range
+	 * @return reserved port or {@code null} if the range got exhausted
+	 */
+	Integer reserve(int minPort, int maxPort) {
+		AtomicReference<Integer> reserved = new AtomicReference<>();
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.PORT_RESERVATION, minPort + ":" + maxPort)) {
+			synchronized (JVM_LOCK) {
+				withFileLock(entries -> {
+					int rangeSize = maxPort - minPort + 1;
+					int offset = ThreadLocalRandom.current().nextInt(rangeSize);
+					for (int i = 0; i < rangeSize; i++) {
+						int port = minPort + (offset + i) % rangeSize;
+						if (JVM_RESERVATIONS.contains(port) || entries.containsKey(port) || !isBindable(port)) {
+							continue;
+						}
+						reserved.set(port);
+						entries.put(port, PID + SEPARATOR + (System.currentTimeMillis() + RESERVATION_TTL_MILLIS));
+						return;
+					}
+				});
+				if (reserved.get() != null) {
+					JVM_RESERVATIONS.add(reserved.get());
+				}
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Reserved port [" + reserved.get() + "] from range [" + minPort + ":" + maxPort + "]");
+		}
+		return reserved.get();
+	}
+
+	/**
+	 * Releases a reservation. Should be called once the stub server is bound to the port
+	 * or failed to start.
+	 * @param port - reserved port
+	 */
+	void release(int port) {
+		synchronized (JVM_LOCK) {
+			if (JVM_RESERVATIONS.remove(port)) {
+				withFileLock(entries -> entries.remove(port));
+			}
+		}
+	}
+
+	static boolean isBindable(int port) {
+		try (ServerSocket socket = new ServerSocket()) {
+			socket.setReuseAddress(false);
+			socket.bind(new InetSocketAddress(port), 1);
+			return true;
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private void withFileLock(ReservationsCallback callback) {
+		boolean updated = false;
+		try {
+			Files.createDirectories(this.lockFile.getParentFile().toPath());
+			try (FileChannel channel = FileChannel.open(this.lockFile.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				Map<Integer, String> entries = read();
+				callback.update(entries);
+				updated = true;
+				write(entries);
+			}
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to access the port reservations file [" + this.reservations
+						+ "], ports will be reserved within this JVM only", ex);
+			}
+			if (!updated) {
+				callback.update(new HashMap<>());
+			}
+		}
+	}
+
+	private Map<Integer, String> read() throws IOException {
+		Map<Integer, String> entries = new HashMap<>();
+		if (!this.reservations.isFile()) {
+			return entries;
+		}
+		long now = System.currentTimeMillis();
+		for (String line : Files.readAllLines(this.reservations.toPath(), StandardCharsets.UTF_8)) {
+			String[] parts = line.split(SEPARATOR);
+			if (parts.length != 3) {
+				continue;
+			}
+			try {
+				if (Long.parseLong(parts[2]) > now) {
+					entries.put(Integer.parseInt(parts[0]), parts[1] + SEPARATOR + parts[2]);
+				}
+			}
+			catch (NumberFormatException ex) {
+				// corrupted entry, drop it
+			}
+		}
+		return entries;
+	}
+
+	private void write(Map<Integer, String> entries) throws IOException {
+		List<String> lines = new ArrayList<>(entries.size());
+		entries.forEach((port, reservation) -> lines.add(port + SEPARATOR + reservation));
+		Files.write(this.reservations.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+	private interface ReservationsCallback {
+
+		void update(Map<Integer, String> entries);
+
+	}
+
+}
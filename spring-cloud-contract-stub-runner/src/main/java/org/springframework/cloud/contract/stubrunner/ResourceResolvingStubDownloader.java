@@ -25,6 +25,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -40,11 +41,14 @@ import shaded.com.google.common.base.Function;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
 
 class ResourceResolvingStubDownloader implements StubDownloader {
 
 	private static final Log log = LogFactory.getLog(ResourceResolvingStubDownloader.class);
 
+	private static final String STUBS_READ_FOLDERS_IN_PLACE_PROPERTY = "stubs.read-folders-in-place";
+
 	private final StubRunnerOptions stubRunnerOptions;
 
 	private final BiFunction<StubRunnerOptions, StubConfiguration, RepoRoots> repoRootFunction;
@@ -67,7 +71,8 @@ class ResourceResolvingStubDownloader implements StubDownloader {
 		registerShutdownHook();
 		List<RepoRoot> repoRoots = repoRootFunction.apply(stubRunnerOptions, config);
 		List<String> paths = toPaths(repoRoots);
-		List<Resource> resources = resolveResources(paths);
+		boolean readFoldersInPlace = readFoldersInPlace();
+		List<Resource> resources = readFoldersInPlace ? resolveIndexedResources(paths) : resolveResources(paths);
 		if (log.isDebugEnabled()) {
 			log.debug("For paths " + paths + " found following resources " + resources);
 		}
@@ -75,10 +80,15 @@ class ResourceResolvingStubDownloader implements StubDownloader {
 			throw new IllegalStateException("No stubs were found on classpath for [" + config.getGroupId() + ":"
 					+ config.getArtifactId() + "]");
 		}
-		final File tmp = TemporaryFileStorage.createTempDir("classpath-stubs");
-		if (stubRunnerOptions.isDeleteStubsAfterTest()) {
-			tmp.deleteOnExit();
+		File inPlace = readFoldersInPlace ? inPlaceDirectory(resources, this.gavPattern.apply(config)) : null;
+		if (inPlace != null) {
+			log.info("Stubs for [" + config.getGroupId() + ":" + config.getArtifactId() + ":" + config.getVersion()
+					+ "] will be read directly from folder [" + inPlace + "]");
+			return new AbstractMap.SimpleEntry<>(new StubConfiguration(config.getGroupId(), config.getArtifactId(),
+					config.getVersion(), config.getClassifier()), inPlace);
 		}
+		final File tmp = TemporaryFileStorage.createTempDir("classpath-stubs");
+		TemporaryFileStorage.add(tmp);
 		boolean atLeastOneFound = false;
 		for (Resource resource : resources) {
 			try {
@@ -109,8 +119,75 @@ class ResourceResolvingStubDownloader implements StubDownloader {
 	}
 
 	private void registerShutdownHook() {
-		Runtime.getRuntime().addShutdownHook(
-				new Thread(() -> TemporaryFileStorage.cleanup(stubRunnerOptions.isDeleteStubsAfterTest())));
+		TemporaryFileStorage.registerShutdownHook(this.stubRunnerOptions.isDeleteStubsAfterTest());
+	}
+
+	private boolean readFoldersInPlace() {
+		String readFoldersInPlace = StubRunnerPropertyUtils.getProperty(this.stubRunnerOptions.getProperties(),
+				STUBS_READ_FOLDERS_IN_PLACE_PROPERTY);
+		if (!Boolean.parseBoolean(readFoldersInPlace)) {
+			return false;
+		}
+		if (this.stubRunnerOptions.isGenerateStubs()) {
+			log.warn("Stubs get generated at runtime, will copy the stubs to a temporary folder instead of reading "
+					+ "them directly from the classpath");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * If all the found files are regular files that lie under a single folder, the stubs
+	 * can be read directly from that folder instead of being copied.
+	 * @param resources found resources
+	 * @param groupAndArtifactPattern pattern to pick the relative path of a resource
+	 * @return folder with the stubs or {@code null} if the stubs have to be copied
+	 */
+	File inPlaceDirectory(List<Resource> resources, Pattern groupAndArtifactPattern) {
+		File inPlace = null;
+		for (Resource resource : resources) {
+			if (isDirectory(resource)) {
+				continue;
+			}
+			File root = inPlaceRoot(resource, groupAndArtifactPattern);
+			if (root == null || (inPlace != null && !inPlace.equals(root))) {
+				return null;
+			}
+			inPlace = root;
+		}
+		return inPlace;
+	}
+
+	private File inPlaceRoot(Resource resource, Pattern groupAndArtifactPattern) {
+		try {
+			if (!resource.isFile()) {
+				return null;
+			}
+			File file = resource.getFile();
+			Matcher matcher = groupAndArtifactPattern.matcher(file.toURI().getPath());
+			if (!matcher.matches()) {
+				return null;
+			}
+			// for group and artifact patterns only the folder of the matched artifact is
+			// taken, otherwise the folder against which the relative path got resolved
+			boolean groupAndArtifact = matcher.groupCount() > 2;
+			String relativePath = groupAndArtifact ? matcher.group(3) : matcher.group(1);
+			if (groupAndArtifact && !relativePath.startsWith("/")) {
+				return null;
+			}
+			int depth = StringUtils.countOccurrencesOf(StringUtils.trimLeadingCharacter(relativePath, '/'), "/");
+			File root = file.getParentFile();
+			for (int i = 0; i < depth && root != null; i++) {
+				root = root.getParentFile();
+			}
+			return root;
+		}
+		catch (IOException ex) {
+			if (log.isTraceEnabled()) {
+				log.trace("Resource [" + resource + "] can't be read in place", ex);
+			}
+			return null;
+		}
 	}
 
 	private void copyTheFoundFiles(File tmp, Resource resource, String relativePath) throws IOException {
@@ -125,7 +202,6 @@ class ResourceResolvingStubDownloader implements StubDownloader {
 		if (!newFile.exists() && !isDirectory(resource)) {
 			try (InputStream stream = resource.getInputStream()) {
 				Files.copy(stream, newFile.toPath());
-				TemporaryFileStorage.add(newFile);
 			}
 		}
 		if (log.isDebugEnabled()) {
@@ -178,6 +254,16 @@ class ResourceResolvingStubDownloader implements StubDownloader {
 		return list;
 	}
 
+	List<Resource> resolveIndexedResources(List<String> paths) {
+		ClasspathStubIndex index = ClasspathStubIndex.forClassLoader(this.resolver.getClassLoader());
+		List<Resource> resources = new ArrayList<>();
+		for (String path : paths) {
+			List<Resource> indexed = index.find(path);
+			resources.addAll(indexed != null ? indexed : resolveResources(Collections.singletonList(path)));
+		}
+		return resources;
+	}
+
 	List<Resource> resolveResources(List<String> paths) {
 		List<Resource> resources = new ArrayList<>();
 		for (String path : paths) {
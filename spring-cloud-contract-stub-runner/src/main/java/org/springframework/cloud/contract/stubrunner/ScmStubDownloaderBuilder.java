@@ -120,6 +120,8 @@ class GitContractsRepo {
 
 	static final Map<Resource, File> CACHED_LOCATIONS = new ConcurrentHashMap<>();
 
+	static final Map<String, File> CACHED_EXPORTS = new ConcurrentHashMap<>();
+
 	private static final Log log = LogFactory.getLog(GitContractsRepo.class);
 
 	private static final String TEMP_DIR_PREFIX = "git-contracts";
@@ -136,7 +138,9 @@ class GitContractsRepo {
 		if (file == null) {
 			File tmpDirWhereStubsWillBeUnzipped = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
 			GitRepo gitRepo = new GitRepo(tmpDirWhereStubsWillBeUnzipped, properties);
-			file = gitRepo.cloneProject(properties.url);
+			file = properties.mirrorCache
+					? gitRepo.cloneProjectFromMirror(new GitMirrorCache(properties).mirror(true), properties.url)
+					: gitRepo.cloneProject(properties.url);
 			gitRepo.checkout(file, properties.branch);
 			CACHED_LOCATIONS.put(repo, file);
 			if (log.isDebugEnabled()) {
@@ -155,6 +159,42 @@ class GitContractsRepo {
 		return file;
 	}
 
+	/**
+	 * With the mirror cache turned on, only the files of the given stub get exported
+	 * from the mirror. Otherwise the whole repository gets cloned.
+	 * @param repo - repository with contracts and stubs
+	 * @param stubConfiguration - stub to fetch
+	 * @return folder with the contracts and stubs
+	 */
+	File repoWithStub(Resource repo, StubConfiguration stubConfiguration) {
+		GitStubDownloaderProperties properties = new GitStubDownloaderProperties(repo, this.options);
+		if (!properties.mirrorCache) {
+			return clonedRepo(repo);
+		}
+		String key = exportKeyPrefix(properties) + stubConfiguration.getGroupId() + ":"
+				+ stubConfiguration.getArtifactId();
+		return CACHED_EXPORTS.computeIfAbsent(key, k -> new GitMirrorCache(properties).export(stubConfiguration));
+	}
+
+	/**
+	 * Drops the exports of the given repository and makes the next export fetch the
+	 * mirror again, so that changes pushed to the repository become visible.
+	 * @param repo - repository with contracts and stubs
+	 */
+	void evictExports(Resource repo) {
+		GitStubDownloaderProperties properties = new GitStubDownloaderProperties(repo, this.options);
+		if (!properties.mirrorCache) {
+			return;
+		}
+		String prefix = exportKeyPrefix(properties);
+		CACHED_EXPORTS.keySet().removeIf(key -> key.startsWith(prefix));
+		new GitMirrorCache(properties).evict();
+	}
+
+	private static String exportKeyPrefix(GitStubDownloaderProperties properties) {
+		return properties.url + "#" + properties.branch + "#";
+	}
+
 }
 
 class GitStubDownloader implements StubDownloader {
@@ -185,7 +225,7 @@ class GitStubDownloader implements StubDownloader {
 						+ "]");
 			}
 			Resource repo = this.stubRunnerOptions.getStubRepositoryRoot();
-			File clonedRepo = this.gitContractsRepo.clonedRepo(repo);
+			File clonedRepo = this.gitContractsRepo.repoWithStub(repo, stubConfiguration);
 			FileWalker walker = new FileWalker(stubConfiguration);
 			Files.walkFileTree(clonedRepo.toPath(), walker);
 			if (walker.foundFile != null) {
@@ -203,8 +243,7 @@ class GitStubDownloader implements StubDownloader {
 	}
 
 	private void registerShutdownHook() {
-		Runtime.getRuntime().addShutdownHook(
-				new Thread(() -> TemporaryFileStorage.cleanup(GitStubDownloader.this.deleteStubsAfterTest)));
+		TemporaryFileStorage.registerShutdownHook(this.deleteStubsAfterTest);
 	}
 
 }
@@ -221,6 +260,10 @@ class GitStubDownloaderProperties {
 
 	private static final String GIT_ENSURE_GIT_SUFFIX_PROPERTY = "git.ensure-git-suffix";
 
+	private static final String GIT_MIRROR_CACHE_PROPERTY = "git.mirror-cache";
+
+	private static final String GIT_MIRROR_CACHE_DIR_PROPERTY = "git.mirror-cache-dir";
+
 	final URI url;
 
 	final String username;
@@ -231,6 +274,10 @@ class GitStubDownloaderProperties {
 
 	final Boolean ensureGitSuffix;
 
+	final boolean mirrorCache;
+
+	final File mirrorCacheDir;
+
 	GitStubDownloaderProperties(Resource repo, StubRunnerOptions options) {
 		String repoUrl;
 		Map<String, String> args = options.getProperties();
@@ -253,11 +300,15 @@ class GitStubDownloaderProperties {
 		this.branch = StringUtils.hasText(branch) ? branch : "master";
 		String ensureGitSuffix = StubRunnerPropertyUtils.getProperty(args, GIT_ENSURE_GIT_SUFFIX_PROPERTY);
 		this.ensureGitSuffix = StringUtils.hasText(ensureGitSuffix) ? Boolean.parseBoolean(ensureGitSuffix) : true;
+		this.mirrorCache = Boolean.parseBoolean(StubRunnerPropertyUtils.getProperty(args, GIT_MIRROR_CACHE_PROPERTY));
+		String mirrorCacheDir = StubRunnerPropertyUtils.getProperty(args, GIT_MIRROR_CACHE_DIR_PROPERTY);
+		this.mirrorCacheDir = StringUtils.hasText(mirrorCacheDir) ? new File(mirrorCacheDir)
+				: new File(System.getProperty("user.home"), ".spring-cloud-contract/git-mirrors");
 
 		if (log.isDebugEnabled()) {
 			log.debug("Repo url is [" + repoUrl + "], modified url string " + "is [" + modifiedRepo + "] URL is ["
 					+ this.url + "]  branch is [" + this.branch + "] and ensureGitSuffix is [" + this.ensureGitSuffix
-					+ "]");
+					+ "], mirrorCache is [" + this.mirrorCache + "]");
 		}
 	}
 
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
+import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
+
+/**
+ * JVM-wide pool of running stubs. Stubs are keyed by a normalized fingerprint of the
+ * {@link StubRunnerOptions}, so JUnit rules, JUnit 5 extensions and Spring contexts that
+ * ask for the same stubs share a single set of downloaded, unpacked and started stub
+ * servers.
+ *
+ * Every {@link #lease(StubRunnerOptions, MessageVerifier)} increments a reference
+ * counter and closing the returned {@link BatchStubRunner} releases it. When the last
+ * lease gets released, the stubs are stopped after
+ * {@link StubRunnerOptions#getSharedStubsIdleTimeout()} unless somebody leases them
+ * again. A stub that gets leased again after having been idle has its mappings reset
+ * instead of being restarted. Stopping and starting stubs with the same fingerprint is
+ * serialized, so stubs on fixed ports never get started before the previous ones are
+ * stopped.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class SharedStubRunnerPool {
+
+	private static final Log log = LogFactory.getLog(SharedStubRunnerPool.class);
+
+	private static final SharedStubRunnerPool INSTANCE = new SharedStubRunnerPool();
+
+	private final Map<String, PooledStubs> pool = new HashMap<>();
+
+	private final Map<String, Object> lifecycleLocks = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "stub-runner-shared-pool-reaper");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	SharedStubRunnerPool() {
+	}
+
+	/**
+	 * @return the JVM-wide instance of the pool
+	 */
+	public static SharedStubRunnerPool instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Leases running stubs for the given options. Starts the stubs if no other consumer
+	 * is running them already.
+	 * @param options stub runner options
+	 * @param verifier message verifier used when messages get triggered through the
+	 * returned lease
+	 * @return running stubs - closing them releases the lease
+	 */
+	public BatchStubRunner lease(StubRunnerOptions options, MessageVerifier<?> verifier) {
+		String fingerprint = fingerprint(options);
+		PooledStubs stubs;
+		synchronized (this) {
+			stubs = this.pool.computeIfAbsent(fingerprint, key -> new PooledStubs(key, options));
+			stubs.acquire();
+		}
+		try {
+			synchronized (lifecycleLock(fingerprint)) {
+				stubs.start();
+			}
+		}
+		catch (RuntimeException ex) {
+			release(stubs, 0L);
+			throw ex;
+		}
+		return new Lease(stubs, verifier);
+	}
+
+	/**
+	 * @return number of currently pooled stub sets
+	 */
+	synchronized int size() {
+		return this.pool.size();
+	}
+
+	private void release(PooledStubs stubs, long idleTimeout) {
+		synchronized (this) {
+			if (stubs.release() > 0) {
+				return;
+			}
+			if (idleTimeout > 0) {
+				if (log.isDebugEnabled()) {
+					log.debug("No more leases for stubs [" + stubs.fingerprint + "], will stop them in [" + idleTimeout
+							+ "] ms unless they get leased again");
+				}
+				stubs.scheduledShutdown = this.reaper.schedule(() -> shutdownIfIdle(stubs), idleTimeout,
+						TimeUnit.MILLISECONDS);
+				return;
+			}
+		}
+		shutdownIfIdle(stubs);
+	}
+
+	private void shutdownIfIdle(PooledStubs stubs) {
+		synchronized (lifecycleLock(stubs.fingerprint)) {
+			synchronized (this) {
+				if (stubs.references > 0 || this.pool.get(stubs.fingerprint) != stubs) {
+					return;
+				}
+				this.pool.remove(stubs.fingerprint);
+			}
+			stubs.close();
+		}
+	}
+
+	private Object lifecycleLock(String fingerprint) {
+		return this.lifecycleLocks.computeIfAbsent(fingerprint, key -> new Object());
+	}
+
+	static String fingerprint(StubRunnerOptions options) {
+		Map<String, Object> parts = new TreeMap<>();
+		parts.put("minPort", options.getMinPortValue());
+		parts.put("maxPort", options.getMaxPortValue());
+		parts.put("repositoryRoot", options.getStubRepositoryRootAsString());
+		parts.put("stubsMode", options.getStubsMode());
+		parts.put("classifier", options.getStubsClassifier());
+		List<String> dependencies = new ArrayList<>();
+		if (options.getDependencies() != null) {
+			options.getDependencies().forEach(dependency -> dependencies.add(dependency.toString()));
+		}
+		dependencies.sort(String::compareTo);
+		parts.put("dependencies", dependencies);
+		Map<String, Integer> ports = new TreeMap<>();
+		if (options.getStubIdsToPortMapping() != null) {
+			options.getStubIdsToPortMapping().forEach((stub, port) -> ports.put(stub.toString(), port));
+		}
+		parts.put("ports", ports);
+		parts.put("username", options.getUsername());
+		parts.put("password", Objects.hashCode(options.getPassword()));
+		StubRunnerOptions.StubRunnerProxyOptions proxy = options.getProxyOptions();
+		parts.put("proxy", proxy != null ? proxy.getProxyHost() + ":" + proxy.getProxyPort() : null);
+		parts.put("stubsPerConsumer", options.isStubsPerConsumer());
+		parts.put("consumerName", options.getConsumerName());
+		parts.put("mappingsOutputFolder", options.getMappingsOutputFolder());
+		parts.put("deleteStubsAfterTest", options.isDeleteStubsAfterTest());
+		parts.put("generateStubs", options.isGenerateStubs());
+		parts.put("failOnNoStubs", options.isFailOnNoStubs());
+		parts.put("properties", options.getProperties() != null ? new TreeMap<>(options.getProperties()) : null);
+		parts.put("httpServerStubConfigurer", options.getHttpServerStubConfigurer() != null
+				? options.getHttpServerStubConfigurer().getName() : null);
+		parts.put("serverId", options.getServerId());
+		return parts.toString();
+	}
+
+	/**
+	 * A set of stubs that are shared between leases.
+	 */
+	private static final class PooledStubs {
+
+		private final String fingerprint;
+
+		private final LeaseRoutingMessageVerifier verifier = new LeaseRoutingMessageVerifier();
+
+		private final StubRunnerOptions options;
+
+		private Collection<StubRunner> stubRunners;
+
+		private RunningStubs runningStubs;
+
+		private int references;
+
+		private volatile boolean idle;
+
+		private ScheduledFuture<?> scheduledShutdown;
+
+		private PooledStubs(String fingerprint, StubRunnerOptions options) {
+			this.fingerprint = fingerprint;
+			this.options = options;
+		}
+
+		// guarded by the pool
+		private void acquire() {
+			this.references++;
+			if (this.scheduledShutdown != null) {
+				this.scheduledShutdown.cancel(false);
+				this.scheduledShutdown = null;
+			}
+		}
+
+		// guarded by the pool
+		private int release() {
+			this.references--;
+			if (this.references == 0) {
+				this.idle = true;
+			}
+			return this.references;
+		}
+
+		// guarded by the lifecycle lock of the fingerprint
+		private void start() {
+			if (this.stubRunners == null) {
+				StubDownloader downloader = new StubDownloaderBuilderProvider().get(this.options);
+				Collection<StubRunner> runners = new StubRunnerFactory(this.options, downloader, this.verifier)
+						.createStubsFromServiceConfiguration();
+				this.runningStubs = new BatchStubRunner(runners).runStubs();
+				this.stubRunners = runners;
+				log.info("Started shared stubs " + this.runningStubs);
+				return;
+			}
+			if (this.idle) {
+				if (log.isDebugEnabled()) {
+					log.debug("Reusing shared stubs " + this.runningStubs + ", will reset their mappings");
+				}
+				this.stubRunners.forEach(StubRunner::resetStubs);
+				this.idle = false;
+			}
+		}
+
+		// guarded by the lifecycle lock of the fingerprint
+		private void close() {
+			if (this.stubRunners == null) {
+				return;
+			}
+			log.info("Stopping idle shared stubs " + this.runningStubs);
+			try {
+				new BatchStubRunner(this.stubRunners).close();
+			}
+			catch (IOException ex) {
+				log.warn("Exception occurred while trying to stop shared stubs", ex);
+			}
+			this.stubRunners = null;
+		}
+
+	}
+
+	/**
+	 * Leased view of the pooled stubs. Messages triggered through the lease are sent via
+	 * the lease's own message verifier.
+	 */
+	private final class Lease extends BatchStubRunner {
+
+		private final PooledStubs stubs;
+
+		private final MessageVerifier<?> verifier;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Lease(PooledStubs stubs, MessageVerifier<?> verifier) {
+			super(stubs.stubRunners);
+			this.stubs = stubs;
+			this.verifier = verifier;
+			this.stubs.verifier.leased(verifier);
+		}
+
+		@Override
+		public RunningStubs runStubs() {
+			return this.stubs.runningStubs;
+		}
+
+		@Override
+		public boolean trigger(String ivyNotation, String labelName) {
+			return this.stubs.verifier.callWith(this.verifier, () -> super.trigger(ivyNotation, labelName));
+		}
+
+		@Override
+		public boolean trigger(String labelName) {
+			return this.stubs.verifier.callWith(this.verifier, () -> super.trigger(labelName));
+		}
+
+		@Override
+		public boolean trigger() {
+			return this.stubs.verifier.callWith(this.verifier, super::trigger);
+		}
+
+		@Override
+		public void close() {
+			if (this.released.compareAndSet(false, true)) {
+				this.stubs.verifier.released(this.verifier);
+				release(this.stubs, this.stubs.options.getSharedStubsIdleTimeout());
+			}
+		}
+
+	}
+
+	/**
+	 * Message verifier that sends the messages via the verifier of the lease that
+	 * triggered them. Falls back to the verifier of the most recent lease that has not
+	 * been released yet.
+	 */
+	private static final class LeaseRoutingMessageVerifier implements MessageVerifier {
+
+		private final ThreadLocal<MessageVerifier> current = new ThreadLocal<>();
+
+		private final Deque<MessageVerifier> leases = new ConcurrentLinkedDeque<>();
+
+		private void leased(MessageVerifier verifier) {
+			if (verifier != null) {
+				this.leases.addLast(verifier);
+			}
+		}
+
+		private void released(MessageVerifier verifier) {
+			if (verifier != null) {
+				this.leases.removeLastOccurrence(verifier);
+			}
+		}
+
+		private <T> T callWith(MessageVerifier verifier, Supplier<T> call) {
+			MessageVerifier previous = this.current.get();
+			this.current.set(verifier);
+			try {
+				return call.get();
+			}
+			finally {
+				if (previous == null) {
+					this.current.remove();
+				}
+				else {
+					this.current.set(previous);
+				}
+			}
+		}
+
+		private MessageVerifier delegate() {
+			MessageVerifier verifier = this.current.get();
+			if (verifier == null) {
+				verifier = this.leases.peekLast();
+			}
+			if (verifier == null) {
+				throw new IllegalStateException(
+						"No message verifier available, all leases of the shared stubs got released");
+			}
+			return verifier;
+		}
+
+		@Override
+		public void send(Object message, String destination, YamlContract contract) {
+			delegate().send(message, destination, contract);
+		}
+
+		@Override
+		public Object receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+			return delegate().receive(destination, timeout, timeUnit, contract);
+		}
+
+		@Override
+		public Object receive(String destination, YamlContract contract) {
+			return delegate().receive(destination, contract);
+		}
+
+		@Override
+		public void send(Object payload, Map headers, String destination, YamlContract contract) {
+			delegate().send(payload, headers, destination, contract);
+		}
+
+	}
+
+}
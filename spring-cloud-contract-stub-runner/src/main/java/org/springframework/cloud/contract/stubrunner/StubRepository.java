@@ -27,7 +27,12 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,11 +40,15 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.cloud.contract.spec.Contract;
 import org.springframework.cloud.contract.spec.ContractConverter;
 import org.springframework.cloud.contract.stubrunner.provider.wiremock.WireMockHttpServerStub;
+import org.springframework.cloud.contract.verifier.converter.StubsIndex;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
 import org.springframework.cloud.contract.verifier.util.ContractScanner;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 
 /**
- * Wraps the folder with stub mappings.
+ * Wraps the folder with stub mappings. If the folder is an unpacked stubs jar with a
+ * {@link StubsIndex}, the mappings and contract files are taken from the index instead
+ * of scanning the folder.
  */
 class StubRepository {
 
@@ -49,6 +58,8 @@ class StubRepository {
 
 	final Collection<Contract> contracts;
 
+	private final Map<File, Collection<Contract>> contractsPerFile = new LinkedHashMap<>();
+
 	private final File path;
 
 	private final List<ContractConverter> contractConverters;
@@ -57,7 +68,26 @@ class StubRepository {
 
 	private final StubRunnerOptions options;
 
+	private volatile Map<String, Long> fingerprints;
+
+	private final Map<String, File> registeredStubFiles = new ConcurrentHashMap<>();
+
 	StubRepository(File repository, List<HttpServerStub> httpServerStubs, StubRunnerOptions options) {
+		this(repository, httpServerStubs, options, null);
+	}
+
+	/**
+	 * Scans the repository. If the previous scan of this stub was taken from the same
+	 * folder, contract files that have the same relative path and content are not
+	 * converted again. Contracts of another folder are never reused, since they may
+	 * reference files of that folder, which gets removed after a reload.
+	 * @param repository - folder with the stubs
+	 * @param httpServerStubs - HTTP server stubs that decide which files are mappings
+	 * @param options - stub runner options
+	 * @param previous - previous scan of the stubs or {@code null} if there's none
+	 */
+	StubRepository(File repository, List<HttpServerStub> httpServerStubs, StubRunnerOptions options,
+			StubRepository previous) {
 		if (!repository.isDirectory()) {
 			throw new IllegalArgumentException("Missing descriptor repository under path [" + repository + "]");
 		}
@@ -68,8 +98,12 @@ class StubRepository {
 		this.httpServerStubs = httpServerStubs;
 		this.path = repository;
 		this.options = options;
-		this.stubs = stubs();
-		this.contracts = contracts();
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation.start(ContractInstrumentation.STUBS_SCAN,
+				repository.getAbsolutePath())) {
+			StubsIndex index = index();
+			this.stubs = index != null ? indexed(index.getMappings()) : stubs();
+			this.contracts = contracts(previous, index);
+		}
 		if (log.isTraceEnabled()) {
 			log.trace("Found the following contracts " + this.contracts);
 		}
@@ -94,8 +128,143 @@ class StubRepository {
 	/**
 	 * @return a list of contracts
 	 */
-	private Collection<Contract> contracts() {
-		return new ArrayList<>(contractDescriptors());
+	private Collection<Contract> contracts(StubRepository previous, StubsIndex index) {
+		boolean sameFolder = previous != null && previous.path.equals(this.path);
+		Map<String, Long> previousFingerprints = sameFolder ? previous.fingerprints() : Collections.emptyMap();
+		Map<String, File> previousFiles = sameFolder ? previous.relativeContractFiles() : Collections.emptyMap();
+		List<Contract> contracts = new ArrayList<>();
+		for (File file : index != null ? indexed(index.getContracts()) : contractFiles()) {
+			String relativePath = relativePath(file);
+			File previousFile = previousFiles.get(relativePath);
+			Collection<Contract> converted = previousFile != null
+					&& previousFingerprints.get(relativePath).equals(StubsIndex.checksum(file))
+							? previous.contractsPerFile.get(previousFile) : ContractScanner.convertContractFile(file);
+			if (!converted.isEmpty()) {
+				this.contractsPerFile.put(file, converted);
+				contracts.addAll(converted);
+			}
+		}
+		return contracts;
+	}
+
+	/**
+	 * @return index of the stubs if present, complete and usable with the registered
+	 * HTTP server stubs, {@code null} otherwise. The index is not complete if it lists a
+	 * missing file or if the folder contains files that the index has not seen.
+	 */
+	private StubsIndex index() {
+		if (!this.httpServerStubs.stream().allMatch(WireMockHttpServerStub.class::isInstance)) {
+			return null;
+		}
+		StubsIndex index = StubsIndex.read(this.path);
+		if (index == null) {
+			return null;
+		}
+		boolean complete = Stream.concat(index.getMappings().stream(), index.getContracts().stream())
+				.allMatch(entry -> entry.file(this.path).isFile());
+		if (!complete) {
+			log.warn("The stubs index of [" + this.path + "] lists missing files, will scan the stubs");
+			return null;
+		}
+		List<File> unlisted;
+		try {
+			unlisted = index.unlistedFiles(this.path);
+		}
+		catch (IllegalStateException ex) {
+			log.warn("Failed to compare the stubs index of [" + this.path + "] with its files, will scan the stubs",
+					ex);
+			return null;
+		}
+		if (!unlisted.isEmpty()) {
+			log.warn("The stubs index of [" + this.path + "] does not list the files " + unlisted
+					+ ", will scan the stubs");
+			return null;
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Will read the stubs of [" + this.path + "] from the stubs index");
+		}
+		return index;
+	}
+
+	private List<File> indexed(List<StubsIndex.Entry> entries) {
+		return entries.stream().map(entry -> entry.file(this.path)).filter(this::isStubPerConsumerPathMatching)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Content fingerprints of the mappings and contracts, by path relative to the
+	 * repository. Computed once, on first access, so that the repository can be compared
+	 * with a later scan even if the files got modified in place.
+	 * @return fingerprints by relative path
+	 */
+	Map<String, Long> fingerprints() {
+		Map<String, Long> fingerprints = this.fingerprints;
+		if (fingerprints == null) {
+			synchronized (this) {
+				fingerprints = this.fingerprints;
+				if (fingerprints == null) {
+					fingerprints = new LinkedHashMap<>();
+					for (File file : this.stubs) {
+						fingerprints.put(relativePath(file), StubsIndex.checksum(file));
+					}
+					for (File file : this.contractsPerFile.keySet()) {
+						fingerprints.put(relativePath(file), StubsIndex.checksum(file));
+					}
+					this.fingerprints = fingerprints;
+				}
+			}
+		}
+		return fingerprints;
+	}
+
+	/**
+	 * The HTTP server stub keeps the mappings under the files they were registered with.
+	 * Mappings that did not change on reload stay registered under the file of the
+	 * previous scan, which may lie in a folder that no longer exists.
+	 * @param relativePath - path of the mapping relative to the repository
+	 * @return file with which the mapping was registered in the running server
+	 */
+	File registeredStubFile(String relativePath) {
+		File registered = this.registeredStubFiles.get(relativePath);
+		return registered != null ? registered : this.path.toPath().resolve(relativePath).toFile();
+	}
+
+	void keepRegisteredStubFile(String relativePath, File registered) {
+		this.registeredStubFiles.put(relativePath, registered);
+	}
+
+	Map<String, File> relativeStubFiles() {
+		return relativePaths(this.stubs);
+	}
+
+	Map<String, File> relativeContractFiles() {
+		return relativePaths(this.contractsPerFile.keySet());
+	}
+
+	private Map<String, File> relativePaths(Collection<File> files) {
+		Map<String, File> paths = new LinkedHashMap<>();
+		for (File file : files) {
+			paths.put(relativePath(file), file);
+		}
+		return paths;
+	}
+
+	private String relativePath(File file) {
+		return this.path.toPath().relativize(file.toPath()).toString();
+	}
+
+	private List<File> contractFiles() {
+		if (!this.path.exists()) {
+			return Collections.emptyList();
+		}
+		try (Stream<Path> paths = Files.walk(this.path.toPath())) {
+			return paths.map(Path::toFile).filter(file -> !file.isDirectory())
+					.filter(this::isStubPerConsumerPathMatching).collect(Collectors.toList());
+		}
+		catch (IOException e) {
+			log.warn("Exception occurred while trying to parse file", e);
+			return Collections.emptyList();
+		}
 	}
 
 	/**
@@ -148,12 +317,6 @@ class StubRepository {
 		return new WireMockHttpServerStub().isAccepted(file);
 	}
 
-	private Collection<Contract> contractDescriptors() {
-		return (this.path.exists()
-				? ContractScanner.collectContractDescriptors(this.path, this::isStubPerConsumerPathMatching)
-				: Collections.<Contract>emptySet());
-	}
-
 	private boolean isStubPerConsumerPathMatching(File file) {
 		if (!this.options.isStubsPerConsumer()) {
 			return true;
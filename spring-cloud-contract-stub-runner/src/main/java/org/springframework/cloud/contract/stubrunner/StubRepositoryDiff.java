@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per file difference between two scans of the same stubs. Files are compared by their
+ * path relative to the stubs folder and by their content.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class StubRepositoryDiff {
+
+	/**
+	 * Added or modified mappings, from the current scan.
+	 */
+	final List<File> addedMappings = new ArrayList<>();
+
+	/**
+	 * Removed or modified mappings, from the previous scan.
+	 */
+	final List<File> removedMappings = new ArrayList<>();
+
+	/**
+	 * Number of added, modified or removed mapping files.
+	 */
+	final int changedMappingFiles;
+
+	/**
+	 * Number of added, modified or removed contract files.
+	 */
+	final int changedContractFiles;
+
+	private StubRepositoryDiff(StubRepository previous, StubRepository current) {
+		Map<String, Long> previousFingerprints = previous.fingerprints();
+		Map<String, Long> currentFingerprints = current.fingerprints();
+		Map<String, File> previousMappings = previous.relativeStubFiles();
+		Map<String, File> currentMappings = current.relativeStubFiles();
+		currentMappings.forEach((path, file) -> {
+			File previousFile = previousMappings.get(path);
+			if (previousFile == null) {
+				this.addedMappings.add(file);
+			}
+			else if (!Objects.equals(previousFingerprints.get(path), currentFingerprints.get(path))) {
+				this.removedMappings.add(previous.registeredStubFile(path));
+				this.addedMappings.add(file);
+			}
+			else {
+				current.keepRegisteredStubFile(path, previous.registeredStubFile(path));
+			}
+		});
+		int changedMappingFiles = this.addedMappings.size();
+		for (String path : previousMappings.keySet()) {
+			if (!currentMappings.containsKey(path)) {
+				this.removedMappings.add(previous.registeredStubFile(path));
+				changedMappingFiles++;
+			}
+		}
+		this.changedMappingFiles = changedMappingFiles;
+		Map<String, File> previousContracts = previous.relativeContractFiles();
+		Map<String, File> currentContracts = current.relativeContractFiles();
+		int changedContractFiles = 0;
+		for (String path : currentContracts.keySet()) {
+			if (!previousContracts.containsKey(path)
+					|| !Objects.equals(previousFingerprints.get(path), currentFingerprints.get(path))) {
+				changedContractFiles++;
+			}
+		}
+		for (String path : previousContracts.keySet()) {
+			if (!currentContracts.containsKey(path)) {
+				changedContractFiles++;
+			}
+		}
+		this.changedContractFiles = changedContractFiles;
+	}
+
+	static StubRepositoryDiff between(StubRepository previous, StubRepository current) {
+		return new StubRepositoryDiff(previous, current);
+	}
+
+	boolean hasMappingChanges() {
+		return !this.addedMappings.isEmpty() || !this.removedMappings.isEmpty();
+	}
+
+	boolean isEmpty() {
+		return changedFiles() == 0;
+	}
+
+	int changedFiles() {
+		return this.changedMappingFiles + this.changedContractFiles;
+	}
+
+	@Override
+	public String toString() {
+		return "StubRepositoryDiff{" + "changedMappingFiles=" + this.changedMappingFiles + ", changedContractFiles="
+				+ this.changedContractFiles + '}';
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded journal of requests received by a single HTTP stub server. Contrary to the
+ * request journal of the HTTP server stub, it never grows. It keeps:
+ *
+ * <ul>
+ * <li>the last {@code capacity} requests in a ring buffer, optionally sampled</li>
+ * <li>the number of hits and a latency histogram per mapping</li>
+ * <li>the number of requests that did not match any mapping</li>
+ * </ul>
+ *
+ * Journals are registered per port of the running stub server.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class StubRequestJournal {
+
+	/**
+	 * Name under which requests that did not match any mapping are counted.
+	 */
+	public static final String UNMATCHED = "unmatched";
+
+	private static final long[] LATENCY_BUCKETS_MILLIS = { 1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000 };
+
+	private static final Map<Integer, StubRequestJournal> JOURNALS = new ConcurrentHashMap<>();
+
+	private final RecordedRequest[] ringBuffer;
+
+	private final double samplingRate;
+
+	private final Map<String, MappingCounters> counters = new ConcurrentHashMap<>();
+
+	private final LongAdder unmatched = new LongAdder();
+
+	private long recorded;
+
+	public StubRequestJournal(int capacity, double samplingRate) {
+		this.ringBuffer = new RecordedRequest[Math.max(capacity, 0)];
+		this.samplingRate = samplingRate;
+	}
+
+	/**
+	 * Registers the journal of a stub server running at the given port.
+	 * @param port - port of the stub server
+	 * @param journal - journal to register
+	 */
+	public static void register(int port, StubRequestJournal journal) {
+		JOURNALS.put(port, journal);
+	}
+
+	/**
+	 * Removes the journal of a stub server running at the given port.
+	 * @param port - port of the stub server
+	 */
+	public static void unregister(int port) {
+		JOURNALS.remove(port);
+	}
+
+	/**
+	 * @param port - port of the stub server
+	 * @return journal of the stub server or {@code null} if there is none
+	 */
+	public static StubRequestJournal forPort(int port) {
+		return JOURNALS.get(port);
+	}
+
+	/**
+	 * Records a request served by the stub server.
+	 * @param mapping - name of the mapping that served the request or {@code null} if no
+	 * mapping was matched
+	 * @param method - HTTP method
+	 * @param url - requested URL
+	 * @param status - returned status
+	 * @param latencyMillis - time it took to serve the request
+	 */
+	public void record(String mapping, String method, String url, int status, long latencyMillis) {
+		if (mapping == null) {
+			this.unmatched.increment();
+		}
+		else {
+			this.counters.computeIfAbsent(mapping, name -> new MappingCounters()).record(latencyMillis);
+		}
+		if (this.ringBuffer.length == 0 || !sampled()) {
+			return;
+		}
+		RecordedRequest request = new RecordedRequest(System.currentTimeMillis(), method, url, status,
+				mapping != null ? mapping : UNMATCHED, latencyMillis);
+		synchronized (this.ringBuffer) {
+			this.ringBuffer[(int) (this.recorded++ % this.ringBuffer.length)] = request;
+		}
+	}
+
+	private boolean sampled() {
+		return this.samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < this.samplingRate;
+	}
+
+	/**
+	 * @return point in time view of the journal
+	 */
+	public Statistics statistics() {
+		Map<String, MappingStatistics> mappings = new LinkedHashMap<>();
+		this.counters.forEach((name, counters) -> mappings.put(name, counters.statistics()));
+		return new Statistics(mappings, this.unmatched.sum(), recentRequests());
+	}
+
+	private List<RecordedRequest> recentRequests() {
+		synchronized (this.ringBuffer) {
+			int size = (int) Math.min(this.recorded, this.ringBuffer.length);
+			List<RecordedRequest> requests = new ArrayList<>(size);
+			for (long i = this.recorded - size; i < this.recorded; i++) {
+				requests.add(this.ringBuffer[(int) (i % this.ringBuffer.length)]);
+			}
+			return requests;
+		}
+	}
+
+	private static final class MappingCounters {
+
+		private final LongAdder hits = new LongAdder();
+
+		private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS_MILLIS.length + 1);
+
+		void record(long latencyMillis) {
+			this.hits.increment();
+			int bucket = 0;
+			while (bucket < LATENCY_BUCKETS_MILLIS.length && latencyMillis > LATENCY_BUCKETS_MILLIS[bucket]) {
+				bucket++;
+			}
+			this.latencies.incrementAndGet(bucket);
+		}
+
+		MappingStatistics statistics() {
+			Map<String, Long> histogram = new LinkedHashMap<>();
+			for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+				histogram.put("le_" + LATENCY_BUCKETS_MILLIS[i] + "ms", this.latencies.get(i));
+			}
+			histogram.put("gt_" + LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1] + "ms",
+					this.latencies.get(LATENCY_BUCKETS_MILLIS.length));
+			return new MappingStatistics(this.hits.sum(), histogram);
+		}
+
+	}
+
+	/**
+	 * Aggregated view of the requests received by a stub server.
+	 */
+	public static final class Statistics {
+
+		private final Map<String, MappingStatistics> mappings;
+
+		private final long unmatched;
+
+		private final List<RecordedRequest> recentRequests;
+
+		Statistics(Map<String, MappingStatistics> mappings, long unmatched, List<RecordedRequest> recentRequests) {
+			this.mappings = Collections.unmodifiableMap(mappings);
+			this.unmatched = unmatched;
+			this.recentRequests = Collections.unmodifiableList(recentRequests);
+		}
+
+		public Map<String, MappingStatistics> getMappings() {
+			return this.mappings;
+		}
+
+		public long getUnmatched() {
+			return this.unmatched;
+		}
+
+		public List<RecordedRequest> getRecentRequests() {
+			return this.recentRequests;
+		}
+
+	}
+
+	/**
+	 * Number of hits and latency histogram of a single mapping. Each histogram bucket
+	 * counts the requests served in at most the given number of milliseconds.
+	 */
+	public static final class MappingStatistics {
+
+		private final long hits;
+
+		private final Map<String, Long> latencyHistogram;
+
+		MappingStatistics(long hits, Map<String, Long> latencyHistogram) {
+			this.hits = hits;
+			this.latencyHistogram = Collections.unmodifiableMap(latencyHistogram);
+		}
+
+		public long getHits() {
+			return this.hits;
+		}
+
+		public Map<String, Long> getLatencyHistogram() {
+			return this.latencyHistogram;
+		}
+
+	}
+
+	/**
+	 * Single request kept in the ring buffer.
+	 */
+	public static final class RecordedRequest {
+
+		private final long timestamp;
+
+		private final String method;
+
+		private final String url;
+
+		private final int status;
+
+		private final String mapping;
+
+		private final long latencyMillis;
+
+		RecordedRequest(long timestamp, String method, String url, int status, String mapping, long latencyMillis) {
+			this.timestamp = timestamp;
+			this.method = method;
+			this.url = url;
+			this.status = status;
+			this.mapping = mapping;
+			this.latencyMillis = latencyMillis;
+		}
+
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		public String getMethod() {
+			return this.method;
+		}
+
+		public String getUrl() {
+			return this.url;
+		}
+
+		public int getStatus() {
+			return this.status;
+		}
+
+		public String getMapping() {
+			return this.mapping;
+		}
+
+		public long getLatencyMillis() {
+			return this.latencyMillis;
+		}
+
+	}
+
+}
@@ -46,7 +46,9 @@ public class StubRunner implements StubRunning {
 
 	private static final Log log = LogFactory.getLog(StubRunner.class);
 
-	private final StubRepository stubRepository;
+	private final List<HttpServerStub> serverStubs;
+
+	private volatile StubRepository stubRepository;
 
 	private final StubConfiguration stubsConfiguration;
 
@@ -64,7 +66,9 @@ public class StubRunner implements StubRunning {
 		this.stubsConfiguration = stubsConfiguration;
 		this.stubRunnerOptions = stubRunnerOptions;
 		List<HttpServerStub> serverStubs = SpringFactoriesLoader.loadFactories(HttpServerStub.class, null);
+		this.serverStubs = serverStubs;
 		this.stubRepository = new StubRepository(new File(repositoryPath), serverStubs, this.stubRunnerOptions);
+		TemporaryFileStorage.acquire(this.stubRepository.getPath(), this);
 		AvailablePortScanner portScanner = new AvailablePortScanner(stubRunnerOptions.getMinPortValue(),
 				stubRunnerOptions.getMaxPortValue());
 		this.localStubRunner = new StubRunnerExecutor(portScanner, contractVerifierMessaging, serverStubs);
@@ -162,6 +166,51 @@ public class StubRunner implements StubRunning {
 		return this.localStubRunner.labels();
 	}
 
+	/**
+	 * Scans the stubs at the given location and applies the mappings and contracts that
+	 * changed since the last scan to the running stub, without restarting it.
+	 * @param repositoryPath - folder with the current version of the stubs
+	 * @return number of added, modified or removed stub files
+	 */
+	synchronized int reload(File repositoryPath) {
+		StubRepository previous = this.stubRepository;
+		StubRepository current = new StubRepository(repositoryPath, this.serverStubs, this.stubRunnerOptions,
+				previous);
+		StubRepositoryDiff diff = StubRepositoryDiff.between(previous, current);
+		if (log.isDebugEnabled()) {
+			log.debug("Stubs [" + this.stubsConfiguration.toColonSeparatedDependencyNotation() + "] at ["
+					+ repositoryPath + "] differ from the running ones by " + diff);
+		}
+		this.localStubRunner.reload(current, diff);
+		this.stubRepository = current;
+		if (!previous.getPath().equals(current.getPath())) {
+			// the stubs were fetched to a new folder, the previous copy is not used anymore
+			TemporaryFileStorage.acquire(current.getPath(), this);
+			TemporaryFileStorage.release(previous.getPath(), this, this.stubRunnerOptions.isDeleteStubsAfterTest());
+		}
+		return diff.changedFiles();
+	}
+
+	/**
+	 * Takes the content fingerprints of the stubs the runner was started with, so that
+	 * they can be compared with a later version even if they get modified in place.
+	 */
+	void prepareForReload() {
+		this.stubRepository.fingerprints();
+	}
+
+	StubConfiguration getStubsConfiguration() {
+		return this.stubsConfiguration;
+	}
+
+	/**
+	 * Restores the mappings of a running stub to the state they were in right after
+	 * startup, without restarting the server.
+	 */
+	void resetStubs() {
+		this.localStubRunner.reset();
+	}
+
 	private void registerShutdownHook() {
 		Runnable stopAllServers = new Runnable() {
 			@Override
@@ -181,7 +230,7 @@ public class StubRunner implements StubRunning {
 		if (this.localStubRunner != null) {
 			this.localStubRunner.shutdown();
 		}
-		TemporaryFileStorage.cleanup(this.stubRunnerOptions.isDeleteStubsAfterTest());
+		TemporaryFileStorage.release(this, this.stubRunnerOptions.isDeleteStubsAfterTest());
 	}
 
 }
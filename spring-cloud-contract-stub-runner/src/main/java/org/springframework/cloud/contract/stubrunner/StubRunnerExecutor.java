@@ -45,6 +45,7 @@ import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
 import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessageMetadata;
 import org.springframework.cloud.contract.verifier.messaging.noop.NoOpStubMessages;
 import org.springframework.cloud.contract.verifier.util.BodyExtractor;
+import org.springframework.util.StringUtils;
 
 /**
  * Runs stubs for a particular {@link StubServer}.
@@ -55,13 +56,17 @@ class StubRunnerExecutor implements StubFinder {
 
 	private static final Log log = LogFactory.getLog(StubRunnerExecutor.class);
 
+	private static final String LAZY_PROP = "stubs.lazy";
+
+	private static final String LAZY_IDLE_TIMEOUT_PROP = "stubs.lazy-idle-timeout";
+
 	private final AvailablePortScanner portScanner;
 
 	private final MessageVerifier<?> contractVerifierMessaging;
 
 	private final List<HttpServerStub> serverStubs;
 
-	private StubServer stubServer;
+	private volatile StubServer stubServer;
 
 	private final YamlContractConverter yamlContractConverter = new YamlContractConverter();
 
@@ -102,6 +107,28 @@ class StubRunnerExecutor implements StubFinder {
 				Collections.singletonMap(this.stubServer.getStubConfiguration(), this.stubServer.getPort()));
 	}
 
+	void reset() {
+		if (this.stubServer != null) {
+			this.stubServer.reset();
+		}
+	}
+
+	/**
+	 * Applies changed stubs to the running stub server.
+	 * @param repository - the current scan of the stubs
+	 * @param diff - difference between the scan the server is running with and the
+	 * current one
+	 */
+	synchronized void reload(StubRepository repository, StubRepositoryDiff diff) {
+		if (this.stubServer == null || diff.isEmpty()) {
+			return;
+		}
+		StubServer reloaded = this.stubServer.update(repository, diff);
+		STUB_SERVERS.remove(this.stubServer);
+		STUB_SERVERS.add(reloaded);
+		this.stubServer = reloaded;
+	}
+
 	public void shutdown() {
 		if (this.stubServer != null) {
 			this.stubServer.stop();
@@ -246,8 +273,8 @@ class StubRunnerExecutor implements StubFinder {
 		DslProperty<?> body = outputMessage.getBody();
 		Headers headers = outputMessage.getHeaders();
 		List<YamlContract> yamlContracts = yamlContractConverter.convertTo(Collections.singleton(groovyDsl));
-		YamlContract contract = yamlContracts.get(0);
-		setMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT);
+		YamlContract contract = ContractVerifierMessageMetadata.withMessageType(yamlContracts.get(0),
+				ContractVerifierMessageMetadata.MessageType.OUTPUT);
 		// TODO: Json is harcoded here
 		this.contractVerifierMessaging.send(
 				JsonOutput
@@ -255,13 +282,8 @@ class StubRunnerExecutor implements StubFinder {
 				headers == null ? null : headers.asStubSideMap(), outputMessage.getSentTo().getClientValue(), contract);
 	}
 
-	private void setMessageType(YamlContract contract, ContractVerifierMessageMetadata.MessageType output) {
-		contract.metadata.put(ContractVerifierMessageMetadata.METADATA_KEY,
-				new ContractVerifierMessageMetadata(output));
-	}
-
 	private URL returnStubUrlIfMatches(boolean condition) {
-		return condition ? this.stubServer.getStubUrl() : null;
+		return condition ? this.stubServer.warmUp().getStubUrl() : null;
 	}
 
 	private StubServer startStubServers(HttpServerStubConfigurer configurer, final StubRunnerOptions stubRunnerOptions,
@@ -281,14 +303,14 @@ class StubRunnerExecutor implements StubFinder {
 			return this.stubServer;
 		}
 		if (!randomPort) {
-			this.stubServer = new StubServer(stubConfiguration, mappings, contracts, httpServerStub())
-					.start(configuration);
+			this.stubServer = new StubServer(stubConfiguration, mappings, contracts,
+					httpServerStub(stubRunnerOptions)).start(configuration);
 		}
 		else {
 			this.stubServer = this.portScanner.tryToExecuteWithFreePort(new PortCallback<StubServer>() {
 				@Override
 				public StubServer call(int availablePort) {
-					return new StubServer(stubConfiguration, mappings, contracts, httpServerStub())
+					return new StubServer(stubConfiguration, mappings, contracts, httpServerStub(stubRunnerOptions))
 							.start(new HttpServerStubConfiguration(configurer, stubRunnerOptions, stubConfiguration,
 									availablePort, true));
 				}
@@ -314,6 +336,17 @@ class StubRunnerExecutor implements StubFinder {
 		return false;
 	}
 
+	private HttpServerStub httpServerStub(StubRunnerOptions stubRunnerOptions) {
+		HttpServerStub httpServerStub = httpServerStub();
+		Map<String, String> properties = stubRunnerOptions.getProperties();
+		if (!Boolean.parseBoolean(StubRunnerPropertyUtils.getProperty(properties, LAZY_PROP))) {
+			return httpServerStub;
+		}
+		String idleTimeout = StubRunnerPropertyUtils.getProperty(properties, LAZY_IDLE_TIMEOUT_PROP);
+		return new LazyHttpServerStub(httpServerStub,
+				StringUtils.hasText(idleTimeout) ? Long.parseLong(idleTimeout.trim()) : 0L);
+	}
+
 	private HttpServerStub httpServerStub() {
 		// the default impl is the WireMock one
 		if (this.serverStubs.isEmpty()) {
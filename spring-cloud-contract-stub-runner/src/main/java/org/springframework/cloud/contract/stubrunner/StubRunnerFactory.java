@@ -24,6 +24,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -72,27 +73,39 @@ class StubRunnerFactory {
 		}
 		Collection<StubRunner> result = new ArrayList<>();
 		for (StubConfiguration stubsConfiguration : this.stubRunnerOptions.getDependencies()) {
-			Map.Entry<StubConfiguration, File> entry = this.stubDownloader.downloadAndUnpackStubJar(stubsConfiguration);
-			if (log.isDebugEnabled()) {
-				log.debug(
-						"For stub configuration [" + stubsConfiguration + "] the downloaded entry is [" + entry + "]");
-			}
+			Map.Entry<StubConfiguration, File> entry = downloadAndUnpackStubs(stubsConfiguration);
 			if (entry != null) {
-				Path path = resolvePath(entry.getValue());
-				File unpackedLocation = path.toFile();
-				if (this.stubRunnerOptions.isGenerateStubs()) {
-					if (log.isDebugEnabled()) {
-						log.debug(
-								"Flag to generate stubs at runtime was switched on. Will remove the current mappings and will generate new ones.");
-					}
-					generateMappingsAtRuntime(path);
-				}
-				result.add(createStubRunner(entry.getKey(), unpackedLocation));
+				result.add(createStubRunner(entry.getKey(), entry.getValue()));
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Downloads and unpacks the stubs and, if requested, generates their mappings.
+	 * @param stubsConfiguration - stubs to download
+	 * @return resolved stub configuration and the folder with the stubs or {@code null}
+	 * if the stubs were not found
+	 */
+	Map.Entry<StubConfiguration, File> downloadAndUnpackStubs(StubConfiguration stubsConfiguration) {
+		Map.Entry<StubConfiguration, File> entry = this.stubDownloader.downloadAndUnpackStubJar(stubsConfiguration);
+		if (log.isDebugEnabled()) {
+			log.debug("For stub configuration [" + stubsConfiguration + "] the downloaded entry is [" + entry + "]");
+		}
+		if (entry == null) {
+			return null;
+		}
+		Path path = resolvePath(entry.getValue());
+		if (this.stubRunnerOptions.isGenerateStubs()) {
+			if (log.isDebugEnabled()) {
+				log.debug(
+						"Flag to generate stubs at runtime was switched on. Will remove the current mappings and will generate new ones.");
+			}
+			generateMappingsAtRuntime(path);
+		}
+		return new AbstractMap.SimpleEntry<>(entry.getKey(), path.toFile());
+	}
+
 	private void generateMappingsAtRuntime(Path path) {
 		removeCurrentMappings(path);
 		generateNewMappings(path);
@@ -157,7 +170,7 @@ class StubRunnerFactory {
 		File unpackedLocation = path.toFile();
 		RecursiveFilesConverter converter = new RecursiveFilesConverter(
 				subfolderIfPresent(unpackedLocation, "mappings"), subfolderIfPresent(unpackedLocation, "contracts"),
-				new ArrayList<>(), ".*", false);
+				new ArrayList<>(), ".*", false, null, Runtime.getRuntime().availableProcessors(), null);
 		converter.processFiles();
 	}
 
@@ -140,13 +140,25 @@ public class StubRunnerOptions {
 	 */
 	final String serverId;
 
+	/**
+	 * When enabled, running stubs are leased from a JVM-wide pool and reused by every
+	 * consumer that asks for the same options.
+	 */
+	private boolean sharedStubs;
+
+	/**
+	 * Time in milliseconds after which shared stubs with no active leases get stopped.
+	 */
+	private long sharedStubsIdleTimeout;
+
 	StubRunnerOptions(Integer minPortValue, Integer maxPortValue, Resource stubRepositoryRoot,
 			StubRunnerProperties.StubsMode stubsMode, String stubsClassifier,
 			Collection<StubConfiguration> dependencies, Map<StubConfiguration, Integer> stubIdsToPortMapping,
 			String username, String password, final StubRunnerProxyOptions stubRunnerProxyOptions,
 			boolean stubsPerConsumer, String consumerName, String mappingsOutputFolder, boolean deleteStubsAfterTest,
 			boolean generateStubs, boolean failOnNoStubs, Map<String, String> properties,
-			Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer, String serverId) {
+			Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer, String serverId, boolean sharedStubs,
+			long sharedStubsIdleTimeout) {
 		this.minPortValue = minPortValue;
 		this.maxPortValue = maxPortValue;
 		this.stubRepositoryRoot = stubRepositoryRoot;
@@ -166,6 +178,8 @@ public class StubRunnerOptions {
 		this.properties = properties;
 		this.httpServerStubConfigurer = httpServerStubConfigurer;
 		this.serverId = serverId;
+		this.sharedStubs = sharedStubs;
+		this.sharedStubsIdleTimeout = sharedStubsIdleTimeout;
 	}
 
 	public static StubRunnerOptions fromSystemProps() {
@@ -185,7 +199,10 @@ public class StubRunnerOptions {
 						Boolean.parseBoolean(System.getProperty("stubrunner.delete-stubs-after-test", "true")))
 				.withGenerateStubs(Boolean.parseBoolean(System.getProperty("stubrunner.generate-stubs", "false")))
 				.withFailOnNoStubs(Boolean.parseBoolean(System.getProperty("stubrunner.fail-on-no-stubs", "false")))
-				.withProperties(stubRunnerProps()).withServerId(System.getProperty("stubrunner.server-id", ""));
+				.withProperties(stubRunnerProps()).withServerId(System.getProperty("stubrunner.server-id", ""))
+				.withSharedStubs(Boolean.parseBoolean(System.getProperty("stubrunner.shared-stubs", "false")))
+				.withSharedStubsIdleTimeout(
+						Long.parseLong(System.getProperty("stubrunner.shared-stubs-idle-timeout", "30000")));
 		builder = httpStubConfigurer(builder);
 		String proxyHost = System.getProperty("stubrunner.proxy.host");
 		if (proxyHost != null) {
@@ -329,6 +346,14 @@ public class StubRunnerOptions {
 		return this.httpServerStubConfigurer;
 	}
 
+	public boolean isSharedStubs() {
+		return this.sharedStubs;
+	}
+
+	public long getSharedStubsIdleTimeout() {
+		return this.sharedStubsIdleTimeout;
+	}
+
 	@Override
 	public String toString() {
 		return "StubRunnerOptions{" + "minPortValue=" + this.minPortValue + ", maxPortValue=" + this.maxPortValue
@@ -338,7 +363,7 @@ public class StubRunnerOptions {
 				+ '\'' + ", password='" + obfuscate(this.password) + '\'' + ", stubRunnerProxyOptions='"
 				+ this.stubRunnerProxyOptions + "', stubsPerConsumer='" + this.stubsPerConsumer + '\''
 				+ ", httpServerStubConfigurer='" + this.httpServerStubConfigurer + '\'' + ", serverId='" + this.serverId
-				+ '\'' + '}';
+				+ '\'' + ", sharedStubs='" + this.sharedStubs + '\'' + '}';
 	}
 
 	private String obfuscate(String string) {
@@ -80,6 +80,10 @@ public class StubRunnerOptionsBuilder {
 
 	private String serverId;
 
+	private boolean sharedStubs;
+
+	private long sharedStubsIdleTimeout = 30000L;
+
 	public StubRunnerOptionsBuilder() {
 	}
 
@@ -208,6 +212,8 @@ public class StubRunnerOptionsBuilder {
 		this.properties = options.getProperties();
 		this.httpServerStubConfigurer = options.getHttpServerStubConfigurer();
 		this.serverId = options.getServerId();
+		this.sharedStubs = options.isSharedStubs();
+		this.sharedStubsIdleTimeout = options.getSharedStubsIdleTimeout();
 		return this;
 	}
 
@@ -246,12 +252,22 @@ public class StubRunnerOptionsBuilder {
 		return this;
 	}
 
+	public StubRunnerOptionsBuilder withSharedStubs(boolean sharedStubs) {
+		this.sharedStubs = sharedStubs;
+		return this;
+	}
+
+	public StubRunnerOptionsBuilder withSharedStubsIdleTimeout(long sharedStubsIdleTimeout) {
+		this.sharedStubsIdleTimeout = sharedStubsIdleTimeout;
+		return this;
+	}
+
 	public StubRunnerOptions build() {
 		return new StubRunnerOptions(this.minPortValue, this.maxPortValue, this.stubRepositoryRoot, this.stubsMode,
 				this.stubsClassifier, buildDependencies(), this.stubIdsToPortMapping, this.username, this.password,
 				this.stubRunnerProxyOptions, this.stubsPerConsumer, this.consumerName, this.mappingsOutputFolder,
 				this.deleteStubsAfterTest, this.generateStubs, this.failOnNoStubs, this.properties,
-				this.httpServerStubConfigurer, this.serverId);
+				this.httpServerStubConfigurer, this.serverId, this.sharedStubs, this.sharedStubsIdleTimeout);
 	}
 
 	private Collection<StubConfiguration> buildDependencies() {
@@ -63,6 +63,42 @@ class StubServer {
 		return this;
 	}
 
+	/**
+	 * Drops any mappings, scenarios and requests registered at runtime and brings back
+	 * the mappings the server was started with.
+	 * @return this
+	 */
+	StubServer reset() {
+		if (!this.httpServerStub.isRunning()) {
+			return this;
+		}
+		this.httpServerStub.reset();
+		this.httpServerStub.registerMappings(this.mappings);
+		if (log.isDebugEnabled()) {
+			log.debug("Reset stub server for project [" + this.stubConfiguration.toColonSeparatedDependencyNotation()
+					+ "] on port " + this.httpServerStub.port());
+		}
+		return this;
+	}
+
+	/**
+	 * Applies the changes of the stubs to the running server, without restarting it.
+	 * @param repository - the current scan of the stubs
+	 * @param diff - difference between the scan the server is running with and the
+	 * current one
+	 * @return stub server with the current mappings and contracts, backed by the same
+	 * HTTP server stub
+	 */
+	StubServer update(StubRepository repository, StubRepositoryDiff diff) {
+		if (diff.hasMappingChanges() && this.httpServerStub.isRunning()) {
+			this.httpServerStub.updateMappings(repository.getStubs(), diff.addedMappings, diff.removedMappings);
+		}
+		log.info("Reloaded stubs for project [" + this.stubConfiguration.toColonSeparatedDependencyNotation()
+				+ "] on port " + this.httpServerStub.port() + " " + diff);
+		return new StubServer(this.stubConfiguration, repository.getStubs(), repository.getContracts(),
+				this.httpServerStub);
+	}
+
 	public boolean isRunning() {
 		return this.httpServerStub.isRunning();
 	}
@@ -95,6 +131,18 @@ class StubServer {
 		return httpsPort != -1;
 	}
 
+	/**
+	 * Starts the actual HTTP server stub if it was started lazily, so that the
+	 * returned URL can be used right away.
+	 * @return this
+	 */
+	StubServer warmUp() {
+		if (this.httpServerStub instanceof LazyHttpServerStub && this.httpServerStub.isRunning()) {
+			((LazyHttpServerStub) this.httpServerStub).ensureStarted();
+		}
+		return this;
+	}
+
 	public URL getStubUrl() {
 		try {
 			return new URL((hasHttps() ? "https:" : "http:") + "//localhost:" + getPort());
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
+
+/**
+ * Creates temporary folders and keeps track of the files that should be removed once
+ * they are no longer needed. A registered file can be acquired by owners, such as the
+ * stub runners that use it. It gets removed right away once the last of its owners
+ * releases it, so that closing one owner never removes the files that others still use.
+ * Registered files that have no owners, and the ones still owned when the JVM shuts
+ * down, are removed in parallel on shutdown.
+ *
+ * The registered files are also written down in an owner file, which holds the id of
+ * the process and is locked for as long as the process is alive. The first time a
+ * temporary folder gets created, the owner files whose lock can be taken (that is, of
+ * processes that died without cleaning up) are swept. The files listed in them are only
+ * removed if the process was set up to remove its files on shutdown.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class TemporaryFileRegistry {
+
+	private static final Log log = LogFactory.getLog(TemporaryFileRegistry.class);
+
+	static final String OWNER_SUFFIX = ".owner";
+
+	private static final String PID_PREFIX = "pid=";
+
+	private static final String REMOVE_ON_SHUTDOWN = "remove-on-shutdown=true";
+
+	private static final String PID = ManagementFactory.getRuntimeMXBean().getName();
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final File baseDirectory;
+
+	private final File ownersDirectory;
+
+	private final Set<File> files = ConcurrentHashMap.newKeySet();
+
+	private final Map<File, Set<Object>> owners = new HashMap<>();
+
+	private final AtomicBoolean swept = new AtomicBoolean();
+
+	private final ExecutorService deletions = Executors
+			.newFixedThreadPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), runnable -> {
+				Thread thread = new Thread(runnable, "stub-runner-temp-cleanup-" + THREAD_COUNTER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	private final Object ownerMonitor = new Object();
+
+	private File ownerFile;
+
+	private FileChannel ownerChannel;
+
+	private FileLock ownerLock;
+
+	private boolean removeOnShutdown;
+
+	TemporaryFileRegistry(File baseDirectory, File ownersDirectory) {
+		this.baseDirectory = baseDirectory;
+		this.ownersDirectory = ownersDirectory;
+	}
+
+	/**
+	 * Creates a new, unique temporary folder. The first call sweeps the leftovers of
+	 * dead processes in the background.
+	 * @param prefix - prefix of the folder name
+	 * @return created folder
+	 */
+	File createTempDir(String prefix) {
+		if (this.swept.compareAndSet(false, true)) {
+			submit(this::sweep);
+		}
+		try {
+			Files.createDirectories(this.baseDirectory.toPath());
+			return Files.createTempDirectory(this.baseDirectory.toPath(), prefix + "-").toFile();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to create a temporary directory in [" + this.baseDirectory + "]",
+					ex);
+		}
+	}
+
+	/**
+	 * Registers a file or folder for removal.
+	 * @param file - file to remove on cleanup
+	 */
+	void add(File file) {
+		if (this.files.add(file)) {
+			own(file);
+		}
+	}
+
+	/**
+	 * Registers a file or folder for removal that is owned by the given owner.
+	 * @param file - file to remove once the owner releases it
+	 * @param owner - owner of the file
+	 */
+	void add(File file, Object owner) {
+		add(file);
+		acquire(file, owner);
+	}
+
+	/**
+	 * Adds an owner to the registered file or folder that contains the given file.
+	 * Files that were not registered, such as stubs read in place, are left untouched.
+	 * @param file - registered file or a file within a registered folder
+	 * @param owner - owner that uses the file
+	 * @return {@code true} if a registered file was found
+	 */
+	boolean acquire(File file, Object owner) {
+		File registered = registeredFile(file);
+		if (registered == null) {
+			return false;
+		}
+		synchronized (this.owners) {
+			this.owners.computeIfAbsent(registered, key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+					.add(owner);
+		}
+		return true;
+	}
+
+	/**
+	 * Releases the registered file or folder that contains the given file. If no other
+	 * owner uses it, it gets removed right away.
+	 * @param file - registered file or a file within a registered folder
+	 * @param owner - owner that no longer uses the file
+	 * @param delete - whether a file without owners should be removed
+	 * @return {@code true} if a registered file was removed
+	 */
+	boolean release(File file, Object owner, boolean delete) {
+		File registered = registeredFile(file);
+		if (registered == null) {
+			return false;
+		}
+		synchronized (this.owners) {
+			Set<Object> fileOwners = this.owners.get(registered);
+			if (fileOwners == null || !fileOwners.remove(owner) || !fileOwners.isEmpty()) {
+				return false;
+			}
+			this.owners.remove(registered);
+		}
+		return delete && deleteRegistered(registered);
+	}
+
+	/**
+	 * Releases all the files of the given owner. The ones that no other owner uses get
+	 * removed right away.
+	 * @param owner - owner that no longer uses its files
+	 * @param delete - whether files without owners should be removed
+	 * @return number of removed files
+	 */
+	int release(Object owner, boolean delete) {
+		List<File> unowned = new ArrayList<>();
+		synchronized (this.owners) {
+			for (Iterator<Map.Entry<File, Set<Object>>> iterator = this.owners.entrySet().iterator(); iterator
+					.hasNext();) {
+				Map.Entry<File, Set<Object>> entry = iterator.next();
+				if (entry.getValue().remove(owner) && entry.getValue().isEmpty()) {
+					iterator.remove();
+					unowned.add(entry.getKey());
+				}
+			}
+		}
+		int removed = 0;
+		for (File file : unowned) {
+			if (delete && deleteRegistered(file)) {
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	Set<File> files() {
+		return this.files;
+	}
+
+	private File registeredFile(File file) {
+		Path path = file.toPath().toAbsolutePath().normalize();
+		for (File registered : this.files) {
+			if (path.startsWith(registered.toPath().toAbsolutePath().normalize())) {
+				return registered;
+			}
+		}
+		return null;
+	}
+
+	private boolean deleteRegistered(File registered) {
+		if (!this.files.remove(registered)) {
+			return false;
+		}
+		if (delete(registered.toPath())) {
+			return true;
+		}
+		this.files.add(registered);
+		return false;
+	}
+
+	/**
+	 * Marks the files of this process to be removed on shutdown. Owner files of
+	 * processes that died without this mark are swept without removing their files.
+	 */
+	void removeOnShutdown() {
+		synchronized (this.ownerMonitor) {
+			if (this.removeOnShutdown) {
+				return;
+			}
+			this.removeOnShutdown = true;
+			if (this.ownerChannel != null) {
+				try {
+					write(REMOVE_ON_SHUTDOWN);
+				}
+				catch (IOException ex) {
+					if (log.isDebugEnabled()) {
+						log.debug("Failed to mark the owner file [" + this.ownerFile + "] for removal", ex);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all the registered files in the background.
+	 * @return future completed once all the files got removed
+	 */
+	CompletableFuture<Void> cleanup() {
+		List<CompletableFuture<Void>> removals = new ArrayList<>();
+		for (File file : new ArrayList<>(this.files)) {
+			if (this.files.remove(file)) {
+				removals.add(submit(() -> {
+					if (!delete(file.toPath())) {
+						this.files.add(file);
+					}
+				}));
+			}
+		}
+		return CompletableFuture.allOf(removals.toArray(new CompletableFuture[0]));
+	}
+
+	/**
+	 * Removes the registered files if requested, waits for all removals to finish and
+	 * releases the owner file. The owner file is removed unless some of the files were
+	 * to be removed but couldn't be, in which case the next sweep retries.
+	 * @param deleteFiles - whether the registered files should be removed
+	 * @param timeoutMillis - maximum time to wait for the removals
+	 */
+	void shutdown(boolean deleteFiles, long timeoutMillis) {
+		if (deleteFiles) {
+			cleanup();
+		}
+		this.deletions.shutdown();
+		boolean finished;
+		try {
+			finished = this.deletions.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			finished = false;
+		}
+		releaseOwnership(!deleteFiles || (finished && this.files.isEmpty()));
+	}
+
+	/**
+	 * Removes the files of the processes that are no longer running and that were set up
+	 * to remove their files on shutdown.
+	 * @return number of swept owner files
+	 */
+	int sweep() {
+		File[] owners = this.ownersDirectory.listFiles((dir, name) -> name.endsWith(OWNER_SUFFIX));
+		if (owners == null) {
+			return 0;
+		}
+		int swept = 0;
+		for (File owner : owners) {
+			if (owner.equals(currentOwnerFile()) || !sameUser(owner)) {
+				continue;
+			}
+			try (FileChannel channel = FileChannel.open(owner.toPath(), StandardOpenOption.READ,
+					StandardOpenOption.WRITE); FileLock lock = channel.tryLock()) {
+				if (lock == null) {
+					continue;
+				}
+				List<String> lines = readLines(channel);
+				boolean removed = true;
+				if (lines.contains(REMOVE_ON_SHUTDOWN)) {
+					for (String line : lines) {
+						if (!line.isEmpty() && !line.startsWith(PID_PREFIX) && !line.equals(REMOVE_ON_SHUTDOWN)) {
+							removed &= deleteLeftover(new File(line));
+						}
+					}
+				}
+				else if (log.isDebugEnabled()) {
+					log.debug("Will keep the temporary files listed in [" + owner
+							+ "] since the process did not remove its files on shutdown");
+				}
+				if (removed) {
+					Files.deleteIfExists(owner.toPath());
+				}
+				swept++;
+			}
+			catch (OverlappingFileLockException ex) {
+				// owned by this JVM
+			}
+			catch (IOException ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to sweep the temporary files listed in [" + owner + "]", ex);
+				}
+			}
+		}
+		if (swept > 0) {
+			log.info("Swept temporary files of [" + swept + "] processes that are no longer running");
+		}
+		return swept;
+	}
+
+	private boolean deleteLeftover(File file) {
+		Path path = file.toPath().normalize();
+		if (!path.isAbsolute() || !path.startsWith(this.baseDirectory.toPath().toAbsolutePath().normalize())) {
+			if (log.isDebugEnabled()) {
+				log.debug("Will not remove [" + file + "] since it's outside of [" + this.baseDirectory + "]");
+			}
+			return true;
+		}
+		return delete(path);
+	}
+
+	// the owners folder may be shared by many users, never sweep the files of others
+	private boolean sameUser(File owner) {
+		String user = System.getProperty("user.name");
+		try {
+			String ownerName = Files.getOwner(owner.toPath()).getName();
+			return ownerName.equals(user) || ownerName.endsWith("\\" + user);
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			return false;
+		}
+	}
+
+	private List<String> readLines(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+		while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+			// read till the end
+		}
+		List<String> lines = new ArrayList<>();
+		for (String line : new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).split("\n")) {
+			lines.add(line.trim());
+		}
+		return lines;
+	}
+
+	private void own(File file) {
+		synchronized (this.ownerMonitor) {
+			try {
+				if (this.ownerChannel == null) {
+					Files.createDirectories(this.ownersDirectory.toPath());
+					Path owner = Files.createTempFile(this.ownersDirectory.toPath(),
+							PID.replaceAll("[^A-Za-z0-9._-]", "_") + "-", OWNER_SUFFIX);
+					this.ownerChannel = FileChannel.open(owner, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+					this.ownerLock = this.ownerChannel.lock();
+					this.ownerFile = owner.toFile();
+					write(PID_PREFIX + PID);
+					if (this.removeOnShutdown) {
+						write(REMOVE_ON_SHUTDOWN);
+					}
+				}
+				write(file.getAbsolutePath());
+			}
+			catch (IOException ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to write down the temporary file [" + file
+							+ "], it will not be swept if the process dies", ex);
+				}
+			}
+		}
+	}
+
+	private void write(String line) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining()) {
+			this.ownerChannel.write(buffer);
+		}
+	}
+
+	private File currentOwnerFile() {
+		synchronized (this.ownerMonitor) {
+			return this.ownerFile;
+		}
+	}
+
+	private void releaseOwnership(boolean removeOwnerFile) {
+		synchronized (this.ownerMonitor) {
+			if (this.ownerChannel == null) {
+				return;
+			}
+			try {
+				if (removeOwnerFile) {
+					Files.deleteIfExists(this.ownerFile.toPath());
+				}
+				this.ownerLock.release();
+				this.ownerChannel.close();
+			}
+			catch (IOException ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to release the owner file [" + this.ownerFile + "]", ex);
+				}
+			}
+			this.ownerChannel = null;
+			this.ownerLock = null;
+			this.ownerFile = null;
+		}
+	}
+
+	private CompletableFuture<Void> submit(Runnable runnable) {
+		try {
+			return CompletableFuture.runAsync(runnable, this.deletions);
+		}
+		catch (RejectedExecutionException ex) {
+			// shutting down, remove the files right away
+			runnable.run();
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	private boolean delete(Path path) {
+		AtomicLong bytes = new AtomicLong();
+		try {
+			if (Files.isDirectory(path)) {
+				Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+						if (log.isTraceEnabled()) {
+							log.trace("Removing file [" + file + "]");
+						}
+						Files.delete(file);
+						bytes.addAndGet(attrs.size());
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+						if (log.isTraceEnabled()) {
+							log.trace("Removing dir [" + dir + "]");
+						}
+						Files.delete(dir);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			}
+			else {
+				long size = Files.size(path);
+				Files.delete(path);
+				bytes.addAndGet(size);
+			}
+			ContractInstrumentation.count(ContractInstrumentation.TEMP_FILES_REMOVED);
+			return true;
+		}
+		catch (NoSuchFileException ex) {
+			// already removed
+			return true;
+		}
+		catch (NoClassDefFoundError | IOException ex) {
+			// Added NoClassDefFoundError cause sometimes it's visible in the builds
+			// this error is completely harmless
+			if (log.isTraceEnabled()) {
+				log.trace("Failed to remove temporary file [" + path + "]", ex);
+			}
+			return false;
+		}
+		finally {
+			if (bytes.get() > 0) {
+				ContractInstrumentation.count(ContractInstrumentation.TEMP_BYTES_RECLAIMED, bytes.get());
+			}
+		}
+	}
+
+}
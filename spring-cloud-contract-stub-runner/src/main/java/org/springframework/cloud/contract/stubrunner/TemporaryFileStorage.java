@@ -17,21 +17,17 @@
 package org.springframework.cloud.contract.stubrunner;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
- * Stores all generated temporary folders with stubs.
+ * Stores all generated temporary folders with stubs. All the stub downloaders of the JVM
+ * share a single {@link TemporaryFileRegistry} and a single shutdown hook that removes
+ * the registered files. Each {@link StubRunner} acquires the folder with its stubs and
+ * releases it when it gets closed, so that the folder is only removed once no other
+ * runner uses it.
  *
  * @author Marcin Grzejszczak
  * @since 2.0.0
@@ -40,82 +36,91 @@ final class TemporaryFileStorage {
 
 	private static final Log log = LogFactory.getLog(TemporaryFileStorage.class);
 
-	private static final int TEMP_DIR_ATTEMPTS = 10000;
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
 
-	/**
-	 * There are problems with removal of stubs unpacked to a temporary folder. That's why
-	 * we're creating a bounded in-memory storage of unpacked files and later we register
-	 * a shutdown hook to remove all these files.
-	 */
-	private static final BlockingQueue<File> TEMP_FILES_LOG = new LinkedBlockingQueue<>(20_000);
+	private static final File TEMP_DIRECTORY = new File(System.getProperty("java.io.tmpdir"));
+
+	private static final TemporaryFileRegistry REGISTRY = new TemporaryFileRegistry(TEMP_DIRECTORY,
+			new File(TEMP_DIRECTORY, "spring-cloud-contract-temp"));
+
+	private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean();
+
+	private static volatile boolean deleteOnShutdown;
 
 	private TemporaryFileStorage() {
 		throw new IllegalStateException("Can't instantiate a utility class");
 	}
 
 	static void add(File file) {
-		TEMP_FILES_LOG.offer(file);
+		REGISTRY.add(file);
 	}
 
-	static Queue<File> files() {
-		return TEMP_FILES_LOG;
+	/**
+	 * Registers a file together with its owner. The file is removed once all of its
+	 * owners release it, or on shutdown.
+	 * @param file - file to register
+	 * @param owner - owner of the file
+	 */
+	static void add(File file, Object owner) {
+		REGISTRY.add(file, owner);
 	}
 
-	static void cleanup(boolean deleteStubsAfterTest) {
+	/**
+	 * Marks the registered temporary folder with the given stubs as used by the owner.
+	 * @param stubs - folder with stubs, or a folder within it
+	 * @param owner - owner that uses the stubs
+	 */
+	static void acquire(File stubs, Object owner) {
+		REGISTRY.acquire(stubs, owner);
+	}
+
+	/**
+	 * Releases the registered temporary folder with the given stubs, e.g. once they got
+	 * replaced by a newer copy. The folder gets removed unless another owner uses it.
+	 * @param stubs - folder with stubs, or a folder within it
+	 * @param owner - owner that no longer uses the stubs
+	 * @param deleteStubsAfterTest - if {@code false} the folder is kept
+	 */
+	static void release(File stubs, Object owner, boolean deleteStubsAfterTest) {
+		if (REGISTRY.release(stubs, owner, deleteStubsAfterTest) && log.isDebugEnabled()) {
+			log.debug("Removed the temporary folder with stubs [" + stubs + "]");
+		}
+	}
+
+	/**
+	 * Releases all the temporary folders of the given owner. The ones that no other owner
+	 * uses get removed.
+	 * @param owner - owner that no longer uses its folders
+	 * @param deleteStubsAfterTest - if {@code false} the folders are kept
+	 */
+	static void release(Object owner, boolean deleteStubsAfterTest) {
 		if (!deleteStubsAfterTest) {
 			log.info("Will not clear temporary files due to switch");
-			return;
 		}
-		for (File file : TemporaryFileStorage.files()) {
-			try {
-				if (file.isDirectory()) {
-					Files.walkFileTree(file.toPath(), new SimpleFileVisitor<Path>() {
-						@Override
-						public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-							if (log.isTraceEnabled()) {
-								log.trace("Removing file [" + file + "]");
-							}
-							Files.delete(file);
-							return FileVisitResult.CONTINUE;
-						}
-
-						@Override
-						public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-							if (log.isTraceEnabled()) {
-								log.trace("Removing dir [" + dir + "]");
-							}
-							Files.delete(dir);
-							return FileVisitResult.CONTINUE;
-						}
-					});
-				}
-				else {
-					Files.delete(file.toPath());
-				}
-			}
-			catch (NoClassDefFoundError | IOException e) {
-				// Added NoClassDefFoundError cause sometimes it's visible in the builds
-				// this error is completely harmless
-				if (log.isTraceEnabled()) {
-					log.trace("Failed to remove temporary file", e);
-				}
-			}
-			TemporaryFileStorage.files().clear();
+		int removed = REGISTRY.release(owner, deleteStubsAfterTest);
+		if (removed > 0 && log.isDebugEnabled()) {
+			log.debug("Removed [" + removed + "] temporary folders with stubs");
 		}
 	}
 
-	// taken from Guava
-	static File createTempDir(String tempDirPrefix) {
-		File baseDir = new File(System.getProperty("java.io.tmpdir"));
-		String baseName = tempDirPrefix + "-" + System.currentTimeMillis() + "-";
-		for (int counter = 0; counter < TEMP_DIR_ATTEMPTS; counter++) {
-			File tempDir = new File(baseDir, baseName + counter);
-			if (tempDir.mkdir()) {
-				return tempDir;
-			}
+	/**
+	 * Registers the shutdown hook that removes the registered files, unless it's
+	 * already registered. The files get removed if any of the callers asked for it.
+	 * @param deleteStubsAfterTest - whether the files should be removed on shutdown
+	 */
+	static void registerShutdownHook(boolean deleteStubsAfterTest) {
+		if (deleteStubsAfterTest) {
+			deleteOnShutdown = true;
+			REGISTRY.removeOnShutdown();
+		}
+		if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+			Runtime.getRuntime().addShutdownHook(new Thread(
+					() -> REGISTRY.shutdown(deleteOnShutdown, SHUTDOWN_TIMEOUT_MILLIS), "stub-runner-temp-cleanup"));
 		}
-		throw new IllegalStateException("Failed to create directory within " + TEMP_DIR_ATTEMPTS + " attempts (tried "
-				+ baseName + "0 to " + baseName + (TEMP_DIR_ATTEMPTS - 1) + ")");
+	}
+
+	static File createTempDir(String tempDirPrefix) {
+		return REGISTRY.createTempDir(tempDirPrefix);
 	}
 
 }
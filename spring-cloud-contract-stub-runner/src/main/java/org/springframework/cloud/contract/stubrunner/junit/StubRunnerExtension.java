@@ -37,6 +37,7 @@ import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
 import org.springframework.cloud.contract.stubrunner.BatchStubRunnerFactory;
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer;
 import org.springframework.cloud.contract.stubrunner.RunningStubs;
+import org.springframework.cloud.contract.stubrunner.SharedStubRunnerPool;
 import org.springframework.cloud.contract.stubrunner.StubConfiguration;
 import org.springframework.cloud.contract.stubrunner.StubFinder;
 import org.springframework.cloud.contract.stubrunner.StubNotFoundException;
@@ -121,7 +122,9 @@ public class StubRunnerExtension implements BeforeAllCallback, AfterAllCallback,
 	}
 
 	private void before() {
-		stubFinder(new BatchStubRunnerFactory(builder().build(), verifier()).buildBatchStubRunner());
+		StubRunnerOptions options = builder().build();
+		stubFinder(options.isSharedStubs() ? SharedStubRunnerPool.instance().lease(options, verifier())
+				: new BatchStubRunnerFactory(options, verifier()).buildBatchStubRunner());
 		stubFinder().runStubs();
 	}
 
@@ -314,6 +317,12 @@ public class StubRunnerExtension implements BeforeAllCallback, AfterAllCallback,
 		return new PortStubRunnerExtension(this.delegate);
 	}
 
+	@Override
+	public StubRunnerExtension withSharedStubs(boolean sharedStubs) {
+		builder().withSharedStubs(sharedStubs);
+		return new PortStubRunnerExtension(this.delegate);
+	}
+
 	BatchStubRunner stubFinder() {
 		return this.delegate.stubFinder;
 	}
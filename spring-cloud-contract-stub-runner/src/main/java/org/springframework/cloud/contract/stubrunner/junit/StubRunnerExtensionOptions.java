@@ -174,4 +174,11 @@ interface StubRunnerExtensionOptions {
 	StubRunnerExtension withHttpServerStubConfigurer(
 			Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer);
 
+	/**
+	 * @param sharedStubs when enabled, the stubs are leased from a JVM-wide pool and
+	 * reused by other extensions, rules and contexts that ask for the same stubs
+	 * @return the stub runner extension
+	 */
+	StubRunnerExtension withSharedStubs(boolean sharedStubs);
+
 }
@@ -31,6 +31,7 @@ import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
 import org.springframework.cloud.contract.stubrunner.BatchStubRunnerFactory;
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer;
 import org.springframework.cloud.contract.stubrunner.RunningStubs;
+import org.springframework.cloud.contract.stubrunner.SharedStubRunnerPool;
 import org.springframework.cloud.contract.stubrunner.StubConfiguration;
 import org.springframework.cloud.contract.stubrunner.StubFinder;
 import org.springframework.cloud.contract.stubrunner.StubRunnerOptions;
@@ -76,7 +77,9 @@ public class StubRunnerRule implements TestRule, StubFinder, StubRunnerRuleOptio
 			}
 
 			private void before() {
-				stubFinder(new BatchStubRunnerFactory(builder().build(), verifier()).buildBatchStubRunner());
+				StubRunnerOptions options = builder().build();
+				stubFinder(options.isSharedStubs() ? SharedStubRunnerPool.instance().lease(options, verifier())
+						: new BatchStubRunnerFactory(options, verifier()).buildBatchStubRunner());
 				StubRunnerRule.this.stubFinder().runStubs();
 			}
 		};
@@ -209,6 +212,12 @@ public class StubRunnerRule implements TestRule, StubFinder, StubRunnerRuleOptio
 		return this.delegate;
 	}
 
+	@Override
+	public StubRunnerRule withSharedStubs(boolean sharedStubs) {
+		builder().withSharedStubs(sharedStubs);
+		return this.delegate;
+	}
+
 	@Override
 	public URL findStubUrl(String groupId, String artifactId) {
 		return this.stubFinder().findStubUrl(groupId, artifactId);
@@ -169,4 +169,11 @@ interface StubRunnerRuleOptions {
 	 */
 	StubRunnerRule withHttpServerStubConfigurer(Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer);
 
+	/**
+	 * @param sharedStubs when enabled, the stubs are leased from a JVM-wide pool and
+	 * reused by other rules, extensions and contexts that ask for the same stubs
+	 * @return the rule
+	 */
+	StubRunnerRule withSharedStubs(boolean sharedStubs);
+
 }
@@ -37,6 +37,7 @@ import org.springframework.cloud.contract.spec.internal.BodyMatchers;
 import org.springframework.cloud.contract.spec.internal.FromFileProperty;
 import org.springframework.cloud.contract.spec.internal.Header;
 import org.springframework.cloud.contract.spec.internal.RegexProperty;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
 import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierObjectMapper;
 import org.springframework.cloud.contract.verifier.util.ContentType;
 import org.springframework.cloud.contract.verifier.util.ContentUtils;
@@ -92,13 +93,17 @@ class StubRunnerStreamMessageSelector implements MessageSelector {
 	}
 
 	private Contract getContract(Message<?> message) {
-		for (Contract groovyDsl : this.groovyDsls) {
-			Contract contract = matchContract(message, groovyDsl);
-			if (contract != null) {
-				return contract;
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.MESSAGE_SELECTION)) {
+			for (Contract groovyDsl : this.groovyDsls) {
+				Contract contract = matchContract(message, groovyDsl);
+				if (contract != null) {
+					ContractInstrumentation.count(ContractInstrumentation.MESSAGES_ROUTED);
+					return contract;
+				}
 			}
+			return null;
 		}
-		return null;
 	}
 
 	private Contract matchContract(Message<?> message, Contract groovyDsl) {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.provider.wiremock;
+
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import org.springframework.cloud.contract.stubrunner.StubRequestJournal;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
+
+/**
+ * Feeds each served request of a WireMock server to a {@link StubRequestJournal} and
+ * counts matched and unmatched requests in {@link ContractInstrumentation}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class JournalingPostServeAction extends PostServeAction {
+
+	private final StubRequestJournal journal;
+
+	JournalingPostServeAction(StubRequestJournal journal) {
+		this.journal = journal;
+	}
+
+	@Override
+	public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+		LoggedRequest request = serveEvent.getRequest();
+		long latency = request.getLoggedDate() != null
+				? System.currentTimeMillis() - request.getLoggedDate().getTime() : 0L;
+		StubMapping mapping = serveEvent.getWasMatched() ? serveEvent.getStubMapping() : null;
+		ContractInstrumentation.count(mapping != null ? ContractInstrumentation.REQUESTS_MATCHED
+				: ContractInstrumentation.REQUESTS_UNMATCHED);
+		this.journal.record(mappingName(mapping), request.getMethod().getName(), request.getUrl(),
+				serveEvent.getResponse() != null ? serveEvent.getResponse().getStatus() : 0, latency);
+	}
+
+	private String mappingName(StubMapping mapping) {
+		if (mapping == null) {
+			return null;
+		}
+		return mapping.getName() != null ? mapping.getName() : String.valueOf(mapping.getId());
+	}
+
+	@Override
+	public String getName() {
+		return "spring-cloud-contract-request-journal";
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.provider.wiremock;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.verifier.dsl.wiremock.SpringCloudContractRequestMatcher;
+
+/**
+ * Replaces the plain {@code matchesJsonPath} body patterns of a stub mapping with a
+ * single {@link SpringCloudContractRequestMatcher} custom matcher. WireMock parses the
+ * request body once for each such body pattern, whereas the custom matcher parses it
+ * once per request. Mappings that already have a custom matcher, or whose JSON path
+ * patterns have value patterns, are left untouched.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class JsonPathBodyPatterns {
+
+	private static final Log log = LogFactory.getLog(JsonPathBodyPatterns.class);
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final String MATCHES_JSON_PATH = "matchesJsonPath";
+
+	private JsonPathBodyPatterns() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static String compact(String mapping) {
+		try {
+			JsonNode root = OBJECT_MAPPER.readTree(mapping);
+			JsonNode request = root.get("request");
+			if (!(request instanceof ObjectNode) || request.has("customMatcher")
+					|| !(request.get("bodyPatterns") instanceof ArrayNode)) {
+				return mapping;
+			}
+			ArrayNode bodyPatterns = (ArrayNode) request.get("bodyPatterns");
+			ArrayNode jsonPaths = OBJECT_MAPPER.createArrayNode();
+			for (Iterator<JsonNode> iterator = bodyPatterns.elements(); iterator.hasNext();) {
+				JsonNode pattern = iterator.next();
+				if (pattern.size() == 1 && pattern.has(MATCHES_JSON_PATH)
+						&& pattern.get(MATCHES_JSON_PATH).isTextual()) {
+					jsonPaths.add(pattern.get(MATCHES_JSON_PATH));
+					iterator.remove();
+				}
+			}
+			if (jsonPaths.size() < 2) {
+				return mapping;
+			}
+			if (bodyPatterns.size() == 0) {
+				((ObjectNode) request).remove("bodyPatterns");
+			}
+			ObjectNode customMatcher = ((ObjectNode) request).putObject("customMatcher");
+			customMatcher.put("name", SpringCloudContractRequestMatcher.NAME);
+			customMatcher.putObject("parameters").set(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER,
+					jsonPaths);
+			return OBJECT_MAPPER.writeValueAsString(root);
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to compact the JSON path body patterns, will use the mapping as is", ex);
+			}
+			return mapping;
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.provider.wiremock;
+
+import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.http.ThreadPoolFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import wiremock.org.eclipse.jetty.util.ProcessorUtils;
+import wiremock.org.eclipse.jetty.util.thread.QueuedThreadPool;
+import wiremock.org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * Single Jetty thread pool shared by all the WireMock servers started by Stub Runner.
+ * Each server keeps its own connectors, port and mappings, but the request handling,
+ * acceptor and selector threads come from one bounded pool. The pool is started before
+ * it is handed over to a server, so Jetty treats it as an unmanaged bean and stopping a
+ * server does not stop the pool.
+ *
+ * Each server leases threads for the acceptors and selectors of each of its connectors,
+ * so the pool grows by {@link #leasedThreads(Options)} for each running server and
+ * shrinks when it gets stopped. The pool reserves no threads upfront, so its budget does
+ * not depend on the number of processors.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class SharedJettyThreadPool implements ThreadPoolFactory {
+
+	private static final Log log = LogFactory.getLog(SharedJettyThreadPool.class);
+
+	static final int DEFAULT_WORKER_THREADS = 20;
+
+	/**
+	 * Jetty's default number of acceptors is bounded by this value.
+	 */
+	private static final int DEFAULT_ACCEPTORS = 2;
+
+	private static final SharedJettyThreadPool INSTANCE = new SharedJettyThreadPool();
+
+	private QueuedThreadPool threadPool;
+
+	private int workerThreads = DEFAULT_WORKER_THREADS;
+
+	private int servers;
+
+	private int leasedThreads;
+
+	private SharedJettyThreadPool() {
+	}
+
+	static SharedJettyThreadPool instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Number of threads that a server started with the given options leases from the
+	 * pool. Counts the acceptors and the maximum number of selectors Jetty may pick for
+	 * the HTTP and, if enabled, the HTTPS connector.
+	 * @param options - WireMock options of the server
+	 * @return number of threads to lease
+	 */
+	static int leasedThreads(Options options) {
+		int connectors = options.httpsSettings().enabled() ? 2 : 1;
+		int acceptors = options.jettySettings().getAcceptors().isPresent()
+				? options.jettySettings().getAcceptors().get() : DEFAULT_ACCEPTORS;
+		int selectors = Math.max(2, ProcessorUtils.availableProcessors() / 2);
+		return connectors * (acceptors + selectors);
+	}
+
+	/**
+	 * Registers a new server that will use the shared pool.
+	 * @param workerThreads - number of threads that handle requests across all servers
+	 * @param leasedThreads - number of acceptor and selector threads of the server, see
+	 * {@link #leasedThreads(Options)}
+	 * @return this factory to be passed to the WireMock configuration
+	 */
+	synchronized SharedJettyThreadPool register(int workerThreads, int leasedThreads) {
+		this.servers++;
+		this.leasedThreads += leasedThreads;
+		if (this.threadPool == null) {
+			this.workerThreads = workerThreads;
+			this.threadPool = new QueuedThreadPool(maxThreads(), 1);
+			this.threadPool.setName("stubrunner-jetty");
+			this.threadPool.setDaemon(true);
+			this.threadPool.setReservedThreads(0);
+			try {
+				this.threadPool.start();
+			}
+			catch (Exception ex) {
+				this.threadPool = null;
+				this.servers--;
+				this.leasedThreads -= leasedThreads;
+				throw new IllegalStateException("Failed to start the shared Jetty thread pool", ex);
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Started the shared Jetty thread pool with [" + workerThreads + "] worker threads");
+			}
+		}
+		else {
+			this.threadPool.setMaxThreads(maxThreads());
+		}
+		return this;
+	}
+
+	/**
+	 * Unregisters a stopped server. The pool gets stopped together with the last
+	 * server.
+	 * @param leasedThreads - number of threads the server leased when it got registered
+	 */
+	synchronized void unregister(int leasedThreads) {
+		if (this.servers == 0 || this.threadPool == null) {
+			return;
+		}
+		this.servers--;
+		this.leasedThreads = Math.max(0, this.leasedThreads - leasedThreads);
+		if (this.servers > 0) {
+			this.threadPool.setMaxThreads(maxThreads());
+			return;
+		}
+		try {
+			this.threadPool.stop();
+		}
+		catch (Exception ex) {
+			log.warn("Failed to stop the shared Jetty thread pool", ex);
+		}
+		this.threadPool = null;
+		this.leasedThreads = 0;
+	}
+
+	synchronized int maxThreads() {
+		return this.workerThreads + this.leasedThreads;
+	}
+
+	@Override
+	public synchronized ThreadPool buildThreadPool(Options options) {
+		if (this.threadPool == null) {
+			throw new IllegalStateException("No server has been registered for the shared Jetty thread pool");
+		}
+		return this.threadPool;
+	}
+
+}
@@ -35,6 +35,7 @@ import com.github.tomakehurst.wiremock.common.JsonException;
 import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.extension.Extension;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.security.ClientAuthenticator;
 import com.github.tomakehurst.wiremock.security.NoClientAuthenticator;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
@@ -45,11 +46,15 @@ import wiremock.com.github.jknack.handlebars.Helper;
 import org.springframework.cloud.contract.stubrunner.HttpServerStub;
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfiguration;
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer;
+import org.springframework.cloud.contract.stubrunner.StubRequestJournal;
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptions;
+import org.springframework.cloud.contract.stubrunner.StubRunnerPropertyUtils;
 import org.springframework.cloud.contract.verifier.builder.handlebars.HandlebarsEscapeHelper;
 import org.springframework.cloud.contract.verifier.builder.handlebars.HandlebarsJsonPathHelper;
 import org.springframework.cloud.contract.verifier.dsl.wiremock.DefaultResponseTransformer;
 import org.springframework.cloud.contract.verifier.dsl.wiremock.SpringCloudContractRequestMatcher;
 import org.springframework.cloud.contract.verifier.dsl.wiremock.WireMockExtensions;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
 import org.springframework.cloud.contract.wiremock.WireMockSpring;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.ClassUtils;
@@ -70,12 +75,34 @@ public class WireMockHttpServerStub implements HttpServerStub {
 
 	private static final int INVALID_PORT = -1;
 
+	private static final String SHARED_THREAD_POOL_PROP = "wiremock.shared-thread-pool";
+
+	private static final String SHARED_THREAD_POOL_SIZE_PROP = "wiremock.shared-thread-pool-size";
+
+	private static final String VERBOSE_LOGGING_PROP = "wiremock.verbose-logging";
+
+	private static final String REQUEST_JOURNAL_MAX_ENTRIES_PROP = "wiremock.request-journal-max-entries";
+
+	private static final String JOURNAL_ENABLED_PROP = "stubs.journal.enabled";
+
+	private static final String JOURNAL_CAPACITY_PROP = "stubs.journal.capacity";
+
+	private static final String JOURNAL_SAMPLING_RATE_PROP = "stubs.journal.sampling-rate";
+
+	private static final int DEFAULT_JOURNAL_CAPACITY = 100;
+
 	private WireMockServer wireMockServer;
 
 	private boolean https = false;
 
 	private WireMockConfiguration wireMockConfiguration;
 
+	private int sharedThreadPoolLease = 0;
+
+	private int journalPort = INVALID_PORT;
+
+	private final Map<File, StubMapping> registeredFiles = new ConcurrentHashMap<>();
+
 	private WireMockConfiguration config() {
 		if (ClassUtils.isPresent("org.springframework.cloud.contract.wiremock.WireMockSpring", null)) {
 			return WireMockSpring.options().extensions(responseTransformers());
@@ -125,7 +152,26 @@ public class WireMockHttpServerStub implements HttpServerStub {
 			return this;
 		}
 		int port = configuration.port;
-		WireMockConfiguration wireMockConfiguration = config().port(port).notifier(new Slf4jNotifier(true));
+		StubRunnerOptions options = configuration.stubRunnerOptions;
+		// nobody reads the journal unless it was enabled, so requests don't pay for it
+		StubRequestJournal journal = Boolean.parseBoolean(property(options, JOURNAL_ENABLED_PROP)) ? journal(options)
+				: null;
+		WireMockConfiguration wireMockConfiguration = config().port(port)
+				.notifier(new Slf4jNotifier(Boolean.parseBoolean(property(options, VERBOSE_LOGGING_PROP))));
+		if (journal != null) {
+			wireMockConfiguration = wireMockConfiguration.extensions(new JournalingPostServeAction(journal));
+		}
+		String journalMaxEntries = property(options, REQUEST_JOURNAL_MAX_ENTRIES_PROP);
+		if (StringUtils.hasText(journalMaxEntries)) {
+			int maxEntries = Integer.parseInt(journalMaxEntries);
+			wireMockConfiguration = maxEntries > 0 ? wireMockConfiguration.maxRequestJournalEntries(maxEntries)
+					: wireMockConfiguration.disableRequestJournal();
+		}
+		boolean sharedThreadPool = Boolean.parseBoolean(property(options, SHARED_THREAD_POOL_PROP));
+		if (sharedThreadPool) {
+			wireMockConfiguration = wireMockConfiguration.jettyAcceptors(1)
+					.threadPoolFactory(SharedJettyThreadPool.instance());
+		}
 		if (configuration.configurer.isAccepted(wireMockConfiguration)) {
 			@SuppressWarnings("unchecked")
 			HttpServerStubConfigurer<WireMockConfiguration> configurer = configuration.configurer;
@@ -134,13 +180,35 @@ public class WireMockHttpServerStub implements HttpServerStub {
 		this.wireMockConfiguration = wireMockConfiguration;
 		this.https = wireMockConfiguration.httpsSettings().enabled();
 		port = this.https ? wireMockConfiguration.httpsSettings().port() : wireMockConfiguration.portNumber();
-		this.wireMockServer = new WireMockServer(wireMockConfiguration);
-		this.wireMockServer.start();
+		if (sharedThreadPool) {
+			// the configurer might have changed the connectors, so the lease is computed
+			// from the final configuration
+			String size = property(options, SHARED_THREAD_POOL_SIZE_PROP);
+			int lease = SharedJettyThreadPool.leasedThreads(wireMockConfiguration);
+			SharedJettyThreadPool.instance().register(
+					StringUtils.hasText(size) ? Integer.parseInt(size) : SharedJettyThreadPool.DEFAULT_WORKER_THREADS,
+					lease);
+			this.sharedThreadPoolLease = lease;
+		}
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.STUB_SERVER_START, configuration.toColonSeparatedDependencyNotation())) {
+			this.wireMockServer = new WireMockServer(wireMockConfiguration);
+			this.wireMockServer.start();
+		}
+		catch (RuntimeException ex) {
+			releaseSharedThreadPool();
+			throw ex;
+		}
+		ContractInstrumentation.count(ContractInstrumentation.STUBS_STARTED);
 		if (log.isDebugEnabled()) {
 			log.debug("For " + configuration.toColonSeparatedDependencyNotation() + " Started WireMock at ["
 					+ (this.https ? "https" : "http") + "] port [" + port + "]");
 		}
 		cacheStubServer(configuration.randomPort, port);
+		if (journal != null) {
+			this.journalPort = port;
+			StubRequestJournal.register(port, journal);
+		}
 		return this;
 	}
 
@@ -152,9 +220,29 @@ public class WireMockHttpServerStub implements HttpServerStub {
 	@Override
 	public HttpServerStub reset() {
 		this.wireMockServer.resetAll();
+		this.registeredFiles.clear();
 		return this;
 	}
 
+	private String property(StubRunnerOptions options, String name) {
+		return StubRunnerPropertyUtils.getProperty(options != null ? options.getProperties() : null, name);
+	}
+
+	private StubRequestJournal journal(StubRunnerOptions options) {
+		String capacity = property(options, JOURNAL_CAPACITY_PROP);
+		String samplingRate = property(options, JOURNAL_SAMPLING_RATE_PROP);
+		return new StubRequestJournal(
+				StringUtils.hasText(capacity) ? Integer.parseInt(capacity) : DEFAULT_JOURNAL_CAPACITY,
+				StringUtils.hasText(samplingRate) ? Double.parseDouble(samplingRate) : 1.0);
+	}
+
+	private void releaseSharedThreadPool() {
+		if (this.sharedThreadPoolLease > 0) {
+			SharedJettyThreadPool.instance().unregister(this.sharedThreadPoolLease);
+			this.sharedThreadPoolLease = 0;
+		}
+	}
+
 	private void cacheStubServer(boolean random, int port) {
 		SERVERS.put(this, new PortAndMappings(random, port, new ArrayList<>()));
 	}
@@ -168,6 +256,11 @@ public class WireMockHttpServerStub implements HttpServerStub {
 			return this;
 		}
 		this.wireMockServer.stop();
+		releaseSharedThreadPool();
+		if (this.journalPort != INVALID_PORT) {
+			StubRequestJournal.unregister(this.journalPort);
+			this.journalPort = INVALID_PORT;
+		}
 		return this;
 	}
 
@@ -180,6 +273,26 @@ public class WireMockHttpServerStub implements HttpServerStub {
 		return this;
 	}
 
+	@Override
+	public HttpServerStub updateMappings(Collection<File> stubFiles, Collection<File> addedStubFiles,
+			Collection<File> removedStubFiles) {
+		if (!isRunning()) {
+			throw new IllegalStateException("Server not started!");
+		}
+		WireMock wireMock = wireMock();
+		for (File removed : removedStubFiles) {
+			StubMapping mapping = this.registeredFiles.remove(removed);
+			if (mapping != null) {
+				wireMock.removeStubMapping(mapping);
+				if (log.isDebugEnabled()) {
+					log.debug("Removed stub mappings from [" + removed + "]");
+				}
+			}
+		}
+		registerStubs(addedStubFiles, wireMock);
+		return this;
+	}
+
 	@Override
 	public String registeredMappings() {
 		Collection<String> mappings = new ArrayList<>();
@@ -209,10 +322,23 @@ public class WireMockHttpServerStub implements HttpServerStub {
 	}
 
 	StubMapping getMapping(File file) {
+		return buildMapping(readMapping(file));
+	}
+
+	private StubMapping buildMapping(String mapping) {
+		try {
+			return StubMapping.buildFrom(mapping);
+		}
+		catch (JsonException e) {
+			throw new IllegalStateException("Cannot read file", e);
+		}
+	}
+
+	private String readMapping(File file) {
 		try (InputStream stream = Files.newInputStream(file.toPath())) {
-			return StubMapping.buildFrom(StreamUtils.copyToString(stream, Charset.forName("UTF-8")));
+			return StreamUtils.copyToString(stream, Charset.forName("UTF-8"));
 		}
-		catch (IOException | JsonException e) {
+		catch (IOException e) {
 			throw new IllegalStateException("Cannot read file", e);
 		}
 	}
@@ -241,10 +367,9 @@ public class WireMockHttpServerStub implements HttpServerStub {
 	}
 
 	private void registerStubs(Collection<File> sortedMappings, WireMock wireMock) {
-		List<StubMapping> stubMappings = new ArrayList<>();
 		for (File mappingDescriptor : sortedMappings) {
 			try {
-				stubMappings.add(registerDescriptor(wireMock, mappingDescriptor));
+				this.registeredFiles.put(mappingDescriptor, registerDescriptor(wireMock, mappingDescriptor));
 				if (log.isDebugEnabled()) {
 					log.debug("Registered stub mappings from [" + mappingDescriptor + "]");
 				}
@@ -256,15 +381,23 @@ public class WireMockHttpServerStub implements HttpServerStub {
 			}
 		}
 		PortAndMappings portAndMappings = SERVERS.get(this);
-		SERVERS.put(this, new PortAndMappings(portAndMappings.random, portAndMappings.port, stubMappings));
+		SERVERS.put(this, new PortAndMappings(portAndMappings.random, portAndMappings.port,
+				new ArrayList<>(this.registeredFiles.values())));
 	}
 
 	private StubMapping registerDescriptor(WireMock wireMock, File mappingDescriptor) {
-		StubMapping mapping = getMapping(mappingDescriptor);
+		StubMapping mapping = springCloudContractMatcherRegistered()
+				? buildMapping(JsonPathBodyPatterns.compact(readMapping(mappingDescriptor)))
+				: getMapping(mappingDescriptor);
 		wireMock.register(mapping);
 		return mapping;
 	}
 
+	private boolean springCloudContractMatcherRegistered() {
+		return this.wireMockConfiguration.extensionsOfType(RequestMatcherExtension.class)
+				.containsKey(SpringCloudContractRequestMatcher.NAME);
+	}
+
 	private void registerHealthCheck(WireMock wireMock, String url) {
 		registerHealthCheck(wireMock, url, "OK");
 	}
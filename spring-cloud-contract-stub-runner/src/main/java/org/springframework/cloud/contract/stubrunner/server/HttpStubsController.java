@@ -16,14 +16,18 @@
 
 package org.springframework.cloud.contract.stubrunner.server;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
+import org.springframework.cloud.contract.stubrunner.StubRequestJournal;
 import org.springframework.cloud.contract.stubrunner.StubRunning;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -55,4 +59,39 @@ public class HttpStubsController {
 		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 	}
 
+	@RequestMapping(path = "/journal")
+	public Map<String, StubRequestJournal.Statistics> journals() {
+		Map<String, StubRequestJournal.Statistics> statistics = new LinkedHashMap<>();
+		this.stubRunning.runStubs().toIvyToPortMapping().forEach((ivy, port) -> {
+			StubRequestJournal journal = StubRequestJournal.forPort(port);
+			if (journal != null) {
+				statistics.put(ivy, journal.statistics());
+			}
+		});
+		return statistics;
+	}
+
+	@RequestMapping(path = "/journal/{ivy:.*}")
+	public ResponseEntity<StubRequestJournal.Statistics> journal(@PathVariable String ivy) {
+		Integer port = this.stubRunning.runStubs().getPort(ivy);
+		StubRequestJournal journal = port != null ? StubRequestJournal.forPort(port) : null;
+		if (journal != null) {
+			return ResponseEntity.ok(journal.statistics());
+		}
+		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+	}
+
+	/**
+	 * Fetches the stubs again and applies the changed mappings and contracts to the
+	 * running stubs, without restarting them.
+	 * @return number of changed stub files per stub
+	 */
+	@PostMapping(path = "/reload")
+	public ResponseEntity<Map<String, Integer>> reload() {
+		if (!(this.stubRunning instanceof BatchStubRunner) || !((BatchStubRunner) this.stubRunning).isReloadable()) {
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+		return ResponseEntity.ok(((BatchStubRunner) this.stubRunning).reload());
+	}
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
+import org.springframework.cloud.contract.verifier.instrumentation.PhaseStatistics;
+
+/**
+ * Exposes the phases and counters recorded by {@link ContractInstrumentation} under the
+ * {@code stubrunner} actuator endpoint.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@Endpoint(id = "stubrunner")
+public class StubRunnerInstrumentationEndpoint {
+
+	@ReadOperation
+	public Map<String, Object> instrumentation() {
+		Map<String, Object> phases = new LinkedHashMap<>();
+		for (Map.Entry<String, PhaseStatistics> entry : ContractInstrumentation.phases().entrySet()) {
+			PhaseStatistics statistics = entry.getValue();
+			Map<String, Object> phase = new LinkedHashMap<>();
+			phase.put("count", statistics.getCount());
+			phase.put("totalMillis", statistics.getTotalMillis());
+			phase.put("meanMillis", statistics.getMeanMillis());
+			phase.put("maxMillis", statistics.getMaxMillis());
+			phases.put(entry.getKey(), phase);
+		}
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("phases", phases);
+		result.put("counters", ContractInstrumentation.counters());
+		return result;
+	}
+
+}
@@ -16,8 +16,16 @@
 
 package org.springframework.cloud.contract.stubrunner.server;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
+import org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties;
 import org.springframework.cloud.contract.verifier.messaging.boot.AutoConfigureMessageVerifier;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -35,4 +43,29 @@ class StubRunnerServerConfiguration {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(name = "stubrunner.reload.enabled", havingValue = "true")
+	static class StubRunnerReloadConfiguration {
+
+		@Bean
+		StubsReloadWatcher stubsReloadWatcher(BatchStubRunner batchStubRunner, StubRunnerProperties properties,
+				@Value("${stubrunner.reload.quiet-period:300}") long quietPeriodMillis) {
+			return new StubsReloadWatcher(batchStubRunner, properties.getRepositoryRoot(), quietPeriodMillis);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass({ Endpoint.class, ConditionalOnAvailableEndpoint.class })
+	static class StubRunnerEndpointConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnAvailableEndpoint
+		StubRunnerInstrumentationEndpoint stubRunnerInstrumentationEndpoint() {
+			return new StubRunnerInstrumentationEndpoint();
+		}
+
+	}
+
 }
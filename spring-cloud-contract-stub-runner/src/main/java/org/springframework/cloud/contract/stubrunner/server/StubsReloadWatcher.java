@@ -0,0 +1,200 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
+import org.springframework.core.io.Resource;
+
+/**
+ * Watches a local stubs repository root and reloads the running stubs whenever files
+ * under it change. Changes are batched until no new change happened for the quiet
+ * period, so that saving or copying many files results in a single reload.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class StubsReloadWatcher implements InitializingBean, DisposableBean {
+
+	private static final Log log = LogFactory.getLog(StubsReloadWatcher.class);
+
+	private final BatchStubRunner batchStubRunner;
+
+	private final Path root;
+
+	private final long quietPeriodMillis;
+
+	private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+	private volatile WatchService watchService;
+
+	private Thread thread;
+
+	StubsReloadWatcher(BatchStubRunner batchStubRunner, Resource repositoryRoot, long quietPeriodMillis) {
+		this.batchStubRunner = batchStubRunner;
+		this.root = localRoot(repositoryRoot);
+		this.quietPeriodMillis = quietPeriodMillis;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		if (this.root == null) {
+			log.info("Stubs repository root is not a local folder, stubs will not get reloaded on changes");
+			return;
+		}
+		if (!this.batchStubRunner.isReloadable()) {
+			log.info("Running stubs can't be reloaded, stubs will not get reloaded on changes");
+			return;
+		}
+		this.batchStubRunner.prepareForReload();
+		this.watchService = FileSystems.getDefault().newWatchService();
+		registerRecursively(this.root);
+		this.thread = new Thread(this::watch, "stubrunner-reload-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+		log.info("Watching [" + this.root + "] for stub changes");
+	}
+
+	private void watch() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				if (!drain(this.watchService.take())) {
+					continue;
+				}
+				WatchKey next;
+				while ((next = this.watchService.poll(this.quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+					drain(next);
+				}
+				reload();
+			}
+		}
+		catch (InterruptedException | ClosedWatchServiceException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Consumes the events of the key and starts watching newly created folders.
+	 * @return {@code true} if any file changed
+	 */
+	private boolean drain(WatchKey key) {
+		Path directory = this.watchedDirectories.get(key);
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			changed = true;
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				continue;
+			}
+			Path path = directory != null ? directory.resolve((Path) event.context()) : null;
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && path != null && Files.isDirectory(path)) {
+				try {
+					registerRecursively(path);
+				}
+				catch (IOException ex) {
+					log.warn("Failed to watch [" + path + "] for stub changes", ex);
+				}
+			}
+		}
+		if (!key.reset()) {
+			this.watchedDirectories.remove(key);
+		}
+		return changed;
+	}
+
+	private void reload() {
+		long start = System.nanoTime();
+		try {
+			Map<String, Integer> changes = this.batchStubRunner.reload();
+			log.info("Reloaded stubs in [" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+					+ "] ms, changed files per stub " + changes);
+		}
+		catch (Exception ex) {
+			log.error("Failed to reload the stubs, the previous version of the stubs keeps running", ex);
+		}
+	}
+
+	private void registerRecursively(Path directory) throws IOException {
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(StubsReloadWatcher.this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				StubsReloadWatcher.this.watchedDirectories.put(key, dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (this.thread != null) {
+			this.thread.interrupt();
+		}
+		if (this.watchService != null) {
+			this.watchService.close();
+		}
+	}
+
+	static Path localRoot(Resource repositoryRoot) {
+		if (repositoryRoot == null) {
+			return null;
+		}
+		try {
+			if (repositoryRoot.isFile()) {
+				return directory(repositoryRoot.getFile());
+			}
+			URI uri = repositoryRoot.getURI();
+			if (!"stubs".equals(uri.getScheme())) {
+				return null;
+			}
+			String location = uri.getSchemeSpecificPart();
+			location = location.startsWith("//") ? location.substring(2) : location;
+			return location.startsWith("file:") ? directory(new File(URI.create(location))) : null;
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	private static Path directory(File file) {
+		return file.isDirectory() ? file.toPath() : null;
+	}
+
+}
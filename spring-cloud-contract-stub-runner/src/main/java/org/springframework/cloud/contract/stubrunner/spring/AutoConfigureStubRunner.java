@@ -150,6 +150,13 @@ public @interface AutoConfigureStubRunner {
 	 */
 	boolean failOnNoStubs() default true;
 
+	/**
+	 * @return when enabled, the running stubs are leased from a JVM-wide pool and reused
+	 * by other test classes that ask for the same stubs, instead of being downloaded and
+	 * started again for each application context.
+	 */
+	boolean sharedStubs() default false;
+
 	/**
 	 * Configuration for an HTTP server stub.
 	 * @return class that allows to perform additional HTTP server stub configuration
@@ -30,6 +30,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.contract.stubrunner.BatchStubRunner;
 import org.springframework.cloud.contract.stubrunner.BatchStubRunnerFactory;
 import org.springframework.cloud.contract.stubrunner.RunningStubs;
+import org.springframework.cloud.contract.stubrunner.SharedStubRunnerPool;
 import org.springframework.cloud.contract.stubrunner.StubConfiguration;
 import org.springframework.cloud.contract.stubrunner.StubDownloaderBuilderProvider;
 import org.springframework.cloud.contract.stubrunner.StubRunnerOptions;
@@ -81,8 +82,10 @@ public class StubRunnerConfiguration {
 			builder.withProxy(props.getProxyHost(), props.getProxyPort());
 		}
 		StubRunnerOptions stubRunnerOptions = stubRunnerOptions(builder);
-		BatchStubRunner batchStubRunner = new BatchStubRunnerFactory(stubRunnerOptions,
-				this.provider.get(stubRunnerOptions), new LazyMessageVerifier(beanFactory)).buildBatchStubRunner();
+		BatchStubRunner batchStubRunner = stubRunnerOptions.isSharedStubs()
+				? SharedStubRunnerPool.instance().lease(stubRunnerOptions, new LazyMessageVerifier(beanFactory))
+				: new BatchStubRunnerFactory(stubRunnerOptions, this.provider.get(stubRunnerOptions),
+						new LazyMessageVerifier(beanFactory)).buildBatchStubRunner();
 		// TODO: Consider running it in a separate thread
 		RunningStubs runningStubs = batchStubRunner.runStubs();
 		registerPort(runningStubs);
@@ -114,7 +117,8 @@ public class StubRunnerConfiguration {
 				.withDeleteStubsAfterTest(Boolean.parseBoolean(resolvePlaceholder(props.isDeleteStubsAfterTest())))
 				.withGenerateStubs(Boolean.parseBoolean(resolvePlaceholder(props.isGenerateStubs())))
 				.withProperties(props.getProperties()).withHttpServerStubConfigurer(props.getHttpServerStubConfigurer())
-				.withServerId(resolvePlaceholder(props.getServerId()));
+				.withServerId(resolvePlaceholder(props.getServerId())).withSharedStubs(props.isSharedStubs())
+				.withSharedStubsIdleTimeout(props.getSharedStubsIdleTimeout());
 	}
 
 	private String[] resolvePlaceholder(String[] string) {
@@ -136,6 +136,17 @@ public class StubRunnerProperties {
 	 */
 	private String serverId;
 
+	/**
+	 * When enabled, running stubs are leased from a JVM-wide pool and reused across
+	 * application contexts, JUnit rules and extensions that ask for the same stubs.
+	 */
+	private boolean sharedStubs;
+
+	/**
+	 * Time in milliseconds after which shared stubs with no active leases get stopped.
+	 */
+	private long sharedStubsIdleTimeout = 30000L;
+
 	public int getMinPort() {
 		return this.minPort;
 	}
@@ -294,6 +305,22 @@ public class StubRunnerProperties {
 		this.serverId = serverId;
 	}
 
+	public boolean isSharedStubs() {
+		return this.sharedStubs;
+	}
+
+	public void setSharedStubs(boolean sharedStubs) {
+		this.sharedStubs = sharedStubs;
+	}
+
+	public long getSharedStubsIdleTimeout() {
+		return this.sharedStubsIdleTimeout;
+	}
+
+	public void setSharedStubsIdleTimeout(long sharedStubsIdleTimeout) {
+		this.sharedStubsIdleTimeout = sharedStubsIdleTimeout;
+	}
+
 	@Override
 	public String toString() {
 		return "StubRunnerProperties{" + "minPort=" + this.minPort + ", maxPort=" + this.maxPort + ", repositoryRoot="
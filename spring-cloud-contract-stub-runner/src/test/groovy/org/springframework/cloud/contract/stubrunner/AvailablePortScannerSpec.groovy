@@ -44,6 +44,17 @@ class AvailablePortScannerSpec extends Specification {
 			usedPort == MIN_PORT
 	}
 
+	def 'should release the reservation once the closure is done'() {
+		given:
+			AvailablePortScanner portScanner = new AvailablePortScanner(MIN_PORT, MIN_PORT)
+		when:
+			int firstPort = portScanner.tryToExecuteWithFreePort { int port -> port }
+			int secondPort = portScanner.tryToExecuteWithFreePort { int port -> port }
+		then:
+			firstPort == MIN_PORT
+			secondPort == MIN_PORT
+	}
+
 	def 'should throw exception when improper range has been provided'() {
 		when:
 			new AvailablePortScanner(minPort, maxPort, MAX_RETRY_COUNT_FOR_NEGATIVE_SCENARIOS)
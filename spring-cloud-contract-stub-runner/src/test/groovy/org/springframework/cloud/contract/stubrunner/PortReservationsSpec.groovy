@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation
+
+class PortReservationsSpec extends Specification {
+
+	private static final int MIN_PORT = 18989
+	private static final int MAX_PORT = 18999
+
+	@Rule
+	TemporaryFolder tmp = new TemporaryFolder()
+
+	def 'should reserve distinct ports'() {
+		given:
+			PortReservations reservations = new PortReservations(tmp.root)
+		when:
+			List<Integer> ports = (1..3).collect { reservations.reserve(MIN_PORT, MAX_PORT) }
+		then:
+			ports.toSet().size() == 3
+			ports.every { it >= MIN_PORT && it <= MAX_PORT }
+			new File(tmp.root, "reservations").readLines().size() == 3
+		cleanup:
+			ports?.each { reservations.release(it) }
+	}
+
+	def 'should record the reservation latency'() {
+		given:
+			ContractInstrumentation.reset()
+			PortReservations reservations = new PortReservations(tmp.root)
+		when:
+			Integer port = reservations.reserve(MIN_PORT, MAX_PORT)
+		then:
+			ContractInstrumentation.phases()[ContractInstrumentation.PORT_RESERVATION].count == 1
+		cleanup:
+			reservations.release(port)
+	}
+
+	def 'should not hand out ports reserved by another process'() {
+		given:
+			long expiry = System.currentTimeMillis() + PortReservations.RESERVATION_TTL_MILLIS
+			new File(tmp.root, "reservations").text = "${MIN_PORT}\t1234@other-fork\t${expiry}\n"
+			PortReservations reservations = new PortReservations(tmp.root)
+		when:
+			Integer first = reservations.reserve(MIN_PORT, MIN_PORT + 1)
+			Integer second = reservations.reserve(MIN_PORT, MIN_PORT + 1)
+		then:
+			first == MIN_PORT + 1
+			second == null
+		cleanup:
+			reservations.release(first)
+	}
+
+	def 'should ignore expired reservations'() {
+		given:
+			new File(tmp.root, "reservations").text = "${MIN_PORT}\t1234@dead-fork\t${System.currentTimeMillis() - 1}\n"
+			PortReservations reservations = new PortReservations(tmp.root)
+		when:
+			Integer port = reservations.reserve(MIN_PORT, MIN_PORT)
+		then:
+			port == MIN_PORT
+		cleanup:
+			reservations.release(port)
+	}
+
+	def 'should remove the reservation from the allocation file when released'() {
+		given:
+			PortReservations reservations = new PortReservations(tmp.root)
+			Integer port = reservations.reserve(MIN_PORT, MAX_PORT)
+		when:
+			reservations.release(port)
+		then:
+			new File(tmp.root, "reservations").readLines().isEmpty()
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class StubRepositoryDiffSpec extends Specification {
+
+	@Rule
+	TemporaryFolder tmp = new TemporaryFolder()
+
+	def 'should compute a per file difference between two scans of the same stubs'() {
+		given:
+			File stubs = copyOfRepository()
+			StubRepository previous = new StubRepository(stubs, [], new StubRunnerOptionsBuilder().build())
+			previous.fingerprints()
+		and:
+			File ping = new File(stubs, 'mappings/spring/cloud/ping/ping.json')
+			ping.text = ping.text.replace('pong', 'pong!')
+			new File(stubs, 'mappings/spring/cloud/bye/bye.json').delete()
+			new File(stubs, 'mappings/spring/cloud/ping/ping2.json').text = ping.text.replace('/ping', '/ping2')
+		when:
+			StubRepository current = new StubRepository(stubs, [], new StubRunnerOptionsBuilder().build(), previous)
+			StubRepositoryDiff diff = StubRepositoryDiff.between(previous, current)
+		then:
+			diff.changedMappingFiles == 3
+			diff.changedContractFiles == 0
+			diff.addedMappings*.name.sort() == ['ping.json', 'ping2.json']
+			diff.removedMappings*.name.sort() == ['bye.json', 'ping.json']
+		and: 'unchanged contracts are not parsed again'
+			current.contracts.size() == previous.contracts.size()
+			[current.contracts, previous.contracts].transpose().every { it[0].is(it[1]) }
+	}
+
+	def 'should find no difference if nothing changed'() {
+		given:
+			File stubs = copyOfRepository()
+			StubRepository previous = new StubRepository(stubs, [], new StubRunnerOptionsBuilder().build())
+		when:
+			StubRepository current = new StubRepository(stubs, [], new StubRunnerOptionsBuilder().build(), previous)
+		then:
+			StubRepositoryDiff.between(previous, current).isEmpty()
+	}
+
+	def 'should remove the mappings of a copy under the files they were registered with'() {
+		given:
+			File first = copyOfRepository()
+			StubRepository initial = new StubRepository(first, [], new StubRunnerOptionsBuilder().build())
+		and: 'the stubs get reloaded from a new copy'
+			File second = copyOfRepository()
+			StubRepository reloaded = new StubRepository(second, [], new StubRunnerOptionsBuilder().build(), initial)
+			StubRepositoryDiff.between(initial, reloaded)
+		and: 'and once again, with a removed mapping'
+			File third = copyOfRepository()
+			new File(third, 'mappings/spring/cloud/bye/bye.json').delete()
+			StubRepository current = new StubRepository(third, [], new StubRunnerOptionsBuilder().build(), reloaded)
+		when:
+			StubRepositoryDiff diff = StubRepositoryDiff.between(reloaded, current)
+		then:
+			diff.removedMappings == [new File(first, 'mappings/spring/cloud/bye/bye.json')]
+		and: 'contracts of another folder are parsed again'
+			!current.contracts.any { contract -> reloaded.contracts.any { it.is(contract) } }
+	}
+
+	private File copyOfRepository() {
+		Path source = StubRepositorySpec.REPOSITORY_LOCATION.toPath()
+		Path target = tmp.newFolder().toPath()
+		Files.walk(source).each { Path path ->
+			Path copy = target.resolve(source.relativize(path).toString())
+			if (Files.isDirectory(path)) {
+				Files.createDirectories(copy)
+			}
+			else {
+				Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING)
+			}
+		}
+		return target.toFile()
+	}
+}
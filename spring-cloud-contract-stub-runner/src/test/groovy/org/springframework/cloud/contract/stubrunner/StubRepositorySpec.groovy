@@ -16,8 +16,13 @@
 
 package org.springframework.cloud.contract.stubrunner
 
+import java.nio.file.Files
+
 import spock.lang.Specification
 
+import org.springframework.cloud.contract.verifier.converter.StubsIndex
+import org.springframework.util.FileSystemUtils
+
 class StubRepositorySpec extends Specification {
 	public static
 	final File REPOSITORY_LOCATION = new File('src/test/resources/repository')
@@ -63,4 +68,61 @@ class StubRepositorySpec extends Specification {
 		then:
 			descriptors.size() == expectedDescriptorsSize
 	}
+
+	def 'should read the stubs and contracts from the stubs index'() {
+		given:
+			File repositoryLocation = indexedRepository()
+		and: 'a mapping that a scan would not accept anymore'
+			new File(repositoryLocation, 'mappings/spring/cloud/ping/ping.json').text = 'not a mapping'
+		when:
+			StubRepository repository = new StubRepository(repositoryLocation,
+					[], new StubRunnerOptionsBuilder().build())
+		then:
+			repository.stubs.size() == 8
+			repository.stubs*.name.contains('ping.json')
+			repository.contracts*.name.sort() == new StubRepository(REPOSITORY_LOCATION,
+					[], new StubRunnerOptionsBuilder().build()).contracts*.name.sort()
+		cleanup:
+			FileSystemUtils.deleteRecursively(repositoryLocation)
+	}
+
+	def 'should scan the stubs when the folder contains files that the stubs index does not list'() {
+		given:
+			File repositoryLocation = indexedRepository()
+		and:
+			new File(repositoryLocation, 'mappings/spring/cloud/ping/not_indexed.json').text =
+					new File(repositoryLocation, 'mappings/spring/cloud/ping/ping.json').text
+		when:
+			StubRepository repository = new StubRepository(repositoryLocation,
+					[], new StubRunnerOptionsBuilder().build())
+		then:
+			repository.stubs.size() == 9
+			repository.stubs*.name.contains('not_indexed.json')
+		cleanup:
+			FileSystemUtils.deleteRecursively(repositoryLocation)
+	}
+
+	def 'should scan the stubs when the stubs index lists missing files'() {
+		given:
+			File repositoryLocation = indexedRepository()
+		and:
+			new File(repositoryLocation, 'mappings/spring/cloud/ping/ping.json').delete()
+		when:
+			StubRepository repository = new StubRepository(repositoryLocation,
+					[], new StubRunnerOptionsBuilder().build())
+		then:
+			repository.stubs.size() == 7
+			repository.contracts.size() == 3
+		cleanup:
+			FileSystemUtils.deleteRecursively(repositoryLocation)
+	}
+
+	private File indexedRepository() {
+		File repositoryLocation = Files.createTempDirectory('stub-repository').toFile()
+		FileSystemUtils.copyRecursively(REPOSITORY_LOCATION, repositoryLocation)
+		List<File> files = []
+		repositoryLocation.eachFileRecurse { if (it.isFile()) files << it }
+		StubsIndex.build(repositoryLocation, files).write(new File(repositoryLocation, StubsIndex.LOCATION))
+		return repositoryLocation
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2020 the original author or authors.
+ * Copyright 2013-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,4 +53,109 @@ class StubServerSpec extends Specification {
 		cleanup:
 			pingStubServer.stop()
 	}
+
+	def 'should start lazy stub server upon first request'() {
+		given:
+			List<File> mappingDescriptors = new StubRepository(repository).getStubs()
+			WireMockHttpServerStub wireMock = new WireMockHttpServerStub()
+			StubServer pingStubServer = new StubServer(stubConfiguration, mappingDescriptors, [],
+					new LazyHttpServerStub(wireMock, 0)).start(new HttpServerStubConfiguration(new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), StubRunnerOptions.fromSystemProps(), new StubConfiguration("a:b:c:d"), STUB_SERVER_PORT))
+		expect:
+			!wireMock.isRunning()
+			pingStubServer.port == STUB_SERVER_PORT
+		when:
+			String response = "http://localhost:$pingStubServer.port/bye".toURL().text
+		then:
+			response == 'Goodbye world!'
+			wireMock.isRunning()
+		cleanup:
+			pingStubServer.stop()
+	}
+
+	def 'should stop idle lazy stub server and start it again upon next request'() {
+		given:
+			List<File> mappingDescriptors = new StubRepository(repository).getStubs()
+			WireMockHttpServerStub wireMock = new WireMockHttpServerStub()
+			StubServer pingStubServer = new StubServer(stubConfiguration, mappingDescriptors, [],
+					new LazyHttpServerStub(wireMock, 200)).start(new HttpServerStubConfiguration(new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), StubRunnerOptions.fromSystemProps(), new StubConfiguration("a:b:c:d"), STUB_SERVER_PORT))
+		when:
+			pingStubServer.warmUp()
+		then:
+			wireMock.isRunning()
+		when:
+			long deadline = System.currentTimeMillis() + 5000
+			while (wireMock.isRunning() && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50)
+			}
+		then:
+			!wireMock.isRunning()
+			"http://localhost:$pingStubServer.port/bye".toURL().text == 'Goodbye world!'
+		cleanup:
+			pingStubServer.stop()
+	}
+
+	def 'should register the journal of lazy stub server under the held port'() {
+		given:
+			List<File> mappingDescriptors = new StubRepository(repository).getStubs()
+			StubServer pingStubServer = new StubServer(stubConfiguration, mappingDescriptors, [],
+					new LazyHttpServerStub(new WireMockHttpServerStub(), 0)).start(new HttpServerStubConfiguration(new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), new StubRunnerOptionsBuilder().withProperties(["stubs.journal.enabled": "true"]).build(), new StubConfiguration("a:b:c:d"), STUB_SERVER_PORT))
+		when:
+			"http://localhost:$pingStubServer.port/bye".toURL().text
+		then:
+			StubRequestJournal.forPort(pingStubServer.port) != null
+		when:
+			pingStubServer.stop()
+		then:
+			StubRequestJournal.forPort(STUB_SERVER_PORT) == null
+	}
+
+	def 'should not stop lazy stub server while a forwarded connection is open'() {
+		given:
+			List<File> mappingDescriptors = new StubRepository(repository).getStubs()
+			WireMockHttpServerStub wireMock = new WireMockHttpServerStub()
+			StubServer pingStubServer = new StubServer(stubConfiguration, mappingDescriptors, [],
+					new LazyHttpServerStub(wireMock, 200)).start(new HttpServerStubConfiguration(new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), StubRunnerOptions.fromSystemProps(), new StubConfiguration("a:b:c:d"), STUB_SERVER_PORT))
+			Socket socket = new Socket('localhost', pingStubServer.port)
+		when:
+			socket.outputStream.write('GET /bye HTTP/1.1\r\nHost: localhost\r\n\r\n'.bytes)
+			String response = ''
+			while (!response.contains('Goodbye world!')) {
+				byte[] buffer = new byte[1024]
+				int read = socket.inputStream.read(buffer)
+				assert read != -1
+				response += new String(buffer, 0, read)
+			}
+			Thread.sleep(1000)
+		then:
+			wireMock.isRunning()
+		when:
+			socket.close()
+			long deadline = System.currentTimeMillis() + 5000
+			while (wireMock.isRunning() && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50)
+			}
+		then:
+			!wireMock.isRunning()
+		cleanup:
+			socket?.close()
+			pingStubServer.stop()
+	}
+
+	def 'should forward the response to a half-closed request of lazy stub server'() {
+		given:
+			List<File> mappingDescriptors = new StubRepository(repository).getStubs()
+			StubServer pingStubServer = new StubServer(stubConfiguration, mappingDescriptors, [],
+					new LazyHttpServerStub(new WireMockHttpServerStub(), 0)).start(new HttpServerStubConfiguration(new HttpServerStubConfigurer.NoOpHttpServerStubConfigurer(), StubRunnerOptions.fromSystemProps(), new StubConfiguration("a:b:c:d"), STUB_SERVER_PORT))
+			Socket socket = new Socket('localhost', pingStubServer.port)
+		when:
+			socket.outputStream.write('GET /bye HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n'.bytes)
+			socket.shutdownOutput()
+			String response = socket.inputStream.text
+		then:
+			response.contains('Goodbye world!')
+		cleanup:
+			socket?.close()
+			pingStubServer.stop()
+	}
+
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.util.concurrent.TimeUnit
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation
+
+class TemporaryFileRegistrySpec extends Specification {
+
+	@Rule
+	TemporaryFolder tmp = new TemporaryFolder()
+
+	def cleanup() {
+		ContractInstrumentation.reset()
+	}
+
+	def 'should create unique temporary folders and remove all the registered ones'() {
+		given:
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, new File(tmp.root, 'owners'))
+			File first = registry.createTempDir('stubs')
+			File second = registry.createTempDir('stubs')
+			new File(first, 'mapping.json').text = '{}'
+			new File(second, 'nested').mkdirs()
+			new File(second, 'nested/mapping.json').text = '{"a":1}'
+			registry.add(first)
+			registry.add(second)
+		when:
+			registry.cleanup().get(5, TimeUnit.SECONDS)
+		then:
+			first != second
+			!first.exists()
+			!second.exists()
+			registry.files().isEmpty()
+			ContractInstrumentation.counters()[ContractInstrumentation.TEMP_FILES_REMOVED] == 2L
+			ContractInstrumentation.counters()[ContractInstrumentation.TEMP_BYTES_RECLAIMED] == 9L
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should remove a registered folder once its last owner releases it'() {
+		given:
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, new File(tmp.root, 'owners'))
+			File registered = registry.createTempDir('stubs')
+			new File(registered, 'nested').mkdirs()
+			File unregistered = registry.createTempDir('stubs')
+			registry.add(registered)
+			Object firstRunner = new Object()
+			Object secondRunner = new Object()
+		expect:
+			!registry.acquire(unregistered, firstRunner)
+			registry.acquire(new File(registered, 'nested'), firstRunner)
+			registry.acquire(registered, secondRunner)
+		when:
+			int removed = registry.release(firstRunner, true)
+		then:
+			removed == 0
+			registered.exists()
+		when:
+			removed = registry.release(secondRunner, true)
+		then:
+			removed == 1
+			!registered.exists()
+			unregistered.exists()
+			registry.files().isEmpty()
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should release a single folder of an owner'() {
+		given:
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, new File(tmp.root, 'owners'))
+			File previous = registry.createTempDir('stubs')
+			File current = registry.createTempDir('stubs')
+			Object runner = new Object()
+			registry.add(previous, runner)
+			registry.add(current, runner)
+		when:
+			boolean removed = registry.release(new File(previous, 'mappings'), runner, true)
+		then:
+			removed
+			!previous.exists()
+			current.exists()
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should not remove folders of owners that are never released'() {
+		given:
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, new File(tmp.root, 'owners'))
+			File cached = registry.createTempDir('stubs')
+			Object runner = new Object()
+			registry.add(cached, TemporaryFileRegistrySpec)
+			registry.acquire(cached, runner)
+		when:
+			int removed = registry.release(runner, true)
+		then:
+			removed == 0
+			cached.exists()
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should sweep the folders of processes that are no longer running'() {
+		given:
+			File owners = tmp.newFolder('owners')
+			File leftover = tmp.newFolder('stubs-leftover')
+			new File(leftover, 'mapping.json').text = '{}'
+			File outside = File.createTempFile('outside', '.json')
+			new File(owners, "1234@dead-fork${TemporaryFileRegistry.OWNER_SUFFIX}").text =
+					"pid=1234@dead-fork\nremove-on-shutdown=true\n${leftover.absolutePath}\n${outside.absolutePath}\n"
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, owners)
+		when:
+			int swept = registry.sweep()
+		then:
+			swept == 1
+			!leftover.exists()
+			outside.exists()
+			owners.listFiles().length == 0
+		cleanup:
+			outside?.delete()
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should keep the folders of processes that did not remove their files on shutdown'() {
+		given:
+			File owners = tmp.newFolder('owners')
+			File leftover = tmp.newFolder('stubs-leftover')
+			new File(owners, "1234@dead-fork${TemporaryFileRegistry.OWNER_SUFFIX}").text =
+					"pid=1234@dead-fork\n${leftover.absolutePath}\n"
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, owners)
+		when:
+			int swept = registry.sweep()
+		then:
+			swept == 1
+			leftover.exists()
+			owners.listFiles().length == 0
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+	def 'should not sweep the folders of a running process'() {
+		given:
+			File owners = new File(tmp.root, 'owners')
+			TemporaryFileRegistry running = new TemporaryFileRegistry(tmp.root, owners)
+			running.removeOnShutdown()
+			File stubs = running.createTempDir('stubs')
+			running.add(stubs)
+			TemporaryFileRegistry registry = new TemporaryFileRegistry(tmp.root, owners)
+		when:
+			int swept = registry.sweep()
+		then:
+			swept == 0
+			stubs.exists()
+		when:
+			running.shutdown(true, 5000)
+		then:
+			!stubs.exists()
+			owners.listFiles().length == 0
+		cleanup:
+			registry.shutdown(false, 1000)
+	}
+
+}
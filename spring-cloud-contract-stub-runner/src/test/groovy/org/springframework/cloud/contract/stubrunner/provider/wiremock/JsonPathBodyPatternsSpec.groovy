@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.provider.wiremock
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import org.springframework.boot.test.web.client.TestRestTemplate
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfiguration
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer
+import org.springframework.http.HttpEntity
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.http.ResponseEntity
+import org.springframework.util.SocketUtils
+
+class JsonPathBodyPatternsSpec extends Specification {
+
+	private static final String MAPPING = '''
+{
+  "request" : {
+    "url" : "/check",
+    "method" : "POST",
+    "bodyPatterns" : [
+      { "matchesJsonPath" : "$[?(@.['name'] == 'foo')]" },
+      { "matchesJsonPath" : "$[?(@.['age'] =~ /[2-9][0-9]/)]" },
+      { "matchesJsonPath" : { "expression" : "$.name", "equalTo" : "foo" } }
+    ]
+  },
+  "response" : {
+    "status" : 200
+  }
+}
+'''
+
+	def 'should replace plain JSON path body patterns with a single custom matcher'() {
+		when:
+			def mapping = new JsonSlurper().parseText(JsonPathBodyPatterns.compact(MAPPING))
+		then:
+			mapping.request.customMatcher.name == "spring-cloud-contract"
+			mapping.request.customMatcher.parameters.jsonPaths == ["\$[?(@.['name'] == 'foo')]", "\$[?(@.['age'] =~ /[2-9][0-9]/)]"]
+			mapping.request.bodyPatterns == [[matchesJsonPath: [expression: "\$.name", equalTo: "foo"]]]
+	}
+
+	def 'should leave mappings with a custom matcher untouched'() {
+		given:
+			String mapping = MAPPING.replace('"method" : "POST",', '"method" : "POST", "customMatcher" : { "name" : "foo" },')
+		expect:
+			JsonPathBodyPatterns.compact(mapping) == mapping
+	}
+
+	def 'should leave mappings with a single JSON path untouched'() {
+		given:
+			String mapping = '{ "request" : { "bodyPatterns" : [ { "matchesJsonPath" : "$.name" } ] } }'
+		expect:
+			JsonPathBodyPatterns.compact(mapping) == mapping
+	}
+
+	def 'should match requests against the compacted mapping'() {
+		given:
+			File mappingFile = File.createTempFile("mapping", ".json")
+			mappingFile.text = MAPPING
+			WireMockHttpServerStub stub = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, null,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			stub.registerMappings([mappingFile])
+			HttpHeaders headers = new HttpHeaders()
+			headers.setContentType(MediaType.APPLICATION_JSON)
+		when:
+			ResponseEntity<String> matching = new TestRestTemplate().postForEntity("http://localhost:${stub.port()}/check",
+					new HttpEntity<>('{"name":"foo","age":25}', headers), String)
+			ResponseEntity<String> notMatching = new TestRestTemplate().postForEntity("http://localhost:${stub.port()}/check",
+					new HttpEntity<>('{"name":"foo","age":15}', headers), String)
+		then:
+			matching.statusCodeValue == 200
+			notMatching.statusCodeValue == 404
+		cleanup:
+			stub?.stop()
+			mappingFile?.delete()
+	}
+
+}
@@ -16,15 +16,20 @@
 
 package org.springframework.cloud.contract.stubrunner.provider.wiremock
 
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration
 import com.github.tomakehurst.wiremock.http.RequestMethod
 import com.github.tomakehurst.wiremock.stubbing.StubMapping
 import org.junit.Rule
 import spock.lang.Specification
+import wiremock.org.eclipse.jetty.util.ProcessorUtils
 
 import org.springframework.boot.test.system.OutputCaptureRule
 import org.springframework.boot.test.web.client.TestRestTemplate
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfiguration
 import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer
+import org.springframework.cloud.contract.stubrunner.StubRequestJournal
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptions
+import org.springframework.cloud.contract.stubrunner.StubRunnerOptionsBuilder
 import org.springframework.http.HttpEntity
 import org.springframework.http.HttpMethod
 import org.springframework.util.SocketUtils
@@ -66,9 +71,11 @@ class WireMockHttpServerStubSpec extends Specification {
 			mappingDescriptor?.stop()
 	}
 
-	def 'should make WireMock print out logs on INFO'() {
+	def 'should make WireMock print out logs on INFO when verbose logging is enabled'() {
 		given:
-			WireMockHttpServerStub mappingDescriptor = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, null,
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties(["wiremock.verbose-logging": "true"]).build()
+			WireMockHttpServerStub mappingDescriptor = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, options,
 					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
 			mappingDescriptor.registerMappings([
 					new File(WireMockHttpServerStubSpec.classLoader.getResource("simple.json").toURI())
@@ -85,6 +92,99 @@ class WireMockHttpServerStubSpec extends Specification {
 			mappingDescriptor?.stop()
 	}
 
+	def 'should record served requests in a bounded journal'() {
+		given:
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties(["stubs.journal.enabled": "true", "stubs.journal.capacity": "2"]).build()
+			WireMockHttpServerStub stub = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, options,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			stub.registerMappings([MAPPING_DESCRIPTOR])
+		when:
+			3.times { new TestRestTemplate().getForObject("http://localhost:${stub.port()}/ping", String) }
+			new TestRestTemplate().getForObject("http://localhost:${stub.port()}/missing", String)
+		then:
+			StubRequestJournal.Statistics statistics = StubRequestJournal.forPort(stub.port()).statistics()
+			statistics.unmatched == 1
+			statistics.mappings.values()*.hits.sum() == 3
+			statistics.recentRequests.size() == 2
+			statistics.recentRequests.last().url == "/missing"
+			statistics.recentRequests.last().mapping == StubRequestJournal.UNMATCHED
+		and:
+			!capture.toString().contains("Matched response definition")
+		when:
+			int port = stub.port()
+			stub.stop()
+		then:
+			StubRequestJournal.forPort(port) == null
+		cleanup:
+			stub?.stop()
+	}
+
+	def 'should not record served requests when the journal is not enabled'() {
+		given:
+			WireMockHttpServerStub stub = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, new StubRunnerOptionsBuilder().build(),
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			stub.registerMappings([MAPPING_DESCRIPTOR])
+		when:
+			new TestRestTemplate().getForObject("http://localhost:${stub.port()}/ping", String)
+		then:
+			StubRequestJournal.forPort(stub.port()) == null
+		cleanup:
+			stub?.stop()
+	}
+
+	def 'should serve multiple stubs from a shared thread pool'() {
+		given:
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties(["wiremock.shared-thread-pool": "true"]).build()
+			WireMockHttpServerStub first = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, options,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			WireMockHttpServerStub second = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, options,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			first.registerMappings([MAPPING_DESCRIPTOR])
+			second.registerMappings([MAPPING_DESCRIPTOR])
+		expect:
+			SharedJettyThreadPool.instance().maxThreads() == SharedJettyThreadPool.DEFAULT_WORKER_THREADS + 2 * SharedJettyThreadPool.leasedThreads(first.wireMockConfiguration)
+			new TestRestTemplate().getForObject("http://localhost:${first.port()}/ping", String) == "pong"
+			new TestRestTemplate().getForObject("http://localhost:${second.port()}/ping", String) == "pong"
+		when:
+			first.stop()
+		then:
+			new TestRestTemplate().getForObject("http://localhost:${second.port()}/ping", String) == "pong"
+		cleanup:
+			first?.stop()
+			second?.stop()
+	}
+
+	def 'should start http and https stubs from a shared thread pool on a machine with many cores'() {
+		given:
+			int processors = ProcessorUtils.availableProcessors()
+			ProcessorUtils.setAvailableProcessors(64)
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties(["wiremock.shared-thread-pool": "true", "wiremock.shared-thread-pool-size": "4"]).build()
+			HttpServerStubConfigurer httpsConfigurer = new WireMockHttpServerStubConfigurer() {
+				@Override
+				WireMockConfiguration configure(WireMockConfiguration httpStubConfiguration, HttpServerStubConfiguration httpServerStubConfiguration) {
+					return httpStubConfiguration.httpsPort(SocketUtils.findAvailableTcpPort())
+				}
+			}
+		when:
+			WireMockHttpServerStub http = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, options,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			WireMockHttpServerStub https = new WireMockHttpServerStub().start(new HttpServerStubConfiguration(httpsConfigurer, options,
+					null, SocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+			http.registerMappings([MAPPING_DESCRIPTOR])
+		then:
+			http.isRunning()
+			https.isRunning()
+			https.httpsPort() > 0
+			new TestRestTemplate().getForObject("http://localhost:${http.port()}/ping", String) == "pong"
+		cleanup:
+			http?.stop()
+			https?.stop()
+			ProcessorUtils.setAvailableProcessors(processors)
+	}
+
 	def 'should accept a valid mapping'() {
 		given:
 			WireMockHttpServerStub httpServerStub = new WireMockHttpServerStub()
@@ -26,6 +26,7 @@ import org.springframework.boot.test.context.SpringBootTest
 import org.springframework.cloud.contract.stubrunner.StubRunning
 import org.springframework.test.context.ActiveProfiles
 import org.springframework.test.context.ContextConfiguration
+import org.springframework.web.client.RestTemplate
 
 /**
  * @author Marcin Grzejszczak
@@ -72,6 +73,36 @@ class StubRunnerBootSpec extends Specification {
 			response.statusCode == 404
 	}
 
+	def 'should return the request journal of a [#stubId] stub'() {
+		given:
+			int port = stubRunning.runStubs().getPort(stubId)
+			new RestTemplate().getForObject("http://localhost:${port}/ping", String)
+		when:
+			def response = RestAssuredMockMvc.get("/stubs/journal/${stubId}")
+		then:
+			response.statusCode == 200
+			def root = new JsonSlurper().parseText(response.body.asString())
+			root.unmatched == 0
+			root.recentRequests.any { it.url == '/ping' }
+		where:
+			stubId << ['org.springframework.cloud.contract.verifier.stubs:bootService', 'bootService']
+	}
+
+	def 'should return the request journals of all running stubs'() {
+		when:
+			String response = RestAssuredMockMvc.get('/stubs/journal').body.asString()
+		then:
+			def root = new JsonSlurper().parseText(response)
+			root.'org.springframework.cloud.contract.verifier.stubs:bootService:0.0.1-SNAPSHOT:stubs'.mappings instanceof Map
+	}
+
+	def 'should return 404 when journal of a missing stub was requested'() {
+		when:
+			def response = RestAssuredMockMvc.get("/stubs/journal/a:b:c:d")
+		then:
+			response.statusCode == 404
+	}
+
 	def 'should return a list of messaging labels that can be triggered when version and classifier are passed'() {
 		when:
 			String response = RestAssuredMockMvc.get('/triggers').body.asString()
@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.contract.stubrunner;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Test;
 
 import org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties;
@@ -35,4 +39,31 @@ public class ClasspathStubProviderTest {
 		then(stubDownloader).isNull();
 	}
 
+	@Test
+	public void should_read_stubs_directly_from_classpath_folder_when_reading_folders_in_place() {
+		StubDownloader stubDownloader = new ClasspathStubProvider().build(options("true"));
+
+		Map.Entry<StubConfiguration, File> entry = stubDownloader.downloadAndUnpackStubJar(
+				new StubConfiguration("com.example.zerocopy", "zerocopy-service", "0.0.1", "stubs"));
+
+		then(entry.getValue().toURI().getPath()).endsWith("META-INF/com.example.zerocopy/zerocopy-service/");
+		then(new File(entry.getValue(), "0.0.1/mappings/ping.json")).isFile();
+	}
+
+	@Test
+	public void should_copy_stubs_to_a_temporary_folder_when_not_reading_folders_in_place() {
+		StubDownloader stubDownloader = new ClasspathStubProvider().build(options("false"));
+
+		Map.Entry<StubConfiguration, File> entry = stubDownloader.downloadAndUnpackStubJar(
+				new StubConfiguration("com.example.zerocopy", "zerocopy-service", "0.0.1", "stubs"));
+
+		then(entry.getValue().getName()).startsWith("classpath-stubs");
+		then(new File(entry.getValue(), "com.example.zerocopy/zerocopy-service/0.0.1/mappings/ping.json")).isFile();
+	}
+
+	private StubRunnerOptions options(String readFoldersInPlace) {
+		return new StubRunnerOptionsBuilder().withStubsMode(StubRunnerProperties.StubsMode.CLASSPATH)
+				.withProperties(Collections.singletonMap("stubs.read-folders-in-place", readFoldersInPlace)).build();
+	}
+
 }
@@ -161,6 +161,48 @@ public class GitRepoTests extends AbstractGitTest {
 		}
 	}
 
+	@Test
+	public void should_create_a_bare_mirror_and_fetch_new_changes_to_it() throws Exception {
+		File origin = clonedProject(this.tmp.newFolder(), this.project);
+		File mirror = this.gitRepo.mirrorProject(origin.toURI());
+		then(new File(mirror, "HEAD")).isFile();
+		createNewFile(origin);
+		this.gitRepo.commit(origin, "some message");
+
+		this.gitRepo.mirrorProject(origin.toURI());
+
+		try (Git git = openGitProject(mirror)) {
+			then(git.getRepository().isBare()).isTrue();
+			RevCommit revCommit = git.log().call().iterator().next();
+			then(revCommit.getShortMessage()).isEqualTo("some message");
+		}
+	}
+
+	@Test
+	public void should_export_only_matching_files_from_the_mirror() throws Exception {
+		this.gitRepo.mirrorProject(this.project.toURI());
+		File target = this.tmp.newFolder();
+
+		this.gitRepo.exportFromMirror("master", path -> path.contains("foo.bar/bazService/"), target);
+
+		then(new File(target, "META-INF/foo.bar/bazService/0.0.1-SNAPSHOT")).isDirectory();
+		then(new File(target, "README.adoc")).doesNotExist();
+		then(new File(target, "META-INF/com.example")).doesNotExist();
+	}
+
+	@Test
+	public void should_clone_the_project_from_the_mirror_with_origin_pointing_to_the_project() throws Exception {
+		File mirror = new GitRepo(this.tmp.newFolder()).mirrorProject(this.project.toURI());
+
+		File project = this.gitRepo.cloneProjectFromMirror(mirror, this.project.toURI());
+
+		then(new File(project, "README.adoc")).exists();
+		try (Git git = openGitProject(project)) {
+			then(git.getRepository().getConfig().getString("remote", "origin", "url"))
+					.isEqualTo(this.gitRepo.sanitizeGitUrl(this.project.toURI()));
+		}
+	}
+
 	@Test
 	public void should_add_git_suffix_to_url_if_not_present() throws Exception {
 		this.gitRepo = new GitRepo(this.tmpFolder, true);
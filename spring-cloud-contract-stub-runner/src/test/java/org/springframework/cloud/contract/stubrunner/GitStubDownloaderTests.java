@@ -228,6 +228,58 @@ public class GitStubDownloaderTests {
 		}
 	}
 
+	@Test
+	public void should_pick_stubs_from_a_mirror_of_the_git_repo_when_mirror_cache_is_on() throws Exception {
+		StubDownloaderBuilder stubDownloaderBuilder = new ScmStubDownloaderBuilder();
+		String contractFolderLocation = (file("/git_samples/contract-git/").getAbsolutePath() + "/")
+				.replace(File.separator, "/");
+		File mirrorCacheDir = this.tmp.newFolder();
+		Map<String, String> props = props();
+		props.put("git.mirror-cache", "true");
+		props.put("git.mirror-cache-dir", mirrorCacheDir.getAbsolutePath());
+		StubDownloader stubDownloader = stubDownloaderBuilder
+				.build(new StubRunnerOptionsBuilder().withStubsMode(StubRunnerProperties.StubsMode.REMOTE)
+						.withStubRepositoryRoot("git://" + contractFolderLocation).withProperties(props).build());
+
+		Map.Entry<StubConfiguration, File> entry = stubDownloader
+				.downloadAndUnpackStubJar(new StubConfiguration("foo.bar:bazService:0.0.1-SNAPSHOT"));
+
+		then(entry).isNotNull();
+		then(entry.getValue().getAbsolutePath())
+				.contains("foo.bar" + File.separator + "bazService" + File.separator + "0.0.1-SNAPSHOT");
+		then(mirrorCacheDir.list((dir, name) -> name.endsWith(".git"))).hasSize(1);
+	}
+
+	@Test
+	public void should_drop_the_exports_of_a_mirrored_repo_after_changes_were_pushed() throws Exception {
+		String contractFolderLocation = (file("/git_samples/contract-git/").getAbsolutePath() + "/")
+				.replace(File.separator, "/");
+		Map<String, String> props = props();
+		props.put("git.mirror-cache", "true");
+		props.put("git.mirror-cache-dir", this.tmp.newFolder().getAbsolutePath());
+		StubRunnerOptions options = new StubRunnerOptionsBuilder().withStubsMode(StubRunnerProperties.StubsMode.REMOTE)
+				.withStubRepositoryRoot("git://" + contractFolderLocation).withProperties(props).build();
+		GitContractsRepo repo = new GitContractsRepo(options);
+		StubConfiguration stub = new StubConfiguration("foo.bar:bazService:0.0.1-SNAPSHOT");
+		File exported = repo.repoWithStub(options.getStubRepositoryRoot(), stub);
+
+		repo.evictExports(options.getStubRepositoryRoot());
+
+		then(GitContractsRepo.CACHED_EXPORTS).doesNotContainValue(exported);
+		then(repo.repoWithStub(options.getStubRepositoryRoot(), stub)).isNotEqualTo(exported);
+	}
+
+	@Test
+	public void should_export_only_paths_where_group_and_artifact_start_a_segment() {
+		then(GitMirrorCache.startsWithSegments("foo.bar/bazService/0.0.1/mappings/a.json", "foo.bar/bazService/"))
+				.isTrue();
+		then(GitMirrorCache.startsWithSegments("META-INF/foo.bar/bazService/0.0.1/a.json", "foo.bar/bazService/"))
+				.isTrue();
+		then(GitMirrorCache.startsWithSegments("xfoo.bar/bazService/0.0.1/a.json", "foo.bar/bazService/")).isFalse();
+		then(GitMirrorCache.startsWithSegments("acme/foo.bar.bazService/0.0.1/a.json", "bar.bazService/"))
+				.isFalse();
+	}
+
 	private Map<String, String> props() {
 		Map<String, String> map = new HashMap<>();
 		map.put("git.branch", "master");
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.net.URL;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties;
+import org.springframework.cloud.contract.verifier.messaging.noop.NoOpStubMessages;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class SharedStubRunnerPoolTests {
+
+	@Test
+	void should_produce_the_same_fingerprint_regardless_of_stubs_order() {
+		StubRunnerOptions first = new StubRunnerOptionsBuilder().withStubs("a:b:c", "d:e:f").build();
+		StubRunnerOptions second = new StubRunnerOptionsBuilder().withStubs("d:e:f", "a:b:c").build();
+
+		then(SharedStubRunnerPool.fingerprint(first)).isEqualTo(SharedStubRunnerPool.fingerprint(second));
+	}
+
+	@Test
+	void should_produce_different_fingerprints_for_different_options() {
+		StubRunnerOptions first = new StubRunnerOptionsBuilder().withStubs("a:b:c").build();
+		StubRunnerOptions second = new StubRunnerOptionsBuilder().withStubs("a:b:c").withMinPort(12000).build();
+
+		then(SharedStubRunnerPool.fingerprint(first)).isNotEqualTo(SharedStubRunnerPool.fingerprint(second));
+	}
+
+	@Test
+	void should_reuse_running_stubs_for_the_same_options() throws Exception {
+		SharedStubRunnerPool pool = new SharedStubRunnerPool();
+
+		BatchStubRunner first = pool.lease(options(0L), new NoOpStubMessages());
+		BatchStubRunner second = pool.lease(options(0L), new NoOpStubMessages());
+
+		then(pool.size()).isEqualTo(1);
+		URL url = first.findStubUrl("loanIssuance");
+		then(second.findStubUrl("loanIssuance")).isEqualTo(url);
+
+		first.close();
+		then(pool.size()).isEqualTo(1);
+		then(second.findAllRunningStubs().getPort("loanIssuance")).isEqualTo(url.getPort());
+
+		second.close();
+		then(pool.size()).isZero();
+	}
+
+	@Test
+	void should_keep_idle_stubs_running_until_the_idle_timeout() throws Exception {
+		SharedStubRunnerPool pool = new SharedStubRunnerPool();
+
+		BatchStubRunner first = pool.lease(options(500L), new NoOpStubMessages());
+		URL url = first.findStubUrl("loanIssuance");
+		first.close();
+
+		then(pool.size()).isEqualTo(1);
+		BatchStubRunner second = pool.lease(options(500L), new NoOpStubMessages());
+		then(second.findStubUrl("loanIssuance")).isEqualTo(url);
+		second.close();
+
+		long deadline = System.currentTimeMillis() + 5000L;
+		while (pool.size() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50L);
+		}
+		then(pool.size()).isZero();
+	}
+
+	@Test
+	void should_start_stubs_again_once_the_previous_ones_got_stopped() throws Exception {
+		SharedStubRunnerPool pool = new SharedStubRunnerPool();
+
+		BatchStubRunner first = pool.lease(fixedPortOptions(), new NoOpStubMessages());
+		then(first.findStubUrl("loanIssuance").getPort()).isEqualTo(18765);
+		first.close();
+
+		BatchStubRunner second = pool.lease(fixedPortOptions(), new NoOpStubMessages());
+		then(second.findStubUrl("loanIssuance").getPort()).isEqualTo(18765);
+		second.close();
+		then(pool.size()).isZero();
+	}
+
+	private StubRunnerOptions options(long idleTimeout) {
+		return new StubRunnerOptionsBuilder().withStubRepositoryRoot(repoRoot())
+				.withStubsMode(StubRunnerProperties.StubsMode.REMOTE)
+				.withStubs("org.springframework.cloud.contract.verifier.stubs:loanIssuance").withSharedStubs(true)
+				.withSharedStubsIdleTimeout(idleTimeout).build();
+	}
+
+	private StubRunnerOptions fixedPortOptions() {
+		return new StubRunnerOptionsBuilder().withStubRepositoryRoot(repoRoot())
+				.withStubsMode(StubRunnerProperties.StubsMode.REMOTE)
+				.withStubs("org.springframework.cloud.contract.verifier.stubs:loanIssuance:+:stubs:18765")
+				.withSharedStubs(true).withSharedStubsIdleTimeout(0L).build();
+	}
+
+	private static String repoRoot() {
+		try {
+			return SharedStubRunnerPoolTests.class.getResource("/m2repo/repository/").toURI().toString();
+		}
+		catch (Exception e) {
+			return "";
+		}
+	}
+
+}
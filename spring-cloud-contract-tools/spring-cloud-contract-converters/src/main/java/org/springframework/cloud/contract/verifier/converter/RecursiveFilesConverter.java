@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2020 the original author or authors.
+ * Copyright 2013-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,14 +22,25 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -45,12 +56,22 @@ import org.springframework.util.StringUtils;
 /**
  * Recursively converts contracts into their stub representations.
  *
+ * Contracts can be converted in parallel - the stubs are still written in the order in
+ * which the contracts were found. If a manifest file is provided, contracts whose
+ * content (and the content of the files they referenced) has not changed since the last
+ * conversion are neither parsed nor converted again, and stubs of contracts that were
+ * removed get deleted.
+ *
  * @since 1.1.0
  */
 public class RecursiveFilesConverter {
 
 	private static final Log log = LogFactory.getLog(RecursiveFilesConverter.class);
 
+	private static final Pattern TARGET_FOLDER = buildFolderPattern("target");
+
+	private static final Pattern BUILD_FOLDER = buildFolderPattern("build");
+
 	private final StubGeneratorProvider holder;
 
 	private final File outMappingsDir;
@@ -63,14 +84,40 @@ public class RecursiveFilesConverter {
 
 	private final boolean excludeBuildFolders;
 
+	private final int threads;
+
+	private final File manifestFile;
+
+	/**
+	 * @param stubsOutputDir directory to which stubs get written
+	 * @param contractsDslDir directory with contracts
+	 * @param excludedFiles patterns of contracts that should not be converted
+	 * @param includedContracts regex of contracts that should be converted
+	 * @param excludeBuildFolders whether contracts in {@code target} and {@code build}
+	 * folders should be skipped
+	 * @param holder provider of stub generators
+	 * @param threads number of threads used to convert contracts, {@code 1} converts
+	 * them sequentially
+	 * @param manifestFile file that stores hashes of converted contracts and the stubs
+	 * generated out of them, {@code null} disables incremental conversion
+	 * @since 3.1.0
+	 */
 	public RecursiveFilesConverter(File stubsOutputDir, File contractsDslDir, List<String> excludedFiles,
-			String includedContracts, boolean excludeBuildFolders, StubGeneratorProvider holder) {
+			String includedContracts, boolean excludeBuildFolders, StubGeneratorProvider holder, int threads,
+			File manifestFile) {
 		this.outMappingsDir = stubsOutputDir;
 		this.contractsDslDir = contractsDslDir;
 		this.excludedFiles = excludedFiles;
 		this.includedContracts = includedContracts;
 		this.excludeBuildFolders = excludeBuildFolders;
 		this.holder = holder == null ? new StubGeneratorProvider() : holder;
+		this.threads = Math.max(threads, 1);
+		this.manifestFile = manifestFile;
+	}
+
+	public RecursiveFilesConverter(File stubsOutputDir, File contractsDslDir, List<String> excludedFiles,
+			String includedContracts, boolean excludeBuildFolders, StubGeneratorProvider holder) {
+		this(stubsOutputDir, contractsDslDir, excludedFiles, includedContracts, excludeBuildFolders, holder, 1, null);
 	}
 
 	public RecursiveFilesConverter(File stubsOutputDir, File contractsDslDir, List<String> excludedFiles,
@@ -79,75 +126,212 @@ public class RecursiveFilesConverter {
 	}
 
 	public void processFiles() {
+		Collection<StubGenerator> stubGenerators = holder.allOrDefault(new DslToWireMockClientConverter());
+		boolean incremental = this.manifestFile != null;
+		StubsManifest previousManifest = incremental ? StubsManifest.load(this.manifestFile) : StubsManifest.empty();
+		StubsManifest currentManifest = StubsManifest.empty();
+		ContractHasher hasher = new ContractHasher(stubGenerators);
+		Map<Path, String> unchangedHashes = new HashMap<>();
 		ContractFileScanner scanner = ContractFileScanner.builder().baseDir(contractsDslDir)
 				.excluded(new HashSet<>(excludedFiles)).ignored(new HashSet<>()).included(new HashSet<>())
-				.includeMatcher(includedContracts).build();
+				.includeMatcher(includedContracts)
+				.skipConversion(file -> incremental && unchanged(file, previousManifest, hasher, unchangedHashes))
+				.build();
 		MultiValueMap<Path, ContractMetadata> contracts = scanner.findContractsRecursively();
 		if (log.isDebugEnabled()) {
 			log.debug("Found the following contracts " + contracts);
 		}
+		List<Conversion> conversions = new ArrayList<>();
 		for (Map.Entry<Path, List<ContractMetadata>> entry : contracts.entrySet()) {
 			for (ContractMetadata contract : entry.getValue()) {
-				if (log.isDebugEnabled()) {
-					log.debug("Will create a stub for contract [" + contract + "]");
-				}
 				File sourceFile = contract.getPath().toFile();
-				Collection<StubGenerator> stubGenerators = holder.allOrDefault(new DslToWireMockClientConverter());
-				try {
-					String path = sourceFile.getPath();
-					if (excludeBuildFolders && (matchesPath(path, "target") || matchesPath(path, "build"))) {
-						if (log.isDebugEnabled()) {
-							log.debug("Exclude build folder is set. Path [" + path
-									+ "] contains [target] or [build] in its path");
-						}
-
-						continue;
-					}
-					if (nullOrEmpty(contract) && nullOrEmpty(stubGenerators)) {
-						continue;
+				String path = sourceFile.getPath();
+				if (excludeBuildFolders && (TARGET_FOLDER.matcher(path).matches()
+						|| BUILD_FOLDER.matcher(path).matches())) {
+					if (log.isDebugEnabled()) {
+						log.debug("Exclude build folder is set. Path [" + path
+								+ "] contains [target] or [build] in its path");
 					}
-					int contractsSize = contract.getConvertedContract().size();
-					Path entryKey = entry.getKey();
+					continue;
+				}
+				String relativeSource = relativePath(contractsDslDir, sourceFile);
+				String unchangedHash = unchangedHashes.get(normalized(sourceFile));
+				if (unchangedHash != null) {
 					if (log.isDebugEnabled()) {
-						log.debug(
-								"Stub Generators [" + stubGenerators + "] will convert contents of [" + entryKey + "]");
+						log.debug("Contract [" + path + "] has not changed, will not convert it again");
 					}
+					StubsManifest.Entry previous = previousManifest.get(relativeSource);
+					currentManifest.put(relativeSource, unchangedHash, previous.outputs, previous.inputs);
+					continue;
+				}
+				if (nullOrEmpty(contract) && nullOrEmpty(stubGenerators)) {
+					continue;
+				}
+				if (log.isDebugEnabled()) {
+					log.debug("Will create a stub for contract [" + contract + "]");
+				}
+				conversions.add(new Conversion(entry.getKey(), contract, sourceFile, relativeSource));
+			}
+		}
+		List<List<StubOutput>> outputs = convert(conversions, stubGenerators);
+		for (int i = 0; i < conversions.size(); i++) {
+			Conversion conversion = conversions.get(i);
+			List<String> written = outputs.get(i).stream().map(this::write).collect(Collectors.toList());
+			List<String> inputs = incremental ? ReferencedFiles.of(conversion.contract.getConvertedContract())
+					: Collections.emptyList();
+			String hash = incremental ? hasher.hash(conversion.sourceFile, inputs) : null;
+			currentManifest.put(conversion.relativeSource, hash, written, inputs);
+		}
+		if (incremental) {
+			deleteStaleStubs(previousManifest, currentManifest);
+			currentManifest.store(this.manifestFile);
+		}
+	}
 
-					for (StubGenerator stubGenerator : stubGenerators) {
-						Map<Contract, String> convertedContent = stubGenerator
-								.convertContents(last(entryKey).toString(), contract);
-						if (convertedContent == null || convertedContent.isEmpty()) {
-							continue;
-						}
-						Set<Map.Entry<Contract, String>> entrySet = convertedContent.entrySet();
-						Iterator<Map.Entry<Contract, String>> iterator = entrySet.iterator();
-						int index = 0;
-						while (iterator.hasNext()) {
-							Map.Entry<Contract, String> content = iterator.next();
-							Contract dsl = content.getKey();
-							String converted = content.getValue();
-							if (StringUtils.hasText(converted)) {
-								Path absoluteTargetPath = createAndReturnTargetDirectory(sourceFile);
-								File newJsonFile = createTargetFileWithProperName(stubGenerator, absoluteTargetPath,
-										sourceFile, contractsSize, index, dsl);
-								Files.write(newJsonFile.toPath(), Collections.singletonList(converted),
-										StandardCharsets.UTF_8);
-							}
-							index = index + 1;
-						}
-
-					}
+	private List<List<StubOutput>> convert(List<Conversion> conversions, Collection<StubGenerator> stubGenerators) {
+		if (this.threads == 1 || conversions.size() <= 1) {
+			return conversions.stream().map(conversion -> convert(conversion, stubGenerators))
+					.collect(Collectors.toList());
+		}
+		int poolSize = Math.min(this.threads, conversions.size());
+		if (log.isDebugEnabled()) {
+			log.debug("Will convert [" + conversions.size() + "] contracts using [" + poolSize + "] threads");
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+		try {
+			List<Future<List<StubOutput>>> futures = conversions.stream()
+					.map(conversion -> executor.submit(() -> convert(conversion, stubGenerators)))
+					.collect(Collectors.toList());
+			List<List<StubOutput>> outputs = new ArrayList<>();
+			for (Future<List<StubOutput>> future : futures) {
+				outputs.add(future.get());
+			}
+			return outputs;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while converting contracts", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
 
+	private List<StubOutput> convert(Conversion conversion, Collection<StubGenerator> stubGenerators) {
+		File sourceFile = conversion.sourceFile;
+		try {
+			int contractsSize = conversion.contract.getConvertedContract().size();
+			Path entryKey = conversion.entryKey;
+			if (log.isDebugEnabled()) {
+				log.debug("Stub Generators [" + stubGenerators + "] will convert contents of [" + entryKey + "]");
+			}
+			Path absoluteTargetPath = targetDirectory(sourceFile);
+			List<StubOutput> outputs = new ArrayList<>();
+			for (StubGenerator stubGenerator : stubGenerators) {
+				Map<Contract, String> convertedContent = stubGenerator.convertContents(last(entryKey).toString(),
+						conversion.contract);
+				if (convertedContent == null || convertedContent.isEmpty()) {
+					continue;
 				}
-				catch (Exception e) {
-					throw new ConversionContractVerifierException(
-							"Unable to make conversion of " + sourceFile.getName(), e);
+				Set<Map.Entry<Contract, String>> entrySet = convertedContent.entrySet();
+				Iterator<Map.Entry<Contract, String>> iterator = entrySet.iterator();
+				int index = 0;
+				while (iterator.hasNext()) {
+					Map.Entry<Contract, String> content = iterator.next();
+					Contract dsl = content.getKey();
+					String converted = content.getValue();
+					if (StringUtils.hasText(converted)) {
+						String name = generateName(dsl, contractsSize, stubGenerator, sourceFile, index);
+						outputs.add(new StubOutput(new File(absoluteTargetPath.toFile(), name), converted));
+					}
+					index = index + 1;
 				}
+			}
+			return outputs;
+		}
+		catch (Exception e) {
+			throw new ConversionContractVerifierException("Unable to make conversion of " + sourceFile.getName(), e);
+		}
+	}
 
+	private String write(StubOutput output) {
+		File newJsonFile = output.file;
+		byte[] bytes = (output.content + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+		try {
+			if (sameContent(newJsonFile, bytes)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Stub [" + newJsonFile.getPath() + "] has not changed");
+				}
 			}
+			else {
+				log.info("Creating new stub [" + newJsonFile.getPath() + "]");
+				Files.createDirectories(newJsonFile.getParentFile().toPath());
+				Files.write(newJsonFile.toPath(), bytes);
+			}
+		}
+		catch (IOException e) {
+			throw new ConversionContractVerifierException("Unable to write stub " + newJsonFile.getName(), e);
+		}
+		return relativePath(outMappingsDir, newJsonFile);
+	}
+
+	private boolean sameContent(File file, byte[] bytes) throws IOException {
+		return file.isFile() && file.length() == bytes.length
+				&& Arrays.equals(Files.readAllBytes(file.toPath()), bytes);
+	}
 
+	/**
+	 * Checks, before the contract gets parsed, whether the contract and the files it
+	 * referenced during the previous conversion are unchanged and its stubs still exist.
+	 */
+	private boolean unchanged(File contractFile, StubsManifest previousManifest, ContractHasher hasher,
+			Map<Path, String> unchangedHashes) {
+		StubsManifest.Entry entry = previousManifest.get(relativePath(contractsDslDir, contractFile));
+		if (entry == null || !entry.outputs.stream().allMatch(output -> new File(outMappingsDir, output).isFile())) {
+			return false;
 		}
+		String hash = hasher.hash(contractFile, entry.inputs);
+		if (!entry.hash.equals(hash)) {
+			return false;
+		}
+		unchangedHashes.put(normalized(contractFile), hash);
+		return true;
+	}
+
+	private void deleteStaleStubs(StubsManifest previousManifest, StubsManifest currentManifest) {
+		Set<String> current = new HashSet<>(currentManifest.allOutputs());
+		for (String output : previousManifest.allOutputs()) {
+			if (current.contains(output)) {
+				continue;
+			}
+			File stale = new File(outMappingsDir, output);
+			if (stale.isFile()) {
+				log.info("Removing stale stub [" + stale.getPath() + "]");
+				if (!stale.delete()) {
+					log.warn("Failed to delete stale stub [" + stale.getPath() + "]");
+				}
+			}
+		}
+	}
+
+	private static Path normalized(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
 
+	private static String relativePath(File root, File file) {
+		return root.toPath().toAbsolutePath().normalize().relativize(file.toPath().toAbsolutePath().normalize())
+				.toString().replace(File.separatorChar, '/');
+	}
+
+	private static Pattern buildFolderPattern(String folder) {
+		String separator = Pattern.quote(File.separator);
+		return Pattern.compile("^.*" + separator + folder + separator + ".*$");
 	}
 
 	private static <T> T last(Iterable<T> self) {
@@ -170,28 +354,9 @@ public class RecursiveFilesConverter {
 		return collection == null || collection.isEmpty();
 	}
 
-	private boolean matchesPath(String path, String folder) {
-		return path.matches("^.*" + File.separator + folder + File.separator + ".*$");
-	}
-
-	private Path createAndReturnTargetDirectory(File sourceFile) {
+	private Path targetDirectory(File sourceFile) {
 		Path relativePath = Paths.get(contractsDslDir.toURI()).relativize(sourceFile.getParentFile().toPath());
-		Path absoluteTargetPath = outMappingsDir.toPath().resolve(relativePath);
-		try {
-			Files.createDirectories(absoluteTargetPath);
-		}
-		catch (IOException ex) {
-			throw new IllegalStateException(ex);
-		}
-		return absoluteTargetPath;
-	}
-
-	private File createTargetFileWithProperName(StubGenerator stubGenerator, Path absoluteTargetPath, File sourceFile,
-			int contractsSize, int index, Contract dsl) {
-		String name = generateName(dsl, contractsSize, stubGenerator, sourceFile, index);
-		File newJsonFile = new File(absoluteTargetPath.toFile(), name);
-		log.info("Creating new stub [" + newJsonFile.getPath() + "]");
-		return newJsonFile;
+		return outMappingsDir.toPath().resolve(relativePath);
 	}
 
 	private String generateName(Contract dsl, int contractsSize, StubGenerator converter, File sourceFile, int index) {
@@ -207,4 +372,97 @@ public class RecursiveFilesConverter {
 		return index + "_" + generatedName;
 	}
 
+	/**
+	 * A contract file that needs to be converted.
+	 */
+	private static final class Conversion {
+
+		private final Path entryKey;
+
+		private final ContractMetadata contract;
+
+		private final File sourceFile;
+
+		private final String relativeSource;
+
+		private Conversion(Path entryKey, ContractMetadata contract, File sourceFile, String relativeSource) {
+			this.entryKey = entryKey;
+			this.contract = contract;
+			this.sourceFile = sourceFile;
+			this.relativeSource = relativeSource;
+		}
+
+	}
+
+	/**
+	 * A stub generated out of a contract.
+	 */
+	private static final class StubOutput {
+
+		private final File file;
+
+		private final String content;
+
+		private StubOutput(File file, String content) {
+			this.file = file;
+			this.content = content;
+		}
+
+	}
+
+	/**
+	 * Hashes a contract file together with the names of the stub generators and the files
+	 * that the contract references (e.g. bodies loaded via {@code file(...)}).
+	 */
+	private static final class ContractHasher {
+
+		private static final byte[] MISSING = "<missing>".getBytes(StandardCharsets.UTF_8);
+
+		private final String generators;
+
+		private ContractHasher(Collection<StubGenerator> stubGenerators) {
+			// the versions are part of the hash so that an upgrade regenerates all stubs
+			this.generators = version(RecursiveFilesConverter.class) + "," + version(Contract.class) + ","
+					+ stubGenerators.stream().map(generator -> version(generator.getClass()))
+							.collect(Collectors.joining(","));
+		}
+
+		private static String version(Class<?> clazz) {
+			Package pkg = clazz.getPackage();
+			String version = pkg != null ? pkg.getImplementationVersion() : null;
+			return clazz.getName() + "@" + (version != null ? version : "unknown");
+		}
+
+		private String hash(File sourceFile, List<String> referencedFiles) {
+			try {
+				MessageDigest digest = digest();
+				digest.update(this.generators.getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(sourceFile.toPath()));
+				for (String referencedFile : referencedFiles) {
+					Path path = Paths.get(referencedFile);
+					digest.update(referencedFile.getBytes(StandardCharsets.UTF_8));
+					digest.update(Files.isRegularFile(path) ? Files.readAllBytes(path) : MISSING);
+				}
+				StringBuilder hex = new StringBuilder();
+				for (byte b : digest.digest()) {
+					hex.append(String.format("%02x", b));
+				}
+				return hex.toString();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		private static MessageDigest digest() {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+	}
+
 }
@@ -28,7 +28,7 @@ public final class RecursiveFilesConverterApplication {
 	}
 
 	public static void main(String[] args) {
-		if (args.length != 5) {
+		if (args.length != 5 && args.length != 7) {
 			throw new RuntimeException("Invalid number of arguments");
 		}
 
@@ -37,9 +37,11 @@ public final class RecursiveFilesConverterApplication {
 		List<String> excludedFiles = Arrays.asList(StringUtils.commaDelimitedListToStringArray(args[2]));
 		String includedContracts = args[3];
 		boolean excludeBuildFolders = Boolean.parseBoolean(args[4]);
+		int threads = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+		File manifestFile = args.length > 6 && StringUtils.hasText(args[6]) ? new File(args[6]) : null;
 
 		RecursiveFilesConverter converter = new RecursiveFilesConverter(stubsOutputDir, contractsDslDir, excludedFiles,
-				includedContracts, excludeBuildFolders);
+				includedContracts, excludeBuildFolders, null, threads, manifestFile);
 		converter.processFiles();
 	}
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.converter;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.spec.internal.FromFileProperty;
+
+/**
+ * Finds the files that parsed contracts reference, e.g. via {@code file(...)} or
+ * {@code bodyFromFile}, so that a change of such a file marks the contract as changed.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class ReferencedFiles {
+
+	private static final String SPEC_PACKAGE = "org.springframework.cloud.contract.spec";
+
+	private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private final Set<String> files = new TreeSet<>();
+
+	private ReferencedFiles() {
+	}
+
+	/**
+	 * @param contracts parsed contracts
+	 * @return sorted, absolute paths of the files referenced by the contracts
+	 */
+	static List<String> of(Collection<Contract> contracts) {
+		ReferencedFiles referencedFiles = new ReferencedFiles();
+		contracts.forEach(referencedFiles::visit);
+		return new ArrayList<>(referencedFiles.files);
+	}
+
+	private void visit(Object object) {
+		if (object == null || !this.visited.add(object)) {
+			return;
+		}
+		if (object instanceof FromFileProperty) {
+			this.files.add(((FromFileProperty) object).getFile().toPath().toAbsolutePath().normalize().toString());
+		}
+		else if (object instanceof Iterable) {
+			((Iterable<?>) object).forEach(this::visit);
+		}
+		else if (object instanceof Map) {
+			((Map<?, ?>) object).forEach((key, value) -> {
+				visit(key);
+				visit(value);
+			});
+		}
+		else if (object.getClass().isArray() && !object.getClass().getComponentType().isPrimitive()) {
+			for (int i = 0; i < Array.getLength(object); i++) {
+				visit(Array.get(object, i));
+			}
+		}
+		else if (object.getClass().getName().startsWith(SPEC_PACKAGE)) {
+			visitFields(object);
+		}
+	}
+
+	private void visitFields(Object object) {
+		for (Class<?> type = object.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					visit(field.get(object));
+				}
+				catch (RuntimeException | IllegalAccessException ex) {
+					// a field we can't read can't reference a contract file either
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the {@link StubsIndex} of a stubs directory.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class StubsIndexApplication {
+
+	private StubsIndexApplication() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new RuntimeException("Invalid number of arguments");
+		}
+
+		File stubsDir = new File(args[0]);
+		File indexFile = new File(args[1]);
+
+		List<File> files;
+		try (Stream<Path> paths = Files.walk(stubsDir.toPath())) {
+			files = paths.filter(Files::isRegularFile).map(Path::toFile).collect(Collectors.toList());
+		}
+		StubsIndex.build(stubsDir, files).write(indexFile);
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps contract files to the content hash they had when their stubs were generated, to
+ * the stubs that got generated out of them and to the files the contracts referenced.
+ * Each line of the manifest file is
+ * {@code <contract path>\t<hash>\t<stub path>|<stub path>\t<referenced file>|<referenced file>}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class StubsManifest {
+
+	private static final Log log = LogFactory.getLog(StubsManifest.class);
+
+	private static final String SEPARATOR = "\t";
+
+	private static final String OUTPUTS_SEPARATOR = "|";
+
+	private final Map<String, Entry> entries = new TreeMap<>();
+
+	private StubsManifest() {
+	}
+
+	static StubsManifest empty() {
+		return new StubsManifest();
+	}
+
+	static StubsManifest load(File file) {
+		StubsManifest manifest = new StubsManifest();
+		if (file == null || !file.isFile()) {
+			return manifest;
+		}
+		try {
+			for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+				String[] parts = line.split(SEPARATOR);
+				if (parts.length < 2) {
+					continue;
+				}
+				manifest.entries.put(parts[0], new Entry(parts[1], list(parts, 2), list(parts, 3)));
+			}
+		}
+		catch (IOException ex) {
+			log.warn("Failed to read the stubs manifest [" + file + "], will regenerate all stubs", ex);
+			manifest.entries.clear();
+		}
+		return manifest;
+	}
+
+	private static List<String> list(String[] parts, int index) {
+		if (parts.length <= index || parts[index].isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Arrays.asList(StringUtils.delimitedListToStringArray(parts[index], OUTPUTS_SEPARATOR));
+	}
+
+	Entry get(String contract) {
+		return this.entries.get(contract);
+	}
+
+	void put(String contract, String hash, List<String> outputs, List<String> inputs) {
+		this.entries.put(contract, new Entry(hash, outputs, inputs));
+	}
+
+	List<String> allOutputs() {
+		List<String> outputs = new ArrayList<>();
+		this.entries.values().forEach(entry -> outputs.addAll(entry.outputs));
+		return outputs;
+	}
+
+	void store(File file) {
+		List<String> lines = new ArrayList<>();
+		this.entries.forEach((contract, entry) -> lines.add(contract + SEPARATOR + entry.hash + SEPARATOR
+				+ StringUtils.collectionToDelimitedString(entry.outputs, OUTPUTS_SEPARATOR) + SEPARATOR
+				+ StringUtils.collectionToDelimitedString(entry.inputs, OUTPUTS_SEPARATOR)));
+		try {
+			File parent = file.getParentFile();
+			if (parent != null) {
+				Files.createDirectories(parent.toPath());
+			}
+			Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to store the stubs manifest [" + file + "]", ex);
+		}
+	}
+
+	static final class Entry {
+
+		final String hash;
+
+		final List<String> outputs;
+
+		final List<String> inputs;
+
+		private Entry(String hash, List<String> outputs, List<String> inputs) {
+			this.hash = hash;
+			this.outputs = outputs;
+			this.inputs = inputs;
+		}
+
+	}
+
+}
@@ -70,6 +70,82 @@ class RecursiveFilesConverterSpec extends Specification {
 			createdFiles.each { assert it.text.contains("uuid") }
 	}
 
+	def "should recursively convert all matching files in parallel"() {
+		given:
+			File originalSourceRootDirectory = new File(this.getClass()
+															.getResource("/converter/source").toURI())
+			File contractsDslDir = tmpFolder.newFolder("source")
+			File stubsOutputDir = tmpFolder.newFolder("target")
+			FileSystemUtils
+					.copyRecursively(originalSourceRootDirectory, contractsDslDir)
+		and:
+			RecursiveFilesConverter recursiveFilesConverter = new RecursiveFilesConverter(stubsOutputDir, contractsDslDir, new ArrayList<>(), ".*", false, null, 4, null)
+		when:
+			recursiveFilesConverter.processFiles()
+		then:
+			Collection<File> createdFiles = [] as List
+			stubsOutputDir.
+					eachFileRecurse(FileType.FILES) { createdFiles << it }
+			getRelativePathsForFilesInDirectory(createdFiles, stubsOutputDir) == EXPECTED_TARGET_FILES
+	}
+
+	def "should convert only changed contracts and remove stale stubs when manifest is present"() {
+		given:
+			File originalSourceRootDirectory = new File(this.getClass()
+															.getResource("/converter/source").toURI())
+			File contractsDslDir = tmpFolder.newFolder("source")
+			File stubsOutputDir = tmpFolder.newFolder("target")
+			File manifest = new File(tmpFolder.newFolder("manifest"), "stubs-manifest")
+			FileSystemUtils
+					.copyRecursively(originalSourceRootDirectory, contractsDslDir)
+		and:
+			RecursiveFilesConverter recursiveFilesConverter = new RecursiveFilesConverter(stubsOutputDir, contractsDslDir, new ArrayList<>(), ".*", false, null, 1, manifest)
+			recursiveFilesConverter.processFiles()
+			File unchangedStub = new File(stubsOutputDir, "dir2/dsl2.json")
+			unchangedStub.text = "manually modified"
+		and:
+			new File(contractsDslDir, "dslRoot.groovy").delete()
+		when:
+			recursiveFilesConverter.processFiles()
+		then:
+			manifest.exists()
+			unchangedStub.text == "manually modified"
+			!new File(stubsOutputDir, "dslRoot.json").exists()
+			new File(stubsOutputDir, "dir1/dsl1.json").exists()
+	}
+
+	def "should convert a contract again when a file it references outside of its folder changes"() {
+		given:
+			File contractsDslDir = tmpFolder.newFolder("contracts")
+			File stubsOutputDir = tmpFolder.newFolder("stubs")
+			File manifest = new File(tmpFolder.newFolder("manifest"), "stubs-manifest")
+			File body = new File(tmpFolder.newFolder("shared"), "response.json")
+			body.text = '''{"status":"first"}'''
+			File contract = new File(tmpFolder.newFolder("contracts", "api"), "shouldReturnBody.groovy")
+			contract.text = """
+			    org.springframework.cloud.contract.spec.Contract.make {
+				    request {
+					    url "/body"
+					    method "GET"
+				    }
+				    response {
+					    status OK()
+					    body(file("../../shared/response.json"))
+				    }
+			    }
+			    """
+		and:
+			RecursiveFilesConverter recursiveFilesConverter = new RecursiveFilesConverter(stubsOutputDir, contractsDslDir, new ArrayList<>(), ".*", false, null, 1, manifest)
+			recursiveFilesConverter.processFiles()
+			File stub = new File(stubsOutputDir, "api/shouldReturnBody.json")
+			assert stub.text.contains("first")
+		when:
+			body.text = '''{"status":"second"}'''
+			recursiveFilesConverter.processFiles()
+		then:
+			stub.text.contains("second")
+	}
+
 	def "should recursively convert matching files with exlusions"() {
 		given:
 			File originalSourceRootDirectory = new File(this.getClass()
@@ -153,6 +153,32 @@ public class ContractVerifierExtension implements Serializable {
 	 */
 	private final Property<Boolean> failOnInProgress;
 
+	/**
+	 * Number of threads used to generate test classes. Defaults to {@code 1}, which
+	 * means that test classes are generated sequentially.
+	 */
+	private final Property<Integer> testGenerationThreads;
+
+	/**
+	 * If set to true then the generated JUnit 5 tests are marked to be executed
+	 * concurrently. HTTP tests run in parallel when their base class implements
+	 * {@code RequestSpecificationProvider}. Requires parallel execution to be enabled in
+	 * JUnit Platform.
+	 */
+	private final Property<Boolean> parallelTests;
+
+	/**
+	 * If set to true then the JSON body assertions of the generated tests are stored in
+	 * files next to the test classes instead of being inlined in the test methods.
+	 */
+	private final Property<Boolean> compactTests;
+
+	/**
+	 * Number of threads used to convert contracts into stubs. Defaults to {@code 1},
+	 * which means that contracts are converted sequentially.
+	 */
+	private final Property<Integer> stubGenerationThreads;
+
 	private final ContractRepository contractRepository;
 
 	private final PublishStubsToScm publishStubsToScm;
@@ -260,6 +286,10 @@ public class ContractVerifierExtension implements Serializable {
 		this.assertJsonSize = objects.property(Boolean.class).convention(false);
 		this.failOnNoContracts = objects.property(Boolean.class).convention(true);
 		this.failOnInProgress = objects.property(Boolean.class).convention(true);
+		this.testGenerationThreads = objects.property(Integer.class).convention(1);
+		this.parallelTests = objects.property(Boolean.class).convention(false);
+		this.compactTests = objects.property(Boolean.class).convention(false);
+		this.stubGenerationThreads = objects.property(Integer.class).convention(1);
 		this.contractRepository = objects.newInstance(ContractRepository.class);
 		this.publishStubsToScm = objects.newInstance(PublishStubsToScm.class);
 		this.contractDependency = objects.newInstance(Dependency.class);
@@ -454,6 +484,38 @@ public class ContractVerifierExtension implements Serializable {
 		this.failOnInProgress.set(failOnInProgress);
 	}
 
+	public Property<Integer> getTestGenerationThreads() {
+		return testGenerationThreads;
+	}
+
+	public void setTestGenerationThreads(int testGenerationThreads) {
+		this.testGenerationThreads.set(testGenerationThreads);
+	}
+
+	public Property<Boolean> getParallelTests() {
+		return parallelTests;
+	}
+
+	public void setParallelTests(boolean parallelTests) {
+		this.parallelTests.set(parallelTests);
+	}
+
+	public Property<Boolean> getCompactTests() {
+		return compactTests;
+	}
+
+	public void setCompactTests(boolean compactTests) {
+		this.compactTests.set(compactTests);
+	}
+
+	public Property<Integer> getStubGenerationThreads() {
+		return stubGenerationThreads;
+	}
+
+	public void setStubGenerationThreads(int stubGenerationThreads) {
+		this.stubGenerationThreads.set(stubGenerationThreads);
+	}
+
 	public ContractRepository getContractRepository() {
 		return contractRepository;
 	}
@@ -35,6 +35,7 @@ import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
@@ -56,6 +57,7 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 
 	static final String TASK_NAME = "generateClientStubs";
 	static final String DEFAULT_MAPPINGS_FOLDER = "mappings";
+	static final String STUBS_MANIFEST = "stubs-manifest";
 
 	private final Property<Directory> contractsDslDir;
 
@@ -63,6 +65,8 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 
 	private final Property<Boolean> excludeBuildFolders;
 
+	private final Property<Integer> stubGenerationThreads;
+
 	private final ConfigurableFileCollection classpath;
 
 	private final DirectoryProperty stubsOutputDir;
@@ -72,6 +76,7 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 		contractsDslDir = objects.directoryProperty();
 		excludedFiles = objects.listProperty(String.class);
 		excludeBuildFolders = objects.property(Boolean.class);
+		stubGenerationThreads = objects.property(Integer.class);
 		classpath = objects.fileCollection();
 
 		stubsOutputDir = objects.directoryProperty();
@@ -80,6 +85,7 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 	@TaskAction
 	void generate() {
 		File output = stubsOutputDir.get().getAsFile();
+		File manifest = new File(getTemporaryDir(), STUBS_MANIFEST);
 		getLogger().info("Stubs output dir [{}]", output);
 		getLogger().info("Spring Cloud Contract Verifier Plugin: Invoking DSL to client stubs conversion");
 		getLogger().info("Contracts dir is [{}] output stubs dir is [{}]", contractsDslDir.get().getAsFile(), output);
@@ -94,7 +100,8 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 				exec.setMain("org.springframework.cloud.contract.verifier.converter.RecursiveFilesConverterApplication");
 				exec.classpath(classpath);
 				exec.args(quoteAndEscape(output.getAbsolutePath()), quoteAndEscape(contractsDslDir.get().getAsFile().getAbsolutePath()),
-						quoteAndEscape(StringUtils.collectionToCommaDelimitedString(excludedFiles.get())), quoteAndEscape(".*"), excludeBuildFolders.get());
+						quoteAndEscape(StringUtils.collectionToCommaDelimitedString(excludedFiles.get())), quoteAndEscape(".*"), excludeBuildFolders.get(),
+						stubGenerationThreads.getOrElse(1), quoteAndEscape(manifest.getAbsolutePath()));
 				exec.setStandardOutput(os);
 				exec.setErrorOutput(os);
 			});
@@ -124,6 +131,11 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 		return excludeBuildFolders;
 	}
 
+	@Internal
+	public Property<Integer> getStubGenerationThreads() {
+		return stubGenerationThreads;
+	}
+
 	@Classpath
 	public ConfigurableFileCollection getClasspath() {
 		return classpath;
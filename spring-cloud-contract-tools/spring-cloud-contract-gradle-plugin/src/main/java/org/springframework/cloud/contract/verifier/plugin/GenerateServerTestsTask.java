@@ -36,6 +36,7 @@ import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
@@ -91,6 +92,12 @@ class GenerateServerTestsTask extends DefaultTask {
 
 	private final Property<Boolean> failOnInProgress;
 
+	private final Property<Integer> testGenerationThreads;
+
+	private final Property<Boolean> parallelTests;
+
+	private final Property<Boolean> compactTests;
+
 	private final ConfigurableFileCollection classpath;
 
 	private final DirectoryProperty generatedTestSourcesDir;
@@ -114,6 +121,9 @@ class GenerateServerTestsTask extends DefaultTask {
 		this.baseClassMappings = objects.mapProperty(String.class, String.class);
 		this.assertJsonSize = objects.property(Boolean.class);
 		this.failOnInProgress = objects.property(Boolean.class);
+		this.testGenerationThreads = objects.property(Integer.class);
+		this.parallelTests = objects.property(Boolean.class);
+		this.compactTests = objects.property(Boolean.class);
 		this.classpath = objects.fileCollection();
 		this.generatedTestSourcesDir = objects.directoryProperty();
 		this.generatedTestResourcesDir = objects.directoryProperty();
@@ -237,6 +247,21 @@ class GenerateServerTestsTask extends DefaultTask {
 		return failOnInProgress;
 	}
 
+	@Internal
+	Property<Integer> getTestGenerationThreads() {
+		return testGenerationThreads;
+	}
+
+	@Input
+	Property<Boolean> getParallelTests() {
+		return parallelTests;
+	}
+
+	@Input
+	Property<Boolean> getCompactTests() {
+		return compactTests;
+	}
+
 	@Classpath
 	ConfigurableFileCollection getClasspath() {
 		return classpath;
@@ -279,6 +304,9 @@ class GenerateServerTestsTask extends DefaultTask {
 		properties.setBaseClassMappings(baseClassMappings.get());
 		properties.setAssertJsonSize(assertJsonSize.get());
 		properties.setFailOnInProgress(failOnInProgress.get());
+		properties.setTestGenerationThreads(testGenerationThreads.getOrElse(1));
+		properties.setParallelTests(parallelTests.getOrElse(false));
+		properties.setCompactTests(compactTests.getOrElse(false));
 		return properties;
 	}
 
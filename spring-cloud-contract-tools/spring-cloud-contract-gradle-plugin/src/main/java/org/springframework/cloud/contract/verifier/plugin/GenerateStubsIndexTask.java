@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+
+import javax.inject.Inject;
+
+import org.eclipse.jgit.util.io.NullOutputStream;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.springframework.cloud.contract.verifier.converter.StubsIndex;
+
+/**
+ * Creates the index of the stubs that gets packaged in the stubs jar, so that Stub
+ * Runner does not have to parse every file of the jar on startup.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+@CacheableTask
+class GenerateStubsIndexTask extends DefaultTask {
+
+	static final String TASK_NAME = "generateStubsIndex";
+
+	private final DirectoryProperty stubsDir;
+
+	private final ConfigurableFileCollection classpath;
+
+	private final DirectoryProperty indexDir;
+
+	@Inject
+	public GenerateStubsIndexTask(ObjectFactory objects) {
+		stubsDir = objects.directoryProperty();
+		classpath = objects.fileCollection();
+		indexDir = objects.directoryProperty();
+	}
+
+	@TaskAction
+	void generate() {
+		File index = new File(indexDir.get().getAsFile(), StubsIndex.LOCATION);
+		getLogger().info("Creating the stubs index [{}] of stubs dir [{}]", index, stubsDir.get().getAsFile());
+		OutputStream os;
+		if (getLogger().isDebugEnabled()) {
+			os = new ByteArrayOutputStream();
+		} else {
+			os = NullOutputStream.INSTANCE;
+		}
+		try {
+			getProject().javaexec(exec -> {
+				exec.setMain("org.springframework.cloud.contract.verifier.converter.StubsIndexApplication");
+				exec.classpath(classpath);
+				exec.args(quoteAndEscape(stubsDir.get().getAsFile().getAbsolutePath()), quoteAndEscape(index.getAbsolutePath()));
+				exec.setStandardOutput(os);
+				exec.setErrorOutput(os);
+			});
+		} catch (Exception e) {
+			throw new GradleException("Spring Cloud Contract Verifier Plugin exception: " + e.getMessage(), e);
+		} finally {
+			if (getLogger().isDebugEnabled()) {
+				getLogger().debug(os.toString());
+			}
+		}
+	}
+
+	@InputDirectory
+	@SkipWhenEmpty
+	@PathSensitive(PathSensitivity.RELATIVE)
+	public DirectoryProperty getStubsDir() {
+		return stubsDir;
+	}
+
+	@Classpath
+	public ConfigurableFileCollection getClasspath() {
+		return classpath;
+	}
+
+	@OutputDirectory
+	public DirectoryProperty getIndexDir() {
+		return indexDir;
+	}
+
+	// See: https://github.com/gradle/gradle/issues/6072
+	private String quoteAndEscape(String str) {
+		if (System.getProperty("os.name").contains("Windows")) {
+			return "\"" + str.replace("\"", "\\\"") + "\"";
+		}
+		return str;
+	}
+
+}
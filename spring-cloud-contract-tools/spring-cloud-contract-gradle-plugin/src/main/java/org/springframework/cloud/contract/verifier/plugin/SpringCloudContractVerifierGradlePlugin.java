@@ -215,6 +215,9 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 					.convention(extension.getBaseClassMappings().getBaseClassMappings());
 			generateServerTestsTask.getAssertJsonSize().convention(extension.getAssertJsonSize());
 			generateServerTestsTask.getFailOnInProgress().convention(extension.getFailOnInProgress());
+			generateServerTestsTask.getTestGenerationThreads().convention(extension.getTestGenerationThreads());
+			generateServerTestsTask.getParallelTests().convention(extension.getParallelTests());
+			generateServerTestsTask.getCompactTests().convention(extension.getCompactTests());
 			generateServerTestsTask.getClasspath()
 					.from(project.getConfigurations().getByName(CONTRACT_TEST_GENERATOR_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
 			generateServerTestsTask.getGeneratedTestSourcesDir()
@@ -296,6 +299,7 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 							.convention(copyContracts.flatMap(ContractsCopyTask::getCopiedContractsFolder));
 					generateClientStubs.getExcludedFiles().convention(extension.getExcludedFiles());
 					generateClientStubs.getExcludeBuildFolders().convention(extension.getExcludeBuildFolders());
+					generateClientStubs.getStubGenerationThreads().convention(extension.getStubGenerationThreads());
 					generateClientStubs.getClasspath()
 							.from(project.getConfigurations().getByName(CONTRACT_TEST_GENERATOR_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
 
@@ -309,6 +313,17 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 
 	private void createAndConfigureStubsJarTasks(ContractVerifierExtension extension,
 			TaskProvider<GenerateClientStubsFromDslTask> generateClientStubs) {
+		TaskProvider<GenerateStubsIndexTask> generateStubsIndex = project.getTasks().register(
+				GenerateStubsIndexTask.TASK_NAME, GenerateStubsIndexTask.class, stubsIndex -> {
+					stubsIndex.setGroup(GROUP_NAME);
+					stubsIndex.setDescription("Creates the index of the stubs that gets packaged in the stubs JAR");
+					stubsIndex.getStubsDir().convention(extension.getStubsOutputDir());
+					stubsIndex.getClasspath().from(
+							project.getConfigurations().getByName(CONTRACT_TEST_GENERATOR_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
+					stubsIndex.getIndexDir().convention(project.getLayout().getBuildDirectory().dir("stubs-index"));
+
+					stubsIndex.dependsOn(generateClientStubs);
+				});
 		TaskProvider<Jar> verifierStubsJar = project.getTasks().register(VERIFIER_STUBS_JAR_TASK_NAME, Jar.class);
 		verifierStubsJar.configure(stubsJar -> {
 			stubsJar.setDescription("Creates the stubs JAR task");
@@ -316,6 +331,7 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 			stubsJar.getArchiveBaseName().convention(project.provider(project::getName));
 			stubsJar.getArchiveClassifier().convention(extension.getStubsSuffix());
 			stubsJar.from(extension.getStubsOutputDir());
+			stubsJar.from(generateStubsIndex);
 
 			stubsJar.dependsOn(generateClientStubs);
 		});
@@ -55,6 +55,7 @@ public class ConvertMojo extends AbstractMojo {
 	static final String MAPPINGS_PATH = "/mappings";
 	static final String CONTRACTS_PATH = "/contracts";
 	static final String ORIGINAL_PATH = "/original";
+	static final String STUBS_MANIFEST = "stubs-manifest";
 
 	@Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
 	private RepositorySystemSession repoSession;
@@ -183,11 +184,19 @@ public class ConvertMojo extends AbstractMojo {
 
 	/**
 	 * If set to true then stubs are created only when contracts have changed since last
-	 * build.
+	 * build. Only the changed contracts are converted again - their hashes are stored in
+	 * {@code ${project.build.directory}/stubs-manifest}.
 	 */
 	@Parameter(property = "incrementalContractStubs", defaultValue = "true")
 	private boolean incrementalContractStubs = true;
 
+	/**
+	 * Number of threads used to convert contracts into stubs. Defaults to {@code 1},
+	 * which means that contracts are converted sequentially.
+	 */
+	@Parameter(property = "stubGenerationThreads", defaultValue = "1")
+	private int stubGenerationThreads = 1;
+
 	@Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
 	private MojoExecution mojoExecution;
 
@@ -218,7 +227,11 @@ public class ConvertMojo extends AbstractMojo {
 		}
 
 		File contractsDslDir = contractsDslDir(contractsDirectory);
-		LeftOverPrevention leftOverPrevention = new LeftOverPrevention(this.stubsDirectory, mojoExecution, session);
+		// with the manifest the converter itself skips unchanged contracts and removes
+		// stale stubs, the incremental build helper would delete all previous stubs
+		File manifest = this.incrementalContractStubs && isInsideProject() ? stubsManifest() : null;
+		LeftOverPrevention leftOverPrevention = manifest == null
+				? new LeftOverPrevention(this.stubsDirectory, mojoExecution, session) : null;
 
 		File copiedContracts = copyContracts(rootPath, config, contractsDirectory);
 		if (this.convertToYaml) {
@@ -230,9 +243,15 @@ public class ConvertMojo extends AbstractMojo {
 		logSetup(config, contractsDslDir);
 		RecursiveFilesConverter converter = new RecursiveFilesConverter(config.getStubsOutputDir(),
 				config.getContractsDslDir(), config.getExcludedFiles(), config.getIncludedContracts(),
-				config.isExcludeBuildFolders());
+				config.isExcludeBuildFolders(), null, this.stubGenerationThreads, manifest);
 		converter.processFiles();
-		leftOverPrevention.deleteLeftOvers();
+		if (leftOverPrevention != null) {
+			leftOverPrevention.deleteLeftOvers();
+		}
+	}
+
+	private File stubsManifest() {
+		return new File(this.project.getBuild().getDirectory(), STUBS_MANIFEST);
 	}
 
 	private void convertBackedUpDslsToYaml(String rootPath, ContractVerifierConfigProperties config,
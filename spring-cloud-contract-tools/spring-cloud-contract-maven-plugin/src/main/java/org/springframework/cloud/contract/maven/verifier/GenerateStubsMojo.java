@@ -20,6 +20,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
@@ -33,8 +34,11 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.plexus.archiver.Archiver;
+import org.apache.maven.shared.utils.io.DirectoryScanner;
 import org.codehaus.plexus.archiver.jar.JarArchiver;
 
+import org.springframework.cloud.contract.verifier.converter.StubsIndex;
+
 import static org.springframework.cloud.contract.maven.verifier.ChangeDetector.inputFilesChangeDetected;
 
 /**
@@ -141,6 +145,10 @@ public class GenerateStubsMojo extends AbstractMojo {
 		try {
 			this.archiver.addDirectory(stubsOutputDir, new String[] { "**/*.*" },
 					excludedFilesEmpty() ? new String[0] : this.excludedFiles);
+			File stubsIndex = createStubsIndex(stubsOutputDir);
+			if (stubsIndex != null) {
+				this.archiver.addFile(stubsIndex, StubsIndex.LOCATION);
+			}
 			this.archiver.setCompress(true);
 			this.archiver.setDestFile(stubsJarFile);
 			this.archiver.addConfiguredManifest(ManifestCreator.createManifest(this.project));
@@ -152,6 +160,34 @@ public class GenerateStubsMojo extends AbstractMojo {
 		return stubsJarFile;
 	}
 
+	/**
+	 * Indexes the files that get packaged in the stubs jar, so that Stub Runner does not
+	 * have to parse every file of the jar on startup.
+	 * @param stubsOutputDir - directory with the stubs
+	 * @return index file or {@code null} if the index could not be created
+	 */
+	private File createStubsIndex(File stubsOutputDir) {
+		try {
+			DirectoryScanner scanner = new DirectoryScanner();
+			scanner.setBasedir(stubsOutputDir);
+			scanner.setIncludes("**/*.*");
+			if (!excludedFilesEmpty()) {
+				scanner.setExcludes(this.excludedFiles);
+			}
+			scanner.scan();
+			List<File> files = Arrays.stream(scanner.getIncludedFiles()).map(path -> new File(stubsOutputDir, path))
+					.collect(Collectors.toList());
+			File indexFile = new File(this.projectBuildDirectory,
+					this.projectFinalName + "-" + this.classifier + "-index.json");
+			StubsIndex.build(stubsOutputDir, files).write(indexFile);
+			return indexFile;
+		}
+		catch (Exception e) {
+			getLog().warn("Failed to create the stubs index, the stubs jar will be created without it", e);
+			return null;
+		}
+	}
+
 	private boolean stubsOutputMissing(File stubsOutputDir) {
 		return !stubsOutputDir.exists();
 	}
@@ -235,6 +235,29 @@ public class GenerateTestsMojo extends AbstractMojo {
 	@Parameter(property = "failOnInProgress", defaultValue = "true")
 	private boolean failOnInProgress = true;
 
+	/**
+	 * Number of threads used to generate test classes. Defaults to {@code 1}, which
+	 * means that test classes are generated sequentially.
+	 */
+	@Parameter(property = "testGenerationThreads", defaultValue = "1")
+	private int testGenerationThreads = 1;
+
+	/**
+	 * If set to true then the generated JUnit 5 tests are marked to be executed
+	 * concurrently. HTTP tests run in parallel when their base class implements
+	 * {@code RequestSpecificationProvider}. Requires parallel execution to be enabled in
+	 * JUnit Platform.
+	 */
+	@Parameter(property = "parallelTests", defaultValue = "false")
+	private boolean parallelTests;
+
+	/**
+	 * If set to true then the JSON body assertions of the generated tests are stored in
+	 * files next to the test classes instead of being inlined in the test methods.
+	 */
+	@Parameter(property = "compactTests", defaultValue = "false")
+	private boolean compactTests;
+
 	/**
 	 * If set to true then tests are created only when contracts have changed since last
 	 * build.
@@ -267,6 +290,9 @@ public class GenerateTestsMojo extends AbstractMojo {
 		getLog().info("Generating server tests source code for Spring Cloud Contract Verifier contract verification");
 		final ContractVerifierConfigProperties config = new ContractVerifierConfigProperties();
 		config.setFailOnInProgress(this.failOnInProgress);
+		config.setTestGenerationThreads(this.testGenerationThreads);
+		config.setParallelTests(this.parallelTests);
+		config.setCompactTests(this.compactTests);
 		// download contracts, unzip them and pass as output directory
 		File contractsDirectory = new MavenContractsDownloader(this.project, this.contractDependency,
 				this.contractsPath, this.contractsRepositoryUrl, this.contractsMode, getLog(),
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Local cache of the stub mappings generated from pacts. An entry is keyed by the
+ * provider name, the tags, the name of the pact file and a hash of the pact contents,
+ * so the pact to contract conversion and the mapping generation are skipped for pacts
+ * that did not change since the last run. Entries are published atomically, so
+ * parallel builds can share the cache folder.
+ *
+ * The cached mappings end up in the stubs, so the cache folder is only used if it
+ * belongs to the current user, and it is made accessible to its owner only. Entries
+ * that belong to another user are ignored.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class PactStubCache {
+
+	private static final Log log = LogFactory.getLog(PactStubCache.class);
+
+	static final File DEFAULT_DIRECTORY = new File(System.getProperty("user.home"),
+			".spring-cloud-contract/pact-cache");
+
+	private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+	private static final String VERSION = String
+			.valueOf(PactStubCache.class.getPackage().getImplementationVersion());
+
+	private final File directory;
+
+	private Boolean secure;
+
+	PactStubCache(File directory) {
+		this.directory = directory;
+	}
+
+	String key(String providerName, List<String> tags, String pactFileName, byte[] pactContents) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String part : new String[] { VERSION, providerName, String.join(",", tags), pactFileName }) {
+				digest.update(part.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+			digest.update(pactContents);
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest.digest()) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Copies the cached mappings to the given folder.
+	 * @param key - key of the entry
+	 * @param mappingsFolder - folder to which the mappings should be copied
+	 * @return {@code true} if the entry was cached
+	 */
+	boolean restore(String key, File mappingsFolder) {
+		Path entry = new File(this.directory, key).toPath();
+		if (!Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS) || !secureDirectory()
+				|| !ownedByCurrentUser(entry)) {
+			return false;
+		}
+		try (DirectoryStream<Path> mappings = Files.newDirectoryStream(entry)) {
+			for (Path mapping : mappings) {
+				if (!Files.isRegularFile(mapping, LinkOption.NOFOLLOW_LINKS) || !ownedByCurrentUser(mapping)) {
+					log.warn("The cached pact entry [" + entry + "] contains a file [" + mapping
+							+ "] that does not belong to the current user, will not use the entry");
+					return false;
+				}
+			}
+		}
+		catch (IOException ex) {
+			log.warn("Failed to read the mappings of pact entry [" + key + "] from the cache", ex);
+			return false;
+		}
+		try (DirectoryStream<Path> mappings = Files.newDirectoryStream(entry)) {
+			for (Path mapping : mappings) {
+				Files.copy(mapping, mappingsFolder.toPath().resolve(mapping.getFileName().toString()),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Restored the mappings of pact entry [" + key + "] from the cache");
+			}
+			return true;
+		}
+		catch (IOException ex) {
+			log.warn("Failed to restore the mappings of pact entry [" + key + "] from the cache", ex);
+			return false;
+		}
+	}
+
+	/**
+	 * Stores the generated mappings. Failures are logged, since the cache is only an
+	 * optimization.
+	 * @param key - key of the entry
+	 * @param mappings - generated mappings
+	 */
+	void store(String key, Collection<Path> mappings) {
+		Path entry = new File(this.directory, key).toPath();
+		if (Files.isDirectory(entry) || !secureDirectory()) {
+			return;
+		}
+		Path staging = null;
+		try {
+			staging = Files.createTempDirectory(this.directory.toPath(), key + ".");
+			for (Path mapping : mappings) {
+				Files.copy(mapping, staging.resolve(mapping.getFileName().toString()));
+			}
+			Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+			staging = null;
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			log.warn("The pact cache folder [" + this.directory + "] does not support atomic moves", ex);
+		}
+		catch (IOException ex) {
+			// most likely a concurrent build stored the same entry
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to store the mappings of pact entry [" + key + "] in the cache", ex);
+			}
+		}
+		finally {
+			if (staging != null) {
+				deleteQuietly(staging);
+			}
+		}
+	}
+
+	/**
+	 * Creates the cache folder if missing and makes it accessible to its owner only.
+	 * @return {@code true} if the folder belongs to the current user
+	 */
+	private synchronized boolean secureDirectory() {
+		if (this.secure == null) {
+			this.secure = createSecureDirectory();
+		}
+		return this.secure;
+	}
+
+	private boolean createSecureDirectory() {
+		Path path = this.directory.toPath();
+		try {
+			Files.createDirectories(path);
+			if (Files.isSymbolicLink(path) || !ownedByCurrentUser(path)) {
+				log.warn("The pact cache folder [" + this.directory
+						+ "] does not belong to the current user, the cache will not be used");
+				return false;
+			}
+			if (path.getFileSystem().supportedFileAttributeViews().contains("posix")
+					&& !OWNER_ONLY.containsAll(Files.getPosixFilePermissions(path))) {
+				Files.setPosixFilePermissions(path, OWNER_ONLY);
+			}
+			return true;
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			log.warn("Failed to set up the pact cache folder [" + this.directory + "], the cache will not be used",
+					ex);
+			return false;
+		}
+	}
+
+	private static boolean ownedByCurrentUser(Path path) {
+		try {
+			String owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).getName();
+			String user = System.getProperty("user.name");
+			return owner.equals(user) || owner.endsWith("\\" + user);
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			return false;
+		}
+	}
+
+	private void deleteQuietly(Path folder) {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+		catch (IOException ex) {
+			// the folder is left behind, it's never used as an entry
+		}
+	}
+
+}
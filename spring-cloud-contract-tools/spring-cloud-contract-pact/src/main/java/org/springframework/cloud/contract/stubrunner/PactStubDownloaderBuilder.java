@@ -135,19 +135,37 @@ class PactStubDownloader implements StubDownloader {
 
 	private static final String PROVIDER_NAME_WITH_GROUP_ID = "pactbroker.provider-name-with-group-id";
 
+	private static final String CACHE_ENABLED = "pactbroker.cache.enabled";
+
+	private static final String CACHE_DIR = "pactbroker.cache.dir";
+
 	private final StubRunnerOptions stubRunnerOptions;
 
 	private final boolean deleteStubsAfterTest;
 
 	private final ObjectMapper objectMapper;
 
+	private final PactContractConverter converter = new PactContractConverter();
+
+	private final PactStubCache cache;
+
 	PactStubDownloader(StubRunnerOptions stubRunnerOptions) {
 		this.stubRunnerOptions = stubRunnerOptions;
 		this.objectMapper = new ObjectMapper();
 		this.deleteStubsAfterTest = stubRunnerOptions.isDeleteStubsAfterTest();
+		this.cache = cache(stubRunnerOptions);
 		registerShutdownHook();
 	}
 
+	private static PactStubCache cache(StubRunnerOptions options) {
+		String enabled = StubRunnerPropertyUtils.getProperty(options.getProperties(), CACHE_ENABLED);
+		if (StringUtils.hasText(enabled) && !Boolean.parseBoolean(enabled)) {
+			return null;
+		}
+		String dir = StubRunnerPropertyUtils.getProperty(options.getProperties(), CACHE_DIR);
+		return new PactStubCache(StringUtils.hasText(dir) ? new File(dir) : PactStubCache.DEFAULT_DIRECTORY);
+	}
+
 	@Override
 	public Map.Entry<StubConfiguration, File> downloadAndUnpackStubJar(StubConfiguration stubConfiguration) {
 		String version = stubConfiguration.version;
@@ -164,6 +182,7 @@ class PactStubDownloader implements StubDownloader {
 				return null;
 			}
 			File tmpDirWhereStubsWillBeUnzipped = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
+			TemporaryFileStorage.add(tmpDirWhereStubsWillBeUnzipped);
 			// make the groupid / artifactid folders
 			String coordinatesFolderName = stubConfiguration.getGroupId().replace(".", File.separator) + File.separator
 					+ stubConfiguration.getArtifactId();
@@ -177,7 +196,7 @@ class PactStubDownloader implements StubDownloader {
 				throw new IllegalStateException("Failed to create mandatory [contracts] or [mappings] folders under ["
 						+ coordinatesFolderName + "]");
 			}
-			storePacts(providerName, pacts, contractsFolder, mappingsFolder);
+			storePacts(providerName, tags, pacts, contractsFolder, mappingsFolder);
 			return new AbstractMap.SimpleEntry<>(stubConfiguration, tmpDirWhereStubsWillBeUnzipped);
 		}
 		catch (IOException e) {
@@ -185,13 +204,15 @@ class PactStubDownloader implements StubDownloader {
 		}
 	}
 
-	private void storePacts(String providerName, List<Pact> pacts, File contractsFolder, File mappingsFolder) {
+	private void storePacts(String providerName, List<String> tags, List<Pact> pacts, File contractsFolder,
+			File mappingsFolder) {
 		for (int i = 0; i < pacts.size(); i++) {
-			String json = toJson(pacts.get(i).toMap(PactSpecVersion.V3));
+			Pact pact = pacts.get(i);
+			byte[] json = toJson(pact.toMap(PactSpecVersion.V3)).getBytes();
 			File file = new File(contractsFolder, i + "_" + providerName.replace(":", "_") + "_pact.json");
-			storeFile(file.toPath(), json.getBytes());
+			storeFile(file.toPath(), json);
 			try {
-				storeMapping(mappingsFolder, file);
+				storeMapping(providerName, tags, pact, json, mappingsFolder, file);
 			}
 			catch (Exception e) {
 				log.warn("Exception occurred while trying to store the mapping", e);
@@ -199,12 +220,21 @@ class PactStubDownloader implements StubDownloader {
 		}
 	}
 
-	private void storeMapping(File mappingsFolder, File file) {
-		Collection<Contract> contracts = new PactContractConverter().convertFrom(file);
+	private void storeMapping(String providerName, List<String> tags, Pact pact, byte[] json, File mappingsFolder,
+			File file) {
+		String key = this.cache != null ? this.cache.key(providerName, tags, file.getName(), json) : null;
+		if (key != null && this.cache.restore(key, mappingsFolder)) {
+			return;
+		}
+		// the pact is converted as loaded, without reading back the stored file
+		Collection<Contract> contracts = this.converter.convertFrom(pact);
 		if (log.isDebugEnabled()) {
 			log.debug("Converted pact file [" + file + "] to [" + contracts.size() + "] contracts");
 		}
-		MappingGenerator.toMappings(file, contracts, mappingsFolder);
+		Collection<Path> mappings = MappingGenerator.toMappings(file, contracts, mappingsFolder);
+		if (key != null) {
+			this.cache.store(key, mappings);
+		}
 	}
 
 	private Path storeFile(Path path, byte[] contents) {
@@ -381,8 +411,7 @@ class PactStubDownloader implements StubDownloader {
 	}
 
 	private void registerShutdownHook() {
-		Runtime.getRuntime().addShutdownHook(
-				new Thread(() -> TemporaryFileStorage.cleanup(PactStubDownloader.this.deleteStubsAfterTest)));
+		TemporaryFileStorage.registerShutdownHook(this.deleteStubsAfterTest);
 	}
 
 }
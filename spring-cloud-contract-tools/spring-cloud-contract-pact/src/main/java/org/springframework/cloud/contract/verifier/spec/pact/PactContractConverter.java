@@ -71,7 +71,17 @@ public class PactContractConverter implements ContractConverter<Collection<Pact>
 
 	@Override
 	public Collection<Contract> convertFrom(File file) {
-		Pact pact = DefaultPactReader.INSTANCE.loadPact(file);
+		return convertFrom(DefaultPactReader.INSTANCE.loadPact(file));
+	}
+
+	/**
+	 * Converts a pact that is already loaded, e.g. from the Pact Broker, without storing
+	 * it in a file first.
+	 * @param pact - pact to convert
+	 * @return converted contracts
+	 * @since 3.1.0
+	 */
+	public Collection<Contract> convertFrom(Pact pact) {
 		if (pact instanceof RequestResponsePact) {
 			return requestResponseSCContractCreator.convertFrom((RequestResponsePact) pact);
 		}
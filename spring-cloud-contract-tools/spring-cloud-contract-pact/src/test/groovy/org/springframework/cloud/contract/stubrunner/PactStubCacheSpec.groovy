@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+
+import spock.lang.Requires
+import spock.lang.Specification
+
+class PactStubCacheSpec extends Specification {
+
+	File tmp = Files.createTempDirectory("pact-cache-spec").toFile()
+
+	def cleanup() {
+		tmp.deleteDir()
+	}
+
+	File newFolder(String name) {
+		File folder = new File(tmp, name)
+		folder.mkdirs()
+		return folder
+	}
+
+	def "should restore the cached mappings of an unchanged pact"() {
+		given:
+			PactStubCache cache = new PactStubCache(newFolder("cache"))
+			File generated = newFolder("generated")
+			Path mapping = Files.write(new File(generated, "0_bobby_pact_123.json").toPath(), "{}".bytes)
+			String key = cache.key("bobby", ["latest"], "0_bobby_pact.json", "pact".bytes)
+			File mappings = newFolder("mappings")
+		expect:
+			!cache.restore(key, mappings)
+		when:
+			cache.store(key, [mapping])
+		then:
+			cache.restore(key, mappings)
+			new File(mappings, "0_bobby_pact_123.json").text == "{}"
+	}
+
+	@Requires({ os.linux || os.macOs })
+	def "should make the cache folder accessible to its owner only"() {
+		given:
+			File folder = newFolder("cache")
+			Files.setPosixFilePermissions(folder.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"))
+			PactStubCache cache = new PactStubCache(folder)
+			Path mapping = Files.write(new File(newFolder("generated"), "mapping.json").toPath(), "{}".bytes)
+		when:
+			cache.store("key", [mapping])
+		then:
+			PosixFilePermissions.toString(Files.getPosixFilePermissions(folder.toPath())) == "rwx------"
+			cache.restore("key", newFolder("mappings"))
+	}
+
+	def "should not reuse mappings when the pact or its tags changed"() {
+		given:
+			PactStubCache cache = new PactStubCache(newFolder("cache"))
+			String key = cache.key("bobby", ["latest"], "0_bobby_pact.json", "pact".bytes)
+		expect:
+			key == cache.key("bobby", ["latest"], "0_bobby_pact.json", "pact".bytes)
+			key != cache.key("bobby", ["latest"], "0_bobby_pact.json", "changed".bytes)
+			key != cache.key("bobby", ["prod"], "0_bobby_pact.json", "pact".bytes)
+			key != cache.key("alice", ["latest"], "0_bobby_pact.json", "pact".bytes)
+	}
+}
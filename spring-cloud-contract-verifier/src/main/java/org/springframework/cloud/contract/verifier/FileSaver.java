@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,8 +46,12 @@ class FileSaver {
 	}
 
 	public void saveClassFile(Path classPath, byte[] classBytes) {
-		log.info("Creating new class file [{}]", classPath);
 		try {
+			if (sameContent(classPath, classBytes)) {
+				log.info("Class file [{}] is up to date, will not overwrite it", classPath);
+				return;
+			}
+			log.info("Creating new class file [{}]", classPath);
 			Files.write(classPath, classBytes, CREATE, TRUNCATE_EXISTING);
 		}
 		catch (IOException e) {
@@ -54,6 +59,17 @@ class FileSaver {
 		}
 	}
 
+	/**
+	 * Rewriting an unchanged file would bump its modification time and make the build
+	 * tools recompile the generated tests, so we compare the contents first.
+	 */
+	private boolean sameContent(Path classPath, byte[] classBytes) throws IOException {
+		if (!Files.isRegularFile(classPath) || Files.size(classPath) != classBytes.length) {
+			return false;
+		}
+		return Arrays.equals(Files.readAllBytes(classPath), classBytes);
+	}
+
 	protected Path pathToClass(Path testBaseDir, String fileName) {
 		return Paths.get(testBaseDir.toString(), capitalize(fileName) + fileExtension).toAbsolutePath();
 	}
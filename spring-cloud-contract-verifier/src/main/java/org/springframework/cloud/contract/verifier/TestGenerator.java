@@ -19,13 +19,19 @@ package org.springframework.cloud.contract.verifier;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -148,8 +154,53 @@ public class TestGenerator {
 	}
 
 	void processAll(MultiValueMap<Path, ContractMetadata> contracts, final String basePackageName) {
-		contracts.entrySet().stream().forEach(
-				entry -> processIncludedDirectory(relativizeContractPath(entry), entry.getValue(), basePackageName));
+		List<Supplier<GeneratedClass>> generations = contracts.entrySet().stream()
+				.map(entry -> (Supplier<GeneratedClass>) () -> generateClass(relativizeContractPath(entry),
+						entry.getValue(), basePackageName))
+				.collect(Collectors.toList());
+		int threads = Math.min(configProperties.getTestGenerationThreads(), generations.size());
+		if (threads <= 1) {
+			generations.forEach(generation -> save(generation.get()));
+			return;
+		}
+		// classes are built in parallel but stored in the order of the contract
+		// directories so that the results are the same as for sequential generation
+		generateInParallel(generations, threads).forEach(this::save);
+	}
+
+	private List<GeneratedClass> generateInParallel(List<Supplier<GeneratedClass>> generations, int threads) {
+		log.debug("Will generate [{}] test classes using [{}] threads", generations.size(), threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<GeneratedClass>> futures = generations.stream()
+					.map(generation -> executor.submit(generation::get)).collect(Collectors.toList());
+			List<GeneratedClass> generatedClasses = new ArrayList<>();
+			for (Future<GeneratedClass> future : futures) {
+				generatedClasses.add(future.get());
+			}
+			return generatedClasses;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while generating test classes", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void save(GeneratedClass generatedClass) {
+		if (generatedClass == null) {
+			return;
+		}
+		saver.saveClassFile(generatedClass.classPath, generatedClass.classBytes);
+		counter.incrementAndGet();
 	}
 
 	private String relativizeContractPath(Map.Entry<Path, List<ContractMetadata>> entry) {
@@ -157,24 +208,24 @@ public class TestGenerator {
 		return StringUtils.defaultIfEmpty(relativePath.toString(), DEFAULT_CLASS_PREFIX);
 	}
 
-	private void processIncludedDirectory(final String includedDirectoryRelativePath,
+	private GeneratedClass generateClass(final String includedDirectoryRelativePath,
 			final Collection<ContractMetadata> contracts, final String basePackageNameForClass) {
 		log.debug("Collected contracts with metadata {} relative path is [{}]", contracts,
 				includedDirectoryRelativePath);
-		if (!contracts.isEmpty()) {
-			String className = afterLast(includedDirectoryRelativePath, File.separator) + resolveNameSuffix();
-			String convertedClassName = ensureNameDoesNotStartWithNumber(convertIllegalPackageChars(className));
-			String packageName = buildPackage(basePackageNameForClass, includedDirectoryRelativePath);
-			Path dir = saver.generateTestBaseDir(basePackageNameForClass,
-					convertIllegalPackageChars(includedDirectoryRelativePath));
-			Path classPath = saver.pathToClass(dir, convertedClassName);
-			byte[] classBytes = generator
-					.buildClass(configProperties, contracts, includedDirectoryRelativePath,
-							new SingleTestGenerator.GeneratedClassData(convertedClassName, packageName, classPath))
-					.getBytes(StandardCharsets.UTF_8);
-			saver.saveClassFile(classPath, classBytes);
-			counter.incrementAndGet();
+		if (contracts.isEmpty()) {
+			return null;
 		}
+		String className = afterLast(includedDirectoryRelativePath, File.separator) + resolveNameSuffix();
+		String convertedClassName = ensureNameDoesNotStartWithNumber(convertIllegalPackageChars(className));
+		String packageName = buildPackage(basePackageNameForClass, includedDirectoryRelativePath);
+		Path dir = saver.generateTestBaseDir(basePackageNameForClass,
+				convertIllegalPackageChars(includedDirectoryRelativePath));
+		Path classPath = saver.pathToClass(dir, convertedClassName);
+		byte[] classBytes = generator
+				.buildClass(configProperties, contracts, includedDirectoryRelativePath,
+						new SingleTestGenerator.GeneratedClassData(convertedClassName, packageName, classPath))
+				.getBytes(StandardCharsets.UTF_8);
+		return new GeneratedClass(classPath, classBytes);
 	}
 
 	private String ensureNameDoesNotStartWithNumber(String convertedClassName) {
@@ -192,4 +243,17 @@ public class TestGenerator {
 		return !directory.isEmpty() ? convertedPackage : packageNameForClass;
 	}
 
+	private static final class GeneratedClass {
+
+		private final Path classPath;
+
+		private final byte[] classBytes;
+
+		private GeneratedClass(Path classPath, byte[] classBytes) {
+			this.classPath = classPath;
+			this.classBytes = classBytes;
+		}
+
+	}
+
 }
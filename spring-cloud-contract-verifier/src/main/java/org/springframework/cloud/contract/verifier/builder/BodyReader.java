@@ -21,10 +21,13 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -41,6 +44,8 @@ class BodyReader {
 
 	private final GeneratedClassMetaData generatedClassMetaData;
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
 	private final YamlContractConverter converter = new YamlContractConverter();
 
 	BodyReader(GeneratedClassMetaData generatedClassMetaData) {
@@ -68,6 +73,18 @@ class BodyReader {
 		store.forEach((name, bytes) -> writeFileForBothIdeAndBuildTool(metadata, bytes, name));
 	}
 
+	String storeJsonPaths(SingleContractMetadata metadata, Collection<String> jsonPaths) {
+		String fileName = classDataForMethod(metadata).getMethodName() + "_json_paths.json";
+		try {
+			// the paths change together with the contract, so they're always rewritten
+			writeFileForBothIdeAndBuildTool(metadata, OBJECT_MAPPER.writeValueAsBytes(jsonPaths), fileName, true);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return fileName;
+	}
+
 	private String byteBodyToAFileForTestMethod(SingleContractMetadata metadata, FromFileProperty property,
 			CommunicationType side) {
 		GeneratedClassDataForMethod classDataForMethod = classDataForMethod(metadata);
@@ -82,13 +99,18 @@ class BodyReader {
 	}
 
 	private void writeFileForBothIdeAndBuildTool(SingleContractMetadata metadata, byte[] bytes, String newFileName) {
+		writeFileForBothIdeAndBuildTool(metadata, bytes, newFileName, false);
+	}
+
+	private void writeFileForBothIdeAndBuildTool(SingleContractMetadata metadata, byte[] bytes, String newFileName,
+			boolean overwrite) {
 		GeneratedClassDataForMethod classDataForMethod = classDataForMethod(metadata);
 		java.nio.file.Path parent = classDataForMethod.testClassPath().getParent();
 		if (parent == null) {
 			parent = classDataForMethod.testClassPath();
 		}
 		File newFile = new File(parent.toFile(), newFileName);
-		if (newFile.exists()) {
+		if (newFile.exists() && !overwrite) {
 			return;
 		}
 		// for IDE
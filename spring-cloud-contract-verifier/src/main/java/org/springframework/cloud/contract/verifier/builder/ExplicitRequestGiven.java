@@ -18,7 +18,7 @@ package org.springframework.cloud.contract.verifier.builder;
 
 import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
 
-class ExplicitRequestGiven implements Given, ExplicitAcceptor {
+class ExplicitRequestGiven implements Given, ExplicitAcceptor, JUnit5ParallelAcceptor {
 
 	private final BlockBuilder blockBuilder;
 
@@ -31,7 +31,8 @@ class ExplicitRequestGiven implements Given, ExplicitAcceptor {
 
 	@Override
 	public MethodVisitor<Given> apply(SingleContractMetadata metadata) {
-		this.blockBuilder.addIndented("RequestSpecification request = given()");
+		String requestSpecification = requestSpecification(this.generatedClassMetaData);
+		this.blockBuilder.addIndented("RequestSpecification request = " + requestSpecification);
 		return this;
 	}
 
@@ -56,6 +56,8 @@ class GenericJsonBodyThen implements Then {
 
 	private final ComparisonBuilder comparisonBuilder;
 
+	private final BodyReader bodyReader;
+
 	GenericJsonBodyThen(BlockBuilder blockBuilder, GeneratedClassMetaData metaData, BodyParser bodyParser,
 			ComparisonBuilder comparisonBuilder) {
 		this.blockBuilder = blockBuilder;
@@ -64,6 +66,7 @@ class GenericJsonBodyThen implements Then {
 		this.bodyAssertionLineCreator = new BodyAssertionLineCreator(blockBuilder, metaData,
 				this.bodyParser.byteArrayString(), this.comparisonBuilder);
 		this.generatedClassMetaData = metaData;
+		this.bodyReader = new BodyReader(metaData);
 		this.templateProcessor = new HandlebarsTemplateProcessor();
 		this.contractTemplate = new HandlebarsTemplateProcessor();
 	}
@@ -91,6 +94,10 @@ class GenericJsonBodyThen implements Then {
 				this.generatedClassMetaData.configProperties.getAssertJsonSize(), this.templateProcessor,
 				this.contractTemplate, contractMetadata.getContract(), Optional.of(this.blockBuilder.getLineEnding()),
 				bodyParser::postProcessJsonPath);
+		if (this.generatedClassMetaData.configProperties.isCompactTests()) {
+			jsonBodyVerificationBuilder
+					.withJsonPathsStore(jsonPaths -> this.bodyReader.storeJsonPaths(contractMetadata, jsonPaths));
+		}
 		// TODO: Refactor spock from should comment out bdd blocks
 		Object convertedResponseBody = jsonBodyVerificationBuilder.addJsonResponseBodyCheck(this.blockBuilder,
 				responseBody, bodyMatchers, this.bodyParser.responseAsString(),
@@ -67,7 +67,7 @@ class ImportsBuilder {
 
 	ImportsBuilder jUnit5() {
 		this.parentBuilder.imports(new JUnit5Imports(builder, metaData), new JUnit5IgnoreImports(builder, metaData),
-				new JUnit5OrderImports(builder, metaData));
+				new JUnit5OrderImports(builder, metaData), new JUnit5ParallelImports(builder, metaData));
 		return this;
 	}
 
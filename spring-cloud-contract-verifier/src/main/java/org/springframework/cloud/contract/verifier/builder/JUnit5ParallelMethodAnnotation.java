@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.builder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.spec.internal.DslProperty;
+import org.springframework.cloud.contract.spec.internal.ExecutionProperty;
+import org.springframework.cloud.contract.verifier.config.TestMode;
+import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
+import org.springframework.cloud.contract.verifier.http.HttpTestLockExtension;
+import org.springframework.cloud.contract.verifier.http.RequestSpecificationProvider;
+
+/**
+ * Marks a JUnit 5 test to be executed concurrently. A messaging test takes a shared lock
+ * on all messaging destinations and an exclusive lock on each destination that it uses.
+ * When a destination is resolved at runtime, an exclusive lock on all destinations is
+ * taken instead. A MockMvc, explicit or WebTestClient test is extended with the
+ * {@link HttpTestLockExtension}, which runs it in parallel only when its base class is a
+ * {@link RequestSpecificationProvider}, since otherwise {@code given()} reads the static
+ * RestAssured setup of the base class. Tests of ordered contracts are executed in the
+ * thread of their test class, in order.
+ */
+class JUnit5ParallelMethodAnnotation implements MethodAnnotations, JUnit5ParallelAcceptor {
+
+	static final String MESSAGING_LOCK = "org.springframework.cloud.contract.verifier.messaging";
+
+	private final BlockBuilder blockBuilder;
+
+	private final GeneratedClassMetaData generatedClassMetaData;
+
+	JUnit5ParallelMethodAnnotation(BlockBuilder blockBuilder, GeneratedClassMetaData generatedClassMetaData) {
+		this.blockBuilder = blockBuilder;
+		this.generatedClassMetaData = generatedClassMetaData;
+	}
+
+	@Override
+	public MethodVisitor<MethodAnnotations> apply(SingleContractMetadata singleContractMetadata) {
+		boolean ordered = singleContractMetadata.getContractMetadata().getOrder() != null;
+		this.blockBuilder.addIndented(
+				ordered ? "@Execution(ExecutionMode.SAME_THREAD)" : "@Execution(ExecutionMode.CONCURRENT)");
+		if (singleContractMetadata.isMessaging()) {
+			locks(singleContractMetadata.getContract())
+					.forEach(lock -> this.blockBuilder.addEmptyLine().addIndented(lock));
+		}
+		else if (usesStaticSetup()) {
+			this.blockBuilder.addEmptyLine().addIndented("@ExtendWith(HttpTestLockExtension.class)");
+		}
+		return this;
+	}
+
+	private boolean usesStaticSetup() {
+		TestMode testMode = this.generatedClassMetaData.configProperties.getTestMode();
+		return testMode == TestMode.MOCKMVC || testMode == TestMode.EXPLICIT || testMode == TestMode.WEBTESTCLIENT;
+	}
+
+	private List<String> locks(Contract contract) {
+		Set<Object> destinations = new LinkedHashSet<>();
+		if (contract.getInput() != null) {
+			addDestination(destinations, contract.getInput().getMessageFrom());
+		}
+		if (contract.getOutputMessage() != null) {
+			addDestination(destinations, contract.getOutputMessage().getSentTo());
+		}
+		List<String> locks = new ArrayList<>();
+		if (destinations.stream().anyMatch(destination -> destination instanceof ExecutionProperty)) {
+			locks.add(lock(MESSAGING_LOCK));
+			return locks;
+		}
+		locks.add("@ResourceLock(value = \"" + MESSAGING_LOCK + "\", mode = ResourceAccessMode.READ)");
+		destinations.forEach(destination -> locks.add(lock(MESSAGING_LOCK + ":" + destination)));
+		return locks;
+	}
+
+	private String lock(String resource) {
+		return "@ResourceLock(\"" + StringEscapeUtils.escapeJava(resource) + "\")";
+	}
+
+	private void addDestination(Set<Object> destinations, DslProperty<?> destination) {
+		if (destination != null && destination.getServerValue() != null) {
+			destinations.add(destination.getServerValue());
+		}
+	}
+
+	@Override
+	public boolean accept(SingleContractMetadata singleContractMetadata) {
+		return acceptParallel(this.generatedClassMetaData);
+	}
+
+}
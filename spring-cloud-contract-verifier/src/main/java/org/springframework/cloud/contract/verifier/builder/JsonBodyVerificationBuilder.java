@@ -17,6 +17,7 @@
 package org.springframework.cloud.contract.verifier.builder;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +40,7 @@ import org.springframework.cloud.contract.verifier.template.TemplateProcessor;
 import org.springframework.cloud.contract.verifier.util.JsonPaths;
 import org.springframework.cloud.contract.verifier.util.JsonToJsonPathsConverter;
 import org.springframework.cloud.contract.verifier.util.MapConverter;
+import org.springframework.cloud.contract.verifier.util.MethodBufferingJsonVerifiable;
 
 /**
  * @author Marcin Grzejszczak
@@ -65,6 +67,8 @@ class JsonBodyVerificationBuilder implements BodyMethodGeneration, ClassVerifier
 
 	private final Function<String, String> postProcessJsonPathCall;
 
+	private Function<List<String>, String> jsonPathsStore;
+
 	// FIXME
 	// Passing way more arguments here than I would like to, but since we are planning a
 	// major
@@ -80,6 +84,18 @@ class JsonBodyVerificationBuilder implements BodyMethodGeneration, ClassVerifier
 		this.postProcessJsonPathCall = postProcessJsonPathCall;
 	}
 
+	/**
+	 * Stores the JSON paths that can be verified without a code generated assertion
+	 * with the given function, which returns the name of the file they were stored in.
+	 * A single {@code assertThatJsonPaths} call is generated for all of them.
+	 * @param jsonPathsStore - function storing the JSON paths
+	 * @return this
+	 */
+	JsonBodyVerificationBuilder withJsonPathsStore(Function<List<String>, String> jsonPathsStore) {
+		this.jsonPathsStore = jsonPathsStore;
+		return this;
+	}
+
 	Object addJsonResponseBodyCheck(BlockBuilder bb, Object convertedResponseBody, BodyMatchers bodyMatchers,
 			String responseString, boolean shouldCommentOutBDDBlocks) {
 		appendJsonPath(bb, responseString);
@@ -113,18 +129,35 @@ class JsonBodyVerificationBuilder implements BodyMethodGeneration, ClassVerifier
 				.transformToJsonPathWithTestsSideValues(convertedResponseBody, parsingFunction, includeEmptyCheck);
 
 		DocumentContext finalParsedRequestBody = parsedRequestBody;
+		List<String> storedJsonPaths = new ArrayList<>();
 		jsonPaths.forEach(it -> {
 			String method = it.method();
+			if (canBeStored(it, method)) {
+				storedJsonPaths.add(it.jsonPath().replace("\\\\", "\\"));
+				return;
+			}
 			method = processIfTemplateIsPresent(method, finalParsedRequestBody);
 			String postProcessedMethod = templateProcessor.containsJsonPathTemplateEntry(method) ? method
 					: postProcessJsonPathCall.apply(method);
 			bb.addLine("assertThatJson(parsedJson)" + postProcessedMethod);
 			addColonIfRequired(lineSuffix, bb);
 		});
+		if (!storedJsonPaths.isEmpty()) {
+			bb.addLine("assertThatJsonPaths(parsedJson, this, " + quotedAndEscaped(jsonPathsStore.apply(storedJsonPaths))
+					+ ")");
+			addColonIfRequired(lineSuffix, bb);
+		}
 		doBodyMatchingIfPresent(bodyMatchers, bb, copiedBody, shouldCommentOutBDDBlocks);
 		return convertedResponseBody;
 	}
 
+	// size and type checks have no JSON path equivalent, and template entries get
+	// resolved only in the generated code
+	private boolean canBeStored(MethodBufferingJsonVerifiable verifiable, String method) {
+		return jsonPathsStore != null && !verifiable.assertsSize() && !method.contains(".isInstanceOf(")
+				&& !templateProcessor.containsTemplateEntry(method);
+	}
+
 	private boolean mapOrListBodyReducedToEmpty(Object originalBody, Object convertedBody) {
 		int origSize = originalBody instanceof Map ? ((Map) originalBody).size() : -1;
 		int convertedSize = convertedBody instanceof Map ? ((Map) convertedBody).size() : -1;
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.builder;
+
+import org.springframework.cloud.contract.verifier.config.TestFramework;
+import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
+import org.springframework.util.StringUtils;
+
+/**
+ * Java counterpart of {@link MessagingSpockNoMessageThen}.
+ */
+class MessagingJavaNoMessageThen implements Then, BodyMethodVisitor {
+
+	private final BlockBuilder blockBuilder;
+
+	private final GeneratedClassMetaData generatedClassMetaData;
+
+	private final BodyReader bodyReader;
+
+	MessagingJavaNoMessageThen(BlockBuilder blockBuilder, GeneratedClassMetaData generatedClassMetaData) {
+		this.blockBuilder = blockBuilder;
+		this.generatedClassMetaData = generatedClassMetaData;
+		this.bodyReader = new BodyReader(generatedClassMetaData);
+	}
+
+	@Override
+	public MethodVisitor<Then> apply(SingleContractMetadata singleContractMetadata) {
+		this.bodyReader.storeContractAsYaml(singleContractMetadata);
+		startBodyBlock(this.blockBuilder, "then:");
+		this.blockBuilder
+				.addIndented("assertThat(contractVerifierMessaging.noMessage(\""
+						+ MessagingSpockNoMessageThen.noOutputMessageTo(singleContractMetadata) + "\",")
+				.addEmptyLine().indent()
+				.addIndented("contract(this, \"" + singleContractMetadata.methodName() + ".yml\"))).isTrue()")
+				.unindent().addEndingIfNotPresent().addEmptyLine();
+		endBodyBlock(this.blockBuilder);
+		return this;
+	}
+
+	@Override
+	public boolean accept(SingleContractMetadata singleContractMetadata) {
+		return singleContractMetadata.isMessaging() && singleContractMetadata.getContract().getOutputMessage() == null
+				&& StringUtils.hasText(MessagingSpockNoMessageThen.noOutputMessageTo(singleContractMetadata))
+				&& this.generatedClassMetaData.configProperties.getTestFramework() != TestFramework.SPOCK;
+	}
+
+}
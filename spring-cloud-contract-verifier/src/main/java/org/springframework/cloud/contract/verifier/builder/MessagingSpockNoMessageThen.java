@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2020 the original author or authors.
+ * Copyright 2013-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,29 +17,53 @@
 package org.springframework.cloud.contract.verifier.builder;
 
 import org.springframework.cloud.contract.verifier.config.TestFramework;
+import org.springframework.cloud.contract.verifier.dsl.ContractVerifierMetadata;
 import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
+import org.springframework.util.StringUtils;
 
+/**
+ * Checks that no message was sent to the destination set in the
+ * {@link ContractVerifierMetadata#getNoOutputMessageTo() verifier metadata} of a contract
+ * without an output message.
+ */
 class MessagingSpockNoMessageThen implements Then, BodyMethodVisitor {
 
 	private final BlockBuilder blockBuilder;
 
 	private final GeneratedClassMetaData generatedClassMetaData;
 
+	private final BodyReader bodyReader;
+
 	MessagingSpockNoMessageThen(BlockBuilder blockBuilder, GeneratedClassMetaData generatedClassMetaData) {
 		this.blockBuilder = blockBuilder;
 		this.generatedClassMetaData = generatedClassMetaData;
+		this.bodyReader = new BodyReader(generatedClassMetaData);
 	}
 
 	@Override
 	public MethodVisitor<Then> apply(SingleContractMetadata singleContractMetadata) {
-		this.blockBuilder.addLineWithEnding("noExceptionThrown()");
+		this.bodyReader.storeContractAsYaml(singleContractMetadata);
+		startBodyBlock(this.blockBuilder, "then:");
+		this.blockBuilder
+				.addIndented("contractVerifierMessaging.noMessage(\"" + noOutputMessageTo(singleContractMetadata)
+						+ "\",")
+				.addEmptyLine().indent()
+				.addIndented("contract(this, \"" + singleContractMetadata.methodName() + ".yml\"))").unindent()
+				.addEmptyLine();
+		endBodyBlock(this.blockBuilder);
 		return this;
 	}
 
 	@Override
 	public boolean accept(SingleContractMetadata singleContractMetadata) {
 		return singleContractMetadata.isMessaging() && singleContractMetadata.getContract().getOutputMessage() == null
+				&& StringUtils.hasText(noOutputMessageTo(singleContractMetadata))
 				&& this.generatedClassMetaData.configProperties.getTestFramework() == TestFramework.SPOCK;
 	}
 
+	static String noOutputMessageTo(SingleContractMetadata singleContractMetadata) {
+		return ContractVerifierMetadata.fromMetadata(singleContractMetadata.getContract().getMetadata())
+				.getNoOutputMessageTo();
+	}
+
 }
@@ -37,7 +37,7 @@ class MessagingWithBodyThen implements Then, BodyMethodVisitor {
 		this.blockBuilder = blockBuilder;
 		this.generatedClassMetaData = generatedClassMetaData;
 		this.comparisonBuilder = comparisonBuilder;
-		this.thens.addAll(Arrays.asList(new MessagingSpockNoMessageThen(this.blockBuilder, generatedClassMetaData),
+		this.thens.addAll(Arrays.asList(
 				new MessagingReceiveMessageThen(this.blockBuilder, generatedClassMetaData, this.comparisonBuilder),
 				new MessagingHeadersThen(this.blockBuilder, generatedClassMetaData, this.comparisonBuilder),
 				new MessagingBodyThen(this.blockBuilder, generatedClassMetaData, comparisonBuilder),
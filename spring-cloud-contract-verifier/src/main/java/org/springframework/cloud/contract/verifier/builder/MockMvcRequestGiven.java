@@ -18,7 +18,7 @@ package org.springframework.cloud.contract.verifier.builder;
 
 import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
 
-class MockMvcRequestGiven implements Given, MockMvcAcceptor {
+class MockMvcRequestGiven implements Given, MockMvcAcceptor, JUnit5ParallelAcceptor {
 
 	private final BlockBuilder blockBuilder;
 
@@ -31,7 +31,8 @@ class MockMvcRequestGiven implements Given, MockMvcAcceptor {
 
 	@Override
 	public MethodVisitor<Given> apply(SingleContractMetadata metadata) {
-		this.blockBuilder.addIndented("MockMvcRequestSpecification request = given()");
+		String requestSpecification = requestSpecification(this.generatedClassMetaData);
+		this.blockBuilder.addIndented("MockMvcRequestSpecification request = " + requestSpecification);
 		return this;
 	}
 
@@ -124,6 +124,10 @@ class SingleMethodBuilder {
 						this.generatedClassMetaData))
 				.then(new SpockMessagingWithBodyThen(this.blockBuilder,
 						this.generatedClassMetaData))
+				.then(new MessagingJavaNoMessageThen(this.blockBuilder,
+						this.generatedClassMetaData))
+				.then(new MessagingSpockNoMessageThen(this.blockBuilder,
+						this.generatedClassMetaData))
 				.then(new SpockMessagingEmptyThen(this.blockBuilder,
 						this.generatedClassMetaData))
 				.methodPostProcessor(new TemplateUpdatingMethodPostProcessor(this.blockBuilder));
@@ -18,6 +18,7 @@ package org.springframework.cloud.contract.verifier.builder;
 
 import org.springframework.cloud.contract.verifier.config.TestFramework;
 import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
+import org.springframework.util.StringUtils;
 
 class SpockMessagingEmptyThen implements Then, BodyMethodVisitor {
 
@@ -42,7 +43,8 @@ class SpockMessagingEmptyThen implements Then, BodyMethodVisitor {
 	public boolean accept(SingleContractMetadata metadata) {
 		return metadata.isMessaging()
 				&& this.generatedClassMetaData.configProperties.getTestFramework() == TestFramework.SPOCK
-				&& metadata.getContract().getOutputMessage() == null;
+				&& metadata.getContract().getOutputMessage() == null
+				&& !StringUtils.hasText(MessagingSpockNoMessageThen.noOutputMessageTo(metadata));
 	}
 
 }
@@ -18,7 +18,7 @@ package org.springframework.cloud.contract.verifier.builder;
 
 import org.springframework.cloud.contract.verifier.file.SingleContractMetadata;
 
-class WebTestClientRequestGiven implements Given, WebTestClientAcceptor {
+class WebTestClientRequestGiven implements Given, WebTestClientAcceptor, JUnit5ParallelAcceptor {
 
 	private final BlockBuilder blockBuilder;
 
@@ -31,7 +31,8 @@ class WebTestClientRequestGiven implements Given, WebTestClientAcceptor {
 
 	@Override
 	public MethodVisitor<Given> apply(SingleContractMetadata metadata) {
-		this.blockBuilder.addIndented("WebTestClientRequestSpecification request = given()");
+		String requestSpecification = requestSpecification(this.generatedClassMetaData);
+		this.blockBuilder.addIndented("WebTestClientRequestSpecification request = " + requestSpecification);
 		return this;
 	}
 
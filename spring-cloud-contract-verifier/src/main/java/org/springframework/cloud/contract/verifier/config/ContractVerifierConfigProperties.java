@@ -175,6 +175,32 @@ public class ContractVerifierConfigProperties {
 	 */
 	private boolean failOnInProgress = true;
 
+	/**
+	 * Number of threads used to generate test classes. Each contract directory results
+	 * in a separate test class, and those classes can be built in parallel. Defaults to
+	 * {@code 1}, which means that test classes are generated sequentially.
+	 */
+	private int testGenerationThreads = 1;
+
+	/**
+	 * If set to true then the generated JUnit 5 tests are marked to be executed
+	 * concurrently. Messaging tests lock the messaging destinations they use. HTTP tests
+	 * run in parallel when their base class implements
+	 * {@link org.springframework.cloud.contract.verifier.http.RequestSpecificationProvider},
+	 * otherwise they lock the shared RestAssured setup. Tests of ordered (scenario)
+	 * contracts are executed sequentially. Requires parallel execution to be enabled in
+	 * JUnit Platform.
+	 */
+	private boolean parallelTests;
+
+	/**
+	 * If set to true then the JSON body assertions of the generated tests are stored
+	 * as JSON paths in a file next to the test class, and the generated tests only
+	 * contain a call that verifies the body against those paths. Size, type and request
+	 * template assertions are still generated inline.
+	 */
+	private boolean compactTests;
+
 	public TestFramework getTestFramework() {
 		return testFramework;
 	}
@@ -363,4 +389,28 @@ public class ContractVerifierConfigProperties {
 		this.failOnInProgress = failOnInProgress;
 	}
 
+	public int getTestGenerationThreads() {
+		return this.testGenerationThreads;
+	}
+
+	public void setTestGenerationThreads(int testGenerationThreads) {
+		this.testGenerationThreads = testGenerationThreads;
+	}
+
+	public boolean isParallelTests() {
+		return this.parallelTests;
+	}
+
+	public void setParallelTests(boolean parallelTests) {
+		this.parallelTests = parallelTests;
+	}
+
+	public boolean isCompactTests() {
+		return this.compactTests;
+	}
+
+	public void setCompactTests(boolean compactTests) {
+		this.compactTests = compactTests;
+	}
+
 }
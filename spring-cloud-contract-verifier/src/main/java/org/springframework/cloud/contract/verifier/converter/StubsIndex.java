@@ -0,0 +1,298 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.verifier.util.ContractScanner;
+
+/**
+ * Index of a stubs jar, created when the jar is built. It lists the stub mappings and
+ * the contract files together with the CRC32 checksum of their content, so that Stub
+ * Runner does not have to parse each mapping and run each converter to find out which
+ * files are stubs and contracts. The contract files are listed in their original form
+ * and get converted by Stub Runner as usual. The index also lists every file it has
+ * seen, so that files added to the unpacked jar later on can be detected. The index is
+ * stored under {@link #LOCATION}, with paths relative to the root of the jar.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class StubsIndex {
+
+	/**
+	 * Location of the index, relative to the root of the stubs jar.
+	 */
+	public static final String LOCATION = "META-INF/spring-cloud-contract-stubs-index.json";
+
+	private static final Log log = LogFactory.getLog(StubsIndex.class);
+
+	private static final int VERSION = 2;
+
+	private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+	private static final String MAVEN_METADATA = "META-INF/maven/";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final List<Entry> mappings;
+
+	private final List<Entry> contracts;
+
+	private final Set<String> files;
+
+	private StubsIndex(List<Entry> mappings, List<Entry> contracts, Set<String> files) {
+		this.mappings = mappings;
+		this.contracts = contracts;
+		this.files = files;
+	}
+
+	/**
+	 * Indexes the given files of a stubs directory.
+	 * @param root - root of the stubs directory, i.e. of the future jar
+	 * @param files - files of the stubs directory that get packaged in the jar
+	 * @return index of the files
+	 */
+	public static StubsIndex build(File root, Collection<File> files) {
+		List<Entry> mappings = new ArrayList<>();
+		List<Entry> contracts = new ArrayList<>();
+		Set<String> indexedFiles = new LinkedHashSet<>();
+		for (File file : files) {
+			String path = relativePath(root, file);
+			if (path.equals(LOCATION) || !file.isFile()) {
+				continue;
+			}
+			indexedFiles.add(path);
+			long checksum = checksum(file);
+			if (isMapping(file)) {
+				mappings.add(new Entry(path, checksum));
+			}
+			if (isContract(file)) {
+				contracts.add(new Entry(path, checksum));
+			}
+		}
+		return new StubsIndex(mappings, contracts, indexedFiles);
+	}
+
+	/**
+	 * Reads the index of an unpacked stubs jar.
+	 * @param root - root of the unpacked jar
+	 * @return index or {@code null} if there is no index or it can't be read
+	 */
+	public static StubsIndex read(File root) {
+		File file = new File(root, LOCATION);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			JsonNode index = OBJECT_MAPPER.readTree(file);
+			if (index.path("version").asInt() != VERSION) {
+				if (log.isDebugEnabled()) {
+					log.debug("Unsupported version of the stubs index [" + file + "], will scan the stubs");
+				}
+				return null;
+			}
+			Set<String> files = new LinkedHashSet<>();
+			index.path("files").forEach(node -> files.add(node.asText()));
+			return new StubsIndex(entries(index.path("mappings")), entries(index.path("contracts")), files);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to read the stubs index [" + file + "], will scan the stubs", ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the index to the given file.
+	 * @param file - target file, usually {@link #LOCATION} under a directory that gets
+	 * packaged in the stubs jar
+	 */
+	public void write(File file) {
+		ObjectNode index = OBJECT_MAPPER.createObjectNode();
+		index.put("version", VERSION);
+		write(index.putArray("mappings"), this.mappings);
+		write(index.putArray("contracts"), this.contracts);
+		ArrayNode files = index.putArray("files");
+		this.files.forEach(files::add);
+		try {
+			File parent = file.getParentFile();
+			if (parent != null) {
+				Files.createDirectories(parent.toPath());
+			}
+			OBJECT_MAPPER.writeValue(file, index);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to write the stubs index [" + file + "]", ex);
+		}
+	}
+
+	/**
+	 * @return stub mappings
+	 */
+	public List<Entry> getMappings() {
+		return this.mappings;
+	}
+
+	/**
+	 * @return files with contracts
+	 */
+	public List<Entry> getContracts() {
+		return this.contracts;
+	}
+
+	/**
+	 * Files of the unpacked jar that the index has not seen when it was built, apart
+	 * from the ones added when the jar is packaged, such as the manifest. Any of them
+	 * may be a mapping or a contract that the index does not list.
+	 * @param root - root of the unpacked jar
+	 * @return files unknown to the index
+	 */
+	public List<File> unlistedFiles(File root) {
+		try (Stream<Path> paths = Files.walk(root.toPath())) {
+			return paths.filter(Files::isRegularFile).map(Path::toFile).filter(file -> {
+				String path = relativePath(root, file);
+				return !path.equals(LOCATION) && !path.equals(MANIFEST) && !path.startsWith(MAVEN_METADATA)
+						&& !this.files.contains(path);
+			}).collect(Collectors.toList());
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to list the files of [" + root + "]", ex);
+		}
+	}
+
+	/**
+	 * @param file - file to compute the checksum of
+	 * @return CRC32 checksum of the file's content or {@code -1} if the file can't be
+	 * read
+	 */
+	public static long checksum(File file) {
+		try {
+			CRC32 crc = new CRC32();
+			crc.update(Files.readAllBytes(file.toPath()));
+			return crc.getValue();
+		}
+		catch (IOException ex) {
+			return -1L;
+		}
+	}
+
+	private static void write(ArrayNode array, List<Entry> entries) {
+		for (Entry entry : entries) {
+			ObjectNode node = array.addObject();
+			node.put("path", entry.path);
+			node.put("checksum", entry.checksum);
+		}
+	}
+
+	private static List<Entry> entries(JsonNode array) {
+		List<Entry> entries = new ArrayList<>();
+		for (JsonNode node : array) {
+			entries.add(new Entry(node.path("path").asText(), node.path("checksum").asLong()));
+		}
+		return entries;
+	}
+
+	private static String relativePath(File root, File file) {
+		return root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+	}
+
+	private static boolean isMapping(File file) {
+		if (!file.getName().endsWith(".json")) {
+			return false;
+		}
+		try {
+			JsonNode mapping = OBJECT_MAPPER.readTree(file);
+			return mapping != null && mapping.isObject() && mapping.has("request");
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isContract(File file) {
+		Collection<Contract> contracts;
+		try {
+			contracts = ContractScanner.convertContractFile(file);
+		}
+		catch (Exception ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to convert [" + file + "], it will not be indexed as a contract", ex);
+			}
+			contracts = Collections.emptyList();
+		}
+		return !contracts.isEmpty();
+	}
+
+	/**
+	 * Indexed file.
+	 */
+	public static final class Entry {
+
+		private final String path;
+
+		private final long checksum;
+
+		private Entry(String path, long checksum) {
+			this.path = path;
+			this.checksum = checksum;
+		}
+
+		/**
+		 * @return path relative to the root of the jar, with {@code /} as separator
+		 */
+		public String getPath() {
+			return this.path;
+		}
+
+		/**
+		 * @return CRC32 checksum of the file's content at build time
+		 */
+		public long getChecksum() {
+			return this.checksum;
+		}
+
+		/**
+		 * @param root - root of the unpacked jar
+		 * @return indexed file
+		 */
+		public File file(File root) {
+			return new File(root, this.path);
+		}
+
+	}
+
+}
@@ -16,13 +16,18 @@
 
 package org.springframework.cloud.contract.verifier.converter;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.springframework.cloud.contract.spec.Contract;
 
@@ -57,6 +62,66 @@ public class YamlContract {
 
 	public Map<String, Object> metadata = new HashMap<>();
 
+	private final transient Map<String, BoundMetadata> boundMetadata;
+
+	public YamlContract() {
+		this.boundMetadata = new ConcurrentHashMap<>();
+	}
+
+	private YamlContract(YamlContract contract, Map<String, Object> metadata) {
+		this.request = contract.request;
+		this.response = contract.response;
+		this.input = contract.input;
+		this.outputMessage = contract.outputMessage;
+		this.description = contract.description;
+		this.label = contract.label;
+		this.name = contract.name;
+		this.priority = contract.priority;
+		this.ignored = contract.ignored;
+		this.inProgress = contract.inProgress;
+		this.metadata = metadata;
+		// the other metadata entries are the same objects, so are their bound views
+		this.boundMetadata = contract.boundMetadata;
+	}
+
+	/**
+	 * Returns a view of this contract with the given metadata entry set, without
+	 * modifying this contract. The view shares everything else with this contract. Its
+	 * metadata is copied on the first modification, so modifying it doesn't affect this
+	 * contract. That way per invocation data, such as the type of a message, can be
+	 * passed along with a contract that is used concurrently.
+	 * @param key - key of the metadata entry
+	 * @param value - value of the metadata entry
+	 * @return view of the contract with the metadata entry
+	 */
+	public YamlContract withMetadataEntry(String key, Object value) {
+		Map<String, Object> metadata = this.metadata != null ? this.metadata : Collections.emptyMap();
+		return new YamlContract(this, new CopyOnWriteMetadata(metadata, key, value));
+	}
+
+	/**
+	 * Returns a typed view of the metadata entry under the given key. The view is bound
+	 * once and cached on the contract for as long as the entry stays the same, so that
+	 * the messaging send and receive paths don't bind the metadata for each message.
+	 * Callers must not modify the returned view.
+	 * @param key - key of the metadata entry
+	 * @param binder - function that binds the metadata to a typed view
+	 * @param <T> - type of the view
+	 * @return bound view of the metadata entry
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T boundMetadata(String key, Function<Map<String, Object>, T> binder) {
+		Map<String, Object> metadata = this.metadata;
+		Object entry = metadata != null ? metadata.get(key) : null;
+		BoundMetadata bound = this.boundMetadata.get(key);
+		if (bound != null && bound.entry == entry) {
+			return (T) bound.view;
+		}
+		T view = binder.apply(metadata);
+		this.boundMetadata.put(key, new BoundMetadata(entry, view));
+		return view;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -80,6 +145,101 @@ public class YamlContract {
 				inProgress, metadata);
 	}
 
+	/**
+	 * Metadata of a contract view. Reads go to the metadata of the contract the view was
+	 * created from, with the entry of the view on top of it. The first modification
+	 * copies all the entries, and from then on the view works on the copy only.
+	 */
+	private static final class CopyOnWriteMetadata extends AbstractMap<String, Object> {
+
+		private final Map<String, Object> source;
+
+		private final String key;
+
+		private final Object value;
+
+		private Map<String, Object> copy;
+
+		private CopyOnWriteMetadata(Map<String, Object> source, String key, Object value) {
+			this.source = source;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Object get(Object key) {
+			if (this.copy != null) {
+				return this.copy.get(key);
+			}
+			return this.key.equals(key) ? this.value : this.source.get(key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			if (this.copy != null) {
+				return this.copy.containsKey(key);
+			}
+			return this.key.equals(key) || this.source.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			if (this.copy != null) {
+				return this.copy.size();
+			}
+			return this.source.containsKey(this.key) ? this.source.size() : this.source.size() + 1;
+		}
+
+		@Override
+		public Object put(String key, Object value) {
+			return copy().put(key, value);
+		}
+
+		@Override
+		public Object remove(Object key) {
+			return copy().remove(key);
+		}
+
+		@Override
+		public void putAll(Map<? extends String, ?> map) {
+			copy().putAll(map);
+		}
+
+		@Override
+		public void clear() {
+			copy().clear();
+		}
+
+		// entries can be modified through the entry set, so it's taken from the copy
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return copy().entrySet();
+		}
+
+		private Map<String, Object> copy() {
+			if (this.copy == null) {
+				Map<String, Object> copy = new HashMap<>(this.source);
+				copy.put(this.key, this.value);
+				this.copy = copy;
+			}
+			return this.copy;
+		}
+
+	}
+
+	private static final class BoundMetadata {
+
+		private final Object entry;
+
+		private final Object view;
+
+		private BoundMetadata(Object entry, Object view) {
+			this.entry = entry;
+			this.view = view;
+		}
+
+	}
+
 	public static class Request {
 
 		public String method;
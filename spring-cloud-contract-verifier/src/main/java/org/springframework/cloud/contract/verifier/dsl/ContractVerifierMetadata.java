@@ -44,6 +44,13 @@ public class ContractVerifierMetadata implements SpringCloudContractMetadata {
 
 	private String tool;
 
+	/**
+	 * Destination to which no message may be sent, for messaging contracts without an
+	 * output message. The generated test checks it without waiting for the whole receive
+	 * timeout.
+	 */
+	private String noOutputMessageTo;
+
 	public String getTool() {
 		return this.tool;
 	}
@@ -52,6 +59,14 @@ public class ContractVerifierMetadata implements SpringCloudContractMetadata {
 		this.tool = tool;
 	}
 
+	public String getNoOutputMessageTo() {
+		return this.noOutputMessageTo;
+	}
+
+	public void setNoOutputMessageTo(String noOutputMessageTo) {
+		this.noOutputMessageTo = noOutputMessageTo;
+	}
+
 	@NonNull
 	public static ContractVerifierMetadata fromMetadata(Map<String, Object> metadata) {
 		return MetadataUtil.fromMetadata(metadata, METADATA_KEY, new ContractVerifierMetadata());
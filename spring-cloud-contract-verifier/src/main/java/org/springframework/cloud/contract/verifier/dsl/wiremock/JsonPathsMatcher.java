@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.dsl.wiremock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Matches the JSON body of a request against a list of JSON paths, with the same
+ * semantics as WireMock's {@code matchesJsonPath} body pattern without a value pattern.
+ * Contrary to a list of such body patterns, the request body gets parsed once per
+ * request for all the stub mappings that get matched against it, and each JSON path
+ * gets compiled once. Parsed bodies are weakly keyed by the request, so they are
+ * dropped together with the request once it has been served.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class JsonPathsMatcher {
+
+	private static final Log log = LogFactory.getLog(JsonPathsMatcher.class);
+
+	private static final Map<String, JsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+
+	private static final Map<Request, Optional<DocumentContext>> PARSED_BODIES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private JsonPathsMatcher() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static MatchResult match(Request request, List<String> jsonPaths) {
+		if (jsonPaths.isEmpty()) {
+			return MatchResult.exactMatch();
+		}
+		DocumentContext body = parsedBody(request);
+		if (body == null) {
+			return MatchResult.noMatch();
+		}
+		int failed = 0;
+		for (String jsonPath : jsonPaths) {
+			if (!matches(body, jsonPath)) {
+				failed++;
+			}
+		}
+		return failed == 0 ? MatchResult.exactMatch() : MatchResult.partialMatch((double) failed / jsonPaths.size());
+	}
+
+	private static boolean matches(DocumentContext body, String jsonPath) {
+		try {
+			Object value = body.read(COMPILED_PATHS.computeIfAbsent(jsonPath, JsonPath::compile));
+			if (value instanceof Collection) {
+				return !((Collection<?>) value).isEmpty();
+			}
+			if (value instanceof Map) {
+				return !((Map<?, ?>) value).isEmpty();
+			}
+			return value != null;
+		}
+		catch (Exception e) {
+			if (log.isTraceEnabled()) {
+				log.trace("JSON path [" + jsonPath + "] did not match the request body", e);
+			}
+			return false;
+		}
+	}
+
+	private static DocumentContext parsedBody(Request request) {
+		Optional<DocumentContext> parsed = PARSED_BODIES.get(request);
+		if (parsed == null) {
+			parsed = Optional.ofNullable(parse(request.getBodyAsString()));
+			PARSED_BODIES.put(request, parsed);
+		}
+		return parsed.orElse(null);
+	}
+
+	private static DocumentContext parse(String body) {
+		if (body == null || body.isEmpty()) {
+			return null;
+		}
+		try {
+			return JsonPath.parse(body);
+		}
+		catch (Exception e) {
+			if (log.isTraceEnabled()) {
+				log.trace("Request body is not a valid JSON", e);
+			}
+			return null;
+		}
+	}
+
+}
@@ -33,6 +33,7 @@ import org.assertj.core.api.Assertions;
 
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
+import org.springframework.cloud.contract.verifier.instrumentation.ContractInstrumentation;
 
 /**
  * Provides custom matching for WireMock's stub requests.
@@ -49,10 +50,32 @@ public class SpringCloudContractRequestMatcher extends RequestMatcherExtension {
 	 */
 	public static final String NAME = "spring-cloud-contract";
 
+	/**
+	 * Parameter with JSON paths that the request body has to match. Each path has the
+	 * semantics of a {@code matchesJsonPath} body pattern, but the body gets parsed only
+	 * once.
+	 */
+	public static final String JSON_PATHS_PARAMETER = "jsonPaths";
+
 	private static final Log log = LogFactory.getLog(SpringCloudContractRequestMatcher.class);
 
 	@Override
 	public MatchResult match(Request request, Parameters parameters) {
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.REQUEST_MATCHING)) {
+			return doMatch(request, parameters);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private MatchResult doMatch(Request request, Parameters parameters) {
+		if (parameters.containsKey(JSON_PATHS_PARAMETER)) {
+			MatchResult jsonPathsResult = JsonPathsMatcher.match(request,
+					(List<String>) parameters.get(JSON_PATHS_PARAMETER));
+			if (!jsonPathsResult.isExactMatch() || !parameters.containsKey("tool")) {
+				return jsonPathsResult;
+			}
+		}
 		if (!parameters.containsKey("contract") || !parameters.containsKey("tool")) {
 			return MatchResult.noMatch();
 		}
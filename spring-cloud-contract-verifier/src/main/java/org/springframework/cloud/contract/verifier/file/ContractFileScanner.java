@@ -33,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -85,13 +86,31 @@ public class ContractFileScanner {
 
 	private final String includeMatcher;
 
+	private final Predicate<File> skipConversion;
+
 	public ContractFileScanner(File baseDir, Set<String> excluded, Set<String> ignored, Set<String> included,
 			String includeMatcher) {
+		this(baseDir, excluded, ignored, included, includeMatcher, file -> false);
+	}
+
+	/**
+	 * @param baseDir directory with contracts
+	 * @param excluded patterns of excluded files
+	 * @param ignored patterns of ignored files
+	 * @param included patterns of included files
+	 * @param includeMatcher regex of included files
+	 * @param skipConversion contract files for which the predicate returns {@code true}
+	 * are not parsed, their metadata comes without converted contracts
+	 * @since 3.1.0
+	 */
+	public ContractFileScanner(File baseDir, Set<String> excluded, Set<String> ignored, Set<String> included,
+			String includeMatcher, Predicate<File> skipConversion) {
 		this.baseDir = baseDir;
 		this.excludeMatchers = processPatterns(excluded != null ? excluded : Collections.emptySet());
 		this.ignoreMatchers = processPatterns(ignored != null ? ignored : Collections.emptySet());
 		this.includeMatchers = processPatterns(included != null ? included : Collections.emptySet());
 		this.includeMatcher = includeMatcher != null ? includeMatcher : "";
+		this.skipConversion = skipConversion != null ? skipConversion : file -> false;
 	}
 
 	private Set<PathMatcher> processPatterns(Set<String> patterns) {
@@ -261,8 +280,9 @@ public class ContractFileScanner {
 						|| file.getAbsolutePath().matches(includeMatcher);
 				included = !CollectionUtils.isEmpty(includeMatchers) ? matchesPattern(file, includeMatchers) : included;
 				if (contractFile && included) {
-					addContractToTestGeneration(result, files, file, i,
-							ContractVerifierDslConverter.convertAsCollection(baseDir, file));
+					Collection<Contract> contracts = this.skipConversion.test(file) ? Collections.emptyList()
+							: ContractVerifierDslConverter.convertAsCollection(baseDir, file);
+					addContractToTestGeneration(result, files, file, i, contracts);
 				}
 				if (!contractFile && included) {
 					addContractToTestGeneration(converters, result, files, file, i);
@@ -321,6 +341,9 @@ public class ContractFileScanner {
 		if (!accepted) {
 			return null;
 		}
+		if (this.skipConversion.test(file)) {
+			return Collections.emptyList();
+		}
 		try {
 			return converter.convertFrom(file);
 		}
@@ -404,6 +427,8 @@ public class ContractFileScanner {
 
 		private String includeMatcher = "";
 
+		private Predicate<File> skipConversion = file -> false;
+
 		public Builder baseDir(File baseDir) {
 			this.baseDir = baseDir;
 			return this;
@@ -429,9 +454,14 @@ public class ContractFileScanner {
 			return this;
 		}
 
+		public Builder skipConversion(Predicate<File> skipConversion) {
+			this.skipConversion = skipConversion;
+			return this;
+		}
+
 		public ContractFileScanner build() {
 			return new ContractFileScanner(this.baseDir, this.excluded, this.ignored, this.included,
-					this.includeMatcher);
+					this.includeMatcher, this.skipConversion);
 		}
 
 	}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.http;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension that guards the static RestAssured setup of the generated HTTP tests
+ * that are executed concurrently. A test whose instance implements
+ * {@link RequestSpecificationProvider} takes a shared lock, so such tests run in
+ * parallel. Any other test takes an exclusive lock, since its base class sets up and
+ * reads the static RestAssured state. The lock is held from before the
+ * {@code @BeforeEach} methods of the test until after its {@code @AfterEach} methods.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public class HttpTestLockExtension implements BeforeEachCallback, AfterEachCallback {
+
+	private static final ReadWriteLock LOCK = new ReentrantReadWriteLock(true);
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+			.create(HttpTestLockExtension.class);
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		Lock lock = context.getTestInstance().filter(instance -> instance instanceof RequestSpecificationProvider)
+				.isPresent() ? LOCK.readLock() : LOCK.writeLock();
+		lock.lock();
+		context.getStore(NAMESPACE).put(context.getUniqueId(), lock);
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		Lock lock = context.getStore(NAMESPACE).remove(context.getUniqueId(), Lock.class);
+		if (lock != null) {
+			lock.unlock();
+		}
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.http;
+
+/**
+ * Implemented by a base class of the generated tests to provide a request specification
+ * that is built for the current test instance (for example
+ * {@code RestAssuredMockMvc.given().mockMvc(this.mockMvc)}) instead of relying on the
+ * static RestAssured setup. Such tests can be executed concurrently when parallel tests
+ * are enabled.
+ *
+ * @param <T> type of the request specification
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public interface RequestSpecificationProvider<T> {
+
+	/**
+	 * @return a new request specification for the current test
+	 */
+	T requestSpecification();
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.http;
+
+import java.util.function.Supplier;
+
+/**
+ * Resolves the request specification of a generated test.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class RequestSpecifications {
+
+	private RequestSpecifications() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @param testInstance instance of the generated test
+	 * @param staticSetup creates a request specification from the static setup of the
+	 * base class
+	 * @param <T> type of the request specification
+	 * @return request specification of the test instance when it implements
+	 * {@link RequestSpecificationProvider}, otherwise the one created from the static
+	 * setup
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T requestSpecification(Object testInstance, Supplier<T> staticSetup) {
+		if (testInstance instanceof RequestSpecificationProvider) {
+			return ((RequestSpecificationProvider<T>) testInstance).requestSpecification();
+		}
+		return staticSetup.get();
+	}
+
+}
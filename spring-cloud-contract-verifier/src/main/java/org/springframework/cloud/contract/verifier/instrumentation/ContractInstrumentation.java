@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.instrumentation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the internal phases of Stub Runner and Contract Verifier take, such
+ * as stub downloads, stub server startup, request matching or message selection, and
+ * counts notable events such as cache hits or matched requests.
+ *
+ * Each phase is timed with a {@link Sample}. Recorded phases are aggregated in memory,
+ * emitted as JFR events when a flight recording is running, and passed to the registered
+ * {@link Listener}s (e.g. {@link MicrometerContractInstrumentation}).
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class ContractInstrumentation {
+
+	/**
+	 * Resolution of a stub artifact.
+	 */
+	public static final String STUBS_DOWNLOAD = "stubs.download";
+
+	/**
+	 * Unpacking of a resolved stub artifact.
+	 */
+	public static final String STUBS_UNPACK = "stubs.unpack";
+
+	/**
+	 * Scanning of an unpacked stub for mappings and contracts.
+	 */
+	public static final String STUBS_SCAN = "stubs.scan";
+
+	/**
+	 * Reservation of a port for a stub server.
+	 */
+	public static final String PORT_RESERVATION = "stubs.port.reservation";
+
+	/**
+	 * Startup of an HTTP stub server.
+	 */
+	public static final String STUB_SERVER_START = "stubs.server.start";
+
+	/**
+	 * Matching of a request by the Spring Cloud Contract request matcher.
+	 */
+	public static final String REQUEST_MATCHING = "requests.matching";
+
+	/**
+	 * Selection of the contract that matches an incoming message.
+	 */
+	public static final String MESSAGE_SELECTION = "messages.selection";
+
+	/**
+	 * Number of stub artifacts fetched from a remote repository.
+	 */
+	public static final String DOWNLOADS = "stubs.downloads";
+
+	/**
+	 * Number of stub artifacts resolved without reaching a remote repository.
+	 */
+	public static final String CACHE_HITS = "stubs.cache.hits";
+
+	/**
+	 * Number of started HTTP stub servers.
+	 */
+	public static final String STUBS_STARTED = "stubs.started";
+
+	/**
+	 * Number of requests served by a stub mapping.
+	 */
+	public static final String REQUESTS_MATCHED = "requests.matched";
+
+	/**
+	 * Number of requests for which no stub mapping was found.
+	 */
+	public static final String REQUESTS_UNMATCHED = "requests.unmatched";
+
+	/**
+	 * Number of messages for which a matching contract was found.
+	 */
+	public static final String MESSAGES_ROUTED = "messages.routed";
+
+	/**
+	 * Number of removed temporary files and folders with stubs.
+	 */
+	public static final String TEMP_FILES_REMOVED = "stubs.temp.removed";
+
+	/**
+	 * Number of bytes reclaimed by removing temporary files with stubs.
+	 */
+	public static final String TEMP_BYTES_RECLAIMED = "stubs.temp.reclaimed.bytes";
+
+	private static final Map<String, PhaseStatistics> PHASES = new ConcurrentHashMap<>();
+
+	private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+	private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+	private ContractInstrumentation() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * Starts timing a phase. The returned sample should be closed once the phase is
+	 * over, preferably with a try-with-resources block.
+	 * @param phase - name of the phase
+	 * @return started sample
+	 */
+	public static Sample start(String phase) {
+		return start(phase, null);
+	}
+
+	/**
+	 * Starts timing a phase.
+	 * @param phase - name of the phase
+	 * @param detail - additional information attached to the JFR event, e.g. the stub
+	 * notation
+	 * @return started sample
+	 */
+	public static Sample start(String phase, String detail) {
+		return new Sample(phase, JfrPhaseEvents.begin(phase, detail));
+	}
+
+	/**
+	 * Increments a counter.
+	 * @param counter - name of the counter
+	 */
+	public static void count(String counter) {
+		count(counter, 1L);
+	}
+
+	/**
+	 * Increments a counter by the given amount.
+	 * @param counter - name of the counter
+	 * @param amount - amount to add, e.g. a number of bytes
+	 */
+	public static void count(String counter, long amount) {
+		COUNTERS.computeIfAbsent(counter, c -> new LongAdder()).add(amount);
+		for (Listener listener : LISTENERS) {
+			listener.counterIncremented(counter, amount);
+		}
+	}
+
+	public static void addListener(Listener listener) {
+		LISTENERS.add(listener);
+	}
+
+	public static void removeListener(Listener listener) {
+		LISTENERS.remove(listener);
+	}
+
+	/**
+	 * @return statistics of all the recorded phases, sorted by phase name
+	 */
+	public static Map<String, PhaseStatistics> phases() {
+		return new TreeMap<>(PHASES);
+	}
+
+	/**
+	 * @return current values of all the counters, sorted by counter name
+	 */
+	public static Map<String, Long> counters() {
+		Map<String, Long> counters = new TreeMap<>();
+		COUNTERS.forEach((name, value) -> counters.put(name, value.sum()));
+		return counters;
+	}
+
+	/**
+	 * Clears the recorded phases and counters.
+	 */
+	public static void reset() {
+		PHASES.clear();
+		COUNTERS.clear();
+	}
+
+	private static void record(String phase, long durationNanos) {
+		PHASES.computeIfAbsent(phase, p -> new PhaseStatistics()).record(durationNanos);
+		for (Listener listener : LISTENERS) {
+			listener.phaseRecorded(phase, durationNanos);
+		}
+	}
+
+	/**
+	 * Timing of a single execution of a phase.
+	 */
+	public static final class Sample implements AutoCloseable {
+
+		private final String phase;
+
+		private final Object event;
+
+		private final long startNanos = System.nanoTime();
+
+		private Sample(String phase, Object event) {
+			this.phase = phase;
+			this.event = event;
+		}
+
+		@Override
+		public void close() {
+			long durationNanos = System.nanoTime() - this.startNanos;
+			JfrPhaseEvents.end(this.event);
+			record(this.phase, durationNanos);
+		}
+
+	}
+
+	/**
+	 * Gets notified about each recorded phase and each incremented counter.
+	 */
+	public interface Listener {
+
+		/**
+		 * @param phase - name of the phase
+		 * @param durationNanos - duration of the phase in nanoseconds
+		 */
+		void phaseRecorded(String phase, long durationNanos);
+
+		/**
+		 * @param counter - name of the incremented counter
+		 */
+		void counterIncremented(String counter);
+
+		/**
+		 * @param counter - name of the incremented counter
+		 * @param amount - amount added to the counter
+		 */
+		default void counterIncremented(String counter, long amount) {
+			counterIncremented(counter);
+		}
+
+	}
+
+}
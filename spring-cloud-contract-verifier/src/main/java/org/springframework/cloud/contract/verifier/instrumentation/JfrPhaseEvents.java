@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.instrumentation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Emits {@code org.springframework.cloud.contract.Phase} Java Flight Recorder events when
+ * the JVM supports JFR. The event type is defined at runtime through
+ * {@code jdk.jfr.EventFactory} and accessed reflectively, so this module still compiles
+ * against and runs on Java 8.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+final class JfrPhaseEvents {
+
+	private static final Log log = LogFactory.getLog(JfrPhaseEvents.class);
+
+	private static final String EVENT_NAME = "org.springframework.cloud.contract.Phase";
+
+	private static final PhaseEventType EVENT_TYPE = PhaseEventType.create();
+
+	private JfrPhaseEvents() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @param phase - name of the phase
+	 * @param detail - additional information
+	 * @return started event or {@code null} if JFR is not present or the event is not
+	 * enabled
+	 */
+	static Object begin(String phase, String detail) {
+		if (EVENT_TYPE == null) {
+			return null;
+		}
+		return EVENT_TYPE.begin(phase, detail);
+	}
+
+	static void end(Object event) {
+		if (event != null && EVENT_TYPE != null) {
+			EVENT_TYPE.end(event);
+		}
+	}
+
+	private static final class PhaseEventType {
+
+		private final Object factory;
+
+		private final MethodHandle newEvent;
+
+		private final MethodHandle isEnabled;
+
+		private final MethodHandle set;
+
+		private final MethodHandle begin;
+
+		private final MethodHandle end;
+
+		private final MethodHandle commit;
+
+		private PhaseEventType(Object factory, Class<?> factoryClass, Class<?> eventClass) throws Exception {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			MethodType voidType = MethodType.methodType(void.class);
+			this.factory = factory;
+			this.newEvent = lookup.findVirtual(factoryClass, "newEvent", MethodType.methodType(eventClass));
+			this.isEnabled = lookup.findVirtual(eventClass, "isEnabled", MethodType.methodType(boolean.class));
+			this.set = lookup.findVirtual(eventClass, "set",
+					MethodType.methodType(void.class, int.class, Object.class));
+			this.begin = lookup.findVirtual(eventClass, "begin", voidType);
+			this.end = lookup.findVirtual(eventClass, "end", voidType);
+			this.commit = lookup.findVirtual(eventClass, "commit", voidType);
+		}
+
+		static PhaseEventType create() {
+			ClassLoader classLoader = JfrPhaseEvents.class.getClassLoader();
+			if (!ClassUtils.isPresent("jdk.jfr.EventFactory", classLoader)) {
+				return null;
+			}
+			try {
+				Class<?> annotationElement = ClassUtils.forName("jdk.jfr.AnnotationElement", classLoader);
+				Constructor<?> annotation = annotationElement.getConstructor(Class.class, Object.class);
+				Class<?> label = ClassUtils.forName("jdk.jfr.Label", classLoader);
+				List<Object> annotations = Arrays.asList(
+						annotation.newInstance(ClassUtils.forName("jdk.jfr.Name", classLoader), EVENT_NAME),
+						annotation.newInstance(label, "Phase"),
+						annotation.newInstance(ClassUtils.forName("jdk.jfr.Category", classLoader),
+								new String[] { "Spring Cloud Contract" }),
+						annotation.newInstance(ClassUtils.forName("jdk.jfr.Description", classLoader),
+								"Phase of Stub Runner or Contract Verifier, e.g. a stub download or request matching"),
+						annotation.newInstance(ClassUtils.forName("jdk.jfr.StackTrace", classLoader), false));
+				Class<?> valueDescriptor = ClassUtils.forName("jdk.jfr.ValueDescriptor", classLoader);
+				Constructor<?> field = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+				List<Object> fields = Arrays.asList(
+						field.newInstance(String.class, "phase",
+								Collections.singletonList(annotation.newInstance(label, "Phase"))),
+						field.newInstance(String.class, "detail",
+								Collections.singletonList(annotation.newInstance(label, "Detail"))));
+				Class<?> factoryClass = ClassUtils.forName("jdk.jfr.EventFactory", classLoader);
+				Object factory = factoryClass.getMethod("create", List.class, List.class).invoke(null, annotations,
+						fields);
+				return new PhaseEventType(factory, factoryClass, ClassUtils.forName("jdk.jfr.Event", classLoader));
+			}
+			catch (Throwable ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to register the JFR event [" + EVENT_NAME + "], JFR events will not be emitted",
+							ex);
+				}
+				return null;
+			}
+		}
+
+		Object begin(String phase, String detail) {
+			try {
+				Object event = this.newEvent.invoke(this.factory);
+				if (!(boolean) this.isEnabled.invoke(event)) {
+					return null;
+				}
+				this.set.invoke(event, 0, phase);
+				this.set.invoke(event, 1, detail);
+				this.begin.invoke(event);
+				return event;
+			}
+			catch (Throwable ex) {
+				return null;
+			}
+		}
+
+		void end(Object event) {
+			try {
+				this.end.invoke(event);
+				this.commit.invoke(event);
+			}
+			catch (Throwable ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to commit the JFR event [" + EVENT_NAME + "]", ex);
+				}
+			}
+		}
+
+	}
+
+}
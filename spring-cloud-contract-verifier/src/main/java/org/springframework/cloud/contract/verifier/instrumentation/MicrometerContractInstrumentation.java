@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Publishes the phases recorded by {@link ContractInstrumentation} as the
+ * {@code spring.cloud.contract.phase} timer, tagged with the phase name, and each counter
+ * as a {@code spring.cloud.contract.<counter>} counter. Starts listening once bound to a
+ * {@link MeterRegistry}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public class MicrometerContractInstrumentation
+		implements ContractInstrumentation.Listener, MeterBinder, DisposableBean {
+
+	/**
+	 * Name of the timer of the phases.
+	 */
+	public static final String PHASE_TIMER = "spring.cloud.contract.phase";
+
+	/**
+	 * Prefix of the counter names.
+	 */
+	public static final String COUNTER_PREFIX = "spring.cloud.contract.";
+
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry registry;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+		this.timers.clear();
+		this.counters.clear();
+		ContractInstrumentation.removeListener(this);
+		ContractInstrumentation.addListener(this);
+	}
+
+	@Override
+	public void phaseRecorded(String phase, long durationNanos) {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			return;
+		}
+		this.timers.computeIfAbsent(phase, p -> Timer.builder(PHASE_TIMER).tag("phase", p)
+				.description("Duration of Stub Runner and Contract Verifier phases").register(registry))
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void counterIncremented(String counter) {
+		counterIncremented(counter, 1L);
+	}
+
+	@Override
+	public void counterIncremented(String counter, long amount) {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			return;
+		}
+		this.counters.computeIfAbsent(counter, c -> Counter.builder(COUNTER_PREFIX + c).register(registry))
+				.increment(amount);
+	}
+
+	@Override
+	public void destroy() {
+		ContractInstrumentation.removeListener(this);
+		this.registry = null;
+	}
+
+}
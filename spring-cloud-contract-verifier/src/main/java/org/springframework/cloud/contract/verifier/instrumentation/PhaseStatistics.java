@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated durations of a phase recorded by {@link ContractInstrumentation}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class PhaseStatistics {
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+	PhaseStatistics() {
+	}
+
+	void record(long durationNanos) {
+		this.count.increment();
+		this.totalNanos.add(durationNanos);
+		this.maxNanos.accumulate(durationNanos);
+	}
+
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	public double getTotalMillis() {
+		return toMillis(this.totalNanos.sum());
+	}
+
+	public double getMeanMillis() {
+		long count = getCount();
+		return count == 0 ? 0 : toMillis(this.totalNanos.sum() / count);
+	}
+
+	public double getMaxMillis() {
+		return toMillis(this.maxNanos.get());
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+}
@@ -74,4 +74,20 @@ public interface MessageVerifierReceiver<M> {
 	 */
 	M receive(String destination, YamlContract contract);
 
+	/**
+	 * Checks that no message gets sent to the given destination. Implementations that
+	 * can tell when the messaging middleware is idle return as soon as it is, the
+	 * default implementation waits for the whole timeout. A message that gets received
+	 * by this method is consumed.
+	 * @param destination destination from which no message should be received
+	 * @param timeout maximum time to wait for a message
+	 * @param timeUnit param to define the unit of timeout
+	 * @param contract contract related to this method
+	 * @return {@code true} if no message was received
+	 * @since 3.1.0
+	 */
+	default boolean noMessage(String destination, long timeout, TimeUnit timeUnit, @Nullable YamlContract contract) {
+		return receive(destination, timeout, timeUnit, contract) == null;
+	}
+
 }
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.util.MetadataUtil;
 import org.springframework.cloud.contract.verifier.util.SpringCloudContractMetadata;
 
@@ -67,6 +68,17 @@ public class AmqpMetadata implements SpringCloudContractMetadata {
 		return MetadataUtil.fromMetadata(metadata, AmqpMetadata.METADATA_KEY, new AmqpMetadata());
 	}
 
+	/**
+	 * @param contract - contract whose metadata should be read
+	 * @return metadata bound once per contract, or the defaults if there's no contract
+	 */
+	public static AmqpMetadata fromContract(YamlContract contract) {
+		if (contract == null) {
+			return fromMetadata(null);
+		}
+		return contract.boundMetadata(METADATA_KEY, AmqpMetadata::fromMetadata);
+	}
+
 	@Override
 	public String key() {
 		return METADATA_KEY;
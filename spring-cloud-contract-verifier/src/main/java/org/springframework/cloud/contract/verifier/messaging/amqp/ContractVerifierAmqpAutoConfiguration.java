@@ -91,7 +91,7 @@ public class ContractVerifierAmqpAutoConfiguration {
 			return new SpringAmqpStubMessages(this.rabbitTemplate,
 					new MessageListenerAccessor(this.rabbitListenerEndpointRegistry,
 							this.simpleMessageListenerContainers, this.bindings),
-					this.rabbitProperties);
+					this.rabbitProperties, RabbitTemplateMessageCapture.attachTo(this.rabbitTemplate));
 		}
 
 	}
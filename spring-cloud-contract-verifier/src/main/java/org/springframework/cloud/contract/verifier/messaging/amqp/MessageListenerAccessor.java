@@ -17,9 +17,13 @@
 package org.springframework.cloud.contract.verifier.messaging.amqp;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.Binding.DestinationType;
@@ -36,6 +40,10 @@ import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
  * is empty when wired into an auto configuration class so we wrap it in the accessor to
  * access the listeners late at runtime.
  *
+ * The listeners resolved for an exchange and a routing key are indexed, so that the
+ * bindings and the queues of the containers are not scanned for each sent message. The
+ * index is rebuilt whenever the set of registered listener containers changes.
+ *
  * @author Mathias Düsterhöft
  * @since 1.0.2
  */
@@ -47,6 +55,8 @@ class MessageListenerAccessor {
 
 	private final List<Binding> bindings;
 
+	private volatile Index index = new Index(Collections.emptyList());
+
 	MessageListenerAccessor(RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry,
 			List<SimpleMessageListenerContainer> simpleMessageListenerContainers, List<Binding> bindings) {
 		this.rabbitListenerEndpointRegistry = rabbitListenerEndpointRegistry;
@@ -56,10 +66,18 @@ class MessageListenerAccessor {
 
 	List<SimpleMessageListenerContainer> getListenerContainersForDestination(String destination, String routingKey) {
 		List<SimpleMessageListenerContainer> listenerContainers = collectListenerContainers();
-		// we interpret the destination as exchange name and collect all the queues bound
-		// to this exchange
-		Set<String> queueNames = collectQueuesBoundToDestination(destination, routingKey);
-		return getListenersByBoundQueues(listenerContainers, queueNames);
+		Index index = this.index;
+		if (!listenerContainers.equals(index.containers)) {
+			// replaced rather than cleared, so concurrent senders never see a stale entry
+			index = new Index(listenerContainers);
+			this.index = index;
+		}
+		return index.listeners.computeIfAbsent(Arrays.asList(destination, routingKey), key -> {
+			// we interpret the destination as exchange name and collect all the queues
+			// bound to this exchange
+			Set<String> queueNames = collectQueuesBoundToDestination(destination, routingKey);
+			return Collections.unmodifiableList(getListenersByBoundQueues(listenerContainers, queueNames));
+		});
 	}
 
 	private List<SimpleMessageListenerContainer> getListenersByBoundQueues(
@@ -106,4 +124,19 @@ class MessageListenerAccessor {
 		return listenerContainers;
 	}
 
+	/**
+	 * Listeners resolved for the given set of listener containers.
+	 */
+	private static final class Index {
+
+		private final List<SimpleMessageListenerContainer> containers;
+
+		private final Map<List<String>, List<SimpleMessageListenerContainer>> listeners = new ConcurrentHashMap<>();
+
+		private Index(List<SimpleMessageListenerContainer> containers) {
+			this.containers = containers;
+		}
+
+	}
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.amqp;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.Correlation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Captures the messages published by a {@link RabbitTemplate}. It is registered as a
+ * before publish post processor, so it sees every message together with its exchange
+ * and routing key. For each exchange only the last {@code capacity} messages are kept.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+class RabbitTemplateMessageCapture implements MessagePostProcessor {
+
+	static final int DEFAULT_CAPACITY = 100;
+
+	private final int capacity;
+
+	private final Map<String, Deque<CapturedMessage>> messages = new ConcurrentHashMap<>();
+
+	RabbitTemplateMessageCapture(int capacity) {
+		this.capacity = Math.max(1, capacity);
+	}
+
+	static RabbitTemplateMessageCapture attachTo(RabbitTemplate rabbitTemplate) {
+		RabbitTemplateMessageCapture capture = new RabbitTemplateMessageCapture(DEFAULT_CAPACITY);
+		rabbitTemplate.addBeforePublishPostProcessors(capture);
+		return capture;
+	}
+
+	@Override
+	public Message postProcessMessage(Message message) throws AmqpException {
+		return message;
+	}
+
+	@Override
+	public Message postProcessMessage(Message message, Correlation correlation, String exchange, String routingKey) {
+		Deque<CapturedMessage> captured = this.messages.computeIfAbsent(exchange != null ? exchange : "",
+				key -> new ArrayDeque<>());
+		synchronized (captured) {
+			if (captured.size() == this.capacity) {
+				captured.removeFirst();
+			}
+			captured.addLast(new CapturedMessage(message, routingKey));
+		}
+		return message;
+	}
+
+	/**
+	 * @param exchange - exchange to which the message was sent
+	 * @return last message sent to the exchange or {@code null} if none was sent
+	 */
+	CapturedMessage last(String exchange) {
+		Deque<CapturedMessage> captured = this.messages.get(exchange);
+		if (captured == null) {
+			return null;
+		}
+		synchronized (captured) {
+			return captured.peekLast();
+		}
+	}
+
+	static final class CapturedMessage {
+
+		final Message message;
+
+		final String routingKey;
+
+		private CapturedMessage(Message message, String routingKey) {
+			this.message = message;
+			this.routingKey = routingKey;
+		}
+
+	}
+
+}
@@ -16,8 +16,11 @@
 
 package org.springframework.cloud.contract.verifier.messaging.amqp;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import com.rabbitmq.client.Channel;
@@ -35,6 +38,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
 import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
@@ -54,7 +58,14 @@ import static org.springframework.amqp.support.converter.DefaultClassMapper.DEFA
  * spring-amqp/spring-rabbit. It is meant to be used without interacting with a running
  * bus.
  *
- * It relies on the RabbitTemplate to be a spy to be able to capture send messages.
+ * Sent messages are captured by a {@link RabbitTemplateMessageCapture} registered on the
+ * RabbitTemplate. Without it, the RabbitTemplate has to be a spy so that sent messages
+ * can be captured through Mockito verification.
+ *
+ * Channels of channel aware listeners are created once per listener container and
+ * reused until they get closed. Channels that report to be closed without a close reason
+ * (e.g. mocks) are reused as well. Each thread gets its own channels, all of them get
+ * closed when the verifier is destroyed.
  *
  * Messages are not sent to the bus - but are handed over to a
  * {@link SimpleMessageListenerContainer} which allows us to test the full deserialization
@@ -63,7 +74,7 @@ import static org.springframework.amqp.support.converter.DefaultClassMapper.DEFA
  * @author Mathias Düsterhöft
  * @since 1.0.2
  */
-public class SpringAmqpStubMessages implements MessageVerifier<Message> {
+public class SpringAmqpStubMessages implements MessageVerifier<Message>, DisposableBean {
 
 	private static final Log log = LogFactory.getLog(SpringAmqpStubMessages.class);
 
@@ -71,17 +82,31 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 
 	private final MessageListenerAccessor messageListenerAccessor;
 
-	private RabbitProperties rabbitProperties;
+	private final RabbitTemplateMessageCapture messageCapture;
+
+	// channels must not be shared between threads
+	private final ThreadLocal<Map<SimpleMessageListenerContainer, Channel>> channels = ThreadLocal
+			.withInitial(HashMap::new);
+
+	private final Set<Channel> createdChannels = ConcurrentHashMap.newKeySet();
+
+	private final RabbitProperties rabbitProperties;
 
 	@Autowired
 	public SpringAmqpStubMessages(RabbitTemplate rabbitTemplate, MessageListenerAccessor messageListenerAccessor,
 			RabbitProperties rabbitProperties) {
-		Assert.notNull(rabbitTemplate, "RabbitTemplate must be set");
+		this(rabbitTemplate, messageListenerAccessor, rabbitProperties, null);
 		Assert.isTrue(mockingDetails(rabbitTemplate).isSpy() || mockingDetails(rabbitTemplate).isMock(),
 				"StubRunner AMQP will work only if RabbiTemplate is a spy");
+	}
+
+	SpringAmqpStubMessages(RabbitTemplate rabbitTemplate, MessageListenerAccessor messageListenerAccessor,
+			RabbitProperties rabbitProperties, RabbitTemplateMessageCapture messageCapture) {
+		Assert.notNull(rabbitTemplate, "RabbitTemplate must be set");
 		this.rabbitTemplate = rabbitTemplate;
 		this.messageListenerAccessor = messageListenerAccessor;
 		this.rabbitProperties = rabbitProperties;
+		this.messageCapture = messageCapture;
 	}
 
 	@Override
@@ -102,9 +127,8 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 
 	public void mergeMessagePropertiesFromMetadata(YamlContract contract, Message message) {
 		if (contract != null && contract.metadata.containsKey(AmqpMetadata.METADATA_KEY)) {
-			AmqpMetadata amqpMetadata = AmqpMetadata.fromMetadata(contract.metadata);
-			ContractVerifierMessageMetadata messageMetadata = ContractVerifierMessageMetadata
-					.fromMetadata(contract.metadata);
+			AmqpMetadata amqpMetadata = AmqpMetadata.fromContract(contract);
+			ContractVerifierMessageMetadata messageMetadata = ContractVerifierMessageMetadata.fromContract(contract);
 			boolean isInput = isInputMessage(messageMetadata);
 			MessageProperties fromMetadata = isInput ? amqpMetadata.getInput().getMessageProperties()
 					: amqpMetadata.getOutputMessage().getMessageProperties();
@@ -144,8 +168,7 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 			Object messageListener = listenerContainer.getMessageListener();
 			if (isChannelAwareListener(listenerContainer, messageListener)) {
 				try {
-					((ChannelAwareMessageListener) messageListener).onMessage(message,
-							createChannel(listenerContainer, transactionalChannel()));
+					((ChannelAwareMessageListener) messageListener).onMessage(message, channel(listenerContainer));
 				}
 				catch (Exception e) {
 					throw new RuntimeException(e);
@@ -157,6 +180,31 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 		}
 	}
 
+	private Channel channel(SimpleMessageListenerContainer listenerContainer) {
+		Map<SimpleMessageListenerContainer, Channel> channels = this.channels.get();
+		Channel channel = channels.get(listenerContainer);
+		if (channel != null && !isClosed(channel)) {
+			return channel;
+		}
+		if (channel != null) {
+			this.createdChannels.remove(channel);
+		}
+		channel = createChannel(listenerContainer, transactionalChannel());
+		if (channel == null) {
+			log.warn("No channel could be created for the listener container [" + listenerContainer
+					+ "], the channel aware listener will get a null channel");
+			channels.remove(listenerContainer);
+			return null;
+		}
+		channels.put(listenerContainer, channel);
+		this.createdChannels.add(channel);
+		return channel;
+	}
+
+	private boolean isClosed(Channel channel) {
+		return !channel.isOpen() && channel.getCloseReason() != null;
+	}
+
 	Channel createChannel(SimpleMessageListenerContainer listenerContainer, boolean transactional) {
 		return listenerContainer.getConnectionFactory().createConnection().createChannel(transactional);
 	}
@@ -177,6 +225,9 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 
 	@Override
 	public Message receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		if (this.messageCapture != null) {
+			return receiveCaptured(destination);
+		}
 		ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
 		ArgumentCaptor<String> routingKeyCaptor = ArgumentCaptor.forClass(String.class);
 		verify(this.rabbitTemplate, atLeastOnce()).send(eq(destination), routingKeyCaptor.capture(),
@@ -201,9 +252,39 @@ public class SpringAmqpStubMessages implements MessageVerifier<Message> {
 		return message;
 	}
 
+	private Message receiveCaptured(String destination) {
+		RabbitTemplateMessageCapture.CapturedMessage captured = this.messageCapture.last(destination);
+		if (captured == null || captured.message == null) {
+			log.info("no messages found on destination [" + destination + "]");
+			return null;
+		}
+		if (captured.routingKey != null && !captured.routingKey.isEmpty()) {
+			log.info("routing key passed [" + captured.routingKey + "]");
+			captured.message.getMessageProperties().setReceivedRoutingKey(captured.routingKey);
+		}
+		return captured.message;
+	}
+
 	@Override
 	public Message receive(String destination, YamlContract contract) {
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
 	}
 
+	@Override
+	public void destroy() {
+		for (Channel channel : this.createdChannels) {
+			try {
+				if (channel.isOpen()) {
+					channel.close();
+				}
+			}
+			catch (Exception ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to close the channel [" + channel + "]", ex);
+				}
+			}
+		}
+		this.createdChannels.clear();
+	}
+
 }
@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
 import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessageMetadata;
+import org.springframework.cloud.contract.verifier.messaging.internal.MessagingQuiescence;
 import org.springframework.util.StringUtils;
 
 /**
@@ -61,10 +62,9 @@ public class CamelStubMessages implements MessageVerifier<Message> {
 		try {
 			Exchange exchange = new DefaultExchange(this.context);
 			exchange.setIn(message);
-			StandaloneMetadata standaloneMetadata = StandaloneMetadata
-					.fromMetadata(contract != null ? contract.metadata : null);
+			StandaloneMetadata standaloneMetadata = StandaloneMetadata.fromContract(contract);
 			ContractVerifierMessageMetadata verifierMessageMetadata = ContractVerifierMessageMetadata
-					.fromMetadata(contract != null ? contract.metadata : null);
+					.fromContract(contract);
 			String finalDestination = finalDestination(destination,
 					additionalOptions(verifierMessageMetadata, standaloneMetadata), verifierMessageMetadata);
 			log.info("Will send a message to URI [" + finalDestination + "]");
@@ -103,10 +103,9 @@ public class CamelStubMessages implements MessageVerifier<Message> {
 	@Override
 	public Message receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
 		try {
-			StandaloneMetadata standaloneMetadata = StandaloneMetadata
-					.fromMetadata(contract != null ? contract.metadata : null);
+			StandaloneMetadata standaloneMetadata = StandaloneMetadata.fromContract(contract);
 			ContractVerifierMessageMetadata verifierMessageMetadata = ContractVerifierMessageMetadata
-					.fromMetadata(contract != null ? contract.metadata : null);
+					.fromContract(contract);
 			String finalDestination = finalDestination(destination,
 					additionalOptions(verifierMessageMetadata, standaloneMetadata), verifierMessageMetadata);
 			log.info("Will receive a message from URI [" + finalDestination + "]");
@@ -125,4 +124,25 @@ public class CamelStubMessages implements MessageVerifier<Message> {
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
 	}
 
+	@Override
+	public boolean noMessage(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		try {
+			StandaloneMetadata standaloneMetadata = StandaloneMetadata.fromContract(contract);
+			ContractVerifierMessageMetadata verifierMessageMetadata = ContractVerifierMessageMetadata
+					.fromContract(contract);
+			String finalDestination = finalDestination(destination,
+					additionalOptions(verifierMessageMetadata, standaloneMetadata), verifierMessageMetadata);
+			log.info("Will check that no message is sent to URI [" + finalDestination + "]");
+			// Camel knows the exchanges that are being processed by any route
+			return MessagingQuiescence.receiveUntilIdle(timeout, timeUnit,
+					() -> this.context.getInflightRepository().size() == 0,
+					millis -> this.consumerTemplate.receive(finalDestination, millis)) == null;
+		}
+		catch (Exception e) {
+			log.error("Exception occurred while trying to read a message from " + " a channel with name [" + destination
+					+ "]", e);
+			throw new IllegalStateException(e);
+		}
+	}
+
 }
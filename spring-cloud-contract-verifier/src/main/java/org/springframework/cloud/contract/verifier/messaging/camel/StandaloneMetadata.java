@@ -18,6 +18,7 @@ package org.springframework.cloud.contract.verifier.messaging.camel;
 
 import java.util.Map;
 
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.util.MetadataUtil;
 import org.springframework.cloud.contract.verifier.util.SpringCloudContractMetadata;
 
@@ -77,6 +78,17 @@ public class StandaloneMetadata implements SpringCloudContractMetadata {
 		return MetadataUtil.fromMetadata(metadata, StandaloneMetadata.METADATA_KEY, new StandaloneMetadata());
 	}
 
+	/**
+	 * @param contract - contract whose metadata should be read
+	 * @return metadata bound once per contract, or the defaults if there's no contract
+	 */
+	public static StandaloneMetadata fromContract(YamlContract contract) {
+		if (contract == null) {
+			return fromMetadata(null);
+		}
+		return contract.boundMetadata(METADATA_KEY, StandaloneMetadata::fromMetadata);
+	}
+
 	@Override
 	public String key() {
 		return METADATA_KEY;
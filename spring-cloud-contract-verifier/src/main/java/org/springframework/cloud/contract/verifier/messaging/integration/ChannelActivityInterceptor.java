@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.integration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.integration.channel.AbstractExecutorChannel;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.FixedSubscriberChannel;
+import org.springframework.integration.channel.QueueChannelOperations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * Global channel interceptor that tracks the messages that are being sent through the
+ * message channels. The application is considered idle when no message is being sent or
+ * handled and no message waits in a queue channel, which lets the verifier check that no
+ * message got sent without waiting for the whole receive timeout.
+ *
+ * Messages handed over to an executor can't be tracked, so once a message went through a
+ * channel that is neither synchronous nor a queue channel, the application is never
+ * considered idle and the verifier waits for the whole timeout.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public class ChannelActivityInterceptor implements ExecutorChannelInterceptor {
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final Map<MessageChannel, Boolean> trackableChannels = new ConcurrentHashMap<>();
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		this.inFlight.incrementAndGet();
+		this.trackableChannels.computeIfAbsent(channel, ChannelActivityInterceptor::trackable);
+		return message;
+	}
+
+	@Override
+	public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+		this.inFlight.decrementAndGet();
+	}
+
+	// called by the pollers of queue channels
+	@Override
+	public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+		this.inFlight.incrementAndGet();
+		return message;
+	}
+
+	@Override
+	public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+			Exception ex) {
+		this.inFlight.decrementAndGet();
+	}
+
+	/**
+	 * @return {@code true} if no message is being sent or handled, no message waits in a
+	 * queue channel and all the messages went through channels whose activity can be
+	 * tracked
+	 */
+	public boolean isIdle() {
+		if (this.inFlight.get() != 0) {
+			return false;
+		}
+		for (Map.Entry<MessageChannel, Boolean> entry : this.trackableChannels.entrySet()) {
+			if (!entry.getValue()) {
+				return false;
+			}
+			MessageChannel channel = entry.getKey();
+			if (channel instanceof QueueChannelOperations && ((QueueChannelOperations) channel).getQueueSize() > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean trackable(MessageChannel channel) {
+		if (channel instanceof DirectChannel || channel instanceof FixedSubscriberChannel
+				|| channel instanceof QueueChannelOperations) {
+			return true;
+		}
+		if (channel instanceof AbstractExecutorChannel) {
+			// e.g. a publish subscribe channel without an executor dispatches synchronously
+			try {
+				return new DirectFieldAccessor(channel).getPropertyValue("executor") == null;
+			}
+			catch (RuntimeException ex) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+}
@@ -28,6 +28,7 @@ import org.springframework.cloud.contract.verifier.messaging.stream.ContractVeri
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.config.GlobalChannelInterceptor;
 import org.springframework.messaging.Message;
 
 /**
@@ -51,6 +52,19 @@ public class ContractVerifierIntegrationConfiguration {
 		return new ContractVerifierHelper(exchange);
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(GlobalChannelInterceptor.class)
+	static class ChannelActivityConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		@GlobalChannelInterceptor
+		ChannelActivityInterceptor contractVerifierChannelActivityInterceptor() {
+			return new ChannelActivityInterceptor();
+		}
+
+	}
+
 }
 
 class ContractVerifierHelper extends ContractVerifierMessaging<Message<?>> {
@@ -25,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
+import org.springframework.cloud.contract.verifier.messaging.internal.MessagingQuiescence;
 import org.springframework.context.ApplicationContext;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -82,4 +83,23 @@ public class SpringIntegrationStubMessages implements MessageVerifier<Message<?>
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
 	}
 
+	@Override
+	public boolean noMessage(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		ChannelActivityInterceptor activity = this.context.getBeanProvider(ChannelActivityInterceptor.class)
+				.getIfAvailable();
+		if (activity == null) {
+			return MessageVerifier.super.noMessage(destination, timeout, timeUnit, contract);
+		}
+		try {
+			PollableChannel messageChannel = this.context.getBean(destination, PollableChannel.class);
+			return MessagingQuiescence.receiveUntilIdle(timeout, timeUnit, activity::isIdle,
+					messageChannel::receive) == null;
+		}
+		catch (Exception e) {
+			log.error("Exception occurred while trying to read a message from " + " a channel with name [" + destination
+					+ "]", e);
+			throw new IllegalStateException(e);
+		}
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.cloud.contract.verifier.messaging.internal;
 
 import java.util.Map;
 
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.util.MetadataUtil;
 import org.springframework.cloud.contract.verifier.util.SpringCloudContractMetadata;
 
@@ -52,9 +53,34 @@ public class ContractVerifierMessageMetadata implements SpringCloudContractMetad
 	}
 
 	public static ContractVerifierMessageMetadata fromMetadata(Map<String, Object> metadata) {
+		Object entry = metadata != null ? metadata.get(METADATA_KEY) : null;
+		if (entry instanceof ContractVerifierMessageMetadata) {
+			return (ContractVerifierMessageMetadata) entry;
+		}
 		return MetadataUtil.fromMetadata(metadata, METADATA_KEY, new ContractVerifierMessageMetadata());
 	}
 
+	/**
+	 * @param contract - contract whose metadata should be read
+	 * @return metadata bound once per contract, or the defaults if there's no contract
+	 */
+	public static ContractVerifierMessageMetadata fromContract(YamlContract contract) {
+		if (contract == null) {
+			return fromMetadata(null);
+		}
+		return contract.boundMetadata(METADATA_KEY, ContractVerifierMessageMetadata::fromMetadata);
+	}
+
+	/**
+	 * @param contract - contract that is being sent or received
+	 * @param messageType - type of the message
+	 * @return view of the contract carrying the message type, the contract itself is not
+	 * modified so it can be shared by concurrent invocations
+	 */
+	public static YamlContract withMessageType(YamlContract contract, MessageType messageType) {
+		return contract.withMetadataEntry(METADATA_KEY, new ContractVerifierMessageMetadata(messageType));
+	}
+
 	@Override
 	public String key() {
 		return METADATA_KEY;
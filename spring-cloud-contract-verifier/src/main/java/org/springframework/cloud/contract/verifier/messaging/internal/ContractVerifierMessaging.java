@@ -17,6 +17,7 @@
 package org.springframework.cloud.contract.verifier.messaging.internal;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -29,7 +30,9 @@ import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
 /**
  * Wrapper around messaging. Abstracts all message related operations like sending,
  * converting and receiving. Delegates the actual work to an implementation of a
- * {@link MessageVerifier}.
+ * {@link MessageVerifier}. Contracts passed to it are never modified, the type of the
+ * message is passed to the {@link MessageVerifier} with a view of the contract, so the
+ * same contract can be used by concurrent invocations.
  *
  * @param <M> message type
  * @author Dave Syer
@@ -38,6 +41,8 @@ public class ContractVerifierMessaging<M> {
 
 	private static final Log log = LogFactory.getLog(ContractVerifierMessaging.class);
 
+	private static final long NO_MESSAGE_TIMEOUT_SECONDS = 5;
+
 	private final MessageVerifier<M> exchange;
 
 	public ContractVerifierMessaging(MessageVerifier<M> exchange) {
@@ -48,10 +53,8 @@ public class ContractVerifierMessaging<M> {
 	}
 
 	public void send(ContractVerifierMessage message, String destination, @Nullable YamlContract contract) {
-		if (contract != null) {
-			setMessageType(contract, ContractVerifierMessageMetadata.MessageType.INPUT);
-		}
-		this.exchange.send(message.getPayload(), message.getHeaders(), destination, contract);
+		this.exchange.send(message.getPayload(), message.getHeaders(), destination,
+				withMessageType(contract, ContractVerifierMessageMetadata.MessageType.INPUT));
 	}
 
 	public void send(ContractVerifierMessage message, String destination) {
@@ -59,21 +62,35 @@ public class ContractVerifierMessaging<M> {
 	}
 
 	public ContractVerifierMessage receive(String destination, @Nullable YamlContract contract) {
-		if (contract != null) {
-			setMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT);
-		}
-		return convert(this.exchange.receive(destination, contract));
+		return convert(this.exchange.receive(destination,
+				withMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT)));
 	}
 
-	private void setMessageType(YamlContract contract, ContractVerifierMessageMetadata.MessageType output) {
-		contract.metadata.put(ContractVerifierMessageMetadata.METADATA_KEY,
-				new ContractVerifierMessageMetadata(output));
+	private YamlContract withMessageType(YamlContract contract, ContractVerifierMessageMetadata.MessageType type) {
+		// the contract may be shared by concurrent tests, so it's never modified
+		return contract != null ? ContractVerifierMessageMetadata.withMessageType(contract, type) : null;
 	}
 
 	public ContractVerifierMessage receive(String destination) {
 		return receive(destination, null);
 	}
 
+	/**
+	 * Checks that no message gets sent to the given destination. Returns as soon as the
+	 * messaging middleware is idle if the {@link MessageVerifier} can tell it.
+	 * @param destination - destination to which no message should be sent
+	 * @param contract - contract related to this check
+	 * @return {@code true} if no message was sent to the destination
+	 */
+	public boolean noMessage(String destination, @Nullable YamlContract contract) {
+		return this.exchange.noMessage(destination, NO_MESSAGE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+				withMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT));
+	}
+
+	public boolean noMessage(String destination) {
+		return noMessage(destination, null);
+	}
+
 	public <T> ContractVerifierMessage create(T payload, Map<String, Object> headers) {
 		return new ContractVerifierMessage(payload, headers);
 	}
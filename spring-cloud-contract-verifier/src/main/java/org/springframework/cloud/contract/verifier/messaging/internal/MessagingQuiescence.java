@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongFunction;
+
+/**
+ * Waits for a message until the messaging middleware is idle. Used to check that no
+ * message gets sent without waiting for the whole receive timeout. The destination is
+ * polled in short slices and the wait is over as soon as a message arrives, or the
+ * middleware reports that nothing is in flight for a whole quiet period, or the timeout
+ * elapses.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class MessagingQuiescence {
+
+	/**
+	 * Default time for which the middleware has to stay idle.
+	 */
+	public static final long DEFAULT_QUIET_PERIOD_MILLIS = 100;
+
+	private static final long POLL_SLICE_MILLIS = 20;
+
+	private MessagingQuiescence() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @param timeout - maximum time to wait for a message
+	 * @param timeUnit - unit of the timeout
+	 * @param idle - tells whether the middleware has no messages in flight
+	 * @param poll - polls the destination for up to the given number of milliseconds
+	 * @param <M> - message type
+	 * @return received message or {@code null} if the middleware went idle or the timeout
+	 * elapsed without a message
+	 */
+	public static <M> M receiveUntilIdle(long timeout, TimeUnit timeUnit, BooleanSupplier idle,
+			LongFunction<M> poll) {
+		return receiveUntilIdle(timeout, timeUnit, DEFAULT_QUIET_PERIOD_MILLIS, idle, poll);
+	}
+
+	static <M> M receiveUntilIdle(long timeout, TimeUnit timeUnit, long quietPeriodMillis, BooleanSupplier idle,
+			LongFunction<M> poll) {
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		long quietPeriod = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+		long idleSince = -1;
+		while (true) {
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remaining <= 0) {
+				return null;
+			}
+			M message = poll.apply(Math.min(POLL_SLICE_MILLIS, remaining));
+			if (message != null) {
+				return message;
+			}
+			long now = System.nanoTime();
+			if (!idle.getAsBoolean()) {
+				idleSince = -1;
+			}
+			else if (idleSince < 0) {
+				idleSince = now;
+			}
+			else if (now - idleSince >= quietPeriod) {
+				return null;
+			}
+		}
+	}
+
+}
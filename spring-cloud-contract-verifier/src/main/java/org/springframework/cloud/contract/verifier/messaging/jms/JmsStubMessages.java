@@ -21,14 +21,17 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import javax.jms.BytesMessage;
+import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.Message;
+import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.jms.support.JmsUtils;
 
 class JmsStubMessages implements MessageVerifier<Message> {
 
@@ -45,8 +48,23 @@ class JmsStubMessages implements MessageVerifier<Message> {
 
 	@Override
 	public Message receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
-		jmsTemplate.setReceiveTimeout(timeUnit.toMillis(timeout));
-		return jmsTemplate.receive(destination);
+		// the timeout is applied per call, the template is shared by concurrent tests
+		long receiveTimeout = timeUnit.toMillis(timeout);
+		return jmsTemplate.execute(session -> {
+			Destination resolved = jmsTemplate.getDestinationResolver().resolveDestinationName(session, destination,
+					jmsTemplate.isPubSubDomain());
+			MessageConsumer consumer = session.createConsumer(resolved);
+			try {
+				Message message = receiveTimeout > 0 ? consumer.receive(receiveTimeout) : consumer.receiveNoWait();
+				if (message != null && session.getTransacted()) {
+					JmsUtils.commitIfNecessary(session);
+				}
+				return message;
+			}
+			finally {
+				JmsUtils.closeMessageConsumer(consumer);
+			}
+		}, true);
 	}
 
 	@Override
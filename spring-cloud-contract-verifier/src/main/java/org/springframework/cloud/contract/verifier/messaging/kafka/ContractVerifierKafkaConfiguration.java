@@ -23,6 +23,7 @@ import java.util.Map;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -56,8 +57,10 @@ public class ContractVerifierKafkaConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	MessageVerifier<Message<?>> contractVerifierKafkaMessageExchange(KafkaTemplate kafkaTemplate,
-			EmbeddedKafkaBroker broker, KafkaProperties kafkaProperties, KafkaStubMessagesInitializer initializer) {
-		return new KafkaStubMessages(kafkaTemplate, broker, kafkaProperties, initializer);
+			EmbeddedKafkaBroker broker, KafkaProperties kafkaProperties, KafkaStubMessagesInitializer initializer,
+			@Value("${stubrunner.kafka.send.pipelined:false}") boolean pipelined,
+			@Value("${stubrunner.kafka.send.batch-size:" + KafkaStubMessages.DEFAULT_BATCH_SIZE + "}") int batchSize) {
+		return new KafkaStubMessages(kafkaTemplate, broker, kafkaProperties, initializer, pipelined, batchSize);
 	}
 
 	@Bean
@@ -85,6 +88,9 @@ class ContractVerifierKafkaHelper extends ContractVerifierMessaging<Message<?>>
 
 	@Override
 	protected ContractVerifierMessage convert(Message<?> message) {
+		if (message == null) {
+			return null;
+		}
 		return new ContractVerifierMessage(message.getPayload(), convertHeaders(message.getHeaders()));
 	}
 
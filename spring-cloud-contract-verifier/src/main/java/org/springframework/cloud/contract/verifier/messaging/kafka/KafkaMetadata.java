@@ -18,6 +18,7 @@ package org.springframework.cloud.contract.verifier.messaging.kafka;
 
 import java.util.Map;
 
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.util.MetadataUtil;
 import org.springframework.cloud.contract.verifier.util.SpringCloudContractMetadata;
 
@@ -64,6 +65,17 @@ public class KafkaMetadata implements SpringCloudContractMetadata {
 		return MetadataUtil.fromMetadata(metadata, KafkaMetadata.METADATA_KEY, new KafkaMetadata());
 	}
 
+	/**
+	 * @param contract - contract whose metadata should be read
+	 * @return metadata bound once per contract, or the defaults if there's no contract
+	 */
+	public static KafkaMetadata fromContract(YamlContract contract) {
+		if (contract == null) {
+			return fromMetadata(null);
+		}
+		return contract.boundMetadata(METADATA_KEY, KafkaMetadata::fromMetadata);
+	}
+
 	@Override
 	public String key() {
 		return METADATA_KEY;
@@ -16,8 +16,15 @@
 
 package org.springframework.cloud.contract.verifier.messaging.kafka;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
 import net.minidev.json.JSONObject;
@@ -27,57 +34,157 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
+import org.springframework.cloud.contract.verifier.messaging.internal.MessagingQuiescence;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.kafka.support.converter.MessagingMessageConverter;
 import org.springframework.kafka.test.EmbeddedKafkaBroker;
-import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.concurrent.ListenableFuture;
 
-class KafkaStubMessages implements MessageVerifier<Message<?>> {
+/**
+ * {@link MessageVerifier} for Kafka. Messages are sent to the destination topic set on
+ * each message, so the shared {@link KafkaTemplate} is never mutated. By default each
+ * send waits for the broker acknowledgement. In pipelined mode sends return immediately,
+ * the producer is flushed once per batch and the acknowledgements are awaited before the
+ * next receive.
+ *
+ * Messages are received by a long-lived consumer per topic that polls in the background
+ * and buffers the records per destination, so a receive returns as soon as a record
+ * arrives. A receive returns the newest buffered record and drops the older ones, so
+ * records left over by previous tests are never returned instead of the latest one.
+ * Checking that no message got sent returns once the consumer has caught up with the end
+ * of the topic.
+ *
+ * @author Marcin Grzejszczak
+ */
+class KafkaStubMessages implements MessageVerifier<Message<?>>, DisposableBean {
 
 	private static final Log log = LogFactory.getLog(KafkaStubMessages.class);
 
+	static final int DEFAULT_BATCH_SIZE = 100;
+
+	private static final long SEND_TIMEOUT_SECONDS = 5;
+
 	private final KafkaTemplate kafkaTemplate;
 
 	private final Receiver receiver;
 
+	private final boolean pipelined;
+
+	private final int batchSize;
+
+	private final List<ListenableFuture<?>> pendingSends = new ArrayList<>();
+
 	KafkaStubMessages(KafkaTemplate kafkaTemplate, EmbeddedKafkaBroker broker, KafkaProperties kafkaProperties,
 			KafkaStubMessagesInitializer initializer) {
+		this(kafkaTemplate, broker, kafkaProperties, initializer, false, DEFAULT_BATCH_SIZE);
+	}
+
+	KafkaStubMessages(KafkaTemplate kafkaTemplate, EmbeddedKafkaBroker broker, KafkaProperties kafkaProperties,
+			KafkaStubMessagesInitializer initializer, boolean pipelined, int batchSize) {
 		this.kafkaTemplate = kafkaTemplate;
 		Map<String, Consumer> topicToConsumer = initializer.initialize(broker, kafkaProperties);
 		this.receiver = new Receiver(topicToConsumer);
+		this.pipelined = pipelined;
+		this.batchSize = Math.max(1, batchSize);
 	}
 
 	@Override
 	public void send(Message<?> message, String destination, YamlContract contract) {
-		String defaultTopic = this.kafkaTemplate.getDefaultTopic();
-		try {
-			this.kafkaTemplate.setDefaultTopic(destination);
-			if (log.isDebugEnabled()) {
-				log.debug("Will send a message [" + message + "] to destination [" + destination + "]");
-			}
-			this.kafkaTemplate.send(message).get(5, TimeUnit.SECONDS);
+		ListenableFuture<?> future = sendAsync(message, destination);
+		if (!this.pipelined) {
 			this.kafkaTemplate.flush();
+			await(future);
+			return;
 		}
-		catch (Exception ex) {
+		List<ListenableFuture<?>> batch = null;
+		synchronized (this.pendingSends) {
+			this.pendingSends.add(future);
+			if (this.pendingSends.size() >= this.batchSize) {
+				batch = drainPendingSends();
+			}
+		}
+		if (batch != null) {
+			flush(batch);
+		}
+	}
+
+	/**
+	 * Sends the message to the given topic without waiting for the broker
+	 * acknowledgement.
+	 * @param message - message to send
+	 * @param destination - topic to which the message should be sent, unless the message
+	 * has a {@link KafkaHeaders#TOPIC} header
+	 * @return future completed once the broker acknowledged the message
+	 */
+	ListenableFuture<?> sendAsync(Message<?> message, String destination) {
+		if (log.isDebugEnabled()) {
+			log.debug("Will send a message [" + message + "] to destination [" + destination + "]");
+		}
+		Message<?> toSend = MessageBuilder.fromMessage(message).setHeaderIfAbsent(KafkaHeaders.TOPIC, destination)
+				.build();
+		return this.kafkaTemplate.send(toSend);
+	}
+
+	/**
+	 * Flushes the producer and waits for the acknowledgements of all the pipelined
+	 * sends.
+	 */
+	void flushPendingSends() {
+		List<ListenableFuture<?>> batch;
+		synchronized (this.pendingSends) {
+			batch = drainPendingSends();
+		}
+		if (!batch.isEmpty()) {
+			flush(batch);
+		}
+	}
+
+	private List<ListenableFuture<?>> drainPendingSends() {
+		List<ListenableFuture<?>> batch = new ArrayList<>(this.pendingSends);
+		this.pendingSends.clear();
+		return batch;
+	}
+
+	private void flush(List<ListenableFuture<?>> batch) {
+		this.kafkaTemplate.flush();
+		for (ListenableFuture<?> future : batch) {
+			await(future);
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Flushed [" + batch.size() + "] pipelined messages");
+		}
+	}
+
+	private void await(ListenableFuture<?> future) {
+		try {
+			future.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
 			throw new IllegalStateException(ex);
 		}
-		finally {
-			this.kafkaTemplate.setDefaultTopic(defaultTopic);
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
 		}
 	}
 
 	@Override
 	public Message receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		flushPendingSends();
 		return this.receiver.receive(destination, timeout, timeUnit, contract);
 	}
 
@@ -86,12 +193,28 @@ class KafkaStubMessages implements MessageVerifier<Message<?>> {
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
 	}
 
+	@Override
+	public boolean noMessage(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		flushPendingSends();
+		return this.receiver.noMessage(destination, timeout, timeUnit);
+	}
+
 	@Override
 	public void send(Object payload, Map headers, String destination, YamlContract contract) {
 		Message<?> message = MessageBuilder.createMessage(payload, new MessageHeaders(headers));
 		send(message, destination, contract);
 	}
 
+	@Override
+	public void destroy() {
+		try {
+			flushPendingSends();
+		}
+		finally {
+			this.receiver.close();
+		}
+	}
+
 }
 
 class Receiver {
@@ -102,20 +225,49 @@ class Receiver {
 
 	private final Map<String, Consumer> consumers;
 
+	private final Map<String, TopicPoller> pollers = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
 	Receiver(Map<String, Consumer> consumers) {
 		this.consumers = consumers;
 	}
 
 	Message receive(String topic, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		Message message = poller(topic).take(timeout, timeUnit);
+		if (log.isDebugEnabled()) {
+			log.debug(message != null ? "Got a record for destination [" + topic + "]"
+					: "No record received for destination [" + topic + "] within [" + timeUnit.toMillis(timeout)
+							+ "] ms");
+		}
+		return message;
+	}
+
+	/**
+	 * Returns as soon as the consumer of the topic has caught up with the end of the
+	 * topic and got no records for a quiet period.
+	 */
+	boolean noMessage(String topic, long timeout, TimeUnit timeUnit) {
+		TopicPoller poller = poller(topic);
+		return MessagingQuiescence.receiveUntilIdle(timeout, timeUnit, poller::isCaughtUp,
+				millis -> poller.take(millis, TimeUnit.MILLISECONDS)) == null;
+	}
+
+	private TopicPoller poller(String topic) {
 		Consumer consumer = this.consumers.get(topic);
 		if (consumer == null) {
 			throw new IllegalStateException("No consumer set up for topic [" + topic + "]");
 		}
-		ConsumerRecord<?, ?> record = KafkaTestUtils.getSingleRecord(consumer, topic, timeUnit.toMillis(timeout));
-		if (log.isDebugEnabled()) {
-			log.debug("Got a single record for destination [" + topic + "]");
+		if (this.closed) {
+			throw new IllegalStateException("The receiver is already closed");
 		}
-		return toMessage(consumer, record);
+		return this.pollers.computeIfAbsent(topic, t -> new TopicPoller(t, consumer));
+	}
+
+	void close() {
+		this.closed = true;
+		this.pollers.values().forEach(TopicPoller::close);
+		this.pollers.clear();
 	}
 
 	Message toMessage(Consumer consumer, ConsumerRecord<?, ?> record) {
@@ -167,4 +319,135 @@ class Receiver {
 		return textPayload;
 	}
 
+	/**
+	 * Owns the consumer of a topic. Polls it on a dedicated thread, since Kafka consumers
+	 * are not thread safe, and buffers the converted records until they get received. The
+	 * buffer is bounded, the oldest records get dropped once it is full.
+	 */
+	private final class TopicPoller implements Runnable {
+
+		private static final long POLL_TIMEOUT_MILLIS = 500;
+
+		private static final int MAX_BUFFERED_RECORDS = 100;
+
+		private final String topic;
+
+		private final Consumer consumer;
+
+		private final BlockingDeque<Message> buffer = new LinkedBlockingDeque<>(MAX_BUFFERED_RECORDS);
+
+		private final Thread thread;
+
+		private volatile boolean running = true;
+
+		private volatile RuntimeException failure;
+
+		private volatile boolean caughtUp;
+
+		private TopicPoller(String topic, Consumer consumer) {
+			this.topic = topic;
+			this.consumer = consumer;
+			this.thread = new Thread(this, "kafka-stub-messages-" + topic);
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (this.running) {
+					ConsumerRecords<?, ?> records = this.consumer.poll(Duration.ofMillis(POLL_TIMEOUT_MILLIS));
+					for (ConsumerRecord<?, ?> record : records.records(this.topic)) {
+						buffer(toMessage(this.consumer, record));
+					}
+					this.caughtUp = records.isEmpty() && reachedEndOffsets();
+				}
+			}
+			catch (WakeupException ex) {
+				// closing
+			}
+			catch (RuntimeException ex) {
+				log.error("Failed to poll records from topic [" + this.topic + "]", ex);
+				this.failure = ex;
+			}
+			finally {
+				this.consumer.close();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private boolean reachedEndOffsets() {
+			Set<TopicPartition> assignment = this.consumer.assignment();
+			if (assignment.isEmpty()) {
+				return false;
+			}
+			Map<TopicPartition, Long> endOffsets = this.consumer.endOffsets(assignment);
+			for (TopicPartition partition : assignment) {
+				Long endOffset = endOffsets.get(partition);
+				if (endOffset != null && this.consumer.position(partition) < endOffset) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void buffer(Message message) {
+			while (!this.buffer.offerLast(message)) {
+				this.buffer.pollFirst();
+			}
+		}
+
+		private boolean isCaughtUp() {
+			return this.caughtUp && this.buffer.isEmpty();
+		}
+
+		private Message take(long timeout, TimeUnit timeUnit) {
+			Message newest = drainNewest();
+			if (newest != null) {
+				return newest;
+			}
+			if (this.failure != null) {
+				throw new IllegalStateException("Polling of topic [" + this.topic + "] failed", this.failure);
+			}
+			Message message;
+			try {
+				message = this.buffer.poll(timeout, timeUnit);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+			if (message == null) {
+				return null;
+			}
+			newest = drainNewest();
+			return newest != null ? newest : message;
+		}
+
+		private Message drainNewest() {
+			List<Message> buffered = new ArrayList<>();
+			this.buffer.drainTo(buffered);
+			if (buffered.isEmpty()) {
+				return null;
+			}
+			if (buffered.size() > 1 && log.isDebugEnabled()) {
+				log.debug("Dropping [" + (buffered.size() - 1) + "] older records of topic [" + this.topic
+						+ "] in favour of the newest one");
+			}
+			return buffered.get(buffered.size() - 1);
+		}
+
+		private void close() {
+			this.running = false;
+			this.consumer.wakeup();
+			try {
+				this.thread.join(TimeUnit.SECONDS.toMillis(5));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
 }
@@ -22,6 +22,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifier;
+import org.springframework.cloud.contract.verifier.messaging.integration.ChannelActivityInterceptor;
 import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessage;
 import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessaging;
 import org.springframework.cloud.contract.verifier.messaging.noop.NoOpContractVerifierAutoConfiguration;
@@ -30,6 +31,7 @@ import org.springframework.cloud.stream.binder.test.InputDestination;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.config.GlobalChannelInterceptor;
 import org.springframework.messaging.Message;
 import org.springframework.util.Assert;
 
@@ -48,6 +50,13 @@ public class ContractVerifierStreamAutoConfiguration {
 		return new ContractVerifierHelper(exchange);
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@GlobalChannelInterceptor
+	ChannelActivityInterceptor contractVerifierChannelActivityInterceptor() {
+		return new ChannelActivityInterceptor();
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@ConditionalOnClass(InputDestination.class)
 	static class InputDestinationConfiguration {
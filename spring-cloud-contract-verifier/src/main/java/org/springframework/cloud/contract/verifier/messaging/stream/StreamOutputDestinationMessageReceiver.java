@@ -23,6 +23,8 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifierReceiver;
+import org.springframework.cloud.contract.verifier.messaging.integration.ChannelActivityInterceptor;
+import org.springframework.cloud.contract.verifier.messaging.internal.MessagingQuiescence;
 import org.springframework.cloud.stream.binder.test.OutputDestination;
 import org.springframework.context.ApplicationContext;
 import org.springframework.messaging.Message;
@@ -55,4 +57,23 @@ class StreamOutputDestinationMessageReceiver implements MessageVerifierReceiver<
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
 	}
 
+	@Override
+	public boolean noMessage(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		ChannelActivityInterceptor activity = this.context.getBeanProvider(ChannelActivityInterceptor.class)
+				.getIfAvailable();
+		if (activity == null) {
+			return MessageVerifierReceiver.super.noMessage(destination, timeout, timeUnit, contract);
+		}
+		try {
+			OutputDestination outputDestination = this.context.getBean(OutputDestination.class);
+			return MessagingQuiescence.receiveUntilIdle(timeout, timeUnit, activity::isIdle,
+					millis -> outputDestination.receive(millis, destination)) == null;
+		}
+		catch (Exception e) {
+			log.error("Exception occurred while trying to read a message from " + " a channel with name [" + destination
+					+ "]", e);
+			throw new IllegalStateException(e);
+		}
+	}
+
 }
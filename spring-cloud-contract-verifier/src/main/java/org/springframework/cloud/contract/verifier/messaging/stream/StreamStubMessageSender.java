@@ -39,7 +39,7 @@ class StreamStubMessageSender implements MessageVerifierSender<Message<?>> {
 
 	private final ContractVerifierStreamMessageBuilder builder = new ContractVerifierStreamMessageBuilder();
 
-	private BinderAwareChannelResolver resolver;
+	private volatile BinderAwareChannelResolver resolver;
 
 	StreamStubMessageSender(ApplicationContext context) {
 		this.context = context;
@@ -59,4 +59,9 @@ public class StreamStubMessages implements MessageVerifier<Message<?>> {
 		return this.receiver.receive(destination, contract);
 	}
 
+	@Override
+	public boolean noMessage(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+		return this.receiver.noMessage(destination, timeout, timeUnit, contract);
+	}
+
 }
@@ -77,6 +77,15 @@ public final class ContractScanner {
 		}
 	}
 
+	/**
+	 * Applies the converters to a single file and converts it to {@link Contract}.
+	 * @param file - file to convert
+	 * @return collection of converted contracts, empty if the file is not a contract
+	 */
+	public static Collection<Contract> convertContractFile(File file) {
+		return doCollectContractDescriptors(file);
+	}
+
 	private static Collection<Contract> doCollectContractDescriptors(File file) {
 		if (isContractDescriptor(file)) {
 			return ContractVerifierDslConverter.convertAsCollection(file.getParentFile(), file);
@@ -22,17 +22,23 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.w3c.dom.Document;
@@ -60,6 +66,12 @@ public final class ContractVerifierUtil {
 
 	private static final Log LOG = LogFactory.getLog(ContractVerifierUtil.class);
 
+	private static final Map<String, byte[]> CONTRACT_FILES = new ConcurrentHashMap<>();
+
+	private static final YamlContractConverter CONTRACT_CONVERTER = new YamlContractConverter();
+
+	static final Map<String, List<JsonPath>> JSON_PATHS = new ConcurrentHashMap<>();
+
 	private ContractVerifierUtil() {
 		throw new IllegalStateException("Can't instantiate utility class");
 	}
@@ -125,19 +137,72 @@ public final class ContractVerifierUtil {
 	}
 
 	/**
-	 * Helper method to convert a file to bytes.
+	 * Helper method to read a contract stored next to the test class. The file is read
+	 * once and shared by all the tests, but each call returns its own copy of the
+	 * contract, so tests can't affect each other through it.
 	 * @param testClass - test class relative to which the file is stored
 	 * @param relativePath - relative path to the file
-	 * @return bytes of the file
+	 * @return contract stored in the file
 	 * @since 3.0.0
 	 */
 	public static YamlContract contract(Object testClass, String relativePath) {
 		String path = fromRelativePath(relativePath);
-		byte[] bytes = fileToBytes(testClass, path);
-		List<YamlContract> read = new YamlContractConverter().read(bytes);
+		URL url = testClass.getClass().getResource(path);
+		byte[] bytes = url == null ? fileToBytes(testClass, path)
+				: CONTRACT_FILES.computeIfAbsent(url.toString(), key -> fileToBytes(testClass, path));
+		List<YamlContract> read = CONTRACT_CONVERTER.read(bytes);
 		return read.isEmpty() ? null : read.get(0);
 	}
 
+	/**
+	 * Helper method to verify a JSON body against JSON paths stored next to the test
+	 * class, as a JSON array of strings. Each JSON path has to point to an existing,
+	 * non empty value. The paths are read and compiled once and then shared by all the
+	 * tests.
+	 * @param parsedJson - parsed JSON body
+	 * @param testClass - test class relative to which the file is stored
+	 * @param relativePath - relative path to the file
+	 * @since 3.1.0
+	 */
+	public static void assertThatJsonPaths(DocumentContext parsedJson, Object testClass, String relativePath) {
+		URL url = testClass.getClass().getResource(relativePath);
+		List<JsonPath> jsonPaths = url == null ? readJsonPaths(testClass, relativePath)
+				: JSON_PATHS.computeIfAbsent(url.toString(), key -> readJsonPaths(testClass, relativePath));
+		for (JsonPath jsonPath : jsonPaths) {
+			if (!matches(parsedJson, jsonPath)) {
+				throw new AssertionError("Parsed JSON [" + parsedJson.jsonString() + "] doesn't match the JSON path ["
+						+ jsonPath.getPath() + "]");
+			}
+		}
+	}
+
+	private static List<JsonPath> readJsonPaths(Object testClass, String relativePath) {
+		try {
+			String[] paths = new ObjectMapper().readValue(fileToBytes(testClass, relativePath), String[].class);
+			List<JsonPath> jsonPaths = new ArrayList<>(paths.length);
+			for (String path : paths) {
+				jsonPaths.add(JsonPath.compile(path));
+			}
+			return jsonPaths;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static boolean matches(DocumentContext parsedJson, JsonPath jsonPath) {
+		try {
+			Object value = parsedJson.read(jsonPath);
+			if (value instanceof Collection) {
+				return !((Collection<?>) value).isEmpty();
+			}
+			return value != null;
+		}
+		catch (PathNotFoundException ex) {
+			return false;
+		}
+	}
+
 	static String fromRelativePath(String relativePath) {
 		String path = relativePath;
 		if (path.startsWith(TEST_METHOD_PREFIX)) {
@@ -17,8 +17,14 @@
 package org.springframework.cloud.contract.verifier;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import org.assertj.core.api.BDDAssertions;
 import org.junit.Test;
@@ -111,4 +117,76 @@ public class TestGeneratorTests {
 		// then: noExceptionThrown()
 	}
 
+	@Test
+	public void should_store_classes_generated_in_parallel_in_contract_directory_order() throws Exception {
+		// given:
+		File contractsDir = Files.createTempDirectory("contracts").toFile();
+		ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties();
+		properties.setContractsDslDir(contractsDir);
+		properties.setTestGenerationThreads(4);
+		SingleTestGenerator singleTestGenerator = (props, contracts, relativePath,
+				data) -> "class " + data.className + " {}";
+		List<Path> savedClasses = Collections.synchronizedList(new ArrayList<>());
+		FileSaver fileSaver = new FileSaver(Files.createTempDirectory("generated").toFile(), ".java") {
+			@Override
+			public void saveClassFile(Path classPath, byte[] classBytes) {
+				savedClasses.add(classPath.getFileName());
+			}
+		};
+		// and:
+		MultiValueMap<Path, ContractMetadata> multimap = CollectionUtils.toMultiValueMap(new LinkedHashMap<>());
+		List<Path> expectedClasses = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			Path path = new File(contractsDir, "dir" + i).toPath();
+			multimap.add(path, new ContractMetadata(path, false, 0, null, Contract.make(it -> {
+				it.request(r -> {
+					r.method(r.GET());
+					r.url("/foo");
+				});
+				it.response(r -> {
+					r.status(r.OK());
+				});
+			})));
+			expectedClasses.add(new File("Dir" + i + "Test.java").toPath());
+		}
+		ContractFileScanner scanner = new ContractFileScanner(null, null, null, null, null) {
+			@Override
+			public MultiValueMap<Path, ContractMetadata> findContractsRecursively() {
+				return multimap;
+			}
+		};
+		TestGenerator testGenerator = new TestGenerator(properties, singleTestGenerator, fileSaver, scanner);
+
+		// when:
+		testGenerator.generateTestClasses("com.example");
+
+		// then:
+		BDDAssertions.then(savedClasses).containsExactlyElementsOf(expectedClasses);
+	}
+
+	@Test
+	public void should_not_rewrite_class_file_when_content_has_not_changed() throws Exception {
+		// given:
+		File targetDir = Files.createTempDirectory("generated").toFile();
+		FileSaver fileSaver = new FileSaver(targetDir, ".java");
+		Path classPath = fileSaver.pathToClass(targetDir.toPath(), "FooTest");
+		byte[] classBytes = "class FooTest {}".getBytes(StandardCharsets.UTF_8);
+		fileSaver.saveClassFile(classPath, classBytes);
+		FileTime lastModified = FileTime.fromMillis(1000L);
+		Files.setLastModifiedTime(classPath, lastModified);
+
+		// when:
+		fileSaver.saveClassFile(classPath, classBytes);
+
+		// then:
+		BDDAssertions.then(Files.getLastModifiedTime(classPath)).isEqualTo(lastModified);
+
+		// when:
+		fileSaver.saveClassFile(classPath, "class FooTest { }".getBytes(StandardCharsets.UTF_8));
+
+		// then:
+		BDDAssertions.then(Files.getLastModifiedTime(classPath)).isNotEqualTo(lastModified);
+		BDDAssertions.then(classPath).hasContent("class FooTest { }");
+	}
+
 }
@@ -544,6 +544,30 @@ public class FooTest {
 			test.trim() == messageWithoutTags(expectedMessage, "trigger_no_output_junit")
 	}
 
+	def "should check that no message was sent to the destination from the metadata for [#testFramework]"() {
+		given:
+			def contractDsl = Contract.make {
+				name "foo"
+				label 'some_label'
+				input {
+					triggeredBy('bookWasDeleted()')
+				}
+				metadata([verifier: [noOutputMessageTo: 'jms:output']])
+			}
+			properties.testFramework = testFramework
+		when:
+			String test = singleTestGenerator(contractDsl)
+		then:
+			test.contains(noMessageCheck)
+			!test.contains('contractVerifierMessaging.receive(')
+			!test.contains('noExceptionThrown()')
+		where:
+			testFramework        || noMessageCheck
+			TestFramework.JUNIT  || 'assertThat(contractVerifierMessaging.noMessage("jms:output",'
+			TestFramework.JUNIT5 || 'assertThat(contractVerifierMessaging.noMessage("jms:output",'
+			TestFramework.SPOCK  || 'contractVerifierMessaging.noMessage("jms:output",'
+	}
+
 	def "should generate tests without headers for JUnit"() {
 		given:
 			def contractDsl = Contract.make {
@@ -36,6 +36,7 @@ import static org.springframework.cloud.contract.verifier.config.TestFramework.T
 import static org.springframework.cloud.contract.verifier.config.TestMode.EXPLICIT
 import static org.springframework.cloud.contract.verifier.config.TestMode.JAXRSCLIENT
 import static org.springframework.cloud.contract.verifier.config.TestMode.MOCKMVC
+import static org.springframework.cloud.contract.verifier.config.TestMode.WEBTESTCLIENT
 import static org.springframework.cloud.contract.verifier.util.ContractVerifierDslConverter.convertAsCollection
 import static org.springframework.util.StringUtils.countOccurrencesOf
 
@@ -920,6 +921,175 @@ class SingleTestGeneratorSpec extends Specification {
 			testFramework << [JUNIT, JUNIT5, TESTNG, SPOCK]
 	}
 
+	def "should mark JUnit 5 tests as concurrent and lock the used resources when parallel tests are enabled"() {
+		given:
+			File httpFile = tmpFolder.newFile()
+			httpFile.write('''
+							org.springframework.cloud.contract.spec.Contract.make {
+								request {
+									method 'PUT'
+									url 'url'
+								}
+								response {
+									status OK()
+								}
+							}
+			''')
+			File messagingFile = tmpFolder.newFile()
+			messagingFile.write('''
+							org.springframework.cloud.contract.spec.Contract.make {
+								input {
+									messageFrom('input')
+									messageBody([foo: 'bar'])
+								}
+								outputMessage {
+									sentTo('output')
+									body([foo: 'baz'])
+								}
+							}
+			''')
+		and:
+			ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+			properties.testFramework = JUNIT5
+			properties.parallelTests = true
+			ContractMetadata http = new ContractMetadata(httpFile.toPath(), false, 1, null, convertAsCollection(new File('/'), httpFile))
+			ContractMetadata messaging = new ContractMetadata(messagingFile.toPath(), false, 1, null, convertAsCollection(new File('/'), messagingFile))
+			JavaTestGenerator testGenerator = new JavaTestGenerator()
+		when:
+			String clazz = testGenerator.buildClass(properties, [http, messaging], 'com/foo', new SingleTestGenerator.GeneratedClassData('test', 'test', file.toPath()))
+		then:
+			clazz.contains('import org.junit.jupiter.api.parallel.Execution;')
+			countOccurrencesOf(clazz, '@Execution(ExecutionMode.CONCURRENT)') == 2
+			!clazz.contains('@Execution(ExecutionMode.SAME_THREAD)')
+			countOccurrencesOf(clazz, '@ExtendWith(HttpTestLockExtension.class)') == 1
+			countOccurrencesOf(clazz, '@ResourceLock(value = "org.springframework.cloud.contract.verifier.messaging", mode = ResourceAccessMode.READ)') == 1
+			clazz.contains('@ResourceLock("org.springframework.cloud.contract.verifier.messaging:input")')
+			clazz.contains('@ResourceLock("org.springframework.cloud.contract.verifier.messaging:output")')
+	}
+
+	def "should build the request specification of the test instance for #testMode when parallel tests are enabled"() {
+		given:
+			File httpFile = tmpFolder.newFile()
+			httpFile.write('''
+							org.springframework.cloud.contract.spec.Contract.make {
+								request {
+									method 'PUT'
+									url 'url'
+								}
+								response {
+									status OK()
+								}
+							}
+			''')
+		and:
+			ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+			properties.testFramework = JUNIT5
+			properties.testMode = testMode
+			properties.parallelTests = true
+			ContractMetadata http = new ContractMetadata(httpFile.toPath(), false, 1, null, convertAsCollection(new File('/'), httpFile))
+			JavaTestGenerator testGenerator = new JavaTestGenerator()
+		when:
+			String clazz = testGenerator.buildClass(properties, [http], 'com/foo', new SingleTestGenerator.GeneratedClassData('test', 'test', file.toPath()))
+		then:
+			clazz.contains('import org.springframework.cloud.contract.verifier.http.RequestSpecifications;')
+			clazz.contains(requestSpecification + ' request = RequestSpecifications.requestSpecification(this, () -> given());')
+			clazz.contains('@Execution(ExecutionMode.CONCURRENT)')
+			clazz.contains('@ExtendWith(HttpTestLockExtension.class)')
+			!clazz.contains('@ResourceLock')
+		where:
+			testMode      | requestSpecification
+			MOCKMVC       | 'MockMvcRequestSpecification'
+			EXPLICIT      | 'RequestSpecification'
+			WEBTESTCLIENT | 'WebTestClientRequestSpecification'
+	}
+
+	def "should escape the messaging destinations in the resource locks"() {
+		given:
+			File messagingFile = tmpFolder.newFile()
+			messagingFile.write('''
+							org.springframework.cloud.contract.spec.Contract.make {
+								label 'trigger'
+								input {
+									triggeredBy('trigger()')
+								}
+								outputMessage {
+									sentTo('out\\\\"put')
+									body([foo: 'baz'])
+								}
+							}
+			''')
+		and:
+			ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+			properties.testFramework = JUNIT5
+			properties.parallelTests = true
+			ContractMetadata messaging = new ContractMetadata(messagingFile.toPath(), false, 1, null, convertAsCollection(new File('/'), messagingFile))
+			JavaTestGenerator testGenerator = new JavaTestGenerator()
+		when:
+			String clazz = testGenerator.buildClass(properties, [messaging], 'com/foo', new SingleTestGenerator.GeneratedClassData('test', 'test', file.toPath()))
+		then:
+			clazz.contains('@ResourceLock("org.springframework.cloud.contract.verifier.messaging:out\\\\\\"put")')
+	}
+
+	def "should run tests of ordered contracts in the thread of their test class when parallel tests are enabled"() {
+		given:
+			File orderedFile = tmpFolder.newFile()
+			writeContract(orderedFile)
+		and:
+			ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+			properties.testFramework = JUNIT5
+			properties.parallelTests = true
+			ContractMetadata ordered = new ContractMetadata(orderedFile.toPath(), false, 1, 1, convertAsCollection(new File('/'), orderedFile))
+			JavaTestGenerator testGenerator = new JavaTestGenerator()
+		when:
+			String clazz = testGenerator.buildClass(properties, [ordered], 'com/foo', new SingleTestGenerator.GeneratedClassData('test', 'test', file.toPath()))
+		then:
+			clazz.contains('@Execution(ExecutionMode.SAME_THREAD)')
+			!clazz.contains('@Execution(ExecutionMode.CONCURRENT)')
+			clazz.contains('@TestMethodOrder(MethodOrderer.Alphanumeric.class)')
+	}
+
+	def "should store JSON paths of the response body next to the test class for #testFramework when compact tests are enabled"() {
+		given:
+			File contractFile = tmpFolder.newFile()
+			contractFile.write('''
+							org.springframework.cloud.contract.spec.Contract.make {
+								request {
+									method 'GET'
+									url '/users'
+								}
+								response {
+									status OK()
+									headers {
+										contentType(applicationJson())
+									}
+									body([name: 'foo', roles: ['admin', 'user'], address: [city: 'bar']])
+								}
+							}
+			''')
+		and:
+			ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+			properties.testFramework = testFramework
+			properties.compactTests = true
+			properties.assertJsonSize = true
+			properties.generatedTestSourcesDir = file.parentFile
+			properties.generatedTestResourcesDir = tmp
+			ContractMetadata contract = new ContractMetadata(contractFile.toPath(), false, 1, null, convertAsCollection(new File('/'), contractFile))
+		when:
+			String clazz = new JavaTestGenerator().buildClass(properties, [contract], 'com/foo', new SingleTestGenerator.GeneratedClassData('test', 'test', file.toPath()))
+		then:
+			!clazz.contains('assertThatJson(parsedJson).field("[\'name\']")')
+			clazz.contains('assertThatJson(parsedJson).array("[\'roles\']").hasSize(2)')
+			clazz.contains('assertThatJsonPaths(parsedJson, this, "')
+		and:
+			File jsonPaths = file.parentFile.listFiles().find { it.name.endsWith('_json_paths.json') }
+			jsonPaths != null
+			new File(tmp, jsonPaths.name).text == jsonPaths.text
+			jsonPaths.text.contains("\$[?(@.['name'] == 'foo')]")
+			jsonPaths.text.contains("\$.['address'][?(@.['city'] == 'bar')]")
+		where:
+			testFramework << [JUNIT5, SPOCK]
+	}
+
 	def "should pick the contract's name as the test method when there are multiple contracts for #testFramework"() {
 		given:
 			File secondFile = tmpFolder.newFile()
@@ -18,6 +18,9 @@ package org.springframework.cloud.contract.verifier.converter
 
 import spock.lang.Specification
 
+import org.springframework.cloud.contract.verifier.messaging.camel.StandaloneMetadata
+import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessageMetadata
+
 class YamlContractSpec extends Specification {
 
 	def "should convert to matching type from string"() {
@@ -32,5 +35,45 @@ class YamlContractSpec extends Specification {
 			"containing"  || YamlContract.MatchingType.containing
 			"unknown"     || null
 	}
-}
 
+	def "should bind metadata once per metadata entry"() {
+		given:
+			YamlContract contract = new YamlContract()
+			contract.metadata.put(StandaloneMetadata.METADATA_KEY, [input: [additionalOptions: "foo=bar"]])
+		when:
+			StandaloneMetadata first = StandaloneMetadata.fromContract(contract)
+			StandaloneMetadata second = StandaloneMetadata.fromContract(contract)
+		then:
+			first.is(second)
+			first.input.additionalOptions == "foo=bar"
+		when:
+			contract.metadata.put(StandaloneMetadata.METADATA_KEY, [input: [additionalOptions: "baz=qux"]])
+			StandaloneMetadata third = StandaloneMetadata.fromContract(contract)
+		then:
+			!third.is(first)
+			third.input.additionalOptions == "baz=qux"
+	}
+
+	def "should set the message type on a view without modifying the contract"() {
+		given:
+			YamlContract contract = new YamlContract()
+			contract.name = "foo"
+			contract.metadata.put(StandaloneMetadata.METADATA_KEY, [input: [additionalOptions: "foo=bar"]])
+		when:
+			YamlContract input = ContractVerifierMessageMetadata.withMessageType(contract, ContractVerifierMessageMetadata.MessageType.INPUT)
+			YamlContract output = ContractVerifierMessageMetadata.withMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT)
+		then:
+			!contract.metadata.containsKey(ContractVerifierMessageMetadata.METADATA_KEY)
+			ContractVerifierMessageMetadata.fromContract(input).messageType == ContractVerifierMessageMetadata.MessageType.INPUT
+			ContractVerifierMessageMetadata.fromContract(output).messageType == ContractVerifierMessageMetadata.MessageType.OUTPUT
+			input.name == "foo"
+			StandaloneMetadata.fromContract(input).is(StandaloneMetadata.fromContract(contract))
+		when:
+			input.metadata.put("bar", "baz")
+		then:
+			input.metadata.bar == "baz"
+			ContractVerifierMessageMetadata.fromContract(input).messageType == ContractVerifierMessageMetadata.MessageType.INPUT
+			!contract.metadata.containsKey("bar")
+			!output.metadata.containsKey("bar")
+	}
+}
@@ -17,6 +17,7 @@
 package org.springframework.cloud.contract.verifier.messaging.amqp
 
 import com.rabbitmq.client.Channel
+import com.rabbitmq.client.ShutdownSignalException
 import org.mockito.exceptions.verification.WantedButNotInvoked
 import spock.lang.Specification
 
@@ -218,4 +219,81 @@ class SpringAmqpStubMessagesSpec extends Specification {
 		expect:
 			messageVerifier.receive("foo") is message
 	}
+
+	def "should receive the last message captured for the exchange without verifying the rabbit template"() {
+		given:
+			MessageListenerAccessor messageListenerAccessor = new MessageListenerAccessor(null, [], [])
+			RabbitTemplateMessageCapture capture = new RabbitTemplateMessageCapture(2)
+			SpringAmqpStubMessages messageVerifier = new SpringAmqpStubMessages(new RabbitTemplate(), messageListenerAccessor,
+					rabbitProperties, capture)
+			Message first = new Message("first".bytes, new MessageProperties())
+			Message last = new Message("last".bytes, new MessageProperties())
+		and:
+			capture.postProcessMessage(first, null, exchange, routingKey)
+			capture.postProcessMessage(new Message("other".bytes, new MessageProperties()), null, "other", routingKey)
+			capture.postProcessMessage(last, null, exchange, routingKey)
+		expect:
+			messageVerifier.receive(exchange) is last
+			last.messageProperties.receivedRoutingKey == routingKey
+			messageVerifier.receive("missing") == null
+	}
+
+	def "should reuse the channel of a listener container until it gets closed"() {
+		given:
+			Channel channel = Stub(Channel)
+			channel.isOpen() >>> [true, false]
+			channel.getCloseReason() >> new ShutdownSignalException(false, true, null, null)
+		expect:
+			channelsCreatedForThreeMessages(channel) == 2
+	}
+
+	def "should reuse a channel that reports to be closed without a close reason"() {
+		given:
+			Channel channel = Stub(Channel)
+			channel.isOpen() >> false
+		expect:
+			channelsCreatedForThreeMessages(channel) == 1
+	}
+
+	def "should close the created channels when destroyed"() {
+		given:
+			Channel channel = Mock(Channel)
+			channel.isOpen() >> true
+			SpringAmqpStubMessages messageVerifier = channelAwareVerifier { channel }
+			messageVerifier.send(payload, ["amqp_receivedRoutingKey": routingKey, "contentType": CONTENT_TYPE_JSON],
+					exchange)
+		when:
+			messageVerifier.destroy()
+		then:
+			1 * channel.close()
+	}
+
+	private int channelsCreatedForThreeMessages(Channel channel) {
+		int createdChannels = 0
+		SpringAmqpStubMessages messageVerifier = channelAwareVerifier {
+			createdChannels++
+			return channel
+		}
+		Map<String, Object> headers = ["amqp_receivedRoutingKey": routingKey, "contentType": CONTENT_TYPE_JSON]
+		3.times { messageVerifier.send(payload, headers, exchange) }
+		return createdChannels
+	}
+
+	private SpringAmqpStubMessages channelAwareVerifier(Closure<Channel> channels) {
+		listenerContainer.setMessageListener(messageListenerAdapter)
+		listenerContainer.setQueueNames(queueName)
+		Binding binding = BindingBuilder.bind(new Queue(queueName)).to(new DirectExchange(exchange)).with(routingKey)
+		MessageListenerAccessor messageListenerAccessor = new MessageListenerAccessor(null, [listenerContainer], [binding])
+		return new SpringAmqpStubMessages(rabbitTemplate, messageListenerAccessor, rabbitProperties) {
+			@Override
+			boolean isChannelAwareListener(SimpleMessageListenerContainer listenerContainer, Object messageListener) {
+				return true
+			}
+
+			@Override
+			Channel createChannel(SimpleMessageListenerContainer listenerContainer, boolean transactional) {
+				return channels.call()
+			}
+		}
+	}
 }
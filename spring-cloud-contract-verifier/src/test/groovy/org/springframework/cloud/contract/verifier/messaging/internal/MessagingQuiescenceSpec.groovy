@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.internal
+
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+class MessagingQuiescenceSpec extends Specification {
+
+	def "should return the message as soon as it arrives"() {
+		given:
+			int polls = 0
+		when:
+			String message = MessagingQuiescence.receiveUntilIdle(5, TimeUnit.SECONDS, { false }, { long millis ->
+				return ++polls == 3 ? "foo" : null
+			})
+		then:
+			message == "foo"
+			polls == 3
+	}
+
+	def "should stop waiting once the middleware stays idle for the quiet period"() {
+		given:
+			long start = System.nanoTime()
+		when:
+			String message = MessagingQuiescence.receiveUntilIdle(5, TimeUnit.SECONDS, 50, { true }, { long millis ->
+				Thread.sleep(millis)
+				return null
+			})
+		then:
+			message == null
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000
+	}
+
+	def "should restart the quiet period while messages are in flight"() {
+		given:
+			int checks = 0
+			long start = System.nanoTime()
+		when:
+			String message = MessagingQuiescence.receiveUntilIdle(5, TimeUnit.SECONDS, 50, { ++checks > 10 }, {
+				long millis ->
+				Thread.sleep(millis)
+				return null
+			})
+		then:
+			message == null
+			checks > 10
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000
+	}
+
+	def "should give up after the timeout when the middleware never goes idle"() {
+		given:
+			long start = System.nanoTime()
+		when:
+			String message = MessagingQuiescence.receiveUntilIdle(200, TimeUnit.MILLISECONDS, { false },
+					{ long millis ->
+				Thread.sleep(millis)
+				return null
+			})
+		then:
+			message == null
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200
+	}
+}
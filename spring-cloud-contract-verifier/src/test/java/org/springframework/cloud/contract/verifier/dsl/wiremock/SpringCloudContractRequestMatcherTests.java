@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.contract.verifier.dsl.wiremock;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -132,6 +133,57 @@ class SpringCloudContractRequestMatcherTests {
 		BDDAssertions.then(result.isExactMatch()).isTrue();
 	}
 
+	@Test
+	void should_match_when_all_json_paths_match_the_body() {
+		Request request = BDDMockito.mock(Request.class);
+		BDDMockito.given(request.getBodyAsString()).willReturn("{\"name\":\"foo\",\"age\":25,\"tags\":[\"a\"]}");
+
+		MatchResult result = new SpringCloudContractRequestMatcher().match(request,
+				Parameters.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER,
+						Arrays.asList("$[?(@.['name'] == 'foo')]", "$[?(@.['age'] =~ /[2-9][0-9]/)]", "$.tags[0]")));
+
+		BDDAssertions.then(result.isExactMatch()).isTrue();
+		BDDMockito.then(request).should().getBodyAsString();
+	}
+
+	@Test
+	void should_parse_the_body_once_per_request() {
+		Request request = BDDMockito.mock(Request.class);
+		BDDMockito.given(request.getBodyAsString()).willReturn("{\"name\":\"foo\"}");
+		SpringCloudContractRequestMatcher matcher = new SpringCloudContractRequestMatcher();
+
+		matcher.match(request, Parameters.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER,
+				Collections.singletonList("$[?(@.['name'] == 'foo')]")));
+		matcher.match(request, Parameters.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER,
+				Collections.singletonList("$[?(@.['name'] == 'bar')]")));
+
+		BDDMockito.then(request).should().getBodyAsString();
+	}
+
+	@Test
+	void should_not_match_when_any_json_path_does_not_match_the_body() {
+		Request request = BDDMockito.mock(Request.class);
+		BDDMockito.given(request.getBodyAsString()).willReturn("{\"name\":\"foo\",\"age\":15}");
+
+		MatchResult result = new SpringCloudContractRequestMatcher().match(request,
+				Parameters.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER,
+						Arrays.asList("$[?(@.['name'] == 'foo')]", "$[?(@.['age'] =~ /[2-9][0-9]/)]")));
+
+		BDDAssertions.then(result.isExactMatch()).isFalse();
+		BDDAssertions.then(result.getDistance()).isEqualTo(0.5);
+	}
+
+	@Test
+	void should_not_match_when_body_is_not_a_json() {
+		Request request = BDDMockito.mock(Request.class);
+		BDDMockito.given(request.getBodyAsString()).willReturn("not a json");
+
+		MatchResult result = new SpringCloudContractRequestMatcher().match(request, Parameters
+				.one(SpringCloudContractRequestMatcher.JSON_PATHS_PARAMETER, Collections.singletonList("$.name")));
+
+		BDDAssertions.then(result.isExactMatch()).isFalse();
+	}
+
 	private Parameters toMap(Tuple2<String, Object>... tuple2) {
 		Map<String, Object> map = new HashMap<>();
 		for (Tuple2<String, Object> tuple : tuple2) {
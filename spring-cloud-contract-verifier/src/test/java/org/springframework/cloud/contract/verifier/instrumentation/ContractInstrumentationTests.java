@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.instrumentation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class ContractInstrumentationTests {
+
+	@Before
+	@After
+	public void reset() {
+		ContractInstrumentation.reset();
+	}
+
+	@Test
+	public void should_record_phases_and_counters() {
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.STUBS_SCAN)) {
+			// scanning
+		}
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.STUBS_SCAN, "com.example:producer")) {
+			// scanning
+		}
+		ContractInstrumentation.count(ContractInstrumentation.CACHE_HITS);
+
+		then(ContractInstrumentation.phases()).containsOnlyKeys(ContractInstrumentation.STUBS_SCAN);
+		then(ContractInstrumentation.phases().get(ContractInstrumentation.STUBS_SCAN).getCount()).isEqualTo(2L);
+		then(ContractInstrumentation.counters()).containsEntry(ContractInstrumentation.CACHE_HITS, 1L);
+	}
+
+	@Test
+	public void should_publish_phases_and_counters_as_micrometer_meters() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MicrometerContractInstrumentation instrumentation = new MicrometerContractInstrumentation();
+		instrumentation.bindTo(registry);
+
+		try (ContractInstrumentation.Sample sample = ContractInstrumentation
+				.start(ContractInstrumentation.REQUEST_MATCHING)) {
+			// matching
+		}
+		ContractInstrumentation.count(ContractInstrumentation.REQUESTS_MATCHED);
+		ContractInstrumentation.count(ContractInstrumentation.TEMP_BYTES_RECLAIMED, 1024L);
+		instrumentation.destroy();
+		ContractInstrumentation.count(ContractInstrumentation.REQUESTS_MATCHED);
+
+		then(registry.get(MicrometerContractInstrumentation.PHASE_TIMER)
+				.tag("phase", ContractInstrumentation.REQUEST_MATCHING).timer().count()).isEqualTo(1L);
+		then(registry.get(MicrometerContractInstrumentation.COUNTER_PREFIX + ContractInstrumentation.REQUESTS_MATCHED)
+				.counter().count()).isEqualTo(1.0);
+		then(registry
+				.get(MicrometerContractInstrumentation.COUNTER_PREFIX + ContractInstrumentation.TEMP_BYTES_RECLAIMED)
+				.counter().count()).isEqualTo(1024.0);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.integration;
+
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChannelActivityInterceptorTests {
+
+	private final ChannelActivityInterceptor interceptor = new ChannelActivityInterceptor();
+
+	private final Message<String> message = MessageBuilder.withPayload("foo").build();
+
+	@Test
+	public void should_be_idle_once_a_direct_channel_send_completes() {
+		DirectChannel channel = new DirectChannel();
+		channel.subscribe(message -> assertThat(this.interceptor.isIdle()).isFalse());
+		channel.addInterceptor(this.interceptor);
+
+		channel.send(this.message);
+
+		assertThat(this.interceptor.isIdle()).isTrue();
+	}
+
+	@Test
+	public void should_not_be_idle_while_a_message_waits_in_a_queue_channel() {
+		QueueChannel channel = new QueueChannel();
+		channel.addInterceptor(this.interceptor);
+
+		channel.send(this.message);
+
+		assertThat(this.interceptor.isIdle()).isFalse();
+		assertThat(channel.receive(0)).isNotNull();
+		assertThat(this.interceptor.isIdle()).isTrue();
+	}
+
+	@Test
+	public void should_never_be_idle_after_a_message_went_through_an_executor_channel() {
+		Executor executor = Runnable::run;
+		ExecutorChannel channel = new ExecutorChannel(executor);
+		channel.subscribe(message -> {
+		});
+		channel.addInterceptor(this.interceptor);
+
+		channel.send(this.message);
+
+		assertThat(this.interceptor.isIdle()).isFalse();
+	}
+
+	@Test
+	public void should_be_idle_after_a_synchronous_publish_subscribe_channel() {
+		PublishSubscribeChannel channel = new PublishSubscribeChannel();
+		channel.subscribe(message -> {
+		});
+		channel.addInterceptor(this.interceptor);
+
+		channel.send(this.message);
+
+		assertThat(this.interceptor.isIdle()).isTrue();
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging.kafka;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.messaging.Message;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class KafkaStubMessagesTests {
+
+	EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker(1, true, "input", "empty");
+
+	KafkaTemplate<Integer, String> kafkaTemplate;
+
+	KafkaStubMessages messages;
+
+	@Before
+	public void setup() {
+		this.broker.afterPropertiesSet();
+		this.kafkaTemplate = new KafkaTemplate<>(
+				new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(this.broker)));
+		this.kafkaTemplate.setDefaultTopic("default");
+	}
+
+	@After
+	public void cleanup() {
+		if (this.messages != null) {
+			this.messages.destroy();
+		}
+		this.broker.destroy();
+	}
+
+	@Test
+	public void should_receive_pipelined_messages_without_changing_the_default_topic() {
+		this.messages = kafkaStubMessages(true);
+
+		this.messages.send("first", Collections.emptyMap(), "input", null);
+		this.messages.send("second", Collections.emptyMap(), "input", null);
+		this.messages.send("third", Collections.emptyMap(), "input", null);
+
+		then(this.kafkaTemplate.getDefaultTopic()).isEqualTo("default");
+		Object payload = payload(this.messages.receive("input", null));
+		while (!"third".equals(payload)) {
+			payload = payload(this.messages.receive("input", null));
+		}
+	}
+
+	@Test
+	public void should_receive_the_latest_message_for_each_receive() {
+		this.messages = kafkaStubMessages(false);
+
+		this.messages.send("first", Collections.emptyMap(), "input", null);
+		then(payload(this.messages.receive("input", null))).isEqualTo("first");
+
+		this.messages.send("second", Collections.emptyMap(), "input", null);
+		then(payload(this.messages.receive("input", null))).isEqualTo("second");
+	}
+
+	@Test
+	public void should_return_null_when_no_message_arrived_within_timeout() {
+		this.messages = kafkaStubMessages(false);
+
+		then(this.messages.receive("empty", 100, TimeUnit.MILLISECONDS, null)).isNull();
+	}
+
+	private KafkaStubMessages kafkaStubMessages(boolean pipelined) {
+		KafkaProperties kafkaProperties = new KafkaProperties();
+		kafkaProperties.getConsumer().setGroupId("kafka-stub-messages-tests");
+		return new KafkaStubMessages(this.kafkaTemplate, this.broker, kafkaProperties,
+				new ContractVerifierKafkaStubMessagesInitializer(), pipelined, 2);
+	}
+
+	private Object payload(Message<?> message) {
+		then(message).isNotNull();
+		return message.getPayload();
+	}
+
+}
@@ -18,11 +18,16 @@ package org.springframework.cloud.contract.verifier.util;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -30,6 +35,7 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Chris Bono
@@ -202,6 +208,64 @@ public class ContractVerifierUtilTest {
 		assertThat(ContractVerifierUtil.fromRelativePath("foo.yml")).isEqualTo("foo.yml");
 	}
 
+	@Test
+	public void shouldPassWhenJsonMatchesStoredJsonPaths() {
+		// Given
+		DocumentContext parsedJson = JsonPath.parse("{\"name\":\"foo\",\"items\":[\"bar\"]}");
+		// When
+		ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json");
+	}
+
+	@Test
+	public void shouldFailWhenJsonDoesNotMatchStoredJsonPaths() {
+		// Given
+		DocumentContext parsedJson = JsonPath.parse("{\"name\":\"baz\",\"items\":[\"bar\"]}");
+		// When
+		assertThatThrownBy(() -> ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json"))
+				// Then
+				.isInstanceOf(AssertionError.class).hasMessageContaining("doesn't match the JSON path");
+	}
+
+	@Test
+	public void shouldFailWhenStoredJsonPathIsMissingInJson() {
+		// Given
+		DocumentContext parsedJson = JsonPath.parse("{\"name\":\"foo\"}");
+		// When
+		assertThatThrownBy(() -> ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json"))
+				// Then
+				.isInstanceOf(AssertionError.class).hasMessageContaining("doesn't match the JSON path");
+	}
+
+	@Test
+	public void shouldFailWhenStoredJsonPathMatchesAnEmptyArray() {
+		// Given
+		DocumentContext parsedJson = JsonPath.parse("{\"name\":\"foo\",\"items\":[]}");
+		// When
+		assertThatThrownBy(() -> ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json"))
+				// Then
+				.isInstanceOf(AssertionError.class).hasMessageContaining("doesn't match the JSON path");
+	}
+
+	@Test
+	public void shouldReadStoredJsonPathsOnce() {
+		// Given
+		URL url = getClass().getResource("jsonPaths.json");
+		DocumentContext parsedJson = JsonPath.parse("{\"name\":\"foo\",\"items\":[\"bar\"]}");
+		ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json");
+		List<JsonPath> cached = ContractVerifierUtil.JSON_PATHS.get(url.toString());
+		assertThat(cached).hasSize(2);
+		ContractVerifierUtil.JSON_PATHS.put(url.toString(), Collections.singletonList(JsonPath.compile("$.other")));
+		try {
+			// When
+			assertThatThrownBy(() -> ContractVerifierUtil.assertThatJsonPaths(parsedJson, this, "jsonPaths.json"))
+					// Then
+					.isInstanceOf(AssertionError.class).hasMessageContaining("doesn't match the JSON path");
+		}
+		finally {
+			ContractVerifierUtil.JSON_PATHS.put(url.toString(), cached);
+		}
+	}
+
 	private Document parsedXml(String inputXml) {
 		DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
 		builderFactory.setNamespaceAware(true);
@@ -18,10 +18,7 @@ package org.springframework.cloud.contract.wiremock.restdocs;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.net.URI;
-import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -160,10 +157,7 @@ public class ContractDslSnippet extends TemplatedSnippet {
 		RestDocumentationContextPlaceholderResolver resolver = new RestDocumentationContextPlaceholderResolver(context);
 		String resolvedName = replacePlaceholders(resolver, operation.getName());
 		File output = new File(context.getOutputDirectory(), CONTRACTS_FOLDER + "/" + resolvedName + ".groovy");
-		output.getParentFile().mkdirs();
-		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(output.toPath()))) {
-			writer.append(content);
-		}
+		SnippetWriter.write(output, content, context.getTestClass());
 	}
 
 	private String replacePlaceholders(PropertyPlaceholderHelper.PlaceholderResolver resolver, String input) {
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.contract.wiremock.restdocs;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 
 import org.springframework.util.ObjectUtils;
@@ -29,12 +30,43 @@ class JsonPathValue {
 
 	private final CharSequence actual;
 
+	private final Object document;
+
 	JsonPathValue(JsonPath jsonPath, CharSequence actual) {
+		this(jsonPath, actual, null);
+	}
+
+	/**
+	 * @param jsonPath - compiled JSON path
+	 * @param actual - JSON
+	 * @param document - JSON already parsed with {@link #parse(CharSequence)}, so that a
+	 * document is parsed once for all of its JSON paths, or {@code null} to parse the
+	 * JSON for this path
+	 */
+	JsonPathValue(JsonPath jsonPath, CharSequence actual, Object document) {
 		this.jsonPath = jsonPath;
 		this.actual = actual;
+		this.document = document;
 		this.expression = jsonPath.getPath();
 	}
 
+	/**
+	 * @param actual - JSON to parse
+	 * @return parsed document or {@code null} if the JSON is not valid, in which case
+	 * each path reports the parsing failure on its own
+	 */
+	static Object parse(CharSequence actual) {
+		if (actual == null) {
+			return null;
+		}
+		try {
+			return Configuration.defaultConfiguration().jsonProvider().parse(actual.toString());
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
 	public void assertHasValue(Class<?> type, String expectedDescription) {
 		Object value = getValue(true);
 		if (value == null || isIndefiniteAndEmpty()) {
@@ -59,6 +91,9 @@ class JsonPathValue {
 
 	public Object getValue(boolean required) {
 		try {
+			if (this.document != null) {
+				return this.jsonPath.read(this.document);
+			}
 			CharSequence json = this.actual;
 			return this.jsonPath.read(json == null ? null : json.toString());
 		}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.wiremock.restdocs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Writes the files generated by the {@link WireMockSnippet} and the
+ * {@link ContractDslSnippet}. By default each file is written as soon as the operation
+ * is documented. When the {@value #DEFERRED_PROPERTY} system property is set to
+ * {@code true}, the files are kept in memory and written in a single batch at the end of
+ * each test class by the {@link SnippetWriterTestExecutionListener}. Tests that don't
+ * run with the Spring {@code TestContext} framework can call {@link #flush()} (e.g. from
+ * an {@code @AfterAll} method). Files that are still pending are written once another
+ * test class documents an operation or when the JVM shuts down. Suites with many
+ * documented calls then don't pay a file write for each of them, but the files can't be
+ * read in the test that documents them.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ */
+public final class SnippetWriter {
+
+	/**
+	 * System property that turns on the deferred writes.
+	 */
+	public static final String DEFERRED_PROPERTY = "spring.cloud.contract.restdocs.deferred-snippets";
+
+	private static final Log log = LogFactory.getLog(SnippetWriter.class);
+
+	private static final Map<File, String> PENDING = new LinkedHashMap<>();
+
+	private static Class<?> pendingTestClass;
+
+	private static boolean shutdownHookRegistered;
+
+	private SnippetWriter() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static boolean isDeferred() {
+		return Boolean.getBoolean(DEFERRED_PROPERTY);
+	}
+
+	static void write(File file, String content, Class<?> testClass) throws IOException {
+		if (!isDeferred()) {
+			writeFile(file, content);
+			return;
+		}
+		synchronized (PENDING) {
+			if (pendingTestClass != null && testClass != null && pendingTestClass != testClass) {
+				flush();
+			}
+			pendingTestClass = testClass;
+			PENDING.put(file, content);
+			if (!shutdownHookRegistered) {
+				Runtime.getRuntime().addShutdownHook(new Thread(SnippetWriter::flushQuietly));
+				shutdownHookRegistered = true;
+			}
+		}
+	}
+
+	/**
+	 * Writes all the pending files.
+	 * @throws IOException when a file could not be written
+	 */
+	public static void flush() throws IOException {
+		Map<File, String> pending;
+		synchronized (PENDING) {
+			pending = new LinkedHashMap<>(PENDING);
+			PENDING.clear();
+			pendingTestClass = null;
+		}
+		for (Map.Entry<File, String> entry : pending.entrySet()) {
+			writeFile(entry.getKey(), entry.getValue());
+		}
+		if (log.isDebugEnabled() && !pending.isEmpty()) {
+			log.debug("Wrote [" + pending.size() + "] deferred snippets");
+		}
+	}
+
+	private static void flushQuietly() {
+		try {
+			flush();
+		}
+		catch (IOException ex) {
+			log.warn("Failed to write the deferred snippets", ex);
+		}
+	}
+
+	private static void writeFile(File file, String content) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.append(content);
+		}
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.wiremock.restdocs;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Writes the deferred snippets of a test class once all of its tests have run.
+ *
+ * @author Marcin Grzejszczak
+ * @since 3.1.0
+ * @see SnippetWriter
+ */
+public final class SnippetWriterTestExecutionListener extends AbstractTestExecutionListener {
+
+	@Override
+	public void afterTestClass(TestContext testContext) throws Exception {
+		if (SnippetWriter.isDeferred()) {
+			SnippetWriter.flush();
+		}
+	}
+
+}
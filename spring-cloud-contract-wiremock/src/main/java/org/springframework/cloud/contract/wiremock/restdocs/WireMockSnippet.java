@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.contract.wiremock.restdocs;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Arrays;
@@ -41,6 +42,7 @@ import org.springframework.restdocs.snippet.Snippet;
 import org.springframework.restdocs.snippet.StandardWriterResolver;
 import org.springframework.restdocs.snippet.WriterResolver;
 import org.springframework.restdocs.templates.TemplateFormat;
+import org.springframework.util.PropertyPlaceholderHelper;
 import org.springframework.util.StringUtils;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
@@ -79,6 +81,8 @@ public class WireMockSnippet implements Snippet {
 		}
 	};
 
+	private static final PropertyPlaceholderHelper PLACEHOLDERS = new PropertyPlaceholderHelper("{", "}");
+
 	private String snippetName = "stubs";
 
 	private Set<String> headerBlackList = new HashSet<>(Arrays.asList("host", "content-length"));
@@ -104,12 +108,29 @@ public class WireMockSnippet implements Snippet {
 		context = (RestDocumentationContext) operation.getAttributes().get(RestDocumentationContext.class.getName());
 		RestDocumentationContextPlaceholderResolverFactory placeholders;
 		placeholders = new RestDocumentationContextPlaceholderResolverFactory();
+		if (SnippetWriter.isDeferred()) {
+			SnippetWriter.write(snippetFile(operation, context, placeholders), json, context.getTestClass());
+			return;
+		}
 		WriterResolver writerResolver = new StandardWriterResolver(placeholders, "UTF-8", TEMPLATE_FORMAT);
 		try (Writer writer = writerResolver.resolve(this.snippetName, operation.getName(), context)) {
 			writer.append(json);
 		}
 	}
 
+	// same location as the one resolved by the StandardWriterResolver
+	private File snippetFile(Operation operation, RestDocumentationContext context,
+			RestDocumentationContextPlaceholderResolverFactory placeholders) {
+		PropertyPlaceholderHelper.PlaceholderResolver resolver = placeholders.create(context);
+		File file = new File(PLACEHOLDERS.replacePlaceholders(this.snippetName, resolver),
+				PLACEHOLDERS.replacePlaceholders(operation.getName(), resolver) + "."
+						+ TEMPLATE_FORMAT.getFileExtension());
+		if (file.isAbsolute() || context.getOutputDirectory() == null) {
+			return file;
+		}
+		return new File(context.getOutputDirectory(), file.getPath());
+	}
+
 	private void extractMatchers(Operation operation) {
 		this.stubMapping = (StubMapping) operation.getAttributes().get("contract.stubMapping");
 		if (this.stubMapping != null) {
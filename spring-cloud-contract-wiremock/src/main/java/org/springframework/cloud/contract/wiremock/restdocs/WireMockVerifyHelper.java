@@ -60,8 +60,10 @@ public abstract class WireMockVerifyHelper<T, S extends WireMockVerifyHelper<T,
 		byte[] requestBodyContent = getRequestBodyContent(result);
 		if (requestBodyContent != null) {
 			String actual = new String(requestBodyContent, Charset.forName("UTF-8"));
+			// the body is parsed once for all the JSON paths
+			Object document = this.jsonPaths.isEmpty() ? null : JsonPathValue.parse(actual);
 			for (JsonPath jsonPath : this.jsonPaths.values()) {
-				new JsonPathValue(jsonPath, actual).assertHasValue(Object.class, "an object");
+				new JsonPathValue(jsonPath, actual, document).assertHasValue(Object.class, "an object");
 			}
 		}
 		configuration.put("contract.jsonPaths", this.jsonPaths.keySet());
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.wiremock.restdocs;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class SnippetWriterTests {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@After
+	public void tearDown() throws Exception {
+		SnippetWriter.flush();
+		System.clearProperty(SnippetWriter.DEFERRED_PROPERTY);
+	}
+
+	@Test
+	public void should_write_snippets_right_away_by_default() throws Exception {
+		File file = new File(this.tmp.getRoot(), "stubs/foo.json");
+
+		SnippetWriter.write(file, "{}", SnippetWriterTests.class);
+
+		then(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo("{}");
+	}
+
+	@Test
+	public void should_defer_snippets_until_flushed_or_until_test_class_changes() throws Exception {
+		System.setProperty(SnippetWriter.DEFERRED_PROPERTY, "true");
+		File first = new File(this.tmp.getRoot(), "stubs/first.json");
+		File second = new File(this.tmp.getRoot(), "contracts/second.groovy");
+		File third = new File(this.tmp.getRoot(), "stubs/third.json");
+
+		SnippetWriter.write(first, "first", SnippetWriterTests.class);
+		SnippetWriter.write(second, "second", SnippetWriterTests.class);
+
+		then(first).doesNotExist();
+		then(second).doesNotExist();
+
+		SnippetWriter.write(third, "third", ContractDslSnippetTests.class);
+
+		then(first).hasContent("first");
+		then(second).hasContent("second");
+		then(third).doesNotExist();
+
+		SnippetWriter.flush();
+
+		then(third).hasContent("third");
+	}
+
+	@Test
+	public void should_write_deferred_snippets_at_the_end_of_the_test_class() throws Exception {
+		System.setProperty(SnippetWriter.DEFERRED_PROPERTY, "true");
+		File file = new File(this.tmp.getRoot(), "stubs/foo.json");
+		SnippetWriter.write(file, "{}", SnippetWriterTests.class);
+
+		then(file).doesNotExist();
+
+		new SnippetWriterTestExecutionListener().afterTestClass(null);
+
+		then(file).hasContent("{}");
+	}
+
+}